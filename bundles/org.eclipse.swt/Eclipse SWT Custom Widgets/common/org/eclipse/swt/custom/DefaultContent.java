@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,7 +17,6 @@ import java.util.*;
 import java.util.List;
 
 import org.eclipse.swt.*;
-import org.eclipse.swt.internal.*;
 import org.eclipse.swt.widgets.*;
 
 class DefaultContent implements StyledTextContent {
@@ -27,14 +26,10 @@ class DefaultContent implements StyledTextContent {
 	char[] textStore = new char[0];	// stores the actual text
 	int gapStart = -1;	// the character position start of the gap
 	int gapEnd = -1;	// the character position after the end of the gap
-	int gapLine = -1;	// the line on which the gap exists, the gap will always be associated with one line
 	int highWatermark = 300;
 	int lowWatermark = 50;
 
-	int[][] lines = new int[50][2];	// array of character positions and lengths representing the lines of text
-	int lineCount = 0;	// the number of lines of text
-	int expandExp = 1; 	// the expansion exponent, used to increase the lines array exponentially
-	int replaceExpandExp = 1; 	// the expansion exponent, used to increase the lines array exponentially
+	GapOffsetArray lines = new GapOffsetArray(50, false);	// the logical start offset of each line, independent of the gap
 
 /**
  * Creates a new DefaultContent and initializes it.  A <code>StyledTextContent</code> will always have
@@ -44,50 +39,6 @@ DefaultContent() {
 	super();
 	setText("");
 }
-/**
- * Adds a line to the end of the line indexes array.  Increases the size of the array if necessary.
- * <code>lineCount</code> is updated to reflect the new entry.
- * <p>
- *
- * @param start the start of the line
- * @param length the length of the line
- */
-void addLineIndex(int start, int length) {
-	int size = lines.length;
-	if (lineCount == size) {
-		// expand the lines by powers of 2
-		int[][] newLines = new int[size+Compatibility.pow2(expandExp)][2];
-		System.arraycopy(lines, 0, newLines, 0, size);
-		lines = newLines;
-		expandExp++;
-	}
-	int[] range = new int[] {start, length};
-	lines[lineCount] = range;
-	lineCount++;
-}
-/**
- * Adds a line index to the end of <code>linesArray</code>.  Increases the
- * size of the array if necessary and returns a new array.
- * <p>
- *
- * @param start the start of the line
- * @param length the length of the line
- * @param linesArray the array to which to add the line index
- * @param count the position at which to add the line
- * @return a new array of line indexes
- */
-int[][] addLineIndex(int start, int length, int[][] linesArray, int count) {
-	int size = linesArray.length;
-	int[][] newLines = linesArray;
-	if (count == size) {
-		newLines = new int[size+Compatibility.pow2(replaceExpandExp)][2];
-		replaceExpandExp++;
-		System.arraycopy(linesArray, 0, newLines, 0, size);
-	}
-	int[] range = new int[] {start, length};
-	newLines[count] = range;
-	return newLines;
-}
 /**
  * Adds a <code>TextChangeListener</code> listening for
  * <code>TextChangingEvent</code> and <code>TextChangedEvent</code>. A
@@ -113,9 +64,8 @@ public void addTextChangeListener(TextChangeListener listener) {
  *
  * @param position the position at which a change is occurring
  * @param sizeHint the size of the change
- * @param line the line where the gap will go
  */
-void adjustGap(int position, int sizeHint, int line) {
+void adjustGap(int position, int sizeHint) {
 	if (position == gapStart) {
 		// text is being inserted at the gap position
 		int size = (gapEnd - gapStart) - sizeHint;
@@ -127,35 +77,55 @@ void adjustGap(int position, int sizeHint, int line) {
 		if (lowWatermark <= size && size <= highWatermark)
 			return;
 	}
-	moveAndResizeGap(position, sizeHint, line);
+	moveAndResizeGap(position, sizeHint);
 }
 /**
  * Calculates the indexes of each line in the text store.  Assumes no gap exists.
  * Optimized to do less checking.
  */
 void indexLines(){
-	int start = 0;
-	lineCount = 0;
+	char[] textStore = this.textStore;
+	GapOffsetArray lines = this.lines;
 	int textLength = textStore.length;
-	int i;
-	for (i = start; i < textLength; i++) {
+	lines.clear(textLength);
+	lines.insert(0, 0);
+	for (int i = 0; i < textLength; i++) {
 		char ch = textStore[i];
 		if (ch == SWT.CR) {
 			// see if the next character is a LF
-			if (i + 1 < textLength) {
-				ch = textStore[i+1];
-				if (ch == SWT.LF) {
-					i++;
-				}
+			if (i + 1 < textLength && textStore[i + 1] == SWT.LF) {
+				i++;
 			}
-			addLineIndex(start, i - start + 1);
-			start = i + 1;
+			lines.insert(i + 1, 0);
 		} else if (ch == SWT.LF) {
-			addLineIndex(start, i - start + 1);
-			start = i + 1;
+			lines.insert(i + 1, 0);
+		}
+	}
+}
+/**
+ * Adds the starts of the lines that begin inside the given text to the line
+ * index, in front of the gap of the index.  The line delimiters are found in
+ * the text alone, so a CR at its end and a LF after it in the content remain
+ * two line delimiters.
+ * <p>
+ *
+ * @param text the text to lineate
+ * @param offset the logical offset of the text
+ */
+void indexLines(String text, int offset) {
+	GapOffsetArray lines = this.lines;
+	int length = text.length();
+	for (int i = 0; i < length; i++) {
+		char ch = text.charAt(i);
+		if (ch == SWT.CR) {
+			if (i + 1 < length && text.charAt(i + 1) == SWT.LF) {
+				i++;
+			}
+			lines.insert(offset + i + 1, 0);
+		} else if (ch == SWT.LF) {
+			lines.insert(offset + i + 1, 0);
 		}
 	}
-	addLineIndex(start, i - start);
 }
 /**
  * Returns whether or not the given character is a line delimiter.  Both CR and LF
@@ -221,54 +191,8 @@ private void validateReplace(int start, int replaceLength) {
 	}
 }
 /**
- * Calculates the indexes of each line of text in the given range.
- * <p>
- *
- * @param offset the logical start offset of the text lineate
- * @param length the length of the text to lineate, includes gap
- * @param numLines the number of lines to initially allocate for the line index array,
- *	passed in for efficiency (the exact number of lines may be known)
- * @return a line indexes array where each line is identified by a start offset and
- * 	a length
- */
-int[][] indexLines(int offset, int length, int numLines){
-	int[][] indexedLines = new int[numLines][2];
-	int start = 0;
-	int lineCount = 0;
-	int i;
-	replaceExpandExp = 1;
-	for (i = start; i < length; i++) {
-		int location = i + offset;
-		if ((location >= gapStart) && (location < gapEnd)) {
-			// ignore the gap
-		} else {
-			char ch = textStore[location];
-			if (ch == SWT.CR) {
-				// see if the next character is a LF
-				if (location+1 < textStore.length) {
-					ch = textStore[location+1];
-					if (ch == SWT.LF) {
-						i++;
-					}
-				}
-				indexedLines = addLineIndex(start, i - start + 1, indexedLines, lineCount);
-				lineCount++;
-				start = i + 1;
-			} else if (ch == SWT.LF) {
-				indexedLines = addLineIndex(start, i - start + 1, indexedLines, lineCount);
-				lineCount++;
-				start = i + 1;
-			}
-		}
-	}
-	int[][] newLines = new int[lineCount+1][2];
-	System.arraycopy(indexedLines, 0, newLines, 0, lineCount);
-	int[] range = new int[] {start, i - start};
-	newLines[lineCount] = range;
-	return newLines;
-}
-/**
- * Inserts text.
+ * Inserts text.  Only updates the text store, the line index is updated
+ * by the caller.
  * <p>
  *
  * @param position the position at which to insert the text
@@ -277,91 +201,46 @@ int[][] indexLines(int offset, int length, int numLines){
 void insert(int position, String text) {
 	if (text.length() == 0) return;
 
-	int startLine = getLineAtOffset(position);
 	int change = text.length();
-	boolean endInsert = position == getCharCount();
-	adjustGap(position, change, startLine);
+	adjustGap(position, change);
 
 	// during an insert the gap will be adjusted to start at
-	// position and it will be associated with startline, the
-	// inserted text will be placed in the gap
-	int startLineOffset = getOffsetAtLine(startLine);
-	// at this point, startLineLength will include the start line
-	// and all of the newly inserted text
-	int	startLineLength = getPhysicalLine(startLine).length();
-
-	if (change > 0) {
-		// shrink gap
-		gapStart += (change);
-		for (int i = 0; i < text.length(); i++) {
-			textStore[position + i]= text.charAt(i);
-		}
-	}
-
-	// figure out the number of new lines that have been inserted
-	int [][] newLines = indexLines(startLineOffset, startLineLength, 10);
-	// only insert an empty line if it is the last line in the text
-	int numNewLines = newLines.length - 1;
-	if (newLines[numNewLines][1] == 0) {
-		// last inserted line is a new line
-		if (endInsert) {
-			// insert happening at end of the text, leave numNewLines as
-			// is since the last new line will not be concatenated with another
-			// line
-			numNewLines += 1;
-		} else {
-			numNewLines -= 1;
-		}
-	}
-
-	// make room for the new lines
-	expandLinesBy(numNewLines);
-	// shift down the lines after the replace line
-	for (int i = lineCount - 1; i > startLine; i--) {
-		lines[i + numNewLines]=lines[i];
-	}
-	// insert the new lines
-	for (int i = 0; i < numNewLines; i++) {
-		newLines[i][0] += startLineOffset;
-		lines[startLine + i]=newLines[i];
-	}
-	// update the last inserted line
-	if (numNewLines < newLines.length) {
-		newLines[numNewLines][0] += startLineOffset;
-		lines[startLine + numNewLines] = newLines[numNewLines];
-	}
-
-	lineCount += numNewLines;
-	gapLine = getLineAtPhysicalOffset(gapStart);
+	// position, the inserted text will be placed in the gap
+	text.getChars(0, change, textStore, position);
+	gapStart += change;
 }
 /**
  * Moves the gap and adjusts its size in anticipation of a text change.
  * The gap is resized to actual size + the specified size and moved to the given
- * position.
+ * position.  If the gap keeps a size between the watermarks it is moved
+ * within the text store instead.
  * <p>
  *
  * @param position the position at which a change is occurring
  * @param size the size of the change
- * @param newGapLine the line where the gap should be put
  */
-void moveAndResizeGap(int position, int size, int newGapLine) {
+void moveAndResizeGap(int position, int size) {
 	char[] content = null;
 	int oldSize = gapEnd - gapStart;
+	if (gapExists()) {
+		int remainingSize = oldSize - size;
+		if (lowWatermark <= remainingSize && remainingSize <= highWatermark) {
+			if (position < gapStart) {
+				System.arraycopy(textStore, position, textStore, position + oldSize, gapStart - position);
+			} else {
+				System.arraycopy(textStore, gapEnd, textStore, gapStart, position - gapStart);
+			}
+			gapStart = position;
+			gapEnd = position + oldSize;
+			return;
+		}
+	}
 	int newSize;
 	if (size > 0) {
 		newSize = highWatermark + size;
 	} else {
 		newSize = lowWatermark - size;
 	}
-	// remove the old gap from the lines information
-	if (gapExists()) {
-		// adjust the line length
-		lines[gapLine][1] = lines[gapLine][1] - oldSize;
-		// adjust the offsets of the lines after the gapLine
-		for (int i = gapLine + 1; i < lineCount; i++) {
-			lines[i][0] = lines[i][0] - oldSize;
-		}
-	}
 
 	if (newSize < 0) {
 		if (oldSize > 0) {
@@ -394,60 +273,6 @@ void moveAndResizeGap(int position, int size, int newGapLine) {
 	textStore = content;
 	gapStart = newGapStart;
 	gapEnd = newGapEnd;
-
-	// add the new gap to the lines information
-	if (gapExists()) {
-		gapLine = newGapLine;
-		// adjust the line length
-		int gapLength = gapEnd - gapStart;
-		lines[gapLine][1] = lines[gapLine][1] + (gapLength);
-		// adjust the offsets of the lines after the gapLine
-		for (int i = gapLine + 1; i < lineCount; i++) {
-			lines[i][0] = lines[i][0] + gapLength;
-		}
-	}
-}
-/**
- * Returns the number of lines that are in the specified text.
- * <p>
- *
- * @param startOffset the start of the text to lineate
- * @param length the length of the text to lineate
- * @return number of lines
- */
-int lineCount(int startOffset, int length){
-	if (length == 0) {
-		return 0;
-	}
-	int lineCount = 0;
-	int count = 0;
-	int i = startOffset;
-	if (i >= gapStart) {
-		i += gapEnd - gapStart;
-	}
-	while (count < length) {
-		if ((i >= gapStart) && (i < gapEnd)) {
-			// ignore the gap
-		} else {
-			char ch = textStore[i];
-			if (ch == SWT.CR) {
-				// see if the next character is a LF
-				if (i + 1 < textStore.length) {
-					ch = textStore[i+1];
-					if (ch == SWT.LF) {
-						i++;
-						count++;
-					}
-				}
-				lineCount++;
-			} else if (ch == SWT.LF) {
-				lineCount++;
-			}
-			count++;
-		}
-		i++;
-	}
-	return lineCount;
 }
 /**
  * Returns the number of lines that are in the specified text.
@@ -472,6 +297,16 @@ int lineCount(String text){
 	}
 	return lineCount;
 }
+/**
+ * Returns the character at the given logical offset.
+ * <p>
+ *
+ * @param offset the logical offset of the character
+ * @return the character
+ */
+char getChar(int offset) {
+	return textStore[offset < gapStart ? offset : offset + (gapEnd - gapStart)];
+}
 /**
  * @return the logical length of the text store
  */
@@ -492,28 +327,14 @@ public int getCharCount() {
  */
 @Override
 public String getLine(int index) {
+	int lineCount = lines.size();
 	if ((index >= lineCount) || (index < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
-	int start = lines[index][0];
-	int length = lines[index][1];
-	int end = start + length - 1;
-	if (!gapExists() || (end < gapStart) || (start >= gapEnd)) {
-		// line is before or after the gap
-		while ((length - 1 >= 0) && isDelimiter(textStore[start+length-1])) {
-			length--;
-		}
-		return new String(textStore, start, length);
-	} else {
-		// gap is in the specified range, strip out the gap
-		StringBuilder buf = new StringBuilder();
-		int gapLength = gapEnd - gapStart;
-		buf.append(textStore, start, gapStart - start);
-		buf.append(textStore, gapEnd, length - gapLength - (gapStart - start));
-		length = buf.length();
-		while ((length - 1 >=0) && isDelimiter(buf.charAt(length - 1))) {
-			length--;
-		}
-		return buf.toString().substring(0, length);
+	int start = lines.get(index);
+	int end = index + 1 < lineCount ? lines.get(index + 1) : getCharCount();
+	while ((end > start) && isDelimiter(getChar(end - 1))) {
+		end--;
 	}
+	return getTextRange(start, end - start);
 }
 /**
  * Returns the line delimiter that should be used by the StyledText
@@ -528,46 +349,12 @@ public String getLine(int index) {
 public String getLineDelimiter() {
 	return LineDelimiter;
 }
-/**
- * Returns the line at the given index with delimiters.
- * <p>
- * @param index	the index of the line to return
- * @return the logical line text (i.e., without the gap) with delimiters
- */
-String getFullLine(int index) {
-	int start = lines[index][0];
-	int length = lines[index][1];
-	int end = start + length - 1;
-	if (!gapExists() || (end < gapStart) || (start >= gapEnd)) {
-		// line is before or after the gap
-		return new String(textStore, start, length);
-	} else {
-		// gap is in the specified range, strip out the gap
-		StringBuilder buffer = new StringBuilder();
-		int gapLength = gapEnd - gapStart;
-		buffer.append(textStore, start, gapStart - start);
-		buffer.append(textStore, gapEnd, length - gapLength - (gapStart - start));
-		return buffer.toString();
-	}
-}
-/**
- * Returns the physical line at the given index (i.e., with delimiters and the gap).
- * <p>
- *
- * @param index the line index
- * @return the physical line
- */
-String getPhysicalLine(int index) {
-	int start = lines[index][0];
-	int length = lines[index][1];
-	return getPhysicalText(start, length);
-}
 /**
  * @return the number of lines in the text store
  */
 @Override
 public int getLineCount(){
-	return lineCount;
+	return lines.size();
 }
 /**
  * Returns the line at the given offset.
@@ -582,67 +369,7 @@ public int getLineCount(){
 @Override
 public int getLineAtOffset(int charPosition){
 	int charCount = getCharCount();	if ((charPosition > charCount) || (charPosition < 0)) SWT.error(SWT.ERROR_INVALID_ARGUMENT, null, ". charPosition=" + charPosition + " charCount=" + charCount);
-	int position;
-	if (charPosition < gapStart) {
-		// position is before the gap
-		position = charPosition;
-	} else {
-		// position includes the gap
-		position = charPosition + (gapEnd - gapStart);
-	}
-
-	// if last line and the line is not empty you can ask for
-	// a position that doesn't exist (the one to the right of the
-	// last character) - for inserting
-	if (lineCount > 0) {
-		int lastLine = lineCount - 1;
-		if (position == lines[lastLine][0] + lines[lastLine][1])
-			return lastLine;
-	}
-
-	int high = lineCount;
-	int low = -1;
-	int index = lineCount;
-	while (high - low > 1) {
-		index = (high + low) / 2;
-		int lineStart = lines[index][0];
-		int lineEnd = lineStart + lines[index][1] - 1;
-		if (position <= lineStart) {
-			high = index;
-		} else if (position <= lineEnd) {
-			high = index;
-			break;
-		} else {
-			low = index;
-		}
-	}
-	return high;
-}
-/**
- * Returns the line index at the given physical offset.
- * <p>
- *
- * @param position physical character offset (i.e., includes gap)
- * @return the line index
- */
-int getLineAtPhysicalOffset(int position){
-	int high = lineCount;
-	int low = -1;
-	int index = lineCount;
-	while (high - low > 1) {
-		index = (high + low) / 2;
-		int lineStart = lines[index][0];
-		int lineEnd = lineStart + lines[index][1] - 1;
-		if (position <= lineStart) {
-			high = index;
-		} else if (position <= lineEnd) {
-			high = index;
-			break;
-		} else {
-			low = index;
-		}
-	}
-	return high;
+	return lines.search(charPosition) - 1;
 }
 /**
  * Returns the logical offset of the given line.
@@ -658,28 +385,8 @@ int getLineAtPhysicalOffset(int position){
 @Override
 public int getOffsetAtLine(int lineIndex) {
 	if (lineIndex == 0) return 0;
-	if ((lineIndex >= lineCount) || (lineIndex < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
-	int start = lines[lineIndex][0];
-	if (start > gapEnd) {
-		return start - (gapEnd - gapStart);
-	} else {
-		return start;
-	}
-}
-/**
- * Increases the line indexes array to accommodate more lines.
- * <p>
- *
- * @param numLines the number to increase the array by
- */
-void expandLinesBy(int numLines) {
-	int size = lines.length;
-	if (size - lineCount >= numLines) {
-		return;
-	}
-	int[][] newLines = new int[size+Math.max(10, numLines)][2];
-	System.arraycopy(lines, 0, newLines, 0, size);
-	lines = newLines;
+	if ((lineIndex >= lines.size()) || (lineIndex < 0)) error(SWT.ERROR_INVALID_ARGUMENT);
+	return lines.get(lineIndex);
 }
 /**
  * Reports an SWT error.
@@ -699,18 +406,6 @@ void error (int code) {
 boolean gapExists() {
 	return gapStart != gapEnd;
 }
-/**
- * Returns a string representing the continuous content of
- * the text store.
- * <p>
- *
- * @param start	the physical start offset of the text to return
- * @param length the physical length of the text to return
- * @return the text
- */
-String getPhysicalText(int start, int length) {
-	return new String(textStore, start, length);
-}
 /**
  * Returns a string representing the logical content of
  * the text store (i.e., gap stripped out).
@@ -792,10 +487,12 @@ public void replaceTextRange(int start, int replaceLength, String newText){
 	validateReplace(start, replaceLength);
 
 	// inform listeners
+	int firstLine = lines.search(start);
+	int lastLine = lines.search(start + replaceLength);
 	StyledTextEvent event = new StyledTextEvent(this);
 	event.type = ST.TextChanging;
 	event.start = start;
-	event.replaceLineCount = lineCount(start, replaceLength);
+	event.replaceLineCount = lastLine - firstLine;
 	event.text = newText;
 	event.newLineCount = lineCount(newText);
 	event.replaceCharCount = replaceLength;
@@ -803,9 +500,15 @@ public void replaceTextRange(int start, int replaceLength, String newText){
 	sendTextEvent(event);
 
 	// first delete the text to be replaced
-	delete(start, replaceLength, event.replaceLineCount + 1);
+	delete(start, replaceLength);
 	// then insert the new text
 	insert(start, newText);
+	// remove the starts of the replaced lines and add those of the new lines,
+	// the starts after the gap of the line index move with the change
+	lines.moveGap(firstLine);
+	lines.remove(lastLine - firstLine);
+	lines.shift(newText.length() - replaceLength);
+	indexLines(newText, start);
 	// inform listeners
 	event = new StyledTextEvent(this);
 	event.type = ST.TextChanged;
@@ -831,7 +534,6 @@ public void setText (String text){
 	textStore = text.toCharArray();
 	gapStart = -1;
 	gapEnd = -1;
-	expandExp = 1;
 	indexLines();
 	StyledTextEvent event = new StyledTextEvent(this);
 	event.type = ST.TextSet;
@@ -839,30 +541,16 @@ public void setText (String text){
 	sendTextEvent(event);
 }
 /**
- * Deletes text.
+ * Deletes text.  Only updates the text store, the line index is updated
+ * by the caller.
  * <p>
  * @param position the position at which the text to delete starts
  * @param length the length of the text to delete
- * @param numLines the number of lines that are being deleted
  */
-void delete(int position, int length, int numLines) {
+void delete(int position, int length) {
 	if (length == 0) return;
 
-	int startLine = getLineAtOffset(position);
-	int startLineOffset = getOffsetAtLine(startLine);
-	int endLine = getLineAtOffset(position + length);
-
-	String endText = "";
-	boolean splittingDelimiter = false;
-	if (position + length < getCharCount()) {
-		endText = getTextRange(position + length - 1, 2);
-		if ((endText.charAt(0) == SWT.CR) && (endText.charAt(1) == SWT.LF)) {
-			splittingDelimiter = true;
-		}
-	}
-
-	adjustGap(position + length, -length, startLine);
-	int [][] oldLines = indexLines(position, length + (gapEnd - gapStart), numLines);
+	adjustGap(position + length, -length);
 
 	// enlarge the gap - the gap can be enlarged either to the
 	// right or left
@@ -871,36 +559,5 @@ void delete(int position, int length, int numLines) {
 	} else {
 		gapEnd += length;
 	}
-
-	// figure out the length of the new concatenated line, do so by
-	// finding the first line delimiter after position
-	int j = position;
-	boolean eol = false;
-	while (j < textStore.length && !eol) {
-		if (j < gapStart || j >= gapEnd) {
-			char ch = textStore[j];
-			if (isDelimiter(ch)) {
-				if (j + 1 < textStore.length) {
-					if (ch == SWT.CR && (textStore[j+1] == SWT.LF)) {
-						j++;
-					}
-				}
-				eol = true;
-			}
-		}
-		j++;
-	}
-	// update the line where the deletion started
-	lines[startLine][1] = (position - startLineOffset) + (j - position);
-	// figure out the number of lines that have been deleted
-	int numOldLines = oldLines.length - 1;
-	if (splittingDelimiter) numOldLines -= 1;
-	// shift up the lines after the last deleted line, no need to update
-	// the offset or length of the lines
-	for (int i = endLine + 1; i < lineCount; i++) {
-		lines[i - numOldLines] = lines[i];
-	}
-	lineCount -= numOldLines;
-	gapLine = getLineAtPhysicalOffset(gapStart);
 }
 }
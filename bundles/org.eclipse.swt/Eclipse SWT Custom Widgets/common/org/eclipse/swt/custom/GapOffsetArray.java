@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+/**
+ * An ascending list of text offsets, such as the starts of the lines of a
+ * text, kept in one flat <code>int[]</code> with a gap at the last change.
+ * <p>
+ * Offsets before the gap are stored as they are, offsets after the gap as
+ * their distance to the end of the text. Text inserted or deleted between
+ * the two therefore moves all following offsets without touching them, and
+ * an edit costs a binary search plus the entries the gap has to move over,
+ * which is small while the edits stay close together as they do when typing.
+ * Each entry can carry an <code>int</code> value.
+ * </p>
+ */
+final class GapOffsetArray {
+	int[] offsets;	// the offsets, the ones after the gap relative to end
+	int[] values;	// the value of each entry, null if the entries have none
+	int gapStart;	// the index of the first entry of the gap
+	int gapEnd;	// the index after the last entry of the gap
+	int end;	// the length of the text
+
+GapOffsetArray(int capacity, boolean hasValues) {
+	offsets = new int[Math.max(capacity, 1)];
+	if (hasValues) values = new int[offsets.length];
+	gapEnd = offsets.length;
+}
+/**
+ * Removes all entries and sets the length of the text.
+ *
+ * @param length the length of the text
+ */
+void clear(int length) {
+	gapStart = 0;
+	gapEnd = offsets.length;
+	end = length;
+}
+/**
+ * Returns the offset of the entry at <code>index</code>.
+ */
+int get(int index) {
+	if (index < gapStart) return offsets[index];
+	return end - offsets[index + gapEnd - gapStart];
+}
+/**
+ * Returns the value of the entry at <code>index</code>.
+ */
+int getValue(int index) {
+	if (index < gapStart) return values[index];
+	return values[index + gapEnd - gapStart];
+}
+/**
+ * Inserts an entry at the gap. The offset must not be smaller than the one
+ * of the entry before the gap nor larger than the one of the entry after it.
+ *
+ * @param offset the offset of the new entry
+ * @param value the value of the new entry, ignored if the entries have no values
+ */
+void insert(int offset, int value) {
+	if (gapStart == gapEnd) grow();
+	offsets[gapStart] = offset;
+	if (values != null) values[gapStart] = value;
+	gapStart++;
+}
+/**
+ * Moves the gap in front of the entry at <code>index</code>.
+ */
+void moveGap(int index) {
+	int[] offsets = this.offsets;
+	if (index < gapStart) {
+		int count = gapStart - index, to = gapEnd - count;
+		for (int i = count - 1; i >= 0; i--) {
+			offsets[to + i] = end - offsets[index + i];
+		}
+		if (values != null) System.arraycopy(values, index, values, to, count);
+		gapStart = index;
+		gapEnd = to;
+	} else if (index > gapStart) {
+		int count = index - gapStart, from = gapEnd;
+		for (int i = 0; i < count; i++) {
+			offsets[gapStart + i] = end - offsets[from + i];
+		}
+		if (values != null) System.arraycopy(values, from, values, gapStart, count);
+		gapStart = index;
+		gapEnd = from + count;
+	}
+}
+/**
+ * Removes entries after the gap.
+ *
+ * @param count the number of entries to remove
+ */
+void remove(int count) {
+	gapEnd += count;
+}
+/**
+ * Returns the number of entries whose offset is smaller than or equal to
+ * <code>offset</code>, i.e. the index of the first entry after it.
+ */
+int search(int offset) {
+	int low = 0, high = size();
+	while (low < high) {
+		int mid = (low + high) >>> 1;
+		if (get(mid) <= offset) {
+			low = mid + 1;
+		} else {
+			high = mid;
+		}
+	}
+	return low;
+}
+/**
+ * Changes the length of the text by <code>delta</code> characters inserted
+ * or deleted at the gap, which moves the offsets of all entries after it.
+ */
+void shift(int delta) {
+	end += delta;
+}
+int size() {
+	return offsets.length - (gapEnd - gapStart);
+}
+void grow() {
+	int size = offsets.length;
+	int newSize = size + Math.max(size, 16);
+	int tail = size - gapEnd;
+	int[] newOffsets = new int[newSize];
+	System.arraycopy(offsets, 0, newOffsets, 0, gapStart);
+	System.arraycopy(offsets, gapEnd, newOffsets, newSize - tail, tail);
+	offsets = newOffsets;
+	if (values != null) {
+		int[] newValues = new int[newSize];
+		System.arraycopy(values, 0, newValues, 0, gapStart);
+		System.arraycopy(values, gapEnd, newValues, newSize - tail, tail);
+		values = newValues;
+	}
+	gapEnd = newSize - tail;
+}
+}
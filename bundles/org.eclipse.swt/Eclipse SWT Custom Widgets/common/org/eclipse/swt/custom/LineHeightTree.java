@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+import java.util.*;
+
+/**
+ * The heights of the lines of a <code>StyledText</code>, summed up in a
+ * Fenwick tree so that the height of a range of lines and the line at a
+ * given pixel are found in logarithmic time. Lines whose height is not
+ * known yet are counted separately. They have an estimated height of
+ * their own, which is 0 if the caller does not estimate the lines one by
+ * one, and the queries add an estimate for each of them on top.
+ * <p>
+ * Changing the height of a line updates the tree in logarithmic time.
+ * Inserting or removing lines moves the heights after them, the tree is
+ * then rebuilt from the first changed line on by the next query.
+ * </p>
+ */
+final class LineHeightTree {
+	int[] heights;	// the height of each line, -1 - the estimated height if not known
+	int[] sums;	// the tree of the known and estimated heights, indexed from 1
+	int[] unknowns;	// the tree of the number of unknown heights, indexed from 1
+	int count;	// the number of lines
+	int valid;	// the number of nodes of the trees that are up to date
+
+/**
+ * Creates the tree for lines whose height is not known.
+ *
+ * @param count the number of lines
+ * @param estimate the estimated height of each line
+ */
+LineHeightTree(int count, int estimate) {
+	heights = new int[Math.max(count, 1)];
+	Arrays.fill(heights, -1 - estimate);
+	sums = new int[heights.length + 1];
+	unknowns = new int[heights.length + 1];
+	this.count = count;
+}
+/**
+ * Returns the height of the lines before <code>end</code>, where each line
+ * whose height is not known counts as <code>estimate</code>.
+ */
+int getHeight(int end, int estimate) {
+	validate();
+	int height = 0, unknown = 0;
+	for (int node = Math.min(end, count); node > 0; node -= node & -node) {
+		height += sums[node];
+		unknown += unknowns[node];
+	}
+	return height + unknown * estimate;
+}
+/**
+ * Returns the number of lines before <code>end</code> whose height is not known.
+ */
+int getUnknownCount(int end) {
+	validate();
+	int unknown = 0;
+	for (int node = Math.min(end, count); node > 0; node -= node & -node) {
+		unknown += unknowns[node];
+	}
+	return unknown;
+}
+/**
+ * Returns the first line at or after <code>index</code> whose height is
+ * not known, or the number of lines if there is none.
+ */
+int nextUnknown(int index) {
+	if (index >= count) return count;
+	if (heights[index] < 0) return index;
+	return findUnknown(getUnknownCount(index));
+}
+/**
+ * Returns the last line before <code>index</code> whose height is not
+ * known, or -1 if there is none.
+ */
+int previousUnknown(int index) {
+	index = Math.min(index, count);
+	if (index == 0) return -1;
+	if (heights[index - 1] < 0) return index - 1;
+	int unknown = getUnknownCount(index);
+	return unknown == 0 ? -1 : findUnknown(unknown - 1);
+}
+/**
+ * Returns the line after the first <code>unknown</code> lines whose
+ * height is not known, i.e. the largest number of lines that contain
+ * no more than <code>unknown</code> of them.
+ */
+int findUnknown(int unknown) {
+	int node = 0;
+	for (int step = Integer.highestOneBit(count); step > 0; step >>= 1) {
+		int next = node + step;
+		if (next <= count && unknowns[next] <= unknown) {
+			node = next;
+			unknown -= unknowns[next];
+		}
+	}
+	return node;
+}
+/**
+ * Returns the largest number of lines whose height, with the lines of
+ * unknown height counted as <code>estimate</code>, does not exceed
+ * <code>pixel</code>. This is the line that contains the pixel, or the
+ * number of lines if the pixel is below the last line.
+ */
+int search(int pixel, int estimate) {
+	validate();
+	int node = 0;
+	for (int step = Integer.highestOneBit(count); step > 0; step >>= 1) {
+		int next = node + step;
+		if (next <= count) {
+			int height = sums[next] + unknowns[next] * estimate;
+			if (height <= pixel) {
+				node = next;
+				pixel -= height;
+			}
+		}
+	}
+	return node;
+}
+/**
+ * Returns the estimated height of a line whose height is not known.
+ */
+int getEstimate(int index) {
+	return -1 - heights[index];
+}
+boolean isKnown(int index) {
+	return heights[index] >= 0;
+}
+/**
+ * Sets the height of a line.
+ */
+void set(int index, int height) {
+	update(index, height);
+}
+/**
+ * Marks the height of a line as not known.
+ *
+ * @param index the line index
+ * @param estimate the estimated height of the line
+ */
+void setUnknown(int index, int estimate) {
+	update(index, -1 - estimate);
+}
+void update(int index, int height) {
+	if (index >= count) return;
+	int oldHeight = heights[index];
+	if (oldHeight == height) return;
+	heights[index] = height;
+	int delta = (height < 0 ? -1 - height : height) - (oldHeight < 0 ? -1 - oldHeight : oldHeight);
+	int unknownDelta = (height < 0 ? 1 : 0) - (oldHeight < 0 ? 1 : 0);
+	for (int node = index + 1; node <= valid; node += node & -node) {
+		sums[node] += delta;
+		unknowns[node] += unknownDelta;
+	}
+}
+/**
+ * Replaces lines by lines of unknown height.
+ *
+ * @param index the first line to replace
+ * @param replaceCount the number of lines to remove
+ * @param newCount the number of lines to insert
+ * @param estimate the estimated height of each new line
+ */
+void replace(int index, int replaceCount, int newCount, int estimate) {
+	if (replaceCount == newCount) {
+		for (int i = index; i < index + newCount; i++) {
+			setUnknown(i, estimate);
+		}
+		return;
+	}
+	int newLineCount = count - replaceCount + newCount;
+	if (newLineCount > heights.length) {
+		int capacity = Math.max(newLineCount, heights.length + Math.max(heights.length, 16));
+		heights = Arrays.copyOf(heights, capacity);
+		sums = Arrays.copyOf(sums, capacity + 1);
+		unknowns = Arrays.copyOf(unknowns, capacity + 1);
+	}
+	System.arraycopy(heights, index + replaceCount, heights, index + newCount, count - index - replaceCount);
+	Arrays.fill(heights, index, index + newCount, -1 - estimate);
+	count = newLineCount;
+	valid = Math.min(valid, index);
+}
+/**
+ * Rebuilds the nodes of the trees after the last valid one. Each node is
+ * filled with the height of its own line and then added to its parent, in
+ * ascending order, so that the nodes are complete when they are added.
+ * The valid nodes whose parent is rebuilt are the ones a query for the
+ * valid lines visits.
+ */
+void validate() {
+	if (valid == count) return;
+	int start = valid + 1;
+	for (int node = start; node <= count; node++) {
+		int height = heights[node - 1];
+		sums[node] = height < 0 ? -1 - height : height;
+		unknowns[node] = height < 0 ? 1 : 0;
+	}
+	for (int node = valid; node > 0; node -= node & -node) {
+		addToParent(node);
+	}
+	for (int node = start; node <= count; node++) {
+		addToParent(node);
+	}
+	valid = count;
+}
+void addToParent(int node) {
+	int parent = node + (node & -node);
+	if (parent <= count) {
+		sums[parent] += sums[node];
+		unknowns[parent] += unknowns[node];
+	}
+}
+}
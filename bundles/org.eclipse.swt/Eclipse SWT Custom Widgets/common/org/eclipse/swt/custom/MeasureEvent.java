@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+
+import org.eclipse.swt.events.*;
+
+/**
+ * This event is sent after each batch of lines whose height a
+ * <code>StyledText</code> has calculated in the background.
+ *
+ * @see StyledTextMeasureListener
+ * @see <a href="http://www.eclipse.org/swt/">Sample code and further information</a>
+ *
+ * @since 3.127
+ */
+public class MeasureEvent extends TypedEvent {
+
+	/**
+	 * the number of lines whose height is calculated
+	 */
+	public int measuredLines;
+
+	/**
+	 * the number of lines
+	 */
+	public int lineCount;
+
+	/**
+	 * whether the calculation continues, set to <code>false</code> to stop it
+	 */
+	public boolean doit;
+
+	static final long serialVersionUID = 3125684503458295427L;
+
+MeasureEvent(StyledTextEvent e) {
+	super(e);
+	measuredLines = e.start;
+	lineCount = e.end;
+	doit = e.doit;
+}
+}
@@ -0,0 +1,502 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+
+import org.eclipse.swt.*;
+
+/**
+ * A <code>StyledTextContent</code> for large documents, such as log files,
+ * that is set with <code>StyledText.setContent</code>.
+ * <p>
+ * The text is a piece table: the text it was set to is never modified, the
+ * text inserted later is appended to a second buffer, and the document is
+ * the sequence of pieces of the two. The pieces and the line starts are
+ * each kept in a flat <code>int[]</code> with a gap at the last change, so
+ * that finding a line or an offset is a binary search and an edit only moves
+ * the entries between it and the previous edit. Setting the text does not
+ * copy it and a file in the ISO-8859-1 charset can be mapped into memory
+ * instead of being read, see {@link #setFile(Path, Charset)}.
+ * </p><p>
+ * The line delimiters are CR, LF and CR/LF and the error checking is the
+ * same as that of the default content of <code>StyledText</code>. The line
+ * delimiters of inserted text are found in that text alone, so a CR at its
+ * end and a LF after it remain two line delimiters and the line counts of
+ * the <code>TextChangingEvent</code> are always exact.
+ * </p>
+ *
+ * @see StyledText#setContent(StyledTextContent)
+ * @since 3.127
+ */
+public class PieceTableContent implements StyledTextContent {
+	private final static String LineDelimiter = System.lineSeparator();
+
+	List<StyledTextListener> textListeners = new ArrayList<>(); // stores text listeners for event sending
+	CharSequence original = "";	// the text that was set, never modified
+	char[] added = new char[0];	// the text that was inserted since, only appended to
+	int addedLength;	// the number of characters used in added
+	GapOffsetArray pieces = new GapOffsetArray(16, true);	// the start of each piece and where its text is, see getValue
+	GapOffsetArray lines = new GapOffsetArray(16, false);	// the start of each line
+	int charCount;
+
+/**
+ * A file mapped into memory, one character per byte.
+ */
+static final class MappedText implements CharSequence {
+	final ByteBuffer buffer;
+
+	MappedText(ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+	@Override
+	public char charAt(int index) {
+		return (char) (buffer.get(index) & 0xFF);
+	}
+	void getChars(int start, int end, char[] dest, int destIndex) {
+		ByteBuffer buffer = this.buffer;
+		for (int i = start; i < end; i++) {
+			dest[destIndex++] = (char) (buffer.get(i) & 0xFF);
+		}
+	}
+	@Override
+	public int length() {
+		return buffer.limit();
+	}
+	@Override
+	public CharSequence subSequence(int start, int end) {
+		return new MappedText(buffer.slice(start, end - start));
+	}
+	@Override
+	public String toString() {
+		byte[] bytes = new byte[buffer.limit()];
+		buffer.get(0, bytes);
+		return new String(bytes, StandardCharsets.ISO_8859_1);
+	}
+}
+
+/**
+ * Creates a new empty <code>PieceTableContent</code>. A <code>StyledTextContent</code>
+ * will always have at least one empty line.
+ */
+public PieceTableContent() {
+	super();
+	setText("");
+}
+/**
+ * Adds a <code>TextChangeListener</code> listening for
+ * <code>TextChangingEvent</code> and <code>TextChangedEvent</code>. A
+ * <code>TextChangingEvent</code> is sent before changes to the text occur.
+ * A <code>TextChangedEvent</code> is sent after changes to the text
+ * occurred.
+ *
+ * @param listener the listener
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ */
+@Override
+public void addTextChangeListener(TextChangeListener listener) {
+	if (listener == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	StyledTextListener typedListener = new StyledTextListener(listener);
+	textListeners.add(typedListener);
+}
+/**
+ * Appends text to the buffer of the inserted text.
+ *
+ * @return the index of the text in the buffer
+ */
+int append(String text) {
+	int length = text.length();
+	if (addedLength + length > added.length) {
+		int size = Math.max(addedLength + length, added.length + Math.max(added.length >> 1, 1024));
+		added = Arrays.copyOf(added, size);
+	}
+	text.getChars(0, length, added, addedLength);
+	int index = addedLength;
+	addedLength += length;
+	return index;
+}
+char charAt(int offset) {
+	int index = pieces.search(offset) - 1;
+	int source = pieces.getValue(index), delta = offset - pieces.get(index);
+	return source >= 0 ? original.charAt(source + delta) : added[~source + delta];
+}
+/**
+ * @return the number of characters of the text
+ */
+@Override
+public int getCharCount() {
+	return charCount;
+}
+/**
+ * Copies text to a char array.
+ *
+ * @param start the offset of the text to copy
+ * @param length the number of characters to copy
+ * @param dest the array to copy to, from index 0
+ */
+void getChars(int start, int length, char[] dest) {
+	int index = pieces.search(start) - 1, count = pieces.size();
+	int destIndex = 0;
+	while (length > 0) {
+		int pieceStart = pieces.get(index);
+		int pieceEnd = index + 1 < count ? pieces.get(index + 1) : charCount;
+		int n = Math.min(pieceEnd - start, length);
+		int source = pieces.getValue(index), delta = start - pieceStart;
+		if (source < 0) {
+			System.arraycopy(added, ~source + delta, dest, destIndex, n);
+		} else if (original instanceof String string) {
+			string.getChars(source + delta, source + delta + n, dest, destIndex);
+		} else if (original instanceof MappedText mapped) {
+			mapped.getChars(source + delta, source + delta + n, dest, destIndex);
+		} else {
+			for (int i = 0; i < n; i++) {
+				dest[destIndex + i] = original.charAt(source + delta + i);
+			}
+		}
+		start += n;
+		destIndex += n;
+		length -= n;
+		index++;
+	}
+}
+/**
+ * Returns the line at <code>index</code> without delimiters.
+ *
+ * @param index	the index of the line to return
+ * @return the line text without delimiters
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_INVALID_ARGUMENT when index is out of range</li>
+ * </ul>
+ */
+@Override
+public String getLine(int index) {
+	int count = lines.size();
+	if (index < 0 || index >= count) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	int start = lines.get(index);
+	int end = index + 1 < count ? lines.get(index + 1) : charCount;
+	if (start == end) return "";
+	char[] chars = new char[end - start];
+	getChars(start, chars.length, chars);
+	int length = chars.length;
+	while (length > 0 && isDelimiter(chars[length - 1])) {
+		length--;
+	}
+	return new String(chars, 0, length);
+}
+/**
+ * Returns the line at the given offset.
+ *
+ * @param offset offset of the character
+ * @return the index of the line, the offset of a line delimiter belongs to the line it ends
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT when offset is out of range</li>
+ * </ul>
+ */
+@Override
+public int getLineAtOffset(int offset) {
+	if (offset < 0 || offset > charCount) SWT.error(SWT.ERROR_INVALID_ARGUMENT, null, ". charPosition=" + offset + " charCount=" + charCount);
+	return lines.search(offset) - 1;
+}
+/**
+ * @return the number of lines of the text
+ */
+@Override
+public int getLineCount() {
+	return lines.size();
+}
+/**
+ * Returns the line delimiter that should be used by the StyledText
+ * widget when inserting new lines. This is the line separator of the
+ * platform.
+ *
+ * @return the platform line delimiter
+ */
+@Override
+public String getLineDelimiter() {
+	return LineDelimiter;
+}
+/**
+ * Returns the offset of the given line.
+ *
+ * @param lineIndex index of the line
+ * @return the offset of the first character of the line
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT when lineIndex is out of range</li>
+ * </ul>
+ */
+@Override
+public int getOffsetAtLine(int lineIndex) {
+	if (lineIndex == 0) return 0;
+	if (lineIndex < 0 || lineIndex >= lines.size()) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	return lines.get(lineIndex);
+}
+/**
+ * Returns a string representing the content at the given range.
+ *
+ * @param start the start offset of the text to return
+ * @param length the length of the text to return
+ * @return the text
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT when the range is out of the text</li>
+ * </ul>
+ */
+@Override
+public String getTextRange(int start, int length) {
+	if (start < 0 || length < 0 || start > charCount - length) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	if (length == 0) return "";
+	char[] chars = new char[length];
+	getChars(start, length, chars);
+	return new String(chars);
+}
+/**
+ * Adds the starts of the lines that begin inside a text to the line index,
+ * in front of its gap.
+ *
+ * @param text the text to index
+ * @param offset the offset of the text in the content
+ */
+void indexLines(CharSequence text, int offset) {
+	GapOffsetArray lines = this.lines;
+	int length = text.length();
+	for (int i = 0; i < length; i++) {
+		char ch = text.charAt(i);
+		if (ch == SWT.CR) {
+			if (i + 1 < length && text.charAt(i + 1) == SWT.LF) i++;
+			lines.insert(offset + i + 1, 0);
+		} else if (ch == SWT.LF) {
+			lines.insert(offset + i + 1, 0);
+		}
+	}
+}
+boolean isDelimiter(char ch) {
+	return ch == SWT.CR || ch == SWT.LF;
+}
+boolean isInsideCRLF(int offset) {
+	if (offset == 0 || offset == charCount) return false;
+	if (charAt(offset - 1) != SWT.CR || charAt(offset) != SWT.LF) return false;
+	/*
+	 * Bug 568033: the line delimiters of an inserted text are found in the
+	 * text alone, a CR and a LF that only became adjacent by an edit are
+	 * separate line delimiters and may be separated again.
+	 */
+	return getLineAtOffset(offset - 1) == getLineAtOffset(offset);
+}
+/**
+ * Returns the number of line delimiters in a text, a CR/LF counts as one.
+ */
+int lineCount(String text) {
+	int lineCount = 0;
+	int length = text.length();
+	for (int i = 0; i < length; i++) {
+		char ch = text.charAt(i);
+		if (ch == SWT.CR) {
+			if (i + 1 < length && text.charAt(i + 1) == SWT.LF) {
+				i++;
+			}
+			lineCount++;
+		} else if (ch == SWT.LF) {
+			lineCount++;
+		}
+	}
+	return lineCount;
+}
+/**
+ * Removes the specified <code>TextChangeListener</code>.
+ *
+ * @param listener the listener which should no longer be notified
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ */
+@Override
+public void removeTextChangeListener(TextChangeListener listener) {
+	if (listener == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	for (int i = 0; i < textListeners.size(); i++) {
+		StyledTextListener typedListener = textListeners.get(i);
+		if (typedListener.getEventListener() == listener) {
+			textListeners.remove(i);
+			break;
+		}
+	}
+}
+/**
+ * Replaces the text with <code>newText</code> starting at position <code>start</code>
+ * for a length of <code>replaceLength</code>. Notifies the appropriate listeners.
+ * <p>
+ * When sending the TextChangingEvent, <code>newLineCount</code> is the number of
+ * lines that are going to be inserted and <code>replaceLineCount</code> is
+ * the number of lines that are going to be deleted, based on the change
+ * that occurs visually.
+ * </p>
+ *
+ * @param start	start offset of text to replace
+ * @param replaceLength length of text to replace
+ * @param newText the text to insert
+ *
+ * @exception IllegalArgumentException <ul>
+ *   <li>ERROR_NULL_ARGUMENT when newText is null</li>
+ *   <li>ERROR_INVALID_ARGUMENT when the range is out of the text or the text
+ *      change results in a \r\n line delimiter being split or partially deleted</li>
+ * </ul>
+ */
+@Override
+public void replaceTextRange(int start, int replaceLength, String newText) {
+	if (newText == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	if (start < 0 || replaceLength < 0 || start > charCount - replaceLength) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	int end = start + replaceLength;
+	if (isInsideCRLF(start) || (replaceLength > 0 && isInsideCRLF(end))) {
+		String message = " [start=" + start + " len=" + replaceLength + "]";
+		SWT.error(SWT.ERROR_INVALID_ARGUMENT, null, message);
+	}
+
+	// inform listeners
+	int firstLine = lines.search(start);
+	int lastLine = lines.search(end);
+	StyledTextEvent event = new StyledTextEvent(this);
+	event.type = ST.TextChanging;
+	event.start = start;
+	event.replaceLineCount = lastLine - firstLine;
+	event.text = newText;
+	event.newLineCount = lineCount(newText);
+	event.replaceCharCount = replaceLength;
+	event.newCharCount = newText.length();
+	sendTextEvent(event);
+
+	int delta = newText.length() - replaceLength;
+	replacePieces(start, end, newText);
+	lines.moveGap(firstLine);
+	lines.remove(lastLine - firstLine);
+	lines.shift(delta);
+	indexLines(newText, start);
+	charCount += delta;
+
+	// inform listeners
+	event = new StyledTextEvent(this);
+	event.type = ST.TextChanged;
+	sendTextEvent(event);
+}
+/**
+ * Replaces the pieces of a range of the text by a piece of new text.
+ * <code>charCount</code> is not updated.
+ */
+void replacePieces(int start, int end, String text) {
+	splitPiece(start);
+	splitPiece(end);
+	GapOffsetArray pieces = this.pieces;
+	int first = pieces.search(start - 1);
+	pieces.moveGap(first);
+	pieces.remove(pieces.search(end - 1) - first);
+	int length = text.length();
+	pieces.shift(length - (end - start));
+	if (length == 0) return;
+	int index = append(text);
+	if (first > 0) {
+		// extend the previous piece when the text continues it, as when typing
+		int source = pieces.getValue(first - 1);
+		if (source < 0 && ~source + start - pieces.get(first - 1) == index) return;
+	}
+	pieces.insert(start, ~index);
+}
+/**
+ * Sends the text listeners the TextChanged event.
+ */
+void sendTextEvent(StyledTextEvent event) {
+	for (StyledTextListener textListener : textListeners) {
+		textListener.handleEvent(event);
+	}
+}
+/**
+ * Replaces the content with the content of a file.
+ * <p>
+ * A file in the ISO-8859-1 charset, which has one character per byte, is
+ * mapped into memory read-only instead of being read, so that its text is
+ * not copied to the Java heap. The file must not be modified while it is
+ * the content; edits are kept in memory and never written to it. Files in
+ * other charsets are read and decoded, malformed input is replaced.
+ * </p>
+ *
+ * @param file the file
+ * @param charset the charset of the file
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when file or charset is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT when the file has more than <code>Integer.MAX_VALUE</code> characters</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_IO when the file cannot be read</li>
+ * </ul>
+ */
+public void setFile(Path file, Charset charset) {
+	if (file == null || charset == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	CharSequence text = null;
+	try {
+		if (StandardCharsets.ISO_8859_1.equals(charset)) {
+			try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+				long size = channel.size();
+				if (size > Integer.MAX_VALUE) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+				text = new MappedText(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+			}
+		} else {
+			text = new String(Files.readAllBytes(file), charset);
+		}
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+	setText(text);
+}
+/**
+ * Sets the content to text. The text is not copied.
+ *
+ * @param text the text
+ */
+@Override
+public void setText(String text) {
+	setText((CharSequence) text);
+}
+void setText(CharSequence text) {
+	original = text;
+	added = new char[0];
+	addedLength = 0;
+	charCount = text.length();
+	pieces.clear(charCount);
+	if (charCount > 0) pieces.insert(0, 0);
+	lines.clear(charCount);
+	lines.insert(0, 0);
+	indexLines(text, 0);
+	StyledTextEvent event = new StyledTextEvent(this);
+	event.type = ST.TextSet;
+	event.text = "";
+	sendTextEvent(event);
+}
+/**
+ * Splits the piece that contains an offset, so that a piece starts at it.
+ */
+void splitPiece(int offset) {
+	if (offset == 0 || offset >= charCount) return;
+	int index = pieces.search(offset) - 1;
+	int pieceStart = pieces.get(index);
+	if (pieceStart == offset) return;
+	int source = pieces.getValue(index), delta = offset - pieceStart;
+	pieces.moveGap(index + 1);
+	pieces.insert(offset, source >= 0 ? source + delta : source - delta);
+}
+}
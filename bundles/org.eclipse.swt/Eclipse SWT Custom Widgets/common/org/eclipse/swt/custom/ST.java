@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -224,4 +224,11 @@ public class ST {
 	 */
 	public static final int CaretMoved = 3011;
 
+	/**
+	 *  The LinesMeasured event type (value is 3012).
+	 *
+	 *  @since 3.127
+	 */
+	public static final int LinesMeasured = 3012;
+
 }
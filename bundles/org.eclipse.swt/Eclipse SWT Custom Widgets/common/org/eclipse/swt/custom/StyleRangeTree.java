@@ -0,0 +1,325 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+import java.util.*;
+
+/**
+ * The style ranges of a <code>StyledText</code>, sorted by offset and stored
+ * in blocks of up to <code>MAX_BLOCK_SIZE</code> ranges. The start of each
+ * range is relative to the start of the first range of its block, and the
+ * blocks are indexed by a Fenwick tree of the distance from each block to
+ * the next one and of the number of ranges in each block. Moving all ranges
+ * after an offset, as when text is typed, changes one block and the
+ * distance to the next block, and finding the range at an offset or index
+ * is a descent of the tree, so both take logarithmic time.
+ * <p>
+ * Replacing ranges rewrites the blocks they are in. When that splits or
+ * joins blocks, the tree is rebuilt from the first changed block on by the
+ * next query, as in <code>LineHeightTree</code>.
+ * </p>
+ */
+final class StyleRangeTree {
+	static final int BLOCK_SIZE = 64;	// the size of the blocks a long run of ranges is split into
+	static final int MAX_BLOCK_SIZE = BLOCK_SIZE * 2;
+
+	int[][] blockRanges;	// the start relative to the block and the length of each range
+	StyleRange[][] blockStyles;
+	int[] counts;	// the number of ranges of each block
+	int[] widths;	// the distance from the start of each block to the start of the next one, 0 for the last block
+	int[] countSums;	// the tree of the counts, indexed from 1
+	int[] widthSums;	// the tree of the widths, indexed from 1
+	int blockCount;
+	int valid;	// the number of nodes of the trees that are up to date
+	int origin;	// the start of the first block
+	int count;	// the number of ranges
+
+StyleRangeTree() {
+	blockRanges = new int[4][];
+	blockStyles = new StyleRange[4][];
+	counts = new int[4];
+	widths = new int[4];
+	countSums = new int[5];
+	widthSums = new int[5];
+}
+/**
+ * Returns the first range that ends after <code>offset</code>, or the
+ * number of ranges if there is none.
+ */
+int indexOf(int offset) {
+	if (count == 0) return 0;
+	int block = findBlockAt(offset);
+	int[] ranges = blockRanges[block];
+	int relative = offset - getBlockStart(block);
+	int low = -1, high = counts[block];
+	while (high - low > 1) {
+		int index = (high + low) / 2;
+		if (ranges[index * 2] + ranges[index * 2 + 1] > relative) {
+			high = index;
+		} else {
+			low = index;
+		}
+	}
+	return getFirstIndex(block) + high;
+}
+int getStart(int index) {
+	int block = findBlock(index);
+	return getBlockStart(block) + blockRanges[block][(index - getFirstIndex(block)) * 2];
+}
+int getLength(int index) {
+	int block = findBlock(index);
+	return blockRanges[block][(index - getFirstIndex(block)) * 2 + 1];
+}
+StyleRange getStyle(int index) {
+	int block = findBlock(index);
+	return blockStyles[block][index - getFirstIndex(block)];
+}
+/**
+ * Copies the ranges from <code>first</code> to <code>last</code> into the
+ * arrays, as start and length pairs.
+ *
+ * @param first the first range to copy
+ * @param last the range after the last one to copy
+ * @param ranges the array to copy the ranges into, or <code>null</code>
+ * @param styles the array to copy the styles into, or <code>null</code>
+ * @param index the index of the first style in the arrays
+ */
+void copyTo(int first, int last, int[] ranges, StyleRange[] styles, int index) {
+	if (first >= last) return;
+	int block = findBlock(first);
+	int start = getBlockStart(block);
+	int i = first - getFirstIndex(block);
+	for (int j = index, end = index + last - first; j < end; j++) {
+		if (i == counts[block]) {
+			start += widths[block++];
+			i = 0;
+		}
+		if (ranges != null) {
+			ranges[j * 2] = start + blockRanges[block][i * 2];
+			ranges[j * 2 + 1] = blockRanges[block][i * 2 + 1];
+		}
+		if (styles != null) styles[j] = blockStyles[block][i];
+		i++;
+	}
+}
+/**
+ * Moves the ranges from <code>index</code> on by <code>offset</code>.
+ */
+void shift(int index, int offset) {
+	if (index >= count || offset == 0) return;
+	int block = findBlock(index);
+	int i = index - getFirstIndex(block);
+	if (i == 0) {
+		if (block == 0) {
+			origin += offset;
+		} else {
+			addWidth(block - 1, offset);
+		}
+	} else {
+		int[] ranges = blockRanges[block];
+		for (int j = i * 2, end = counts[block] * 2; j < end; j += 2) {
+			ranges[j] += offset;
+		}
+		if (block < blockCount - 1) addWidth(block, offset);
+	}
+}
+/**
+ * Replaces ranges by new ones.
+ *
+ * @param index the first range to replace
+ * @param replaceCount the number of ranges to remove
+ * @param newRanges the start and length pairs of the new ranges
+ * @param newStyles the styles of the new ranges
+ * @param newCount the number of new ranges
+ */
+void replace(int index, int replaceCount, int[] newRanges, StyleRange[] newStyles, int newCount) {
+	int first, last;
+	if (blockCount == 0) {
+		first = 0;
+		last = -1;
+	} else {
+		first = index < count ? findBlock(index) : blockCount - 1;
+		last = replaceCount > 0 ? findBlock(index + replaceCount - 1) : first;
+	}
+	if (first == last && replaceCount == newCount && newCount > 0) {
+		int blockIndex = index - getFirstIndex(first);
+		int start = getBlockStart(first);
+		if (blockIndex > 0 || newRanges[0] == start) {
+			int[] ranges = blockRanges[first];
+			for (int i = 0; i < newCount; i++) {
+				ranges[(blockIndex + i) * 2] = newRanges[i * 2] - start;
+				ranges[(blockIndex + i) * 2 + 1] = newRanges[i * 2 + 1];
+				blockStyles[first][blockIndex + i] = newStyles[i];
+			}
+			return;
+		}
+	}
+	int firstIndex = first <= last ? getFirstIndex(first) : 0;
+	int lastIndex = first <= last ? getFirstIndex(last) + counts[last] : 0;
+	int total = lastIndex - firstIndex - replaceCount + newCount;
+	if (total < BLOCK_SIZE / 2 && last + 1 < blockCount) {
+		// join small blocks with the next one
+		last++;
+		lastIndex += counts[last];
+		total += counts[last];
+	}
+	int previousStart = first > 0 ? getBlockStart(first - 1) : 0;
+	boolean hasNext = last + 1 < blockCount;
+	int nextStart = hasNext ? getBlockStart(last + 1) : 0;
+
+	int[] ranges = new int[total * 2];
+	StyleRange[] styles = new StyleRange[total];
+	copyTo(firstIndex, index, ranges, styles, 0);
+	System.arraycopy(newRanges, 0, ranges, (index - firstIndex) * 2, newCount * 2);
+	System.arraycopy(newStyles, 0, styles, index - firstIndex, newCount);
+	copyTo(index + replaceCount, lastIndex, ranges, styles, index - firstIndex + newCount);
+
+	int oldBlockCount = last - first + 1;
+	int newBlockCount = total == 0 ? 0 : total <= MAX_BLOCK_SIZE ? 1 : (total + BLOCK_SIZE - 1) / BLOCK_SIZE;
+	int grow = newBlockCount - oldBlockCount;
+	if (grow != 0) {
+		if (blockCount + grow > counts.length) {
+			int capacity = Math.max(blockCount + grow, counts.length * 2);
+			blockRanges = Arrays.copyOf(blockRanges, capacity);
+			blockStyles = Arrays.copyOf(blockStyles, capacity);
+			counts = Arrays.copyOf(counts, capacity);
+			widths = Arrays.copyOf(widths, capacity);
+			countSums = Arrays.copyOf(countSums, capacity + 1);
+			widthSums = Arrays.copyOf(widthSums, capacity + 1);
+		}
+		int tail = blockCount - last - 1;
+		System.arraycopy(blockRanges, last + 1, blockRanges, last + 1 + grow, tail);
+		System.arraycopy(blockStyles, last + 1, blockStyles, last + 1 + grow, tail);
+		System.arraycopy(counts, last + 1, counts, last + 1 + grow, tail);
+		System.arraycopy(widths, last + 1, widths, last + 1 + grow, tail);
+		blockCount += grow;
+		for (int i = blockCount; i < blockCount - grow; i++) {
+			blockRanges[i] = null;
+			blockStyles[i] = null;
+		}
+		valid = Math.min(valid, first);
+	}
+	for (int i = 0, offset = 0; i < newBlockCount; i++) {
+		int block = first + i;
+		int blockSize = (int)((long)total * (i + 1) / newBlockCount) - offset;
+		int start = ranges[offset * 2];
+		int[] relativeRanges = new int[MAX_BLOCK_SIZE * 2];
+		for (int j = 0; j < blockSize; j++) {
+			relativeRanges[j * 2] = ranges[(offset + j) * 2] - start;
+			relativeRanges[j * 2 + 1] = ranges[(offset + j) * 2 + 1];
+		}
+		StyleRange[] blockStyle = new StyleRange[MAX_BLOCK_SIZE];
+		System.arraycopy(styles, offset, blockStyle, 0, blockSize);
+		blockRanges[block] = relativeRanges;
+		blockStyles[block] = blockStyle;
+		offset += blockSize;
+		int width = i + 1 < newBlockCount ? ranges[offset * 2] - start : hasNext ? nextStart - start : 0;
+		set(block, blockSize, width);
+	}
+	int start = newBlockCount > 0 ? ranges[0] : nextStart;
+	if (first > 0) {
+		set(first - 1, counts[first - 1], hasNext || newBlockCount > 0 ? start - previousStart : 0);
+	} else {
+		origin = start;
+	}
+	count += newCount - replaceCount;
+}
+/**
+ * Returns the block that contains the range at <code>index</code>.
+ */
+int findBlock(int index) {
+	validate();
+	int node = 0;
+	for (int step = Integer.highestOneBit(blockCount); step > 0; step >>= 1) {
+		int next = node + step;
+		if (next <= blockCount && countSums[next] <= index) {
+			node = next;
+			index -= countSums[next];
+		}
+	}
+	return Math.min(node, blockCount - 1);
+}
+/**
+ * Returns the last block that starts at or before <code>offset</code>, or
+ * the first block if there is none.
+ */
+int findBlockAt(int offset) {
+	validate();
+	int node = 0;
+	offset -= origin;
+	if (offset < 0) return 0;
+	for (int step = Integer.highestOneBit(blockCount); step > 0; step >>= 1) {
+		int next = node + step;
+		if (next <= blockCount && widthSums[next] <= offset) {
+			node = next;
+			offset -= widthSums[next];
+		}
+	}
+	return Math.min(node, blockCount - 1);
+}
+int getBlockStart(int block) {
+	validate();
+	int start = origin;
+	for (int node = block; node > 0; node -= node & -node) {
+		start += widthSums[node];
+	}
+	return start;
+}
+int getFirstIndex(int block) {
+	validate();
+	int index = 0;
+	for (int node = block; node > 0; node -= node & -node) {
+		index += countSums[node];
+	}
+	return index;
+}
+void addWidth(int block, int width) {
+	set(block, counts[block], widths[block] + width);
+}
+void set(int block, int count, int width) {
+	int countDelta = count - counts[block], widthDelta = width - widths[block];
+	counts[block] = count;
+	widths[block] = width;
+	for (int node = block + 1; node <= valid; node += node & -node) {
+		countSums[node] += countDelta;
+		widthSums[node] += widthDelta;
+	}
+}
+/**
+ * Rebuilds the nodes of the trees after the last valid one, see
+ * <code>LineHeightTree.validate()</code>.
+ */
+void validate() {
+	if (valid == blockCount) return;
+	int start = valid + 1;
+	for (int node = start; node <= blockCount; node++) {
+		countSums[node] = counts[node - 1];
+		widthSums[node] = widths[node - 1];
+	}
+	for (int node = valid; node > 0; node -= node & -node) {
+		addToParent(node);
+	}
+	for (int node = start; node <= blockCount; node++) {
+		addToParent(node);
+	}
+	valid = blockCount;
+}
+void addToParent(int node) {
+	int parent = node + (node & -node);
+	if (parent <= blockCount) {
+		countSums[parent] += countSums[node];
+		widthSums[parent] += widthSums[node];
+	}
+}
+}
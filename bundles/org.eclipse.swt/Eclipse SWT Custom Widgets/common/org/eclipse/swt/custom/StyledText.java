@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -872,6 +872,32 @@ public void addLineStyleListener(LineStyleListener listener) {
 	addListener(ST.LineGetStyle, new StyledTextListener(listener));
 	setCaretLocations();
 }
+/**
+ * Adds a measure listener. A LinesMeasured event is sent by the widget
+ * after each batch of lines whose height it calculates in the background,
+ * which it does for the lines that are not visible when the line heights
+ * vary. The listener can stop the calculation, which starts again when
+ * the text or the layout changes.
+ *
+ * @param listener the listener
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ *
+ * @see StyledTextMeasureListener
+ * @see #removeMeasureListener(StyledTextMeasureListener)
+ * @see #setEstimateLineHeights(boolean)
+ * @since 3.127
+ */
+public void addMeasureListener(StyledTextMeasureListener listener) {
+	checkWidget();
+	if (listener == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	addListener(ST.LinesMeasured, new StyledTextListener(listener));
+}
 /**
  * Adds a modify listener. A Modify event is sent by the widget when the widget text
  * has changed.
@@ -1074,36 +1100,27 @@ void calculateTopIndex(int delta) {
 			}
 		}
 	} else {
-		if (delta >= 0) {
-			delta -= topIndexY;
-			int lineIndex = topIndex;
-			int lineCount = content.getLineCount();
-			while (lineIndex < lineCount) {
-				if (delta <= 0) break;
-				delta -= renderer.getCachedLineHeight(lineIndex++);
-			}
-			if (lineIndex < lineCount && -delta + renderer.getCachedLineHeight(lineIndex) <= clientAreaHeight - topMargin - bottomMargin) {
+		boolean forward = delta >= 0;
+		delta -= topIndexY;
+		// the first line whose top is at or below the new top of the client area
+		int lineIndex = renderer.getCachedLineIndex(topIndex, delta);
+		int lineY = renderer.getCachedLinesHeight(topIndex, lineIndex) - delta;
+		int lineCount = content.getLineCount();
+		if (forward) {
+			if (lineIndex < lineCount && lineY + renderer.getCachedLineHeight(lineIndex) <= clientAreaHeight - topMargin - bottomMargin) {
 				topIndex = lineIndex;
-				topIndexY = -delta;
+				topIndexY = lineY;
 			} else {
 				topIndex = lineIndex - 1;
-				topIndexY = -renderer.getCachedLineHeight(topIndex) - delta;
+				topIndexY = lineY - renderer.getCachedLineHeight(topIndex);
 			}
 		} else {
-			delta -= topIndexY;
-			int lineIndex = topIndex;
-			while (lineIndex > 0) {
-				int lineHeight = renderer.getCachedLineHeight(lineIndex - 1);
-				if (delta + lineHeight > 0) break;
-				delta += lineHeight;
-				lineIndex--;
-			}
-			if (lineIndex == 0 || -delta + renderer.getCachedLineHeight(lineIndex) <= clientAreaHeight - topMargin - bottomMargin) {
+			if (lineIndex == 0 || lineY + renderer.getCachedLineHeight(lineIndex) <= clientAreaHeight - topMargin - bottomMargin) {
 				topIndex = lineIndex;
-				topIndexY = - delta;
+				topIndexY = lineY;
 			} else {
 				topIndex = lineIndex - 1;
-				topIndexY = - renderer.getCachedLineHeight(topIndex) - delta;
+				topIndexY = lineY - renderer.getCachedLineHeight(topIndex);
 			}
 		}
 	}
@@ -1378,8 +1395,10 @@ int getAvailableHeightAbove(int height) {
 		if (topIndexY > 0) {
 			maxHeight += renderer.getLineHeight(lineIndex--);
 		}
-		while (height > maxHeight && lineIndex >= 0) {
-			maxHeight += renderer.getLineHeight(lineIndex--);
+		if (height > maxHeight && lineIndex >= 0) {
+			// the lines up to the one that provides the missing height
+			int startIndex = renderer.getLineIndex(lineIndex + 1, maxHeight - height);
+			maxHeight += renderer.getLinesHeight(startIndex, lineIndex + 1);
 		}
 	}
 	return Math.min(height, maxHeight);
@@ -1395,8 +1414,10 @@ int getAvailableHeightBellow(int height) {
 	}
 	int lineIndex = partialBottomIndex + 1;
 	int lineCount = content.getLineCount();
-	while (height > availableHeight && lineIndex < lineCount) {
-		availableHeight += renderer.getLineHeight(lineIndex++);
+	if (height > availableHeight && lineIndex < lineCount) {
+		// the lines down to the one that provides the missing height
+		int endIndex = renderer.getLineIndex(lineIndex, height - availableHeight - 1) + 1;
+		availableHeight += renderer.getLinesHeight(lineIndex, endIndex);
 	}
 	return Math.min(height, availableHeight);
 }
@@ -3397,6 +3418,23 @@ public boolean getEditable() {
 	checkWidget();
 	return editable;
 }
+/**
+ * Returns whether the heights of the lines that are not laid out yet are
+ * estimated from the font metrics and the length of each line.
+ *
+ * @return true if the line heights are estimated, false otherwise
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #setEstimateLineHeights(boolean)
+ * @since 3.127
+ */
+public boolean getEstimateLineHeights() {
+	checkWidget();
+	return renderer.estimateLineHeights;
+}
 @Override
 public Color getForeground() {
 	checkWidget();
@@ -3871,17 +3909,7 @@ public int getLinePixel(int lineIndex) {
 	}
 	if (lineIndex == topIndex)
 		return topIndexY + topMargin;
-	int height = topIndexY;
-	if (lineIndex > topIndex) {
-		for (int i = topIndex; i < lineIndex; i++) {
-			height += renderer.getLineHeight(i);
-		}
-	} else {
-		for (int i = topIndex - 1; i >= lineIndex; i--) {
-			height -= renderer.getLineHeight(i);
-		}
-	}
-	return height + topMargin;
+	return topIndexY + renderer.getLinesHeight(topIndex, lineIndex) + topMargin;
 }
 /**
  * Returns the line index for a y, relative to the client area.
@@ -3904,20 +3932,7 @@ public int getLineIndex(int y) {
 		return lineIndex;
 	}
 	if (y == topIndexY) return topIndex;
-	int line = topIndex;
-	if (y < topIndexY) {
-		while (y < topIndexY && line > 0) {
-			y += renderer.getLineHeight(--line);
-		}
-	} else {
-		int lineCount = content.getLineCount();
-		int lineHeight = renderer.getLineHeight(line);
-		while (y - lineHeight >= topIndexY && line < lineCount - 1) {
-			y -= lineHeight;
-			lineHeight = renderer.getLineHeight(++line);
-		}
-	}
-	return line;
+	return renderer.getLineIndex(topIndex, y - topIndexY);
 }
 /**
  * Returns the tab stops of the line at the given <code>index</code>.
@@ -5021,13 +5036,7 @@ int getVerticalIncrement() {
 }
 int getVerticalScrollOffset() {
 	if (verticalScrollOffset == -1) {
-		renderer.calculate(0, topIndex);
-		int height = 0;
-		for (int i = 0; i < topIndex; i++) {
-			height += renderer.getCachedLineHeight(i);
-		}
-		height -= topIndexY;
-		verticalScrollOffset = height;
+		verticalScrollOffset = renderer.getLinesHeight(0, topIndex) - topIndexY;
 	}
 	return verticalScrollOffset;
 }
@@ -6041,6 +6050,7 @@ void handleTextChanged(TextChangedEvent event) {
 		ime.setCompositionOffset(compositionOffset);
 	}
 	int firstLine = content.getLineAtOffset(lastTextChangeStart);
+	renderer.textChanged(firstLine, lastTextChangeNewLineCount);
 	resetCache(firstLine, 0);
 	if (!isFixedLineHeight() && topIndex > firstLine) {
 		topIndex = firstLine;
@@ -7566,6 +7576,26 @@ public void removeLineStyleListener(LineStyleListener listener) {
 	removeTypedListener(ST.LineGetStyle, listener);
 	setCaretLocations();
 }
+/**
+ * Removes the specified measure listener.
+ *
+ * @param listener the listener which should no longer be notified
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT when listener is null</li>
+ * </ul>
+ *
+ * @since 3.127
+ */
+public void removeMeasureListener(StyledTextMeasureListener listener) {
+	checkWidget();
+	if (listener == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	removeTypedListener(ST.LinesMeasured, listener);
+}
 /**
  * Removes the specified modify listener.
  *
@@ -8057,6 +8087,22 @@ StyledTextEvent sendLineEvent(int eventType, int lineOffset, String line) {
 	}
 	return event;
 }
+/**
+ * Sends the LinesMeasured event after a batch of lines whose height is
+ * calculated in the background.
+ *
+ * @param measuredLines the number of lines whose height is calculated
+ * @param lineCount the number of lines
+ * @return false if a listener stopped the calculation, true otherwise
+ */
+boolean sendLinesMeasuredEvent(int measuredLines, int lineCount) {
+	if (!isListening(ST.LinesMeasured)) return true;
+	StyledTextEvent event = new StyledTextEvent(content);
+	event.start = measuredLines;
+	event.end = lineCount;
+	notifyListeners(ST.LinesMeasured, event);
+	return event.doit;
+}
 /**
  * Sends the specified selection event.
  */
@@ -8725,6 +8771,42 @@ public void setEditable(boolean editable) {
 	checkWidget();
 	this.editable = editable;
 }
+/**
+ * Sets whether the heights of the lines that are not laid out yet are
+ * estimated line by line. The line heights vary when word wrap is on or
+ * when lines have their own spacing, fonts or vertical indent, and the
+ * widget then lays out the lines that are not visible in the background.
+ * <p>
+ * By default the lines that are not laid out yet take the average height
+ * of the lines laid out so far. When the line heights are estimated, each
+ * of them takes a height computed from the font metrics, the length of
+ * the line and the wrap width instead, so that the scroll bars are close
+ * to their final size right after the text is set. The background
+ * calculation then lays out the lines in batches that reuse the same text
+ * layout and continues from the first changed line when the text changes,
+ * instead of starting from the first line again.
+ * </p>
+ *
+ * @param estimate true to estimate the height of each line, false to use the average height
+ * @exception SWTException <ul>
+ *    <li>ERROR_WIDGET_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_THREAD_INVALID_ACCESS - if not called from the thread that created the receiver</li>
+ * </ul>
+ *
+ * @see #addMeasureListener(StyledTextMeasureListener)
+ * @since 3.127
+ */
+public void setEstimateLineHeights(boolean estimate) {
+	checkWidget();
+	if (renderer.estimateLineHeights == estimate) return;
+	renderer.setEstimateLineHeights(estimate);
+	if (!isFixedLineHeight()) {
+		verticalScrollOffset = -1;
+		setScrollBars(true);
+		renderer.calculateIdle();
+		super.redraw();
+	}
+}
 @Override
 public void setEnabled(boolean enabled) {
 	super.setEnabled(enabled);
@@ -10215,11 +10297,14 @@ void setStyleRanges(int start, int length, int[] ranges, StyleRange[] styles, bo
 		renderer.setStyleRanges(ranges, styles);
 	}
 
-	// re-evaluate variable height with all styles (including new ones)
-	hasStyleWithVariableHeight = false;
-	for (StyleRange style : getStyleRanges(false)) {
-		hasStyleWithVariableHeight = style.isVariableHeight();
-		if (hasStyleWithVariableHeight) break;
+	// re-evaluate variable height with all styles (including new ones), which is only
+	// needed if there was a style with variable height that may have been removed
+	if (hasStyleWithVariableHeight) {
+		hasStyleWithVariableHeight = false;
+		for (StyleRange style : getStyleRanges(false)) {
+			hasStyleWithVariableHeight = style.isVariableHeight();
+			if (hasStyleWithVariableHeight) break;
+		}
 	}
 
 	SortedSet<Integer> modifiedLines = computeModifiedLines(formerRanges, formerStyles, ranges, styles);
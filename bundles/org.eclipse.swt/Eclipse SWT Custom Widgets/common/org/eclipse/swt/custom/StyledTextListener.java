@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -100,6 +100,12 @@ public void handleEvent(Event e) {
 			((StyledTextEvent) e).end = caretEvent.caretOffset;
 			break;
 		}
+		case ST.LinesMeasured: {
+			MeasureEvent measureEvent = new MeasureEvent((StyledTextEvent) e);
+			((StyledTextMeasureListener) eventListener).linesMeasured(measureEvent);
+			e.doit = measureEvent.doit;
+			break;
+		}
 	}
 }
 }
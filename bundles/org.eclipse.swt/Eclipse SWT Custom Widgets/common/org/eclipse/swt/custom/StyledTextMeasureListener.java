@@ -0,0 +1,44 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.custom;
+
+import org.eclipse.swt.internal.*;
+
+/**
+ * Listener informed about the progress of the calculation of the line
+ * heights of a {@link StyledText}, which lays out the lines that are not
+ * visible in the background when the line heights vary, e.g. with word
+ * wrap.
+ *
+ * @see StyledText#addMeasureListener(StyledTextMeasureListener)
+ * @since 3.127
+ */
+@FunctionalInterface
+public interface StyledTextMeasureListener extends SWTEventListener {
+
+	/**
+	 * Called on the UI thread after each batch of lines laid out in the
+	 * background. The calculation is done when <code>measuredLines</code>
+	 * equals <code>lineCount</code>. Setting the <code>doit</code> field of
+	 * the event to <code>false</code> stops it before that. The lines that
+	 * are not measured then keep their estimated height until they are
+	 * shown or the calculation starts again, after the text or the layout
+	 * changes.
+	 *
+	 * @param event the event with the number of measured lines and the line count
+	 * @since 3.127
+	 */
+	void linesMeasured(MeasureEvent event);
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -51,12 +51,18 @@ class StyledTextRenderer {
 	TextLayout[] layouts;
 	int lineCount;
 	LineSizeInfo[] lineSizes;
+	LineHeightTree lineHeights;
 	LineInfo[] lines;
 	int maxWidth;
 	int maxWidthLineIndex;
 	float averageLineHeight;
 	int linesInAverageLineHeight;
 	boolean idleRunning;
+	int idleLine;	// the first line the idle calculation has not looked at
+	boolean estimateLineHeights;
+	TextLayout spareLayout;	// a text layout to reuse while keepSpareLayout is set
+	boolean keepSpareLayout;
+	boolean measureOnly;	// lay out the lines that are not cached with only the styles that change their size
 
 	/* Bullet */
 	Bullet[] bullets;
@@ -69,12 +75,24 @@ class StyledTextRenderer {
 	StyleRange[] styles;
 	StyleRange[] stylesSet;
 	int stylesSetCount = 0;
+	StyleRangeTree styleTree;	// the styles when they are kept in a tree, the arrays are null then
+	boolean useStyleTree = Boolean.getBoolean(SWT_STYLED_TEXT_STYLE_TREE);
 	boolean hasLinks, fixedPitch;
 	final static int BULLET_MARGIN = 8;
 
 	final static boolean COMPACT_STYLES = true;
 	final static boolean MERGE_STYLES = true;
 
+	/**
+	 * System property that selects how the style ranges are stored:
+	 * <ul>
+	 * <li>"true": in a tree, which moves the ranges after an edit in logarithmic time</li>
+	 * <li>"false": in arrays</li>
+	 * </ul>
+	 * The current default is "false".
+	 */
+	final static String SWT_STYLED_TEXT_STYLE_TREE = "swt.styledText.styleTree";
+
 	final static int GROW = 32;
 	final static int IDLE_TIME = 50;
 	final static int CACHE_SIZE = 300;
@@ -307,6 +325,7 @@ void calculate(int startLine, int lineCount) {
 			Rectangle rect = layout.getBounds();
 			line.width = rect.width + hTrim;
 			line.height = rect.height;
+			lineHeights.set(i, line.height);
 			averageLineHeight += (line.height - Math.round(averageLineHeight)) / ++linesInAverageLineHeight;
 			disposeTextLayout(layout);
 		}
@@ -345,18 +364,24 @@ void calculateIdle () {
 			if (styledText == null) return;
 			int i;
 			long start = System.currentTimeMillis();
-			for (i = 0; i < lineCount; i++) {
-				LineSizeInfo line = getLineSize(i);
-				if (line.needsRecalculateSize()) {
-					calculate(i, 1);
-					if (System.currentTimeMillis() - start > IDLE_TIME) break;
+			if (estimateLineHeights) {
+				i = calculateBatch(start);
+			} else {
+				for (i = 0; i < lineCount; i++) {
+					LineSizeInfo line = getLineSize(i);
+					if (line.needsRecalculateSize()) {
+						calculate(i, 1);
+						if (System.currentTimeMillis() - start > IDLE_TIME) break;
+					}
 				}
 			}
-			if (i < lineCount) {
+			boolean proceed = styledText.sendLinesMeasuredEvent(lineCount - lineHeights.getUnknownCount(lineCount), lineCount);
+			if (i < lineCount && proceed) {
 				Display display = styledText.getDisplay();
 				display.asyncExec(this);
 			} else {
 				idleRunning = false;
+				disposeSpareLayout();
 				styledText.setScrollBars(true);
 				ScrollBar bar = styledText.getVerticalBar();
 				if (bar != null) {
@@ -368,6 +393,31 @@ void calculateIdle () {
 	Display display = styledText.getDisplay();
 	display.asyncExec(runnable);
 	idleRunning = true;
+	idleLine = 0;
+}
+/**
+ * Calculates the sizes of the lines from <code>idleLine</code> on until
+ * <code>IDLE_TIME</code> has passed since <code>start</code>, laying out
+ * all lines with the same text layout and only the styles that change
+ * their size. Lines whose size is reset while the calculation runs move
+ * <code>idleLine</code> back.
+ *
+ * @return the line the next batch continues with, the line count if done
+ */
+int calculateBatch(long start) {
+	keepSpareLayout = measureOnly = true;
+	try {
+		while (idleLine < lineCount) {
+			int i = idleLine++;
+			if (getLineSize(i).needsRecalculateSize()) {
+				calculate(i, 1);
+				if (System.currentTimeMillis() - start > IDLE_TIME) break;
+			}
+		}
+	} finally {
+		keepSpareLayout = measureOnly = false;
+	}
+	return idleLine;
 }
 void clearLineBackground(int startLine, int count) {
 	if (lines == null) return;
@@ -391,6 +441,13 @@ void clearLineStyle(int startLine, int count) {
 	}
 }
 void copyInto(StyledTextRenderer renderer) {
+	int[] ranges = this.ranges;
+	StyleRange[] styles = this.styles;
+	if (styleTree != null) {
+		ranges = new int[styleCount << 1];
+		styles = new StyleRange[styleCount];
+		styleTree.copyTo(0, styleCount, ranges, styles, 0);
+	}
 	if (ranges != null) {
 		int[] newRanges = renderer.ranges = new int[styleCount << 1];
 		System.arraycopy(ranges, 0, newRanges, 0, newRanges.length);
@@ -426,8 +483,19 @@ void disposeTextLayout (TextLayout layout) {
 			if (l == layout) return;
 		}
 	}
+	if (layout == spareLayout) return;
+	if (keepSpareLayout && spareLayout == null) {
+		spareLayout = layout;
+		return;
+	}
 	layout.dispose();
 }
+void disposeSpareLayout() {
+	if (spareLayout != null) {
+		spareLayout.dispose();
+		spareLayout = null;
+	}
+}
 void drawBullet(Bullet bullet, GC gc, int paintX, int paintY, int index, int lineAscent, int lineDescent) {
 	StyleRange style = bullet.style;
 	GlyphMetrics metrics = style.metrics;
@@ -662,20 +730,18 @@ int getHeight () {
 	if (styledText.isFixedLineHeight()) {
 		return lineCount * defaultLineHeight + styledText.topMargin + styledText.bottomMargin;
 	}
-	int totalHeight = 0;
-	int width = styledText.getWrapWidth();
-	for (int i = 0; i < lineCount; i++) {
-		LineSizeInfo line = getLineSize(i);
-		int height = line.height;
-		if (line.needsRecalculateHeight()) {
-			if (width > 0) {
+	// the line heights include the estimates of the lines that are not calculated if they are estimated
+	int totalHeight = lineHeights.getHeight(lineCount, 0);
+	if (!estimateLineHeights) {
+		int width = styledText.getWrapWidth();
+		if (width > 0) {
+			for (int i = lineHeights.nextUnknown(0); i < lineCount; i = lineHeights.nextUnknown(i + 1)) {
 				int length = content.getLine(i).length();
-				height = ((length * averageCharWidth / width) + 1) * defaultLineHeight;
-			} else {
-				height = defaultLineHeight;
+				totalHeight += ((length * averageCharWidth / width) + 1) * defaultLineHeight;
 			}
+		} else {
+			totalHeight += lineHeights.getUnknownCount(lineCount) * defaultLineHeight;
 		}
-		totalHeight += height;
 	}
 	return totalHeight + styledText.topMargin + styledText.bottomMargin;
 }
@@ -704,7 +770,16 @@ boolean hasLink(int offset) {
 			}
 		}
 	}  else {
-		if (ranges != null) {
+		if (styleTree != null) {
+			int index = styleTree.indexOf(offset);
+			if (index >= styleCount) return false;
+			int rangeStart = styleTree.getStart(index);
+			int rangeLength = styleTree.getLength(index);
+			StyleRange rangeStyle = styleTree.getStyle(index);
+			if (rangeStart <= offset && offset < rangeStart + rangeLength && rangeStyle.underline && rangeStyle.underlineStyle == SWT.UNDERLINE_LINK) {
+				return true;
+			}
+		} else if (ranges != null) {
 			int rangeCount = styleCount << 1;
 			int index = getRangeIndex(offset, -1, rangeCount);
 			if (index >= rangeCount) return false;
@@ -757,14 +832,130 @@ int getLineHeight(int lineIndex, boolean exact) {
 			if (exact) {
 				calculate(lineIndex, 1);
 			} else {
-				return Math.round(averageLineHeight);
+				return estimateLineHeights ? lineHeights.getEstimate(lineIndex) : Math.round(averageLineHeight);
 			}
 		} else {
 			line.height = getLineHeight() + getLineSpacing(lineIndex) + getLineVerticalIndent(lineIndex);
+			lineHeights.set(lineIndex, line.height);
 		}
 	}
 	return line.height;
 }
+/**
+ * Returns the line that contains the pixel <code>y</code> relative to the
+ * top of <code>startLine</code>, calculating the heights of the lines in
+ * between that are not known yet. Out of range pixels return the first or
+ * the last line.
+ *
+ * @param startLine the line index the pixel is relative to
+ * @param y the pixel, negative above <code>startLine</code>
+ * @return the line index
+ */
+int getLineIndex(int startLine, int y) {
+	int estimate = estimateLineHeights ? 0 : getLineHeight();
+	while (true) {
+		int pixel = lineHeights.getHeight(startLine, estimate) + y;
+		int lineIndex = pixel < 0 ? 0 : Math.min(lineHeights.search(pixel, estimate), lineCount - 1);
+		// the estimate is exact once the lines from startLine to the found line are known
+		int unknown;
+		if (y < 0) {
+			unknown = lineHeights.previousUnknown(startLine);
+			if (unknown < lineIndex) return lineIndex;
+		} else {
+			unknown = lineHeights.nextUnknown(startLine);
+			if (unknown > lineIndex) return lineIndex;
+		}
+		lineHeights.set(unknown, getLineHeight(unknown));
+	}
+}
+/**
+ * Returns the height of the lines from <code>startLine</code> up to but not
+ * including <code>endLine</code>, calculating the heights that are not known
+ * yet. The height is negative if <code>endLine</code> is before
+ * <code>startLine</code>.
+ *
+ * @param startLine the first line index
+ * @param endLine the line index after the last line
+ * @return the height of the lines
+ */
+int getLinesHeight(int startLine, int endLine) {
+	if (endLine < startLine) return -getLinesHeight(endLine, startLine);
+	for (int i = lineHeights.nextUnknown(startLine); i < endLine; i = lineHeights.nextUnknown(i + 1)) {
+		lineHeights.set(i, getLineHeight(i));
+	}
+	return lineHeights.getHeight(endLine, 0) - lineHeights.getHeight(startLine, 0);
+}
+/**
+ * Returns the first line whose top is at or below the pixel <code>y</code>
+ * relative to the top of <code>startLine</code>, using the average line
+ * height for the variable height lines in between whose height is not
+ * known, like {@link #getCachedLineHeight(int)}. Returns the line count if
+ * the pixel is below the last line.
+ *
+ * @param startLine the line index the pixel is relative to
+ * @param y the pixel, negative above <code>startLine</code>
+ * @return the line index
+ */
+int getCachedLineIndex(int startLine, int y) {
+	int estimate = getEstimatedLineHeight();
+	while (true) {
+		int pixel = lineHeights.getHeight(startLine, estimate) + y;
+		int lineIndex = pixel <= 0 ? 0 : Math.min(lineHeights.search(pixel - 1, estimate) + 1, lineCount);
+		if (!calculateCachedHeights(Math.min(startLine, lineIndex), Math.max(startLine, lineIndex))) {
+			return lineIndex;
+		}
+	}
+}
+/**
+ * Sets the heights of the lines in the given range that are not variable
+ * height and not known yet, which is cheap. Returns true if there were any.
+ */
+boolean calculateCachedHeights(int startLine, int endLine) {
+	// with word wrap all lines are variable height
+	if (styledText.isWordWrap()) return false;
+	boolean changed = false;
+	for (int i = lineHeights.nextUnknown(startLine); i < endLine; i = lineHeights.nextUnknown(i + 1)) {
+		getCachedLineHeight(i);
+		changed |= lineHeights.isKnown(i);
+	}
+	return changed;
+}
+/**
+ * Returns the height of the lines from <code>startLine</code> up to but not
+ * including <code>endLine</code>, using the average line height for the
+ * lines whose height is not known.
+ *
+ * @param startLine the first line index
+ * @param endLine the line index after the last line
+ * @return the height of the lines, negative if <code>endLine</code> is before <code>startLine</code>
+ */
+int getCachedLinesHeight(int startLine, int endLine) {
+	int estimate = getEstimatedLineHeight();
+	return lineHeights.getHeight(endLine, estimate) - lineHeights.getHeight(startLine, estimate);
+}
+/**
+ * Returns the height used for the lines whose height is not known, on top
+ * of their own estimate, which is 0 unless the line heights are estimated.
+ */
+int getEstimatedLineHeight() {
+	if (estimateLineHeights) return 0;
+	return linesInAverageLineHeight > 0 ? Math.round(averageLineHeight) : getLineHeight();
+}
+/**
+ * Returns the estimated height of a line that is not calculated yet, from
+ * the font metrics and the length of the line, or 0 if the line heights are
+ * not estimated.
+ */
+int estimateLineHeight(int lineIndex) {
+	if (!estimateLineHeights) return 0;
+	int lineHeight = getLineHeight();
+	int width = styledText.getWrapWidth();
+	// the content is not changed yet when the lines are replaced in textChanging
+	if (width <= 0 || content.getLineCount() != lineCount) return lineHeight;
+	int lineOffset = content.getOffsetAtLine(lineIndex);
+	int lineEnd = lineIndex + 1 < lineCount ? content.getOffsetAtLine(lineIndex + 1) : content.getCharCount();
+	return ((lineEnd - lineOffset) * averageCharWidth / width + 1) * lineHeight;
+}
 /**
  * Returns true if the given line can use the default line height and false
  * otherwise.
@@ -894,7 +1085,15 @@ int[] getRanges(int start, int length) {
 	if (length == 0) return null;
 	int[] newRanges;
 	int end = start + length - 1;
-	if (ranges != null) {
+	if (styleTree != null) {
+		int rangeStart = styleTree.indexOf(start);
+		if (rangeStart >= styleCount) return null;
+		if (styleTree.getStart(rangeStart) > end) return null;
+		int rangeEnd = Math.min(styleCount - 1, styleTree.indexOf(end));
+		if (styleTree.getStart(rangeEnd) > end) rangeEnd = Math.max(rangeStart, rangeEnd - 1);
+		newRanges = new int[(rangeEnd - rangeStart + 1) << 1];
+		styleTree.copyTo(rangeStart, rangeEnd + 1, newRanges, null, 0);
+	} else if (ranges != null) {
 		int rangeCount = styleCount << 1;
 		int rangeStart = getRangeIndex(start, -1, rangeCount);
 		if (rangeStart >= rangeCount) return null;
@@ -929,7 +1128,25 @@ StyleRange[] getStyleRanges(int start, int length, boolean includeRanges) {
 	if (length == 0) return null;
 	StyleRange[] newStyles;
 	int end = start + length - 1;
-	if (ranges != null) {
+	if (styleTree != null) {
+		int rangeStart = styleTree.indexOf(start);
+		if (rangeStart >= styleCount) return null;
+		if (styleTree.getStart(rangeStart) > end) return null;
+		int rangeEnd = Math.min(styleCount - 1, styleTree.indexOf(end));
+		if (styleTree.getStart(rangeEnd) > end) rangeEnd = Math.max(rangeStart, rangeEnd - 1);
+		newStyles = new StyleRange[rangeEnd - rangeStart + 1];
+		if (includeRanges) {
+			int[] newRanges = new int[newStyles.length << 1];
+			styleTree.copyTo(rangeStart, rangeEnd + 1, newRanges, newStyles, 0);
+			for (int i = 0; i < newStyles.length; i++) {
+				newStyles[i] = (StyleRange)newStyles[i].clone();
+				newStyles[i].start = newRanges[i << 1];
+				newStyles[i].length = newRanges[(i << 1) + 1];
+			}
+		} else {
+			styleTree.copyTo(rangeStart, rangeEnd + 1, null, newStyles, 0);
+		}
+	} else if (ranges != null) {
 		int rangeCount = styleCount << 1;
 		int rangeStart = getRangeIndex(start, -1, rangeCount);
 		if (rangeStart >= rangeCount) return null;
@@ -955,7 +1172,7 @@ StyleRange[] getStyleRanges(int start, int length, boolean includeRanges) {
 		newStyles = new StyleRange[rangeEnd - rangeStart + 1];
 		System.arraycopy(styles, rangeStart, newStyles, 0, newStyles.length);
 	}
-	if (includeRanges || ranges == null) {
+	if (includeRanges || (ranges == null && styleTree == null)) {
 		StyleRange style = newStyles[0];
 		if (start > style.start) {
 			newStyles[0] = style = (StyleRange)style.clone();
@@ -1040,6 +1257,38 @@ private static final class StyleEntry {
 	}
 }
 
+/**
+ * Returns the style entries with only the attributes that change the size
+ * of the text: the font, the glyph metrics and the rise. Consecutive
+ * entries that are then equal are joined, so that a layout that is only
+ * measured has fewer and smaller styles than one that is drawn.
+ */
+static List<StyleEntry> getSizeStyles(List<StyleEntry> styleEntries) {
+	List<StyleEntry> sizeEntries = new ArrayList<>(styleEntries.size());
+	StyleEntry last = null;
+	for (StyleEntry entry : styleEntries) {
+		TextStyle style = entry.style;
+		if (style != null) {
+			if (style.font == null && style.metrics == null && style.rise == 0) {
+				style = null;
+			} else {
+				TextStyle sizeStyle = new TextStyle(style.font, null, null);
+				sizeStyle.metrics = style.metrics;
+				sizeStyle.rise = style.rise;
+				style = sizeStyle;
+			}
+		}
+		if (last != null && Objects.equals(last.style, style) && entry.start <= last.end + 1) {
+			last = new StyleEntry(style, last.start, Math.max(last.end, entry.end));
+			sizeEntries.set(sizeEntries.size() - 1, last);
+		} else {
+			last = new StyleEntry(style, entry.start, entry.end);
+			sizeEntries.add(last);
+		}
+	}
+	return sizeEntries;
+}
+
 TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpacing) {
 	TextLayout layout = null;
 	if (styledText != null) {
@@ -1094,7 +1343,12 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 			}
 		}
 	}
-	if (layout == null) layout = new TextLayout(device);
+	/* a layout that is not cached is only measured while measureOnly is set */
+	boolean sizeOnly = measureOnly && layout == null;
+	if (layout == null) {
+		layout = spareLayout != null ? spareLayout : new TextLayout(device);
+		spareLayout = null;
+	}
 	String line = content.getLine(lineIndex);
 	int lineOffset = content.getOffsetAtLine(lineIndex);
 	int[] segments = null;
@@ -1190,7 +1444,14 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 		ranges = this.ranges;
 		styles = this.styles;
 		styleCount = this.styleCount;
-		if (ranges != null) {
+		if (styleTree != null) {
+			int first = styleTree.indexOf(lineOffset);
+			int last = Math.min(styleCount, styleTree.indexOf(lineOffset + line.length()) + 1);
+			styleCount = Math.max(0, last - first);
+			ranges = new int[styleCount << 1];
+			styles = new StyleRange[styleCount];
+			styleTree.copyTo(first, last, ranges, styles, 0);
+		} else if (ranges != null) {
 			rangeStart = getRangeIndex(lineOffset, -1, styleCount << 1);
 		} else {
 			rangeStart = getRangeIndex(lineOffset, -1, styleCount);
@@ -1265,6 +1526,7 @@ TextLayout getTextLayout(int lineIndex, int orientation, int width, int lineSpac
 		}
 	}
 	if (lastOffset < length) styleEntries.add(new StyleEntry(null, lastOffset, length));
+	if (sizeOnly) styleEntries = getSizeStyles(styleEntries);
 
 	layout.setFont(regularFont);
 	layout.setAscent(ascent);
@@ -1400,9 +1662,12 @@ void reset() {
 	stylesSetCount = styleCount = lineCount = 0;
 	ranges = null;
 	styles = null;
+	styleTree = null;
 	stylesSet = null;
 	lines = null;
 	lineSizes = null;
+	lineHeights = null;
+	disposeSpareLayout();
 	bullets = null;
 	bulletsIndices = null;
 	redrawLines = null;
@@ -1424,6 +1689,8 @@ void reset(Set<Integer> lines) {
 		if (line >= 0 || line < lineCount) {
 			resetLineCount++;
 			getLineSize(line.intValue()).resetSize();
+			lineHeights.setUnknown(line.intValue(), estimateLineHeight(line.intValue()));
+			idleLine = Math.min(idleLine, line.intValue());
 		}
 	}
 	if (linesInAverageLineHeight > resetLineCount) {
@@ -1451,6 +1718,7 @@ void setContent(StyledTextContent content) {
 	this.content = content;
 	lineCount = content.getLineCount();
 	lineSizes = new LineSizeInfo[lineCount];
+	lineHeights = new LineHeightTree(lineCount, 0);
 	maxWidth = 0;
 	maxWidthLineIndex = -1;
 	reset(0, lineCount);
@@ -1577,6 +1845,7 @@ void setLineVerticalIndent(int lineIndex, int verticalLineIndent) {
 	LineSizeInfo info = getLineSize(lineIndex);
 	if (!info.needsRecalculateHeight()) {
 		info.height += delta;
+		lineHeights.set(lineIndex, info.height);
 	}
 }
 void setLineWrapIndent(int startLine, int count, int wrapIndent) {
@@ -1629,6 +1898,42 @@ void setLineTabStops(int startLine, int count, int[] tabStops) {
 		lines[i].tabStops = tabStops;
 	}
 }
+void setEstimateLineHeights(boolean estimate) {
+	estimateLineHeights = estimate;
+	if (lineHeights == null) return;
+	estimateLines(0, lineCount);
+}
+/**
+ * Estimates the height of each line from <code>startLine</code> up to but
+ * not including <code>endLine</code> whose height is not known.
+ */
+void estimateLines(int startLine, int endLine) {
+	endLine = Math.min(endLine, lineCount);
+	for (int i = lineHeights.nextUnknown(startLine); i < endLine; i = lineHeights.nextUnknown(i + 1)) {
+		lineHeights.setUnknown(i, estimateLineHeight(i));
+	}
+}
+/**
+ * Loads the styles from <code>first</code> to <code>last</code> of the style
+ * tree into the <code>ranges</code> and <code>styles</code> arrays, so that
+ * they are edited by the same code as styles that are not kept in a tree.
+ */
+void loadStyles(int first, int last) {
+	styleCount = last - first;
+	ranges = new int[(styleCount + GROW) << 1];
+	styles = new StyleRange[styleCount + GROW];
+	styleTree.copyTo(first, last, ranges, styles, 0);
+}
+/**
+ * Replaces the styles from <code>first</code> to <code>last</code> of the
+ * style tree by the styles loaded into the arrays.
+ */
+void storeStyles(int first, int last) {
+	styleTree.replace(first, last - first, ranges, styles, styleCount);
+	ranges = null;
+	styles = null;
+	styleCount = styleTree.count;
+}
 void setLineSpacingProvider(StyledTextLineSpacingProvider lineSpacingProvider) {
 	this.lineSpacingProvider = lineSpacingProvider;
 }
@@ -1637,6 +1942,7 @@ void setStyleRanges (int[] newRanges, StyleRange[] newStyles) {
 		stylesSetCount = styleCount = 0;
 		ranges = null;
 		styles = null;
+		styleTree = null;
 		stylesSet = null;
 		hasLinks = false;
 		return;
@@ -1666,7 +1972,28 @@ void setStyleRanges (int[] newRanges, StyleRange[] newStyles) {
 		}
 		newStyles = tmpStyles;
 	}
-
+	if (styleCount == 0 && useStyleTree && newRanges != null) {
+		styleTree = new StyleRangeTree();
+	}
+	if (styleTree != null) {
+		if (newStyles.length == 0) return;
+		// the ranges that may be split or merged with the new ones are edited as arrays,
+		// merging each new range may join one more range before or after the ones it replaces
+		int end = newRanges[newRanges.length - 2] + newRanges[newRanges.length - 1];
+		int first = Math.max(0, styleTree.indexOf(newRanges[0]) - 1 - newStyles.length);
+		int last = Math.min(styleCount, styleTree.indexOf(end) + 2 + newStyles.length);
+		loadStyles(first, last);
+		mergeStyleRanges(newRanges, newStyles);
+		storeStyles(first, last);
+		return;
+	}
+	mergeStyleRanges(newRanges, newStyles);
+}
+/**
+ * Merges the new styles into the <code>ranges</code> and <code>styles</code>
+ * arrays.
+ */
+void mergeStyleRanges(int[] newRanges, StyleRange[] newStyles) {
 	if (styleCount == 0) {
 		if (newRanges != null) {
 			ranges = new int[newRanges.length];
@@ -1718,7 +2045,7 @@ void setStyleRanges (int[] newRanges, StyleRange[] newStyles) {
 				if (ranges[modifyEnd] + ranges[modifyEnd + 1] > newEnd) break;
 				modifyEnd += 2;
 			}
-			if (ranges[modifyStart] < newStart && newStart < ranges[modifyStart] + ranges[modifyStart + 1]) {
+			if (modifyStart < rangeCount && ranges[modifyStart] < newStart && newStart < ranges[modifyStart] + ranges[modifyStart + 1]) {
 				mergeStyles[mergeCount >> 1] = styles[modifyStart >> 1];
 				mergeRanges[mergeCount] = ranges[modifyStart];
 				mergeRanges[mergeCount + 1] = newStart - ranges[modifyStart];
@@ -1765,10 +2092,12 @@ void setStyleRanges (int[] newRanges, StyleRange[] newStyles) {
 				if (styles[modifyEnd].start + styles[modifyEnd].length > newEnd) break;
 				modifyEnd++;
 			}
-			style = styles[modifyStart];
-			if (style.start < newStart && newStart < style.start + style.length) {
-				style = mergeStyles[mergeCount++] = (StyleRange)style.clone();
-				style.length = newStart - style.start;
+			if (modifyStart < styleCount) {
+				style = styles[modifyStart];
+				if (style.start < newStart && newStart < style.start + style.length) {
+					style = mergeStyles[mergeCount++] = (StyleRange)style.clone();
+					style.length = newStart - style.start;
+				}
 			}
 			mergeStyles[mergeCount++] = newStyle;
 			if (modifyEnd < styleCount) {
@@ -1785,6 +2114,18 @@ void setStyleRanges (int[] newRanges, StyleRange[] newStyles) {
 		}
 	}
 }
+/**
+ * Estimates the heights of the lines inserted by the last change. They only
+ * get the height of one line in <code>textChanging</code>, which runs before
+ * the content has them.
+ *
+ * @param startLine the first changed line
+ * @param newLineCount the number of lines inserted after it
+ */
+void textChanged(int startLine, int newLineCount) {
+	if (!estimateLineHeights) return;
+	estimateLines(startLine, startLine + newLineCount + 1);
+}
 void textChanging(TextChangingEvent event) {
 	int start = event.start;
 	int newCharCount = event.newCharCount, replaceCharCount = event.replaceCharCount;
@@ -1797,6 +2138,7 @@ void textChanging(TextChangingEvent event) {
 	if (replaceLineCount == lineCount) {
 		lineCount = newLineCount;
 		lineSizes = new LineSizeInfo[lineCount];
+		lineHeights = new LineHeightTree(lineCount, 0);
 		reset(0, lineCount);
 	} else {
 		int startIndex = startLine + replaceLineCount + 1;
@@ -1827,6 +2169,8 @@ void textChanging(TextChangingEvent event) {
 		for (int i = lineCount + delta; i < lineCount; i++) {
 			lineSizes[i] = null;
 		}
+		lineHeights.replace(startLine, replaceLineCount + 1, newLineCount + 1, estimateLineHeights ? getLineHeight() : 0);
+		idleLine = Math.min(idleLine, startLine);
 		if (layouts != null) {
 			int layoutStartLine = startLine - topIndex;
 			int layoutEndLine = layoutStartLine + replaceLineCount + 1;
@@ -1942,6 +2286,20 @@ void updateBullets(int startLine, int replaceLineCount, int newLineCount, boolea
 }
 void updateRanges(int start, int replaceCharCount, int newCharCount) {
 	if (styleCount == 0 || (replaceCharCount == 0 && newCharCount == 0)) return;
+	if (styleTree != null) {
+		int first = styleTree.indexOf(start);
+		if (first == styleCount) return;
+		// the ranges after the replaced text only move, the ones in it are edited as arrays
+		int last = Math.min(styleCount, styleTree.indexOf(start + replaceCharCount) + 1);
+		styleTree.shift(last, newCharCount - replaceCharCount);
+		loadStyles(first, last);
+		updateRangesInArrays(start, replaceCharCount, newCharCount);
+		storeStyles(first, last);
+		return;
+	}
+	updateRangesInArrays(start, replaceCharCount, newCharCount);
+}
+void updateRangesInArrays(int start, int replaceCharCount, int newCharCount) {
 	if (ranges != null) {
 		int rangeCount = styleCount << 1;
 		int modifyStart = getRangeIndex(start, -1, rangeCount);
@@ -617,6 +617,49 @@ public void asyncExec (Runnable runnable) {
 	}
 }
 
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity, unless a runnable that was passed
+ * to this method with an equal key is still waiting to run.
+ * In that case the pending runnable is replaced by the given
+ * one, so only the most recent runnable for a key is run.
+ * The caller of this method continues to run in parallel,
+ * and is not notified when the runnable has completed.
+ * <p>
+ * This is useful when many updates of the same target, such as
+ * a widget showing the latest value of a rapidly changing model,
+ * are posted from a background thread and only the last one matters.
+ * </p>
+ * <p>
+ * Note that at the time the runnable is invoked, widgets
+ * that have the receiver as their display may have been
+ * disposed. Therefore, it is necessary to check for this
+ * case inside the runnable before accessing the widget.
+ * </p>
+ *
+ * @param key the key identifying runnables that replace each other
+ * @param runnable code to run on the user-interface thread
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the key or the runnable is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #asyncExec
+ *
+ * @since 3.127
+ */
+public void asyncExecCoalesced (Object key, Runnable runnable) {
+	if (key == null || runnable == null) error (SWT.ERROR_NULL_ARGUMENT);
+	synchronized (Device.class) {
+		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
+		synchronizer.asyncExecCoalesced (key, runnable);
+	}
+}
+
 /**
  * Executes the given runnable in the user-interface thread of this Display.
  * <ul>
@@ -0,0 +1,398 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.util.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.internal.*;
+
+/**
+ * Instances of this class share images that are created from the same
+ * <code>ImageDataProvider</code> or <code>ImageFileNameProvider</code>
+ * at the same zoom, so that the provider is called, the image data is
+ * scaled and the native image is allocated only once.
+ * <p>
+ * The images returned by {@link #getFromData(ImageDataProvider)} and
+ * {@link #getFromFile(ImageFileNameProvider)} are owned by the cache and
+ * are reference counted: every call to them must be matched by a call to
+ * {@link #release(Image)} when the image is no longer used,
+ * and the images must never be disposed by the application. Images that
+ * are no longer referenced stay in the cache until the size of all the
+ * cached images exceeds the maximum size, when the least recently used
+ * ones are disposed. Disposing the cache disposes all its images.
+ * </p><p>
+ * An image cache is a resource of its device and is reported by
+ * {@link Device#getDeviceData()} when the device tracks its objects.
+ * Like other resources, it is not disposed with the device: the
+ * application must dispose it, which disposes its images, before the
+ * device is disposed. It must be used from the thread of its device,
+ * like the images it creates.
+ * </p>
+ *
+ * @see Image#Image(Device, ImageDataProvider)
+ * @see Image#Image(Device, ImageFileNameProvider)
+ * @since 3.127
+ */
+public final class ImageCache extends Resource {
+
+	/**
+	 * The default maximum size of the cached images in bytes (32 MB).
+	 */
+	public static final long DEFAULT_MAXIMUM_BYTES = 32L * 1024 * 1024;
+
+	static final class Key {
+		final Object provider;
+		final int zoom;
+
+		Key(Object provider, int zoom) {
+			this.provider = provider;
+			this.zoom = zoom;
+		}
+
+		@Override
+		public boolean equals(Object object) {
+			return object instanceof Key key && key.provider == provider && key.zoom == zoom;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(provider) * 31 + zoom;
+		}
+	}
+
+	static final class Entry {
+		final Key key;
+		final Image image;
+		final long bytes;
+		int references;
+
+		Entry(Key key, Image image, long bytes) {
+			this.key = key;
+			this.image = image;
+			this.bytes = bytes;
+		}
+	}
+
+	/** the cached images in least recently used order */
+	LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	IdentityHashMap<Image, Entry> images = new IdentityHashMap<>();
+	long maximumBytes, bytes;
+	long hits, misses, evictions;
+	boolean disposed;
+
+/**
+ * Constructs a new image cache on the given device with the
+ * default maximum size.
+ *
+ * @param device the device on which to create the images
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if device is null and there is no current device</li>
+ * </ul>
+ *
+ * @see #DEFAULT_MAXIMUM_BYTES
+ */
+public ImageCache(Device device) {
+	this(device, DEFAULT_MAXIMUM_BYTES);
+}
+
+/**
+ * Constructs a new image cache on the given device that keeps
+ * unreferenced images as long as all cached images take at most
+ * the given number of bytes.
+ *
+ * @param device the device on which to create the images
+ * @param maximumBytes the maximum size of the cached images
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if device is null and there is no current device</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if maximumBytes is negative</li>
+ * </ul>
+ */
+public ImageCache(Device device, long maximumBytes) {
+	super(device);
+	if (maximumBytes < 0) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	this.maximumBytes = maximumBytes;
+	init();
+}
+
+void checkCache() {
+	if (disposed) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+}
+
+/**
+ * Returns the shared image for the given provider at the current
+ * zoom, creating it if it is not cached. The image must be released
+ * with {@link #release(Image)} and must not be disposed.
+ *
+ * @param provider the provider of the image data
+ * @return the shared image
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the provider is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the cache has been disposed</li>
+ * </ul>
+ *
+ * @see Image#Image(Device, ImageDataProvider)
+ */
+public Image getFromData(ImageDataProvider provider) {
+	if (provider == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	checkCache();
+	Entry entry = lookup(provider);
+	if (entry == null) entry = add(provider, new Image(device, provider));
+	return entry.image;
+}
+
+/**
+ * Returns the shared image for the given provider at the current
+ * zoom, creating it if it is not cached. The image must be released
+ * with {@link #release(Image)} and must not be disposed.
+ *
+ * @param provider the provider of the image file names
+ * @return the shared image
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the provider is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the cache has been disposed</li>
+ * </ul>
+ *
+ * @see Image#Image(Device, ImageFileNameProvider)
+ */
+public Image getFromFile(ImageFileNameProvider provider) {
+	if (provider == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	checkCache();
+	Entry entry = lookup(provider);
+	if (entry == null) entry = add(provider, new Image(device, provider));
+	return entry.image;
+}
+
+Entry lookup(Object provider) {
+	Entry entry = entries.get(new Key(provider, DPIUtil.getDeviceZoom()));
+	if (entry != null && entry.image.isDisposed()) {
+		/* The image was disposed by mistake, create it again */
+		remove(entry);
+		entry = null;
+	}
+	if (entry == null) {
+		misses++;
+		return null;
+	}
+	hits++;
+	entry.references++;
+	return entry;
+}
+
+Entry add(Object provider, Image image) {
+	int zoom = DPIUtil.getDeviceZoom();
+	Rectangle bounds = image.getBounds();
+	long width = (long) bounds.width * zoom / 100, height = (long) bounds.height * zoom / 100;
+	Entry entry = new Entry(new Key(provider, zoom), image, width * height * 4);
+	entry.references = 1;
+	entries.put(entry.key, entry);
+	images.put(image, entry);
+	bytes += entry.bytes;
+	trim();
+	return entry;
+}
+
+void remove(Entry entry) {
+	entries.remove(entry.key);
+	images.remove(entry.image);
+	bytes -= entry.bytes;
+}
+
+/**
+ * Disposes the least recently used images that are not referenced
+ * until the cached images fit into the maximum size.
+ */
+void trim() {
+	if (bytes <= maximumBytes) return;
+	Iterator<Entry> iterator = entries.values().iterator();
+	while (bytes > maximumBytes && iterator.hasNext()) {
+		Entry entry = iterator.next();
+		if (entry.references > 0) continue;
+		iterator.remove();
+		images.remove(entry.image);
+		bytes -= entry.bytes;
+		evictions++;
+		entry.image.dispose();
+	}
+}
+
+/**
+ * Releases an image that was returned by <code>getFromData()</code> or
+ * <code>getFromFile()</code>. When
+ * all references to the image are released, it stays in the cache
+ * until it is evicted to make room for other images.
+ *
+ * @param image the image to release
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the image is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the image is not referenced by this cache</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the cache has been disposed</li>
+ * </ul>
+ */
+public void release(Image image) {
+	if (image == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	checkCache();
+	Entry entry = images.get(image);
+	if (entry == null || entry.references == 0) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	entry.references--;
+	if (entry.references == 0) trim();
+}
+
+/**
+ * Disposes all cached images that are not referenced.
+ *
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the cache has been disposed</li>
+ * </ul>
+ */
+public void clear() {
+	checkCache();
+	Iterator<Entry> iterator = entries.values().iterator();
+	while (iterator.hasNext()) {
+		Entry entry = iterator.next();
+		if (entry.references > 0) continue;
+		iterator.remove();
+		images.remove(entry.image);
+		bytes -= entry.bytes;
+		entry.image.dispose();
+	}
+}
+
+@Override
+void destroy() {
+	for (Entry entry : entries.values()) {
+		entry.image.dispose();
+	}
+	entries.clear();
+	images.clear();
+	bytes = 0;
+	disposed = true;
+}
+
+/**
+ * Returns the number of calls to <code>getFromData()</code> and
+ * <code>getFromFile()</code> that returned a cached image.
+ *
+ * @return the number of cache hits
+ */
+public long getHitCount() {
+	return hits;
+}
+
+/**
+ * Returns the number of calls to <code>getFromData()</code> and
+ * <code>getFromFile()</code> that created a new image.
+ *
+ * @return the number of cache misses
+ */
+public long getMissCount() {
+	return misses;
+}
+
+/**
+ * Returns the number of unreferenced images that were disposed to
+ * keep the cache within its maximum size.
+ *
+ * @return the number of evicted images
+ */
+public long getEvictionCount() {
+	return evictions;
+}
+
+/**
+ * Returns the estimated size of the cached images in bytes, four
+ * bytes per pixel at the zoom they were created for.
+ *
+ * @return the size of the cached images
+ */
+public long getBytes() {
+	return bytes;
+}
+
+/**
+ * Returns the number of cached images, including the referenced ones.
+ *
+ * @return the number of cached images
+ */
+public int getImageCount() {
+	return entries.size();
+}
+
+/**
+ * Returns the maximum size of the cached images in bytes.
+ *
+ * @return the maximum size
+ */
+public long getMaximumBytes() {
+	return maximumBytes;
+}
+
+/**
+ * Sets the maximum size of the cached images in bytes, evicting
+ * unreferenced images if they no longer fit.
+ *
+ * @param maximumBytes the maximum size
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT - if maximumBytes is negative</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the cache has been disposed</li>
+ * </ul>
+ */
+public void setMaximumBytes(long maximumBytes) {
+	checkCache();
+	if (maximumBytes < 0) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	this.maximumBytes = maximumBytes;
+	trim();
+}
+
+/**
+ * Returns <code>true</code> if the image cache has been disposed,
+ * and <code>false</code> otherwise.
+ * <p>
+ * This method gets the dispose state for the image cache.
+ * When an image cache has been disposed, it is an error to
+ * invoke any other method (except {@link #dispose()}) using the image cache.
+ *
+ * @return <code>true</code> when the image cache is disposed and <code>false</code> otherwise
+ */
+@Override
+public boolean isDisposed() {
+	return disposed;
+}
+
+/**
+ * Returns a string containing a concise, human-readable
+ * description of the receiver.
+ *
+ * @return a string representation of the receiver
+ */
+@Override
+public String toString() {
+	if (isDisposed()) return "ImageCache {*DISPOSED*}";
+	return "ImageCache {images=" + entries.size() + ", bytes=" + bytes + ", hits=" + hits + ", misses=" + misses + ", evictions=" + evictions + "}";
+}
+}
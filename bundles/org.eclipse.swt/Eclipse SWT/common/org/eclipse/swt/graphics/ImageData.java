@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import java.io.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.*;
+import org.eclipse.swt.internal.image.*;
 
 /**
  * Instances of this class are device-independent descriptions
@@ -587,6 +588,51 @@ public Object clone() {
 		delayTime);
 }
 
+/**
+ * Returns a new image data with a copy of the given area of the receiver.
+ * The area must be within the bounds of the receiver.
+ */
+ImageData getRegion(int x, int y, int width, int height) {
+	ImageData region = new ImageData(
+		width,
+		height,
+		depth,
+		palette,
+		scanlinePad,
+		null,
+		maskPad,
+		null,
+		null,
+		alpha,
+		transparentPixel,
+		type,
+		0,
+		0,
+		disposalMethod,
+		delayTime);
+	int[] pixels = new int[width];
+	for (int row = 0; row < height; row++) {
+		getPixels(x, y + row, width, pixels, 0);
+		region.setPixels(0, row, width, pixels, 0);
+	}
+	if (alphaData != null) {
+		region.alphaData = new byte[width * height];
+		for (int row = 0; row < height; row++) {
+			System.arraycopy(alphaData, (y + row) * this.width + x, region.alphaData, row * width, width);
+		}
+	}
+	if (maskData != null) {
+		ImageData mask = new ImageData(this.width, this.height, 1, bwPalette(), maskPad, maskData);
+		ImageData regionMask = new ImageData(width, height, 1, bwPalette(), maskPad, null, 0, null, null, -1, -1, SWT.IMAGE_UNDEFINED, 0, 0, 0, 0);
+		for (int row = 0; row < height; row++) {
+			mask.getPixels(x, y + row, width, pixels, 0);
+			regionMask.setPixels(0, row, width, pixels, 0);
+		}
+		region.maskData = regionMask.data;
+	}
+	return region;
+}
+
 /**
  * Returns the alpha value at offset <code>x</code> in
  * scanline <code>y</code> in the receiver's alpha data.
@@ -1719,6 +1765,26 @@ static void blit(
 	int destRedMask, int destGreenMask, int destBlueMask,
 	boolean flipX, boolean flipY) {
 	if ((destWidth <= 0) || (destHeight <= 0)) return;
+	RowBands.run(destHeight, (long)destWidth * destHeight, (startRow, endRow) -> blitRows(
+		srcData, srcDepth, srcStride, srcOrder, srcWidth, srcHeight, srcRedMask, srcGreenMask, srcBlueMask,
+		destData, destDepth, destStride, destOrder, destWidth, destHeight, destRedMask, destGreenMask, destBlueMask,
+		flipX, flipY, startRow, endRow));
+}
+
+/**
+ * Blits the destination rows from <code>startRow</code> (inclusive) to
+ * <code>endRow</code> (exclusive) of a direct palette image into a direct
+ * palette image, see the method above.
+ */
+static void blitRows(
+	byte[] srcData, int srcDepth, int srcStride, int srcOrder,
+	int srcWidth, int srcHeight,
+	int srcRedMask, int srcGreenMask, int srcBlueMask,
+	byte[] destData, int destDepth, int destStride, int destOrder,
+	int destWidth, int destHeight,
+	int destRedMask, int destGreenMask, int destBlueMask,
+	boolean flipX, boolean flipY, int startRow, int endRow) {
+	if ((destWidth <= 0) || (destHeight <= 0)) return;
 
 	/*** Prepare scaling data ***/
 	final int dwm1 = destWidth - 1;
@@ -1778,6 +1844,13 @@ static void blit(
 	final int dprxi = (flipX) ? -dbpp : dbpp;
 	final int dpryi = (flipY) ? -destStride : destStride;
 
+	/*** Position at the first row of the band ***/
+	final long sfyStart = (long)startRow * sfyi;
+	spr = (int)(sfyStart >>> 16) * srcStride;
+	final int sfy0 = (int)(sfyStart & 0xffff) + sfyi;
+	dpr += startRow * dpryi;
+	final int rows = endRow - startRow;
+
 	/*** Blit ***/
 	int dp = dpr;
 	int sp = spr;
@@ -1788,7 +1861,7 @@ static void blit(
 		/*** Fast blit (straight copy) ***/
 		switch (sbpp) {
 			case 1:
-				for (int dy = destHeight, sfy = sfyi; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
+				for (int dy = rows, sfy = sfy0; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
 					for (int dx = destWidth, sfx = sfxi; dx > 0; --dx, dp += dprxi, sfx = (sfx & 0xffff) + sfxi) {
 						destData[dp] = srcData[sp];
 						sp += (sfx >>> 16);
@@ -1796,7 +1869,7 @@ static void blit(
 				}
 				break;
 			case 2:
-				for (int dy = destHeight, sfy = sfyi; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
+				for (int dy = rows, sfy = sfy0; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
 					for (int dx = destWidth, sfx = sfxi; dx > 0; --dx, dp += dprxi, sfx = (sfx & 0xffff) + sfxi) {
 						destData[dp] = srcData[sp];
 						destData[dp + 1] = srcData[sp + 1];
@@ -1805,7 +1878,7 @@ static void blit(
 				}
 				break;
 			case 3:
-				for (int dy = destHeight, sfy = sfyi; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
+				for (int dy = rows, sfy = sfy0; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
 					for (int dx = destWidth, sfx = sfxi; dx > 0; --dx, dp += dprxi, sfx = (sfx & 0xffff) + sfxi) {
 						destData[dp] = srcData[sp];
 						destData[dp + 1] = srcData[sp + 1];
@@ -1815,7 +1888,7 @@ static void blit(
 				}
 				break;
 			case 4:
-				for (int dy = destHeight, sfy = sfyi; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
+				for (int dy = rows, sfy = sfy0; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
 					for (int dx = destWidth, sfx = sfxi; dx > 0; --dx, dp += dprxi, sfx = (sfx & 0xffff) + sfxi) {
 						destData[dp] = srcData[sp];
 						destData[dp + 1] = srcData[sp + 1];
@@ -1831,7 +1904,7 @@ static void blit(
 	/*Fast 32 to 32 blit */
 	if (stype == TYPE_GENERIC_32_MSB && dtype == TYPE_GENERIC_32_MSB) {
 		if (srcRedMask == 0xFF00 && srcGreenMask == 0xff0000 && srcBlueMask == 0xff000000 && destRedMask == 0xFF0000 && destGreenMask == 0xff00 && destBlueMask == 0xff) {
-			for (int dy = destHeight, sfy = sfyi; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
+			for (int dy = rows, sfy = sfy0; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
 				for (int dx = destWidth, sfx = sfxi; dx > 0; --dx, dp += dprxi, sfx = (sfx & 0xffff) + sfxi) {
 					destData[dp] = srcData[sp + 3];
 					destData[dp + 1] = srcData[sp + 2];
@@ -1846,7 +1919,7 @@ static void blit(
 	/*Fast 24 to 32 blit */
 	if (stype == TYPE_GENERIC_24 && dtype == TYPE_GENERIC_32_MSB) {
 		if (srcRedMask == 0xFF && srcGreenMask == 0xff00 && srcBlueMask == 0xff0000 && destRedMask == 0xFF0000 && destGreenMask == 0xff00 && destBlueMask == 0xff) {
-			for (int dy = destHeight, sfy = sfyi; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
+			for (int dy = rows, sfy = sfy0; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
 				for (int dx = destWidth, sfx = sfxi; dx > 0; --dx, dp += dprxi, sfx = (sfx & 0xffff) + sfxi) {
 					destData[dp] = 0;
 					destData[dp + 1] = srcData[sp + 2];
@@ -1878,7 +1951,7 @@ static void blit(
 	final int destBluePreShift = 8 - destBlueWidth;
 
 	int r = 0, g = 0, b = 0;
-	for (int dy = destHeight, sfy = sfyi; dy > 0; --dy,
+	for (int dy = rows, sfy = sfy0; dy > 0; --dy,
 			sp = spr += (sfy >>> 16) * srcStride,
 			sfy = (sfy & 0xffff) + sfyi,
 			dp = dpr += dpryi) {
@@ -2010,6 +2083,24 @@ static void blit(
 	int destWidth, int destHeight,
 	boolean flipX, boolean flipY) {
 	if ((destWidth <= 0) || (destHeight <= 0)) return;
+	RowBands.run(destHeight, (long)destWidth * destHeight, (startRow, endRow) -> blitRows(
+		srcData, srcDepth, srcStride, srcOrder, srcWidth, srcHeight,
+		destData, destDepth, destStride, destOrder, destWidth, destHeight,
+		flipX, flipY, startRow, endRow));
+}
+
+/**
+ * Blits the destination rows from <code>startRow</code> (inclusive) to
+ * <code>endRow</code> (exclusive) of an index palette image into an index
+ * palette image, see the method above.
+ */
+static void blitRows(
+	byte[] srcData, int srcDepth, int srcStride, int srcOrder,
+	int srcWidth, int srcHeight,
+	byte[] destData, int destDepth, int destStride, int destOrder,
+	int destWidth, int destHeight,
+	boolean flipX, boolean flipY, int startRow, int endRow) {
+	if ((destWidth <= 0) || (destHeight <= 0)) return;
 
 	if (srcDepth > destDepth) {
 		// This case doesn't really make sense - what to do when source palette index
@@ -2087,6 +2178,13 @@ static void blit(
 	final int dprxi = (flipX) ? -1 : 1;
 	final int dpryi = (flipY) ? -dstPixelsPerStride : dstPixelsPerStride;
 
+	/*** Position at the first row of the band ***/
+	final long sfyStart = (long)startRow * sfyi;
+	spr = (int)(sfyStart >>> 16) * srcPixelsPerStride;
+	final int sfy0 = (int)(sfyStart & 0xffff) + sfyi;
+	dpr += startRow * dpryi;
+	final int rows = endRow - startRow;
+
 	/*** Blit ***/
 	int dp = dpr;
 	int sp = spr;
@@ -2095,7 +2193,7 @@ static void blit(
 		/*** Fast blit (copy w/ mapping) ***/
 		switch (stype) {
 			case TYPE_INDEX_16_LSB:
-				for (int dy = destHeight, sfy = sfyi; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcPixelsPerStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
+				for (int dy = rows, sfy = sfy0; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcPixelsPerStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
 					for (int dx = destWidth, sfx = sfxi; dx > 0; --dx, dp += dprxi, sfx = (sfx & 0xffff) + sfxi) {
 						destData[2*dp] = srcData[2*sp];
 						destData[2*dp+1] = srcData[2*sp+1];
@@ -2104,7 +2202,7 @@ static void blit(
 				}
 				break;
 			case TYPE_INDEX_8:
-				for (int dy = destHeight, sfy = sfyi; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcPixelsPerStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
+				for (int dy = rows, sfy = sfy0; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcPixelsPerStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
 					for (int dx = destWidth, sfx = sfxi; dx > 0; --dx, dp += dprxi, sfx = (sfx & 0xffff) + sfxi) {
 						destData[dp] = srcData[sp];
 						sp += (sfx >>> 16);
@@ -2112,7 +2210,7 @@ static void blit(
 				}
 				break;
 			case TYPE_INDEX_4:
-				for (int dy = destHeight, sfy = sfyi; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcPixelsPerStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
+				for (int dy = rows, sfy = sfy0; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcPixelsPerStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
 					for (int dx = destWidth, sfx = sfxi; dx > 0; --dx, dp += dprxi, sfx = (sfx & 0xffff) + sfxi) {
 						final int v;
 						if ((sp & 1) != 0) v = srcData[sp >> 1] & 0x0f;
@@ -2124,7 +2222,7 @@ static void blit(
 				}
 				break;
 			case TYPE_INDEX_2:
-				for (int dy = destHeight, sfy = sfyi; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcPixelsPerStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
+				for (int dy = rows, sfy = sfy0; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcPixelsPerStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
 					for (int dx = destWidth, sfx = sfxi; dx > 0; --dx, dp += dprxi, sfx = (sfx & 0xffff) + sfxi) {
 						final int index = (srcData[sp >> 2] >>> (6 - (sp & 3) * 2)) & 0x03;
 						sp += (sfx >>> 16);
@@ -2134,7 +2232,7 @@ static void blit(
 				}
 				break;
 			case TYPE_INDEX_1_MSB:
-				for (int dy = destHeight, sfy = sfyi; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcPixelsPerStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
+				for (int dy = rows, sfy = sfy0; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcPixelsPerStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
 					for (int dx = destWidth, sfx = sfxi; dx > 0; --dx, dp += dprxi, sfx = (sfx & 0xffff) + sfxi) {
 						final int index = (srcData[sp >> 3] >>> (7 - (sp & 7))) & 0x01;
 						sp += (sfx >>> 16);
@@ -2144,7 +2242,7 @@ static void blit(
 				}
 				break;
 			case TYPE_INDEX_1_LSB:
-				for (int dy = destHeight, sfy = sfyi; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcPixelsPerStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
+				for (int dy = rows, sfy = sfy0; dy > 0; --dy, sp = spr += (sfy >>> 16) * srcPixelsPerStride, sfy = (sfy & 0xffff) + sfyi, dp = dpr += dpryi) {
 					for (int dx = destWidth, sfx = sfxi; dx > 0; --dx, dp += dprxi, sfx = (sfx & 0xffff) + sfxi) {
 						final int index = (srcData[sp >> 3] >>> (sp & 7)) & 0x01;
 						sp += (sfx >>> 16);
@@ -2156,7 +2254,7 @@ static void blit(
 		}
 	} else {
 		/*** Convert between indexed modes using mapping and mask ***/
-		for (int dy = destHeight, sfy = sfyi; dy > 0; --dy,
+		for (int dy = rows, sfy = sfy0; dy > 0; --dy,
 				sp = spr += (sfy >>> 16) * srcPixelsPerStride,
 				sfy = (sfy & 0xffff) + sfyi,
 				dp = dpr += dpryi) {
@@ -2253,10 +2351,28 @@ static void blit(
 	byte[] srcReds, byte[] srcGreens, byte[] srcBlues,
 	byte[] destData, int destDepth, int destStride, int destOrder,
 	int destRedMask, int destGreenMask, int destBlueMask) {
+	RowBands.run(srcHeight, (long)srcWidth * srcHeight, (startRow, endRow) -> blitRows(
+		srcWidth, srcHeight, srcData, srcDepth, srcStride, srcOrder, srcReds, srcGreens, srcBlues,
+		destData, destDepth, destStride, destOrder, destRedMask, destGreenMask, destBlueMask,
+		startRow, endRow));
+}
+
+/**
+ * Blits the rows from <code>startRow</code> (inclusive) to <code>endRow</code>
+ * (exclusive) of an index palette image into a direct palette image, see the
+ * method above.
+ */
+static void blitRows(
+	int srcWidth, int srcHeight,
+	byte[] srcData, int srcDepth, int srcStride, int srcOrder,
+	byte[] srcReds, byte[] srcGreens, byte[] srcBlues,
+	byte[] destData, int destDepth, int destStride, int destOrder,
+	int destRedMask, int destGreenMask, int destBlueMask,
+	int startRow, int endRow) {
 
 	/*** Fast blit (straight copy) ***/
 	if (destDepth == 24 && srcDepth == 8 && destRedMask == 0xFF0000 && destGreenMask == 0xFF00 && destBlueMask == 0xFF) {
-		for (int y = 0, sp = 0, dp = 0, spad = srcStride - srcWidth, dpad = destStride - (srcWidth * 3); y < srcHeight; y++, sp += spad, dp += dpad) {
+		for (int y = startRow, sp = startRow * srcStride, dp = startRow * destStride, spad = srcStride - srcWidth, dpad = destStride - (srcWidth * 3); y < endRow; y++, sp += spad, dp += dpad) {
 			for (int x = 0; x < srcWidth; x++) {
 				int index = srcData[sp++] & 0xff;
 				destData[dp++] = srcReds[index];
@@ -2267,7 +2383,7 @@ static void blit(
 		return;
 	}
 	if (destDepth == 32 && destOrder == MSB_FIRST && srcDepth == 8 && destRedMask == 0xFF0000 && destGreenMask == 0xFF00 && destBlueMask == 0xFF) {
-		for (int y = 0, sp = 0, dp = 0, spad = srcStride - srcWidth, dpad = destStride - (srcWidth * 4); y < srcHeight; y++, sp += spad, dp += dpad) {
+		for (int y = startRow, sp = startRow * srcStride, dp = startRow * destStride, spad = srcStride - srcWidth, dpad = destStride - (srcWidth * 4); y < endRow; y++, sp += spad, dp += dpad) {
 			for (int x = 0; x < srcWidth; x++) {
 				int index = srcData[sp++] & 0xff;
 				dp++;
@@ -2343,12 +2459,12 @@ static void blit(
 	final int destBluePreShift = 8 - destBlueWidth;
 
 	final int srcPixelsPerStride = srcStride * 8 / srcDepth;
-	int spr = 0;
-	int dpr = 0;
-	int dp = 0;
-	int sp = 0;
+	int spr = startRow * srcPixelsPerStride;
+	int dpr = startRow * destStride;
+	int dp = dpr;
+	int sp = spr;
 	int r = 0, g = 0, b = 0, index = 0;
-	for (int dy = srcHeight; dy > 0; --dy, sp = spr += srcPixelsPerStride, dp = dpr += destStride) {
+	for (int dy = endRow - startRow; dy > 0; --dy, sp = spr += srcPixelsPerStride, dp = dpr += destStride) {
 		for (int dx = srcWidth; dx > 0; --dx, sp++, dp += dbpp) {
 			/*** READ NEXT PIXEL ***/
 			switch (stype) {
@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.graphics;
+
+import java.io.*;
+
+/**
+ * Loads images of a file format that is not built into SWT, such as WebP
+ * or QOI. Providers are found with {@link java.util.ServiceLoader}, by
+ * listing the implementation in
+ * <code>META-INF/services/org.eclipse.swt.graphics.ImageFormatProvider</code>,
+ * or registered with {@link ImageLoader#addFormatProvider(ImageFormatProvider)}
+ * where the service loader cannot see them, e.g. under OSGi.
+ * <p>
+ * A provider is only asked to load a stream if none of the built-in
+ * formats recognizes it. Providers are called from the thread that loads
+ * the image, which need not be the user-interface thread.
+ * </p>
+ *
+ * @see ImageLoader#load(InputStream)
+ * @since 3.127
+ */
+public interface ImageFormatProvider {
+
+/**
+ * Returns whether the given header starts an image of this format. The
+ * header holds the first 32 bytes of the stream, fewer if the stream is
+ * shorter.
+ *
+ * @param header the first bytes of the stream
+ * @return <code>true</code> if the provider can load the stream, <code>false</code> otherwise
+ */
+boolean isFileFormat(byte[] header);
+
+/**
+ * Reads the images from the stream, which is positioned at the start of
+ * the header. The maximum size of the loader is applied to the result,
+ * and the loader's listeners may be notified of the progress.
+ *
+ * @param stream the stream to read the images from
+ * @param loader the image loader that loads the stream
+ * @return the images of the stream
+ *
+ * @exception IOException if the stream cannot be read
+ */
+ImageData[] load(InputStream stream, ImageLoader loader) throws IOException;
+}
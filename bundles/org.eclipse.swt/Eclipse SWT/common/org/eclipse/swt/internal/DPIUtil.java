@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 IBM Corporation and others.
+ * Copyright (c) 2022, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -19,6 +19,7 @@ import java.util.function.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
+import org.eclipse.swt.internal.image.*;
 
 /**
  * This class hold common constants and utility functions w.r.t. to SWT high DPI
@@ -118,7 +119,7 @@ public class DPIUtil {
 public static ImageData autoScaleDown (Device device, final ImageData imageData) {
 	if (deviceZoom == 100 || imageData == null || (device != null && !device.isAutoScalable())) return imageData;
 	float scaleFactor = 1.0f / getScalingFactor (deviceZoom);
-	return autoScaleImageData(device, imageData, scaleFactor);
+	return autoScaleImageData(imageData, scaleFactor);
 }
 
 public static int[] autoScaleDown(int[] pointArray) {
@@ -281,7 +282,7 @@ public static Rectangle scaleDown(Drawable drawable, Rectangle rect, int zoom) {
 public static ImageData autoScaleImageData (Device device, final ImageData imageData, int targetZoom, int currentZoom) {
 	if (imageData == null || targetZoom == currentZoom || (device != null && !device.isAutoScalable())) return imageData;
 	float scaleFactor = (float) targetZoom / (float) currentZoom;
-	return autoScaleImageData(device, imageData, scaleFactor);
+	return autoScaleImageData(imageData, scaleFactor);
 }
 
 
@@ -289,32 +290,14 @@ public static ImageData autoScaleImageData (Device device, final ElementAtZoom<I
 	return autoScaleImageData(device, elementAtZoom.element(), targetZoom, elementAtZoom.zoom());
 }
 
-private static ImageData autoScaleImageData (Device device, final ImageData imageData, float scaleFactor) {
+private static ImageData autoScaleImageData (final ImageData imageData, float scaleFactor) {
 	// Guards are already implemented in callers: if (deviceZoom == 100 || imageData == null || scaleFactor == 1.0f) return imageData;
 	int width = imageData.width;
 	int height = imageData.height;
 	int scaledWidth = Math.round (width * scaleFactor);
 	int scaledHeight = Math.round (height * scaleFactor);
 	return switch (autoScaleMethod) {
-	case SMOOTH -> {
-		Image original = new Image (device, (ImageDataProvider) zoom -> imageData);
-		/* Create a 24 bit image data with alpha channel */
-		final ImageData resultData = new ImageData (scaledWidth, scaledHeight, 24, new PaletteData (0xFF, 0xFF00, 0xFF0000));
-		resultData.alphaData = new byte [scaledWidth * scaledHeight];
-		Image resultImage = new Image (device, (ImageDataProvider) zoom -> resultData);
-		GC gc = new GC (resultImage);
-		gc.setAntialias (SWT.ON);
-		gc.drawImage (original, 0, 0, DPIUtil.autoScaleDown (width), DPIUtil.autoScaleDown (height),
-				/* E.g. destWidth here is effectively DPIUtil.autoScaleDown (scaledWidth), but avoiding rounding errors.
-				 * Nevertheless, we still have some rounding errors due to the point-based API GC#drawImage(..).
-				 */
-				0, 0, Math.round (DPIUtil.autoScaleDown (width * scaleFactor)), Math.round (DPIUtil.autoScaleDown (height * scaleFactor)));
-		gc.dispose ();
-		original.dispose ();
-		ImageData result = resultImage.getImageData (DPIUtil.getDeviceZoom ());
-		resultImage.dispose ();
-		yield result;
-	}
+	case SMOOTH -> ImageDataResampler.resample (imageData, scaledWidth, scaledHeight);
 	default -> imageData.scaledTo (scaledWidth, scaledHeight);
 	};
 }
@@ -339,7 +322,7 @@ public static Rectangle autoScaleBounds (Rectangle rect, int targetZoom, int cur
 public static ImageData autoScaleImageData (Device device, final ImageData imageData, int imageDataZoomFactor) {
 	if (deviceZoom == imageDataZoomFactor || imageData == null || (device != null && !device.isAutoScalable())) return imageData;
 	float scaleFactor = (float) deviceZoom / imageDataZoomFactor;
-	return autoScaleImageData(device, imageData, scaleFactor);
+	return autoScaleImageData(imageData, scaleFactor);
 }
 
 /**
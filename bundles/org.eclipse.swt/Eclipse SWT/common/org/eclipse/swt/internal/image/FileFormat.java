@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,6 +15,8 @@ package org.eclipse.swt.internal.image;
 
 
 import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
@@ -24,22 +26,118 @@ import org.eclipse.swt.graphics.*;
  * in various image file formats.
  */
 public abstract class FileFormat {
-	static final String FORMAT_PACKAGE = "org.eclipse.swt.internal.image"; //$NON-NLS-1$
-	static final String FORMAT_SUFFIX = "FileFormat"; //$NON-NLS-1$
-	static final String[] FORMATS = {"WinBMP", "WinBMP", "GIF", "WinICO", "JPEG", "PNG", "TIFF", "OS2BMP"}; //$NON-NLS-1$//$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$//$NON-NLS-5$ //$NON-NLS-6$//$NON-NLS-7$//$NON-NLS-8$
+	/**
+	 * The number of bytes at the start of a stream that are used to
+	 * identify its format.
+	 */
+	public static final int HEADER_LENGTH = 32;
 
 	LEDataInputStream inputStream;
 	LEDataOutputStream outputStream;
 	ImageLoader loader;
 	int compression;
 
-static FileFormat getFileFormat (LEDataInputStream stream, String format) throws Exception {
-	Class<?> clazz = Class.forName(FORMAT_PACKAGE + '.' + format + FORMAT_SUFFIX);
-	FileFormat fileFormat = (FileFormat) clazz.getDeclaredConstructor().newInstance();
-	if (fileFormat.isFileFormat(stream)) return fileFormat;
+	/**
+	 * The providers of additional formats, found with the service loader
+	 * when they are first needed.
+	 */
+	static final class Providers {
+		static final CopyOnWriteArrayList<ImageFormatProvider> LIST = new CopyOnWriteArrayList<>();
+		static {
+			try {
+				for (ImageFormatProvider provider : ServiceLoader.load(ImageFormatProvider.class)) {
+					LIST.add(provider);
+				}
+			} catch (ServiceConfigurationError e) {
+				System.err.println("SWT Warning: Failed to load the image format providers"); //$NON-NLS-1$
+				e.printStackTrace();
+			}
+		}
+	}
+
+/**
+ * Create the file format for one of the <code>SWT.IMAGE_*</code>
+ * constants, or answer null if the format is not supported.
+ */
+static FileFormat createFileFormat(int format) {
+	return switch (format) {
+	case SWT.IMAGE_BMP, SWT.IMAGE_BMP_RLE -> new WinBMPFileFormat();
+	case SWT.IMAGE_GIF -> new GIFFileFormat();
+	case SWT.IMAGE_ICO -> new WinICOFileFormat();
+	case SWT.IMAGE_JPEG -> new JPEGFileFormat();
+	case SWT.IMAGE_PNG -> new PNGFileFormat();
+	case SWT.IMAGE_TIFF -> new TIFFFileFormat();
+	case SWT.IMAGE_OS2_BMP -> new OS2BMPFileFormat();
+	default -> null;
+	};
+}
+
+static boolean startsWith(byte[] header, int length, int... magic) {
+	if (length < magic.length) return false;
+	for (int i = 0; i < magic.length; i++) {
+		if ((header[i] & 0xFF) != magic[i]) return false;
+	}
+	return true;
+}
+
+/**
+ * Answer the <code>SWT.IMAGE_*</code> formats whose files start with
+ * the magic bytes of the given header. The file format of each candidate
+ * still has to confirm that it can read the stream.
+ */
+static int[] getCandidateFormats(byte[] header, int length) {
+	if (startsWith(header, length, 0x89, 'P', 'N', 'G')) return new int[] {SWT.IMAGE_PNG};
+	if (startsWith(header, length, 0xFF, 0xD8)) return new int[] {SWT.IMAGE_JPEG};
+	if (startsWith(header, length, 'G', 'I', 'F')) return new int[] {SWT.IMAGE_GIF};
+	if (startsWith(header, length, 'B', 'M')) return new int[] {SWT.IMAGE_BMP, SWT.IMAGE_OS2_BMP};
+	if (startsWith(header, length, 0, 0, 1, 0)) return new int[] {SWT.IMAGE_ICO};
+	if (startsWith(header, length, 'I', 'I', 42, 0) || startsWith(header, length, 'M', 'M', 0, 42)) return new int[] {SWT.IMAGE_TIFF};
+	return new int[0];
+}
+
+/**
+ * Answer the first registered provider that recognizes the given
+ * header, or null if there is none. A provider that fails to check
+ * the header is reported and removed, so that it is reported once.
+ */
+public static ImageFormatProvider getProvider(byte[] header) {
+	for (ImageFormatProvider provider : Providers.LIST) {
+		try {
+			if (provider.isFileFormat(header)) return provider;
+		} catch (RuntimeException e) {
+			System.err.println("SWT Warning: Removed the failing image format provider " + provider.getClass().getName()); //$NON-NLS-1$
+			e.printStackTrace();
+			Providers.LIST.remove(provider);
+		}
+	}
 	return null;
 }
 
+/**
+ * Answer whether any providers of additional formats are registered.
+ */
+public static boolean hasProviders() {
+	return !Providers.LIST.isEmpty();
+}
+
+/**
+ * Register a provider of an additional format, for environments where
+ * the service loader cannot find it, such as OSGi.
+ *
+ * @see ImageLoader#addFormatProvider(ImageFormatProvider)
+ */
+public static void register(ImageFormatProvider provider) {
+	if (provider == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	Providers.LIST.addIfAbsent(provider);
+}
+
+/**
+ * Remove a provider that was registered before.
+ */
+public static void unregister(ImageFormatProvider provider) {
+	Providers.LIST.remove(provider);
+}
+
 /**
  * Return whether or not the specified input stream
  * represents a supported file format.
@@ -69,24 +167,100 @@ public ImageData[] loadFromStream(LEDataInputStream stream) {
 /**
  * Read the specified input stream using the specified loader, and
  * return the device independent image array represented by the stream.
+ * The format is identified from the first bytes of the stream, which are
+ * read only once.
  */
 public static ImageData[] load(InputStream is, ImageLoader loader) {
-	FileFormat fileFormat = null;
 	LEDataInputStream stream = new LEDataInputStream(is);
-	for (int i = 1; i < FORMATS.length; i++) {
-		if (FORMATS[i] != null) {
-			try {
-				fileFormat = getFileFormat (stream, FORMATS[i]);
-				if (fileFormat != null) break;
-			} catch (ClassNotFoundException e) {
-				FORMATS[i] = null;
-			} catch (Exception e) {
-			}
+	byte[] header = new byte[HEADER_LENGTH];
+	int length = 0;
+	try {
+		length = Math.max(0, stream.read(header));
+		if (length < HEADER_LENGTH) header = Arrays.copyOf(header, length);
+		stream.unread(header);
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+	}
+	FileFormat fileFormat = null;
+	for (int format : getCandidateFormats(header, length)) {
+		FileFormat candidate = createFileFormat(format);
+		if (candidate.isFileFormat(stream)) {
+			fileFormat = candidate;
+			break;
+		}
+	}
+	if (fileFormat == null) {
+		ImageFormatProvider provider = getProvider(header);
+		if (provider == null) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
+		try {
+			return scaleToFit(provider.load(stream, loader), loader);
+		} catch (IOException e) {
+			SWT.error(SWT.ERROR_IO, e);
+		} catch (SWTException | SWTError e) {
+			throw e;
+		} catch (Exception e) {
+			SWT.error(SWT.ERROR_INVALID_IMAGE, e);
 		}
 	}
-	if (fileFormat == null) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
 	fileFormat.loader = loader;
-	return fileFormat.loadFromStream(stream);
+	return scaleToFit(fileFormat.loadFromStream(stream), loader);
+}
+
+/**
+ * Scales the images down so that they fit into the maximum width and
+ * height of the loader, keeping their aspect ratio. All images are scaled
+ * by the same factor, which is computed from the logical screen of the
+ * loader if it is set and from the bounds of all images otherwise. Returns
+ * the images unchanged if they fit.
+ */
+public static ImageData[] scaleToFit(ImageData[] data, ImageLoader loader) {
+	if (data == null || data.length == 0 || (loader.maximumWidth <= 0 && loader.maximumHeight <= 0)) return data;
+	int width = loader.logicalScreenWidth, height = loader.logicalScreenHeight;
+	if (width <= 0 || height <= 0) {
+		width = height = 0;
+		for (ImageData image : data) {
+			width = Math.max(width, image.x + image.width);
+			height = Math.max(height, image.y + image.height);
+		}
+	}
+	double scale = getScaleToFit(width, height, loader);
+	if (scale >= 1) return data;
+	ImageData[] result = new ImageData[data.length];
+	for (int i = 0; i < data.length; i++) {
+		result[i] = scale(data[i], scale);
+	}
+	if (loader.logicalScreenWidth > 0 && loader.logicalScreenHeight > 0) {
+		loader.logicalScreenWidth = Math.max(1, (int) Math.round(loader.logicalScreenWidth * scale));
+		loader.logicalScreenHeight = Math.max(1, (int) Math.round(loader.logicalScreenHeight * scale));
+	}
+	return result;
+}
+
+/**
+ * Returns the factor that scales an image of the given size into the
+ * maximum width and height of the loader, or 1 if it fits.
+ */
+static double getScaleToFit(int width, int height, ImageLoader loader) {
+	double scale = 1;
+	if (loader.maximumWidth > 0) scale = Math.min(scale, (double) loader.maximumWidth / width);
+	if (loader.maximumHeight > 0) scale = Math.min(scale, (double) loader.maximumHeight / height);
+	return scale;
+}
+
+/**
+ * Returns a copy of the image scaled by the factor, including its position
+ * and animation values.
+ */
+static ImageData scale(ImageData image, double scale) {
+	ImageData scaled = ImageDataResampler.resample(image,
+		Math.max(1, (int) Math.round(image.width * scale)),
+		Math.max(1, (int) Math.round(image.height * scale)));
+	scaled.type = image.type;
+	scaled.x = (int) Math.round(image.x * scale);
+	scaled.y = (int) Math.round(image.y * scale);
+	scaled.disposalMethod = image.disposalMethod;
+	scaled.delayTime = image.delayTime;
+	return scaled;
 }
 
 /**
@@ -94,18 +268,11 @@ public static ImageData[] load(InputStream is, ImageLoader loader) {
  * to the specified output stream using the specified file format.
  */
 public static void save(OutputStream os, int format, ImageLoader loader) {
-	if (format < 0 || format >= FORMATS.length) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
-	if (FORMATS[format] == null) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
+	FileFormat fileFormat = createFileFormat(format);
+	if (fileFormat == null) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
 	if (loader.data == null || loader.data.length < 1) SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 
 	LEDataOutputStream stream = new LEDataOutputStream(os);
-	FileFormat fileFormat = null;
-	try {
-		Class<?> clazz = Class.forName(FORMAT_PACKAGE + '.' + FORMATS[format] + FORMAT_SUFFIX);
-		fileFormat = (FileFormat) clazz.getDeclaredConstructor().newInstance();
-	} catch (Exception e) {
-		SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);
-	}
 	if (format == SWT.IMAGE_BMP_RLE) {
 		switch (loader.data[0].depth) {
 			case 8: fileFormat.compression = 1; break;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2012 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ package org.eclipse.swt.internal.image;
 import org.eclipse.swt.*;
 import org.eclipse.swt.graphics.*;
 import java.io.*;
+import java.util.*;
 
 public final class GIFFileFormat extends FileFormat {
 	String signature;
@@ -25,6 +26,8 @@ public final class GIFFileFormat extends FileFormat {
 	int delayTime = 0;
 	int transparentPixel = -1;
 	int repeatCount = 1;
+	/* frames of the image when it is indexed for GIFFrames, or null */
+	List<GIFFrames.Frame> frames;
 
 	static final int GIF_APPLICATION_EXTENSION_BLOCK_ID = 0xFF;
 	static final int GIF_GRAPHICS_CONTROL_BLOCK_ID = 0xF9;
@@ -109,13 +112,17 @@ public final class GIFFileFormat extends FileFormat {
 		while (id != GIF_TRAILER_ID && id != -1) {
 			if (id == GIF_IMAGE_BLOCK_ID) {
 				ImageData image = readImageBlock(palette);
-				if (loader.hasListeners()) {
+				if (image == null) {
+					/* Indexed, see GIFFrames */
+				} else if (loader.hasListeners()) {
 					loader.notifyListeners(new ImageLoaderEvent(loader, image, 3, true));
 				}
-				ImageData[] oldImages = images;
-				images = new ImageData[oldImages.length + 1];
-				System.arraycopy(oldImages, 0, images, 0, oldImages.length);
-				images[images.length - 1] = image;
+				if (image != null) {
+					ImageData[] oldImages = images;
+					images = new ImageData[oldImages.length + 1];
+					System.arraycopy(oldImages, 0, images, 0, oldImages.length);
+					images[images.length - 1] = image;
+				}
 			} else if (id == GIF_EXTENSION_BLOCK_ID) {
 				/* Read the extension block. Currently, only the
 				 * interesting parts of certain extensions are kept,
@@ -127,12 +134,16 @@ public final class GIFFileFormat extends FileFormat {
 			} else {
 				/* The GIF is not to spec, but try to salvage it
 				 * if we read at least one image. */
-				if (images.length > 0) break;
+				if (images.length > 0 || (frames != null && !frames.isEmpty())) break;
 				SWT.error(SWT.ERROR_INVALID_IMAGE);
 			}
 			id = readID(); // block terminator (0)
 			if (id == 0) id = readID(); // next block ID (unless we just read it)
 		}
+		/* The stream ended before the first image */
+		if (id == -1 && images.length == 0 && (frames == null || frames.isEmpty())) {
+			SWT.error(SWT.ERROR_INVALID_IMAGE);
+		}
 		return images;
 	}
 
@@ -317,7 +328,9 @@ public final class GIFFileFormat extends FileFormat {
 	/**
 	 * Return a DeviceIndependentImage representing the
 	 * image block at the current position in the input stream.
-	 * Throw an error if an error occurs.
+	 * Throw an error if an error occurs. When the image is
+	 * indexed for GIFFrames, record the frame, skip its data
+	 * and return null.
 	 */
 	ImageData readImageBlock(PaletteData defaultPalette) {
 		int depth;
@@ -369,6 +382,23 @@ public final class GIFFileFormat extends FileFormat {
 		if (initialCodeSize < 0) {
 			SWT.error(SWT.ERROR_INVALID_IMAGE);
 		}
+		if (frames != null) {
+			GIFFrames.Frame frame = new GIFFrames.Frame();
+			frame.offset = inputStream.getPosition() - 1;
+			frame.left = left;
+			frame.top = top;
+			frame.width = width;
+			frame.height = height;
+			frame.depth = depth;
+			frame.palette = palette;
+			frame.interlaced = interlaced;
+			frame.transparentPixel = transparentPixel;
+			frame.disposalMethod = disposalMethod;
+			frame.delayTime = delayTime;
+			frames.add(frame);
+			skipDataBlocks();
+			return null;
+		}
 		ImageData image = ImageData.internal_new(
 			width,
 			height,
@@ -391,6 +421,21 @@ public final class GIFFileFormat extends FileFormat {
 		return image;
 	}
 
+	/**
+	 * Skip the data sub-blocks at the current position in the
+	 * input stream, including the block terminator.
+	 */
+	void skipDataBlocks() {
+		try {
+			int size;
+			while ((size = inputStream.read()) > 0) {
+				if (inputStream.skip(size) != size) break;
+			}
+		} catch (IOException e) {
+			SWT.error(SWT.ERROR_IO, e);
+		}
+	}
+
 	/**
 	 * Read a palette from the input stream.
 	 */
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+
+/**
+ * The frames of a GIF image, decoded on demand from the encoded file
+ * instead of all at once when the image is loaded. The least recently
+ * used decoded frames are dropped when more than the cache size of the
+ * loader are decoded. If the loader asks for it, the frame following the
+ * requested one is decoded on a background thread, so that an animation
+ * does not wait for it.
+ * <p>
+ * Used by <code>ImageLoader.getFrame()</code>, see
+ * <code>ImageLoader.frameCacheSize</code>.
+ * </p>
+ */
+public final class GIFFrames {
+
+	/**
+	 * The image descriptor and graphic control values of a frame and the
+	 * offset of its LZW data in the file.
+	 */
+	static final class Frame {
+		int offset, left, top, width, height, depth;
+		int transparentPixel, disposalMethod, delayTime;
+		boolean interlaced;
+		PaletteData palette;
+	}
+
+	final byte[] bytes;
+	final Frame[] frames;
+	final ImageLoader loader;
+	final int cacheSize;
+	final boolean decodeAhead;
+	/* the factor that fits the frames into the maximum size of the loader */
+	final double scale;
+
+	/* decoded frames in access order, guarded by this */
+	final LinkedHashMap<Integer, ImageData> cache;
+	/* frames that are decoded in the background, guarded by this */
+	final Map<Integer, Future<ImageData>> pending = new HashMap<>();
+
+	static final class Decoder {
+		static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "SWT GIF Decoder");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+GIFFrames(byte[] bytes, Frame[] frames, ImageLoader loader) {
+	this.bytes = bytes;
+	this.frames = frames;
+	this.loader = loader;
+	cacheSize = Math.max(1, loader.frameCacheSize);
+	decodeAhead = loader.decodeAhead;
+	int width = loader.logicalScreenWidth, height = loader.logicalScreenHeight;
+	if (width <= 0 || height <= 0) {
+		width = height = 0;
+		for (Frame frame : frames) {
+			width = Math.max(width, frame.left + frame.width);
+			height = Math.max(height, frame.top + frame.height);
+		}
+	}
+	scale = FileFormat.getScaleToFit(width, height, loader);
+	cache = new LinkedHashMap<>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Integer, ImageData> eldest) {
+			return size() > cacheSize;
+		}
+	};
+}
+
+/**
+ * Reads all bytes of the stream.
+ */
+public static byte[] readAllBytes(InputStream stream) {
+	try {
+		return stream.readAllBytes();
+	} catch (IOException e) {
+		SWT.error(SWT.ERROR_IO, e);
+		return null;
+	}
+}
+
+/**
+ * Indexes the frames of the GIF image in the bytes, or returns null if
+ * they are not a GIF image. Sets the logical screen, background pixel and
+ * repeat count of the loader like loading the image does.
+ */
+public static GIFFrames load(byte[] bytes, ImageLoader loader) {
+	if (bytes.length < 3 || bytes[0] != 'G' || bytes[1] != 'I' || bytes[2] != 'F') return null;
+	GIFFileFormat format = new GIFFileFormat();
+	format.loader = loader;
+	format.frames = new ArrayList<>();
+	format.loadFromStream(new LEDataInputStream(new ByteArrayInputStream(bytes)));
+	if (format.frames.isEmpty()) SWT.error(SWT.ERROR_INVALID_IMAGE);
+	GIFFrames frames = new GIFFrames(bytes, format.frames.toArray(new Frame[0]), loader);
+	if (frames.scale < 1 && loader.logicalScreenWidth > 0 && loader.logicalScreenHeight > 0) {
+		loader.logicalScreenWidth = Math.max(1, (int) Math.round(loader.logicalScreenWidth * frames.scale));
+		loader.logicalScreenHeight = Math.max(1, (int) Math.round(loader.logicalScreenHeight * frames.scale));
+	}
+	return frames;
+}
+
+public int getFrameCount() {
+	return frames.length;
+}
+
+/**
+ * Returns the frame at the index, decoding it if it is not cached. The
+ * listeners of the loader are notified when a frame was decoded.
+ */
+public ImageData getFrame(int index) {
+	if (index < 0 || index >= frames.length) SWT.error(SWT.ERROR_INVALID_RANGE);
+	ImageData image;
+	Future<ImageData> future;
+	synchronized (this) {
+		image = cache.get(index);
+		future = pending.remove(index);
+	}
+	if (image == null) {
+		if (future != null) {
+			try {
+				image = future.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				/* Decode it again to report the error on this thread */
+			}
+		}
+		if (image == null) image = decode(index);
+		synchronized (this) {
+			cache.put(index, image);
+		}
+		if (loader.hasListeners()) {
+			loader.notifyListeners(new ImageLoaderEvent(loader, image, 3, true));
+		}
+	}
+	if (decodeAhead && frames.length > 1) {
+		int next = (index + 1) % frames.length;
+		synchronized (this) {
+			if (!cache.containsKey(next) && !pending.containsKey(next)) {
+				pending.put(next, Decoder.EXECUTOR.submit(() -> decode(next)));
+			}
+		}
+	}
+	return image;
+}
+
+/**
+ * Cancels the frames that are decoded in the background and drops the
+ * decoded frames.
+ */
+public synchronized void dispose() {
+	for (Future<ImageData> future : pending.values()) {
+		future.cancel(false);
+	}
+	pending.clear();
+	cache.clear();
+}
+
+ImageData decode(int index) {
+	Frame frame = frames[index];
+	ImageData image = ImageData.internal_new(
+		frame.width,
+		frame.height,
+		frame.depth,
+		frame.palette,
+		4,
+		null,
+		0,
+		null,
+		null,
+		-1,
+		frame.transparentPixel,
+		SWT.IMAGE_GIF,
+		frame.left,
+		frame.top,
+		frame.disposalMethod,
+		frame.delayTime);
+	LEDataInputStream stream = new LEDataInputStream(new ByteArrayInputStream(bytes, frame.offset, bytes.length - frame.offset));
+	try {
+		int initialCodeSize = stream.read();
+		/* Progress events of interlaced frames are not sent */
+		new LZWCodec().decode(stream, new ImageLoader(), image, frame.interlaced, initialCodeSize);
+	} catch (Exception e) {
+		if (e instanceof IOException) {
+			SWT.error(SWT.ERROR_IO, e);
+		} else {
+			SWT.error(SWT.ERROR_INVALID_IMAGE, e);
+		}
+	}
+	return scale < 1 ? FileFormat.scale(image, scale) : image;
+}
+}
@@ -0,0 +1,287 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import org.eclipse.swt.*;
+import org.eclipse.swt.graphics.*;
+
+/**
+ * Resamples <code>ImageData</code> with a separable filter, without going
+ * through a device, an <code>Image</code> or a <code>GC</code>. Color
+ * channels are premultiplied with the alpha channel while filtering, so
+ * that transparent pixels do not bleed into their neighbours. The rows
+ * are computed in strips, so only the source rows that one strip needs
+ * are held as floating point values, not the whole image.
+ * <p>
+ * The result is always a 24-bit direct image. It has alpha data if the
+ * source has any kind of transparency.
+ * </p>
+ */
+public final class ImageDataResampler {
+
+	/** the number of destination rows that are computed from one buffer of horizontally filtered source rows */
+	static final int STRIP_ROWS = 64;
+
+/**
+ * The filters that can be used for resampling.
+ */
+public enum Filter {
+	/** averages the source pixels that are covered by a destination pixel */
+	BOX (0.5f),
+	/** linear interpolation between the nearest source pixels */
+	BILINEAR (1f),
+	/** windowed sinc with three lobes, sharper than the others when scaling down */
+	LANCZOS3 (3f);
+
+	final float support;
+
+	Filter (float support) {
+		this.support = support;
+	}
+
+	float weight (float x) {
+		x = Math.abs (x);
+		return switch (this) {
+			case BOX -> x < 0.5f ? 1 : 0;
+			case BILINEAR -> x < 1 ? 1 - x : 0;
+			case LANCZOS3 -> {
+				if (x < 1e-6f) yield 1;
+				if (x >= 3) yield 0;
+				double px = Math.PI * x;
+				yield (float) (3 * Math.sin (px) * Math.sin (px / 3) / (px * px));
+			}
+		};
+	}
+}
+
+/**
+ * The contributions of the source pixels to the destination pixels along
+ * one axis: destination pixel <code>i</code> is the weighted sum of the
+ * <code>count[i]</code> source pixels starting at <code>start[i]</code>,
+ * with the weights starting at <code>i * size</code>.
+ */
+static final class Weights {
+	final int size;
+	final int[] start, count;
+	final float[] weights;
+
+	Weights (int srcSize, int dstSize, Filter filter) {
+		float scale = (float) dstSize / srcSize;
+		/* widen the filter when scaling down so that every source pixel contributes */
+		float stretch = scale < 1 ? 1 / scale : 1;
+		float support = filter.support * stretch;
+		size = Math.min (srcSize, (int) Math.floor (support * 2) + 2);
+		start = new int [dstSize];
+		count = new int [dstSize];
+		weights = new float [dstSize * size];
+		for (int i = 0; i < dstSize; i++) {
+			float center = (i + 0.5f) / scale;
+			int left = Math.max (0, (int) Math.ceil (center - support - 0.5f));
+			int right = Math.min (srcSize - 1, (int) Math.floor (center + support - 0.5f));
+			right = Math.min (right, left + size - 1);
+			int offset = i * size;
+			float sum = 0;
+			for (int j = left; j <= right; j++) {
+				float w = filter.weight ((j + 0.5f - center) / stretch);
+				weights [offset + j - left] = w;
+				sum += w;
+			}
+			if (right < left || sum == 0) {
+				/* nothing in reach of the filter, use the nearest pixel */
+				left = Math.min (srcSize - 1, (int) center);
+				right = left;
+				weights [offset] = sum = 1;
+			}
+			for (int j = 0; j <= right - left; j++) {
+				weights [offset + j] /= sum;
+			}
+			start [i] = left;
+			count [i] = right - left + 1;
+		}
+	}
+}
+
+private ImageDataResampler () {
+}
+
+/**
+ * Returns a copy of the source scaled to the given size. Scaling up
+ * interpolates bilinearly, scaling down averages the covered pixels.
+ *
+ * @param source the image data to scale
+ * @param width the width of the result
+ * @param height the height of the result
+ * @return the scaled image data
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the source is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the width or height is not positive</li>
+ * </ul>
+ */
+public static ImageData resample (ImageData source, int width, int height) {
+	return resample (source, width, height, null);
+}
+
+/**
+ * Returns a copy of the source scaled to the given size with the given
+ * filter. If the filter is <code>null</code>, each axis is filtered with
+ * {@link Filter#BILINEAR} when it is scaled up and with {@link Filter#BOX}
+ * when it is scaled down.
+ *
+ * @param source the image data to scale
+ * @param width the width of the result
+ * @param height the height of the result
+ * @param filter the filter, or <code>null</code>
+ * @return the scaled image data
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the source is null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the width or height is not positive</li>
+ * </ul>
+ */
+public static ImageData resample (ImageData source, int width, int height, Filter filter) {
+	if (source == null) SWT.error (SWT.ERROR_NULL_ARGUMENT);
+	if (width <= 0 || height <= 0) SWT.error (SWT.ERROR_INVALID_ARGUMENT);
+	int srcWidth = source.width, srcHeight = source.height;
+	Weights xWeights = new Weights (srcWidth, width, filter != null ? filter : defaultFilter (srcWidth, width));
+	Weights yWeights = new Weights (srcHeight, height, filter != null ? filter : defaultFilter (srcHeight, height));
+	boolean hasAlpha = source.getTransparencyType () != SWT.TRANSPARENCY_NONE || source.alpha != -1;
+
+	/*
+	 * The destination rows are computed in strips. For each strip, the source rows
+	 * that the vertical filter needs are filtered horizontally into a buffer of the
+	 * destination width, which is then filtered vertically into the result.
+	 */
+	ImageData result = new ImageData (width, height, 24, new PaletteData (0xFF0000, 0xFF00, 0xFF));
+	if (hasAlpha) result.alphaData = new byte [width * height];
+	byte[] data = result.data, alphaData = result.alphaData;
+	int bytesPerLine = result.bytesPerLine;
+	ImageData mask = source.maskData != null ? source.getTransparencyMask () : null;
+	RowBands.run (height, (long) width * height, (startRow, endRow) -> {
+		int[] pixels = new int [srcWidth];
+		int[] maskPixels = mask != null ? new int [srcWidth] : null;
+		byte[] alphas = new byte [srcWidth];
+		float[] row = new float [srcWidth * 4];
+		float[] columns = null;
+		for (int stripStart = startRow; stripStart < endRow; stripStart += STRIP_ROWS) {
+			int stripEnd = Math.min (endRow, stripStart + STRIP_ROWS);
+			int srcStart = yWeights.start [stripStart], srcEnd = srcStart;
+			for (int y = stripStart; y < stripEnd; y++) {
+				srcEnd = Math.max (srcEnd, yWeights.start [y] + yWeights.count [y]);
+			}
+			int size = (srcEnd - srcStart) * width * 4;
+			if (columns == null || columns.length < size) columns = new float [size];
+
+			/* Horizontal pass: premultiplied ARGB source rows to float rows of the destination width */
+			for (int y = srcStart, offset = 0; y < srcEnd; y++) {
+				readRow (source, mask, y, pixels, maskPixels, alphas, row);
+				for (int x = 0; x < width; x++) {
+					int first = xWeights.start [x], n = xWeights.count [x], w = x * xWeights.size;
+					float a = 0, r = 0, g = 0, b = 0;
+					for (int i = 0, s = first * 4; i < n; i++, s += 4) {
+						float weight = xWeights.weights [w + i];
+						a += row [s] * weight;
+						r += row [s + 1] * weight;
+						g += row [s + 2] * weight;
+						b += row [s + 3] * weight;
+					}
+					columns [offset++] = a;
+					columns [offset++] = r;
+					columns [offset++] = g;
+					columns [offset++] = b;
+				}
+			}
+
+			/* Vertical pass: filter the columns and un-premultiply into the result */
+			for (int y = stripStart; y < stripEnd; y++) {
+				int first = yWeights.start [y] - srcStart, n = yWeights.count [y], w = y * yWeights.size;
+				int dataOffset = y * bytesPerLine, alphaOffset = y * width;
+				for (int x = 0; x < width; x++) {
+					float a = 0, r = 0, g = 0, b = 0;
+					for (int i = 0, s = (first * width + x) * 4; i < n; i++, s += width * 4) {
+						float weight = yWeights.weights [w + i];
+						a += columns [s] * weight;
+						r += columns [s + 1] * weight;
+						g += columns [s + 2] * weight;
+						b += columns [s + 3] * weight;
+					}
+					int alpha = clamp (a);
+					if (alphaData != null) alphaData [alphaOffset++] = (byte) alpha;
+					if (alpha == 0) {
+						dataOffset += 3;
+						continue;
+					}
+					float factor = 255f / a;
+					data [dataOffset++] = (byte) clamp (r * factor);
+					data [dataOffset++] = (byte) clamp (g * factor);
+					data [dataOffset++] = (byte) clamp (b * factor);
+				}
+			}
+		}
+	});
+	return result;
+}
+
+static Filter defaultFilter (int srcSize, int dstSize) {
+	return dstSize >= srcSize ? Filter.BILINEAR : Filter.BOX;
+}
+
+static int clamp (float value) {
+	int i = Math.round (value);
+	return i < 0 ? 0 : i > 255 ? 255 : i;
+}
+
+/**
+ * Reads row <code>y</code> of the source into <code>row</code> as
+ * premultiplied alpha, red, green and blue values.
+ */
+static void readRow (ImageData source, ImageData mask, int y, int[] pixels, int[] maskPixels, byte[] alphas, float[] row) {
+	int width = source.width;
+	source.getPixels (0, y, width, pixels, 0);
+	if (mask != null) mask.getPixels (0, y, width, maskPixels, 0);
+	source.getAlphas (0, y, width, alphas, 0);
+	PaletteData palette = source.palette;
+	RGB[] colors = palette.colors;
+	int globalAlpha = source.alpha;
+	int transparentPixel = source.transparentPixel;
+	for (int x = 0, i = 0; x < width; x++) {
+		int pixel = pixels [x];
+		int r, g, b;
+		if (palette.isDirect) {
+			r = pixel & palette.redMask;
+			r = palette.redShift < 0 ? r >>> -palette.redShift : r << palette.redShift;
+			g = pixel & palette.greenMask;
+			g = palette.greenShift < 0 ? g >>> -palette.greenShift : g << palette.greenShift;
+			b = pixel & palette.blueMask;
+			b = palette.blueShift < 0 ? b >>> -palette.blueShift : b << palette.blueShift;
+		} else if (pixel < colors.length && colors [pixel] != null) {
+			RGB rgb = colors [pixel];
+			r = rgb.red;
+			g = rgb.green;
+			b = rgb.blue;
+		} else {
+			/* pixels outside of the palette and null palette entries are black */
+			r = g = b = 0;
+		}
+		int a = alphas [x] & 0xFF;
+		if (globalAlpha != -1) a = a * globalAlpha / 255;
+		if (maskPixels != null ? maskPixels [x] == 0 : transparentPixel != -1 && pixel == transparentPixel) a = 0;
+		float factor = a / 255f;
+		row [i++] = a;
+		row [i++] = r * factor;
+		row [i++] = g * factor;
+		row [i++] = b * factor;
+	}
+}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -66,6 +66,18 @@ public class JPEGDecoder {
 	static final int JDCT_FLOAT = 2;	/* floating-point: accurate, fast on fast HW */
 	static final int JDCT_DEFAULT = JDCT_ISLOW;
 
+	/**
+	 * System property that selects the inverse DCT used to decode JPEG
+	 * images at full size:
+	 * <ul>
+	 * <li>"accurate": slow but accurate integer algorithm</li>
+	 * <li>"fast": faster, less accurate integer algorithm</li>
+	 * <li>"float": floating-point algorithm, as accurate as "accurate"</li>
+	 * </ul>
+	 * The current default is "accurate".
+	 */
+	static final String SWT_JPEG_IDCT = "swt.jpeg.idct";
+
 	static final int JCS_UNKNOWN = 0;		/* error/unspecified */
 	static final int JCS_GRAYSCALE = 1;		/* monochrome */
 	static final int JCS_RGB = 2;		/* red/green/blue */
@@ -300,6 +312,12 @@ public class JPEGDecoder {
 		 */
 		int[] look_nbits = new int[1<<HUFF_LOOKAHEAD]; /* # bits, or 0 if too long */
 		byte[] look_sym = new byte[1<<HUFF_LOOKAHEAD]; /* symbol, or unused */
+
+		/* AC lookahead table: if the next HUFF_LOOKAHEAD bits hold a whole
+		 * AC code and the coefficient bits following it, the entry is
+		 * value << 8 | run << 4 | # bits of code and value, otherwise 0.
+		 */
+		int[] look_ac = new int[1<<HUFF_LOOKAHEAD];
 	}
 
 	static final class jpeg_d_coef_controller {
@@ -536,6 +554,14 @@ public class JPEGDecoder {
 							if (nb != 1) {
 //								look = PEEK_BITS(HUFF_LOOKAHEAD);
 								look = (( (get_buffer >> (bits_left -	(HUFF_LOOKAHEAD)))) & ((1<<(HUFF_LOOKAHEAD))-1));
+								int fast = actbl.look_ac[look];
+								if (fast != 0) {
+									/* Code and coefficient in one lookup */
+									bits_left -= fast & 15;
+									k += (fast >> 4) & 15;
+									block[jpeg_natural_order[k]] = (short) (fast >> 8);
+									continue;
+								}
 								if ((nb = actbl.look_nbits[look]) != 0) {
 //									DROP_BITS(nb);
 									bits_left -= (nb);
@@ -688,8 +714,8 @@ public class JPEGDecoder {
 				actbl = compptr.ac_tbl_no;
 				/* Compute derived values for Huffman tables */
 				/* We may do this more than once for a table, but it's not expensive */
-				jpeg_make_d_derived_tbl(cinfo, true, dctbl, entropy.dc_derived_tbls[dctbl] = new d_derived_tbl());
-				jpeg_make_d_derived_tbl(cinfo, false, actbl, entropy.ac_derived_tbls[actbl] = new d_derived_tbl());
+				jpeg_make_d_derived_tbl(cinfo, true, dctbl, entropy.dc_derived_tbls);
+				jpeg_make_d_derived_tbl(cinfo, false, actbl, entropy.ac_derived_tbls);
 				/* Initialize DC predictions to 0 */
 				entropy.saved.last_dc_val[ci] = 0;
 			}
@@ -1189,6 +1215,14 @@ public class JPEGDecoder {
 						if (nb != 1) {
 //							look = PEEK_BITS(HUFF_LOOKAHEAD);
 							look = (( (get_buffer >> (bits_left -	(HUFF_LOOKAHEAD)))) & ((1<<(HUFF_LOOKAHEAD))-1));
+							int fast = tbl.look_ac[look];
+							if (fast != 0) {
+								/* Code and coefficient in one lookup */
+								bits_left -= fast & 15;
+								k += (fast >> 4) & 15;
+								block[jpeg_natural_order[k]] = (short) ((fast >> 8) << Al);
+								continue;
+							}
 
 							if ((nb = tbl.look_nbits[look]) != 0) {
 //								DROP_BITS(nb);
@@ -1512,11 +1546,11 @@ public class JPEGDecoder {
 				if (is_DC_band) {
 					if (cinfo.Ah == 0) {	/* DC refinement needs no table */
 						tbl = compptr.dc_tbl_no;
-						jpeg_make_d_derived_tbl(cinfo, true, tbl, entropy.derived_tbls[tbl] = new d_derived_tbl());
+						jpeg_make_d_derived_tbl(cinfo, true, tbl, entropy.derived_tbls);
 					}
 				} else {
 					tbl = compptr.ac_tbl_no;
-					jpeg_make_d_derived_tbl(cinfo, false, tbl, entropy.derived_tbls[tbl] = new d_derived_tbl());
+					jpeg_make_d_derived_tbl(cinfo, false, tbl, entropy.derived_tbls);
 					/* remember the single active table */
 					entropy.ac_derived_tbl = entropy.derived_tbls[tbl];
 				}
@@ -1601,6 +1635,7 @@ public class JPEGDecoder {
 
 		/* Private per-component storage for DCT or IDCT subsystem. */
 		int[] dct_table;
+		float[] float_dct_table;	/* multiplier table of jpeg_idct_float() */
 	}
 
 	static final class jpeg_color_quantizer {
@@ -1786,9 +1821,26 @@ public class JPEGDecoder {
 	}
 
 	static final class jpeg_inverse_dct {
+		static final short[] aanscales = {
+			/* precomputed values scaled up by 14 bits */
+			16384, 22725, 21407, 19266, 16384, 12873,	8867,	4520,
+			22725, 31521, 29692, 26722, 22725, 17855, 12299,	6270,
+			21407, 29692, 27969, 25172, 21407, 16819, 11585,	5906,
+			19266, 26722, 25172, 22654, 19266, 15137, 10426,	5315,
+			16384, 22725, 21407, 19266, 16384, 12873,	8867,	4520,
+			12873, 17855, 16819, 15137, 12873, 10114,	6967,	3552,
+			8867, 12299, 11585, 10426,	8867,	6967,	4799,	2446,
+			4520,	6270,	5906,	5315,	4520,	3552,	2446,	1247
+		};
+		static final double[] aanscalefactor = {
+			1.0, 1.387039845, 1.306562965, 1.175875602,
+			1.0, 0.785694958, 0.541196100, 0.275899379
+		};
+
 //		JMETHOD(void, start_pass, (j_decompress_ptr cinfo));
 //		/* It is useful to allow each component to have a separate IDCT method. */
 //		inverse_DCT_method_ptr inverse_DCT[MAX_COMPONENTS];
+		int[] inverse_DCT = new int[MAX_COMPONENTS];
 		int[] cur_method = new int[MAX_COMPONENTS];
 
 		void start_pass (jpeg_decompress_struct cinfo) {
@@ -1803,40 +1855,19 @@ public class JPEGDecoder {
 				compptr = cinfo.comp_info[ci];
 				/* Select the proper IDCT routine for this component's scaling */
 				switch (compptr.DCT_scaled_size) {
-//					#ifdef IDCT_SCALING_SUPPORTED
-//					case 1:
-//						method_ptr = jpeg_idct_1x1;
-//						method = JDCT_ISLOW;	/* jidctred uses islow-style table */
-//						break;
-//					case 2:
-//						method_ptr = jpeg_idct_2x2;
-//						method = JDCT_ISLOW;	/* jidctred uses islow-style table */
-//						break;
-//					case 4:
-//						method_ptr = jpeg_idct_4x4;
-//						method = JDCT_ISLOW;	/* jidctred uses islow-style table */
-//						break;
-//					#endif
+					case 1:
+					case 2:
+					case 4:
+						/* jpeg_idct_1x1, jpeg_idct_2x2 and jpeg_idct_4x4, see inverse_DCT() */
+						method = JDCT_ISLOW;	/* jidctred uses islow-style table */
+						break;
 					case DCTSIZE:
 						switch (cinfo.dct_method) {
-//							#ifdef DCT_ISLOW_SUPPORTED
 							case JDCT_ISLOW:
-//								method_ptr = jpeg_idct_islow;
-								method = JDCT_ISLOW;
+							case JDCT_IFAST:
+							case JDCT_FLOAT:
+								method = cinfo.dct_method;
 								break;
-//							#endif
-//							#ifdef DCT_IFAST_SUPPORTED
-//							case JDCT_IFAST:
-//								method_ptr = jpeg_idct_ifast;
-//								method = JDCT_IFAST;
-//								break;
-//							#endif
-//							#ifdef DCT_FLOAT_SUPPORTED
-//							case JDCT_FLOAT:
-//								method_ptr = jpeg_idct_float;
-//								method = JDCT_FLOAT;
-//								break;
-//							#endif
 							default:
 								error();
 //								ERREXIT(cinfo, JERR_NOT_COMPILED);
@@ -1848,7 +1879,7 @@ public class JPEGDecoder {
 //						ERREXIT1(cinfo, JERR_BAD_DCTSIZE, compptr.DCT_scaled_size);
 						break;
 					}
-//					idct.inverse_DCT[ci] = method_ptr;
+					idct.inverse_DCT[ci] = method;
 					/* Create multiplier table from quant table.
 					 * However, we can skip this if the component is uninteresting
 					 * or if we already built the table.	Also, if no quant table
@@ -1876,63 +1907,41 @@ public class JPEGDecoder {
 						}
 						break;
 //						#endif
-//						#ifdef DCT_IFAST_SUPPORTED
-//						case JDCT_IFAST:
-//						{
-//							/* For AA&N IDCT method, multipliers are equal to quantization
-//							 * coefficients scaled by scalefactor[row]*scalefactor[col], where
-//							 *	 scalefactor[0] = 1
-//							 *	 scalefactor[k] = cos(k*PI/16) * sqrt(2)		for k=1..7
-//							 * For integer operation, the multiplier table is to be scaled by
-//							 * IFAST_SCALE_BITS.
-//							 */
-//							int[] ifmtbl = compptr.dct_table;
-//							short aanscales[] = {
-//								/* precomputed values scaled up by 14 bits */
-//								16384, 22725, 21407, 19266, 16384, 12873,	8867,	4520,
-//								22725, 31521, 29692, 26722, 22725, 17855, 12299,	6270,
-//								21407, 29692, 27969, 25172, 21407, 16819, 11585,	5906,
-//								19266, 26722, 25172, 22654, 19266, 15137, 10426,	5315,
-//								16384, 22725, 21407, 19266, 16384, 12873,	8867,	4520,
-//								12873, 17855, 16819, 15137, 12873, 10114,	6967,	3552,
-//								8867, 12299, 11585, 10426,	8867,	6967,	4799,	2446,
-//								4520,	6270,	5906,	5315,	4520,	3552,	2446,	1247
-//							};
-//							SHIFT_TEMPS
-//
-//							for (i = 0; i < DCTSIZE2; i++) {
-//								ifmtbl[i] = DESCALE(MULTIPLY16V16( qtbl.quantval[i], aanscales[i]), CONST_BITS-IFAST_SCALE_BITS);
-//							}
-//						}
-//						break;
-//						#endif
-//						#ifdef DCT_FLOAT_SUPPORTED
-//						case JDCT_FLOAT:
-//						{
-//							/* For float AA&N IDCT method, multipliers are equal to quantization
-//							 * coefficients scaled by scalefactor[row]*scalefactor[col], where
-//							 *	 scalefactor[0] = 1
-//							 *	 scalefactor[k] = cos(k*PI/16) * sqrt(2)		for k=1..7
-//							 */
-//							FLOAT_MULT_TYPE * fmtbl = (FLOAT_MULT_TYPE *) compptr.dct_table;
-//							int row, col;
-//							static const double aanscalefactor[DCTSIZE] = {
-//								1.0, 1.387039845, 1.306562965, 1.175875602,
-//								1.0, 0.785694958, 0.541196100, 0.275899379
-//							};
-//
-//							i = 0;
-//							for (row = 0; row < DCTSIZE; row++) {
-//								for (col = 0; col < DCTSIZE; col++) {
-//									fmtbl[i] = (FLOAT_MULT_TYPE)
-//										((double) qtbl.quantval[i] *
-//									 aanscalefactor[row] * aanscalefactor[col]);
-//									i++;
-//								}
-//							}
-//						}
-//						break;
-//						#endif
+						case JDCT_IFAST:
+						{
+							/* For AA&N IDCT method, multipliers are equal to quantization
+							 * coefficients scaled by scalefactor[row]*scalefactor[col], where
+							 *	 scalefactor[0] = 1
+							 *	 scalefactor[k] = cos(k*PI/16) * sqrt(2)		for k=1..7
+							 * For integer operation, the multiplier table is to be scaled by
+							 * IFAST_SCALE_BITS.
+							 */
+							int[] ifmtbl = compptr.dct_table;
+							for (i = 0; i < DCTSIZE2; i++) {
+//								#define DESCALE(x,n)	RIGHT_SHIFT((x) + (ONE << ((n)-1)), n)
+								ifmtbl[i] = (qtbl.quantval[i] * aanscales[i] + (1 << (14-IFAST_SCALE_BITS-1))) >> (14-IFAST_SCALE_BITS);
+							}
+						}
+						break;
+						case JDCT_FLOAT:
+						{
+							/* For float AA&N IDCT method, multipliers are equal to quantization
+							 * coefficients scaled by scalefactor[row]*scalefactor[col], where
+							 *	 scalefactor[0] = 1
+							 *	 scalefactor[k] = cos(k*PI/16) * sqrt(2)		for k=1..7
+							 */
+							if (compptr.float_dct_table == null) compptr.float_dct_table = new float[DCTSIZE2];
+							float[] fmtbl = compptr.float_dct_table;
+							int row, col;
+							i = 0;
+							for (row = 0; row < DCTSIZE; row++) {
+								for (col = 0; col < DCTSIZE; col++) {
+									fmtbl[i] = (float) (qtbl.quantval[i] * aanscalefactor[row] * aanscalefactor[col]);
+									i++;
+								}
+							}
+						}
+						break;
 					default:
 						error();
 //						ERREXIT(cinfo, JERR_NOT_COMPILED);
@@ -2248,6 +2257,7 @@ public class JPEGDecoder {
 		int unread_marker;
 
 		int[] workspace = new int[DCTSIZE2];
+		float[] float_workspace = new float[DCTSIZE2];
 		int[] row_ctr = new int[1];
 
 		/*
@@ -2378,87 +2388,72 @@ static void jpeg_create_decompress(jpeg_decompress_struct cinfo) {
 static void jpeg_calc_output_dimensions (jpeg_decompress_struct cinfo)
 /* Do computations that are needed before master selection phase */
 {
-//#ifdef IDCT_SCALING_SUPPORTED
-//	int ci;
-//	jpeg_component_info compptr;
-//#endif
+	int ci;
+	jpeg_component_info compptr;
 
 	/* Prevent application from calling me at wrong times */
 	if (cinfo.global_state != DSTATE_READY)
 		error();
 //		ERREXIT1(cinfo, JERR_BAD_STATE, cinfo.global_state);
 
-//#ifdef IDCT_SCALING_SUPPORTED
-//
-//	/* Compute actual output image dimensions and DCT scaling choices. */
-//	if (cinfo.scale_num * 8 <= cinfo.scale_denom) {
-//		/* Provide 1/8 scaling */
-//		cinfo.output_width = (int)
-//			jdiv_round_up(cinfo.image_width, 8L);
-//		cinfo.output_height = (int)
-//			jdiv_round_up(cinfo.image_height, 8L);
-//		cinfo.min_DCT_scaled_size = 1;
-//	} else if (cinfo.scale_num * 4 <= cinfo.scale_denom) {
-//		/* Provide 1/4 scaling */
-//		cinfo.output_width = (int)
-//			jdiv_round_up(cinfo.image_width, 4L);
-//		cinfo.output_height = (int)
-//			jdiv_round_up(cinfo.image_height, 4L);
-//		cinfo.min_DCT_scaled_size = 2;
-//	} else if (cinfo.scale_num * 2 <= cinfo.scale_denom) {
-//		/* Provide 1/2 scaling */
-//		cinfo.output_width = (int)
-//			jdiv_round_up(cinfo.image_width, 2L);
-//		cinfo.output_height = (int)
-//			jdiv_round_up(cinfo.image_height, 2L);
-//		cinfo.min_DCT_scaled_size = 4;
-//	} else {
-//		/* Provide 1/1 scaling */
-//		cinfo.output_width = cinfo.image_width;
-//		cinfo.output_height = cinfo.image_height;
-//		cinfo.min_DCT_scaled_size = DCTSIZE;
-//	}
-//	/* In selecting the actual DCT scaling for each component, we try to
-//	 * scale up the chroma components via IDCT scaling rather than upsampling.
-//	 * This saves time if the upsampler gets to use 1:1 scaling.
-//	 * Note this code assumes that the supported DCT scalings are powers of 2.
-//	 */
-//	for (ci = 0; ci < cinfo.num_components; ci++) {
-//		compptr = cinfo.comp_info[ci];
-//		int ssize = cinfo.min_DCT_scaled_size;
-//		while (ssize < DCTSIZE &&
-//			(compptr.h_samp_factor * ssize * 2 <= cinfo.max_h_samp_factor * cinfo.min_DCT_scaled_size) &&
-//			(compptr.v_samp_factor * ssize * 2 <= cinfo.max_v_samp_factor * cinfo.min_DCT_scaled_size))
-//		{
-//			ssize = ssize * 2;
-//		}
-//		compptr.DCT_scaled_size = ssize;
-//	}
-//
-//	/* Recompute downsampled dimensions of components;
-//	 * application needs to know these if using raw downsampled data.
-//	 */
-//	for (ci = 0; ci < cinfo.num_components; ci++) {
-//		compptr = cinfo.comp_info[ci];
-//		/* Size in samples, after IDCT scaling */
-//		compptr.downsampled_width = (int)
-//			jdiv_round_up((long) cinfo.image_width * (long) (compptr.h_samp_factor * compptr.DCT_scaled_size),
-//				(cinfo.max_h_samp_factor * DCTSIZE));
-//		compptr.downsampled_height = (int)
-//			jdiv_round_up((long) cinfo.image_height * (long) (compptr.v_samp_factor * compptr.DCT_scaled_size),
-//				(cinfo.max_v_samp_factor * DCTSIZE));
-//	}
-//
-//#else /* !IDCT_SCALING_SUPPORTED */
-
-	/* Hardwire it to "no scaling" */
-	cinfo.output_width = cinfo.image_width;
-	cinfo.output_height = cinfo.image_height;
-	/* jdinput.c has already initialized DCT_scaled_size to DCTSIZE,
-	 * and has computed unscaled downsampled_width and downsampled_height.
+	/* Compute actual output image dimensions and DCT scaling choices. */
+	if (cinfo.scale_num * 8 <= cinfo.scale_denom) {
+		/* Provide 1/8 scaling */
+		cinfo.output_width = (int)
+			jdiv_round_up(cinfo.image_width, 8L);
+		cinfo.output_height = (int)
+			jdiv_round_up(cinfo.image_height, 8L);
+		cinfo.min_DCT_scaled_size = 1;
+	} else if (cinfo.scale_num * 4 <= cinfo.scale_denom) {
+		/* Provide 1/4 scaling */
+		cinfo.output_width = (int)
+			jdiv_round_up(cinfo.image_width, 4L);
+		cinfo.output_height = (int)
+			jdiv_round_up(cinfo.image_height, 4L);
+		cinfo.min_DCT_scaled_size = 2;
+	} else if (cinfo.scale_num * 2 <= cinfo.scale_denom) {
+		/* Provide 1/2 scaling */
+		cinfo.output_width = (int)
+			jdiv_round_up(cinfo.image_width, 2L);
+		cinfo.output_height = (int)
+			jdiv_round_up(cinfo.image_height, 2L);
+		cinfo.min_DCT_scaled_size = 4;
+	} else {
+		/* Provide 1/1 scaling */
+		cinfo.output_width = cinfo.image_width;
+		cinfo.output_height = cinfo.image_height;
+		cinfo.min_DCT_scaled_size = DCTSIZE;
+	}
+	/* In selecting the actual DCT scaling for each component, we try to
+	 * scale up the chroma components via IDCT scaling rather than upsampling.
+	 * This saves time if the upsampler gets to use 1:1 scaling.
+	 * Note this code assumes that the supported DCT scalings are powers of 2.
 	 */
+	for (ci = 0; ci < cinfo.num_components; ci++) {
+		compptr = cinfo.comp_info[ci];
+		int ssize = cinfo.min_DCT_scaled_size;
+		while (ssize < DCTSIZE &&
+			(compptr.h_samp_factor * ssize * 2 <= cinfo.max_h_samp_factor * cinfo.min_DCT_scaled_size) &&
+			(compptr.v_samp_factor * ssize * 2 <= cinfo.max_v_samp_factor * cinfo.min_DCT_scaled_size))
+		{
+			ssize = ssize * 2;
+		}
+		compptr.DCT_scaled_size = ssize;
+	}
 
-//#endif /* IDCT_SCALING_SUPPORTED */
+	/* Recompute downsampled dimensions of components;
+	 * application needs to know these if using raw downsampled data.
+	 */
+	for (ci = 0; ci < cinfo.num_components; ci++) {
+		compptr = cinfo.comp_info[ci];
+		/* Size in samples, after IDCT scaling */
+		compptr.downsampled_width = (int)
+			jdiv_round_up((long) cinfo.image_width * (long) (compptr.h_samp_factor * compptr.DCT_scaled_size),
+				(cinfo.max_h_samp_factor * DCTSIZE));
+		compptr.downsampled_height = (int)
+			jdiv_round_up((long) cinfo.image_height * (long) (compptr.v_samp_factor * compptr.DCT_scaled_size),
+				(cinfo.max_v_samp_factor * DCTSIZE));
+	}
 
 	/* Report number of components in selected colorspace. */
 	/* Probably this should be in the color conversion module... */
@@ -3175,6 +3170,593 @@ static void jpeg_idct_islow (jpeg_decompress_struct cinfo, jpeg_component_info c
 	}
 }
 
+/*
+ * Calls the inverse DCT selected by jpeg_inverse_dct.start_pass() for the
+ * component. The reduced-size inverse DCTs of jidctred.c produce 4x4, 2x2
+ * or 1x1 output samples from an 8x8 block of coefficients when the image is
+ * scaled by 1/2, 1/4 or 1/8 while it is decoded. They use the multiplier
+ * table of jpeg_idct_islow().
+ */
+static void inverse_DCT (jpeg_decompress_struct cinfo, jpeg_component_info compptr,
+	short[] coef_block,
+	byte[][] output_buf, int output_buf_offset, int output_col)
+{
+	switch (compptr.DCT_scaled_size) {
+		case 1: jpeg_idct_1x1(cinfo, compptr, coef_block, output_buf, output_buf_offset, output_col); break;
+		case 2: jpeg_idct_2x2(cinfo, compptr, coef_block, output_buf, output_buf_offset, output_col); break;
+		case 4: jpeg_idct_4x4(cinfo, compptr, coef_block, output_buf, output_buf_offset, output_col); break;
+		default:
+			switch (cinfo.idct.inverse_DCT[compptr.component_index]) {
+				case JDCT_IFAST: jpeg_idct_ifast(cinfo, compptr, coef_block, output_buf, output_buf_offset, output_col); break;
+				case JDCT_FLOAT: jpeg_idct_float(cinfo, compptr, coef_block, output_buf, output_buf_offset, output_col); break;
+				default: jpeg_idct_islow(cinfo, compptr, coef_block, output_buf, output_buf_offset, output_col);
+			}
+	}
+}
+
+static int getDCTMethod() {
+	return getDCTMethod(System.getProperty(SWT_JPEG_IDCT));
+}
+
+static int getDCTMethod(String value) {
+	if ("fast".equalsIgnoreCase(value)) return JDCT_IFAST;
+	if ("float".equalsIgnoreCase(value)) return JDCT_FLOAT;
+	return JDCT_DEFAULT;
+}
+
+static final int IFAST_CONST_BITS = 8;
+static final int FIX_1_082392200 = 277;		/* FIX(1.082392200) */
+static final int FIX_1_414213562 = 362;		/* FIX(1.414213562) */
+static final int FIX_1_847759065 = 473;		/* FIX(1.847759065) */
+static final int FIX_2_613125930 = 669;		/* FIX(2.613125930) */
+
+/*
+ * Port of jidctfst.c: a fast, not so accurate integer implementation of
+ * the inverse DCT (Arai, Agui and Nakajima). The multiplier table holds
+ * the quantization values scaled by the AA&N factors, so each column and
+ * row takes only 5 multiplies and 29 adds.
+ */
+static void jpeg_idct_ifast (jpeg_decompress_struct cinfo, jpeg_component_info compptr,
+	short[] coef_block,
+	byte[][] output_buf, int output_buf_offset, int output_col)
+{
+	int tmp0, tmp1, tmp2, tmp3, tmp4, tmp5, tmp6, tmp7;
+	int tmp10, tmp11, tmp12, tmp13;
+	int z5, z10, z11, z12, z13;
+	short[] inptr = coef_block;
+	int[] quantptr = compptr.dct_table;
+	int[] wsptr = cinfo.workspace;	/* buffers data between passes */
+	byte[] outptr;
+	byte[] range_limit = cinfo.sample_range_limit;
+	int range_limit_offset = cinfo.sample_range_limit_offset + CENTERJSAMPLE;
+	int ctr;
+
+	/* Pass 1: process columns from input, store into work array. */
+
+	for (ctr = 0; ctr < DCTSIZE; ctr++) {
+		/* Columns with only a DC term are common, see jpeg_idct_islow() */
+		if (inptr[DCTSIZE*1+ctr] == 0 && inptr[DCTSIZE*2+ctr] == 0 &&
+			inptr[DCTSIZE*3+ctr] == 0 && inptr[DCTSIZE*4+ctr] == 0 &&
+			inptr[DCTSIZE*5+ctr] == 0 && inptr[DCTSIZE*6+ctr] == 0 &&
+			inptr[DCTSIZE*7+ctr] == 0)
+		{
+			/* AC terms all zero */
+			int dcval = inptr[DCTSIZE*0+ctr] * quantptr[DCTSIZE*0+ctr];
+
+			wsptr[DCTSIZE*0+ctr] = dcval;
+			wsptr[DCTSIZE*1+ctr] = dcval;
+			wsptr[DCTSIZE*2+ctr] = dcval;
+			wsptr[DCTSIZE*3+ctr] = dcval;
+			wsptr[DCTSIZE*4+ctr] = dcval;
+			wsptr[DCTSIZE*5+ctr] = dcval;
+			wsptr[DCTSIZE*6+ctr] = dcval;
+			wsptr[DCTSIZE*7+ctr] = dcval;
+			continue;
+		}
+
+		/* Even part */
+
+		tmp0 = inptr[DCTSIZE*0+ctr] * quantptr[DCTSIZE*0+ctr];
+		tmp1 = inptr[DCTSIZE*2+ctr] * quantptr[DCTSIZE*2+ctr];
+		tmp2 = inptr[DCTSIZE*4+ctr] * quantptr[DCTSIZE*4+ctr];
+		tmp3 = inptr[DCTSIZE*6+ctr] * quantptr[DCTSIZE*6+ctr];
+
+		tmp10 = tmp0 + tmp2;	/* phase 3 */
+		tmp11 = tmp0 - tmp2;
+
+		tmp13 = tmp1 + tmp3;	/* phases 5-3 */
+		tmp12 = (((tmp1 - tmp3) * FIX_1_414213562) >> IFAST_CONST_BITS) - tmp13; /* 2*c4 */
+
+		tmp0 = tmp10 + tmp13;	/* phase 2 */
+		tmp3 = tmp10 - tmp13;
+		tmp1 = tmp11 + tmp12;
+		tmp2 = tmp11 - tmp12;
+
+		/* Odd part */
+
+		tmp4 = inptr[DCTSIZE*1+ctr] * quantptr[DCTSIZE*1+ctr];
+		tmp5 = inptr[DCTSIZE*3+ctr] * quantptr[DCTSIZE*3+ctr];
+		tmp6 = inptr[DCTSIZE*5+ctr] * quantptr[DCTSIZE*5+ctr];
+		tmp7 = inptr[DCTSIZE*7+ctr] * quantptr[DCTSIZE*7+ctr];
+
+		z13 = tmp6 + tmp5;		/* phase 6 */
+		z10 = tmp6 - tmp5;
+		z11 = tmp4 + tmp7;
+		z12 = tmp4 - tmp7;
+
+		tmp7 = z11 + z13;		/* phase 5 */
+		tmp11 = ((z11 - z13) * FIX_1_414213562) >> IFAST_CONST_BITS; /* 2*c4 */
+
+		z5 = ((z10 + z12) * FIX_1_847759065) >> IFAST_CONST_BITS; /* 2*c2 */
+		tmp10 = ((z12 * FIX_1_082392200) >> IFAST_CONST_BITS) - z5; /* 2*(c2-c6) */
+		tmp12 = ((z10 * - FIX_2_613125930) >> IFAST_CONST_BITS) + z5; /* -2*(c2+c6) */
+
+		tmp6 = tmp12 - tmp7;	/* phase 2 */
+		tmp5 = tmp11 - tmp6;
+		tmp4 = tmp10 + tmp5;
+
+		wsptr[DCTSIZE*0+ctr] = tmp0 + tmp7;
+		wsptr[DCTSIZE*7+ctr] = tmp0 - tmp7;
+		wsptr[DCTSIZE*1+ctr] = tmp1 + tmp6;
+		wsptr[DCTSIZE*6+ctr] = tmp1 - tmp6;
+		wsptr[DCTSIZE*2+ctr] = tmp2 + tmp5;
+		wsptr[DCTSIZE*5+ctr] = tmp2 - tmp5;
+		wsptr[DCTSIZE*4+ctr] = tmp3 + tmp4;
+		wsptr[DCTSIZE*3+ctr] = tmp3 - tmp4;
+	}
+
+	/* Pass 2: process rows from work array, store into output array. */
+	/* Note that we must descale the results by a factor of 8 == 2**3, */
+	/* and also undo the PASS1_BITS scaling. */
+
+	int wsptr_offset = 0;
+	for (ctr = 0; ctr < DCTSIZE; ctr++, wsptr_offset += DCTSIZE) {
+		outptr = output_buf[ctr+output_buf_offset];
+		int outptr_offset = output_col;
+
+		if (wsptr[1+wsptr_offset] == 0 && wsptr[2+wsptr_offset] == 0 && wsptr[3+wsptr_offset] == 0 && wsptr[4+wsptr_offset] == 0 &&
+			wsptr[5+wsptr_offset] == 0 && wsptr[6+wsptr_offset] == 0 && wsptr[7+wsptr_offset] == 0)
+		{
+			/* AC terms all zero */
+			byte dcval = range_limit[range_limit_offset + ((wsptr[0+wsptr_offset] >> (PASS1_BITS+3)) & RANGE_MASK)];
+
+			outptr[0+outptr_offset] = dcval;
+			outptr[1+outptr_offset] = dcval;
+			outptr[2+outptr_offset] = dcval;
+			outptr[3+outptr_offset] = dcval;
+			outptr[4+outptr_offset] = dcval;
+			outptr[5+outptr_offset] = dcval;
+			outptr[6+outptr_offset] = dcval;
+			outptr[7+outptr_offset] = dcval;
+			continue;
+		}
+
+		/* Even part */
+
+		tmp10 = wsptr[0+wsptr_offset] + wsptr[4+wsptr_offset];
+		tmp11 = wsptr[0+wsptr_offset] - wsptr[4+wsptr_offset];
+
+		tmp13 = wsptr[2+wsptr_offset] + wsptr[6+wsptr_offset];
+		tmp12 = (((wsptr[2+wsptr_offset] - wsptr[6+wsptr_offset]) * FIX_1_414213562) >> IFAST_CONST_BITS) - tmp13;
+
+		tmp0 = tmp10 + tmp13;
+		tmp3 = tmp10 - tmp13;
+		tmp1 = tmp11 + tmp12;
+		tmp2 = tmp11 - tmp12;
+
+		/* Odd part */
+
+		z13 = wsptr[5+wsptr_offset] + wsptr[3+wsptr_offset];
+		z10 = wsptr[5+wsptr_offset] - wsptr[3+wsptr_offset];
+		z11 = wsptr[1+wsptr_offset] + wsptr[7+wsptr_offset];
+		z12 = wsptr[1+wsptr_offset] - wsptr[7+wsptr_offset];
+
+		tmp7 = z11 + z13;		/* phase 5 */
+		tmp11 = ((z11 - z13) * FIX_1_414213562) >> IFAST_CONST_BITS; /* 2*c4 */
+
+		z5 = ((z10 + z12) * FIX_1_847759065) >> IFAST_CONST_BITS; /* 2*c2 */
+		tmp10 = ((z12 * FIX_1_082392200) >> IFAST_CONST_BITS) - z5; /* 2*(c2-c6) */
+		tmp12 = ((z10 * - FIX_2_613125930) >> IFAST_CONST_BITS) + z5; /* -2*(c2+c6) */
+
+		tmp6 = tmp12 - tmp7;	/* phase 2 */
+		tmp5 = tmp11 - tmp6;
+		tmp4 = tmp10 + tmp5;
+
+		/* Final output stage: scale down by a factor of 8 and range-limit */
+
+		outptr[0+outptr_offset] = range_limit[range_limit_offset + (((tmp0 + tmp7) >> (PASS1_BITS+3)) & RANGE_MASK)];
+		outptr[7+outptr_offset] = range_limit[range_limit_offset + (((tmp0 - tmp7) >> (PASS1_BITS+3)) & RANGE_MASK)];
+		outptr[1+outptr_offset] = range_limit[range_limit_offset + (((tmp1 + tmp6) >> (PASS1_BITS+3)) & RANGE_MASK)];
+		outptr[6+outptr_offset] = range_limit[range_limit_offset + (((tmp1 - tmp6) >> (PASS1_BITS+3)) & RANGE_MASK)];
+		outptr[2+outptr_offset] = range_limit[range_limit_offset + (((tmp2 + tmp5) >> (PASS1_BITS+3)) & RANGE_MASK)];
+		outptr[5+outptr_offset] = range_limit[range_limit_offset + (((tmp2 - tmp5) >> (PASS1_BITS+3)) & RANGE_MASK)];
+		outptr[4+outptr_offset] = range_limit[range_limit_offset + (((tmp3 + tmp4) >> (PASS1_BITS+3)) & RANGE_MASK)];
+		outptr[3+outptr_offset] = range_limit[range_limit_offset + (((tmp3 - tmp4) >> (PASS1_BITS+3)) & RANGE_MASK)];
+	}
+}
+
+/*
+ * Port of jidctflt.c: the AA&N inverse DCT of jpeg_idct_ifast() in
+ * floating point, which is about as accurate as jpeg_idct_islow().
+ */
+static void jpeg_idct_float (jpeg_decompress_struct cinfo, jpeg_component_info compptr,
+	short[] coef_block,
+	byte[][] output_buf, int output_buf_offset, int output_col)
+{
+	float tmp0, tmp1, tmp2, tmp3, tmp4, tmp5, tmp6, tmp7;
+	float tmp10, tmp11, tmp12, tmp13;
+	float z5, z10, z11, z12, z13;
+	short[] inptr = coef_block;
+	float[] quantptr = compptr.float_dct_table;
+	float[] wsptr = cinfo.float_workspace;	/* buffers data between passes */
+	byte[] outptr;
+	byte[] range_limit = cinfo.sample_range_limit;
+	int range_limit_offset = cinfo.sample_range_limit_offset + CENTERJSAMPLE;
+	int ctr;
+
+	/* Pass 1: process columns from input, store into work array. */
+
+	for (ctr = 0; ctr < DCTSIZE; ctr++) {
+		if (inptr[DCTSIZE*1+ctr] == 0 && inptr[DCTSIZE*2+ctr] == 0 &&
+			inptr[DCTSIZE*3+ctr] == 0 && inptr[DCTSIZE*4+ctr] == 0 &&
+			inptr[DCTSIZE*5+ctr] == 0 && inptr[DCTSIZE*6+ctr] == 0 &&
+			inptr[DCTSIZE*7+ctr] == 0)
+		{
+			/* AC terms all zero */
+			float dcval = inptr[DCTSIZE*0+ctr] * quantptr[DCTSIZE*0+ctr];
+
+			wsptr[DCTSIZE*0+ctr] = dcval;
+			wsptr[DCTSIZE*1+ctr] = dcval;
+			wsptr[DCTSIZE*2+ctr] = dcval;
+			wsptr[DCTSIZE*3+ctr] = dcval;
+			wsptr[DCTSIZE*4+ctr] = dcval;
+			wsptr[DCTSIZE*5+ctr] = dcval;
+			wsptr[DCTSIZE*6+ctr] = dcval;
+			wsptr[DCTSIZE*7+ctr] = dcval;
+			continue;
+		}
+
+		/* Even part */
+
+		tmp0 = inptr[DCTSIZE*0+ctr] * quantptr[DCTSIZE*0+ctr];
+		tmp1 = inptr[DCTSIZE*2+ctr] * quantptr[DCTSIZE*2+ctr];
+		tmp2 = inptr[DCTSIZE*4+ctr] * quantptr[DCTSIZE*4+ctr];
+		tmp3 = inptr[DCTSIZE*6+ctr] * quantptr[DCTSIZE*6+ctr];
+
+		tmp10 = tmp0 + tmp2;	/* phase 3 */
+		tmp11 = tmp0 - tmp2;
+
+		tmp13 = tmp1 + tmp3;	/* phases 5-3 */
+		tmp12 = (tmp1 - tmp3) * 1.414213562f - tmp13; /* 2*c4 */
+
+		tmp0 = tmp10 + tmp13;	/* phase 2 */
+		tmp3 = tmp10 - tmp13;
+		tmp1 = tmp11 + tmp12;
+		tmp2 = tmp11 - tmp12;
+
+		/* Odd part */
+
+		tmp4 = inptr[DCTSIZE*1+ctr] * quantptr[DCTSIZE*1+ctr];
+		tmp5 = inptr[DCTSIZE*3+ctr] * quantptr[DCTSIZE*3+ctr];
+		tmp6 = inptr[DCTSIZE*5+ctr] * quantptr[DCTSIZE*5+ctr];
+		tmp7 = inptr[DCTSIZE*7+ctr] * quantptr[DCTSIZE*7+ctr];
+
+		z13 = tmp6 + tmp5;		/* phase 6 */
+		z10 = tmp6 - tmp5;
+		z11 = tmp4 + tmp7;
+		z12 = tmp4 - tmp7;
+
+		tmp7 = z11 + z13;		/* phase 5 */
+		tmp11 = (z11 - z13) * 1.414213562f; /* 2*c4 */
+
+		z5 = (z10 + z12) * 1.847759065f; /* 2*c2 */
+		tmp10 = z12 * 1.082392200f - z5; /* 2*(c2-c6) */
+		tmp12 = z10 * -2.613125930f + z5; /* -2*(c2+c6) */
+
+		tmp6 = tmp12 - tmp7;	/* phase 2 */
+		tmp5 = tmp11 - tmp6;
+		tmp4 = tmp10 + tmp5;
+
+		wsptr[DCTSIZE*0+ctr] = tmp0 + tmp7;
+		wsptr[DCTSIZE*7+ctr] = tmp0 - tmp7;
+		wsptr[DCTSIZE*1+ctr] = tmp1 + tmp6;
+		wsptr[DCTSIZE*6+ctr] = tmp1 - tmp6;
+		wsptr[DCTSIZE*2+ctr] = tmp2 + tmp5;
+		wsptr[DCTSIZE*5+ctr] = tmp2 - tmp5;
+		wsptr[DCTSIZE*4+ctr] = tmp3 + tmp4;
+		wsptr[DCTSIZE*3+ctr] = tmp3 - tmp4;
+	}
+
+	/* Pass 2: process rows from work array, store into output array. */
+	/* Note that we must descale the results by a factor of 8. */
+
+	int wsptr_offset = 0;
+	for (ctr = 0; ctr < DCTSIZE; ctr++, wsptr_offset += DCTSIZE) {
+		outptr = output_buf[ctr+output_buf_offset];
+		int outptr_offset = output_col;
+
+		/* Even part */
+
+		tmp10 = wsptr[0+wsptr_offset] + wsptr[4+wsptr_offset];
+		tmp11 = wsptr[0+wsptr_offset] - wsptr[4+wsptr_offset];
+
+		tmp13 = wsptr[2+wsptr_offset] + wsptr[6+wsptr_offset];
+		tmp12 = (wsptr[2+wsptr_offset] - wsptr[6+wsptr_offset]) * 1.414213562f - tmp13;
+
+		tmp0 = tmp10 + tmp13;
+		tmp3 = tmp10 - tmp13;
+		tmp1 = tmp11 + tmp12;
+		tmp2 = tmp11 - tmp12;
+
+		/* Odd part */
+
+		z13 = wsptr[5+wsptr_offset] + wsptr[3+wsptr_offset];
+		z10 = wsptr[5+wsptr_offset] - wsptr[3+wsptr_offset];
+		z11 = wsptr[1+wsptr_offset] + wsptr[7+wsptr_offset];
+		z12 = wsptr[1+wsptr_offset] - wsptr[7+wsptr_offset];
+
+		tmp7 = z11 + z13;
+		tmp11 = (z11 - z13) * 1.414213562f;
+
+		z5 = (z10 + z12) * 1.847759065f; /* 2*c2 */
+		tmp10 = z12 * 1.082392200f - z5; /* 2*(c2-c6) */
+		tmp12 = z10 * -2.613125930f + z5; /* -2*(c2+c6) */
+
+		tmp6 = tmp12 - tmp7;
+		tmp5 = tmp11 - tmp6;
+		tmp4 = tmp10 + tmp5;
+
+		/* Final output stage: scale down by a factor of 8 and range-limit */
+
+//		#define DESCALE(x,n)	RIGHT_SHIFT((x) + (ONE << ((n)-1)), n)
+		outptr[0+outptr_offset] = range_limit[range_limit_offset + ((((int) (tmp0 + tmp7) + 4) >> 3) & RANGE_MASK)];
+		outptr[7+outptr_offset] = range_limit[range_limit_offset + ((((int) (tmp0 - tmp7) + 4) >> 3) & RANGE_MASK)];
+		outptr[1+outptr_offset] = range_limit[range_limit_offset + ((((int) (tmp1 + tmp6) + 4) >> 3) & RANGE_MASK)];
+		outptr[6+outptr_offset] = range_limit[range_limit_offset + ((((int) (tmp1 - tmp6) + 4) >> 3) & RANGE_MASK)];
+		outptr[2+outptr_offset] = range_limit[range_limit_offset + ((((int) (tmp2 + tmp5) + 4) >> 3) & RANGE_MASK)];
+		outptr[5+outptr_offset] = range_limit[range_limit_offset + ((((int) (tmp2 - tmp5) + 4) >> 3) & RANGE_MASK)];
+		outptr[4+outptr_offset] = range_limit[range_limit_offset + ((((int) (tmp3 + tmp4) + 4) >> 3) & RANGE_MASK)];
+		outptr[3+outptr_offset] = range_limit[range_limit_offset + ((((int) (tmp3 - tmp4) + 4) >> 3) & RANGE_MASK)];
+	}
+}
+
+static void jpeg_idct_4x4 (jpeg_decompress_struct cinfo, jpeg_component_info compptr,
+	short[] coef_block,
+	byte[][] output_buf, int output_buf_offset, int output_col)
+{
+	int tmp0, tmp2, tmp10, tmp12;
+	int z1, z2, z3, z4;
+	short[] inptr = coef_block;
+	int[] quantptr = compptr.dct_table;
+	int[] wsptr = cinfo.workspace;	/* buffers data between passes */
+	byte[] outptr;
+	byte[] range_limit = cinfo.sample_range_limit;
+	int range_limit_offset = cinfo.sample_range_limit_offset + CENTERJSAMPLE;
+	int ctr;
+
+	/* Pass 1: process columns from input, store into work array. */
+
+	for (ctr = 0; ctr < DCTSIZE; ctr++) {
+		/* Don't bother to process column 4, because second pass won't use it */
+		if (ctr == 4)
+			continue;
+		if (inptr[DCTSIZE*1+ctr] == 0 && inptr[DCTSIZE*2+ctr] == 0 &&
+			inptr[DCTSIZE*3+ctr] == 0 && inptr[DCTSIZE*5+ctr] == 0 &&
+			inptr[DCTSIZE*6+ctr] == 0 && inptr[DCTSIZE*7+ctr] == 0)
+		{
+			/* AC terms all zero; we need not examine term 4 for 4x4 output */
+			int dcval = (inptr[DCTSIZE*0+ctr] * quantptr[DCTSIZE*0+ctr]) << PASS1_BITS;
+
+			wsptr[DCTSIZE*0+ctr] = dcval;
+			wsptr[DCTSIZE*1+ctr] = dcval;
+			wsptr[DCTSIZE*2+ctr] = dcval;
+			wsptr[DCTSIZE*3+ctr] = dcval;
+			continue;
+		}
+
+		/* Even part */
+
+		tmp0 = (inptr[DCTSIZE*0+ctr] * quantptr[DCTSIZE*0+ctr]) << (CONST_BITS+1);
+
+		z2 = inptr[DCTSIZE*2+ctr] * quantptr[DCTSIZE*2+ctr];
+		z3 = inptr[DCTSIZE*6+ctr] * quantptr[DCTSIZE*6+ctr];
+
+		tmp2 = (z2 * 15137/*FIX_1_847759065*/) + (z3 * - 6270/*FIX_0_765366865*/);
+
+		tmp10 = tmp0 + tmp2;
+		tmp12 = tmp0 - tmp2;
+
+		/* Odd part */
+
+		z1 = inptr[DCTSIZE*7+ctr] * quantptr[DCTSIZE*7+ctr];
+		z2 = inptr[DCTSIZE*5+ctr] * quantptr[DCTSIZE*5+ctr];
+		z3 = inptr[DCTSIZE*3+ctr] * quantptr[DCTSIZE*3+ctr];
+		z4 = inptr[DCTSIZE*1+ctr] * quantptr[DCTSIZE*1+ctr];
+
+		tmp0 = (z1 * - 1730/*FIX_0_211164243*/) /* sqrt(2) * (c3-c1) */
+			+ (z2 * 11893/*FIX_1_451774981*/) /* sqrt(2) * (c3+c7) */
+			+ (z3 * - 17799/*FIX_2_172734803*/) /* sqrt(2) * (-c1-c5) */
+			+ (z4 * 8697/*FIX_1_061594337*/); /* sqrt(2) * (c5+c7) */
+
+		tmp2 = (z1 * - 4176/*FIX_0_509795579*/) /* sqrt(2) * (c7-c5) */
+			+ (z2 * - 4926/*FIX_0_601344887*/) /* sqrt(2) * (c5-c1) */
+			+ (z3 * 7373/*FIX_0_899976223*/) /* sqrt(2) * (c3-c7) */
+			+ (z4 * 20995/*FIX_2_562915447*/); /* sqrt(2) * (c1+c3) */
+
+		/* Final output stage */
+
+//		#define DESCALE(x,n)	RIGHT_SHIFT((x) + (ONE << ((n)-1)), n)
+		wsptr[DCTSIZE*0+ctr] = ((tmp10 + tmp2) + (1 << ((CONST_BITS-PASS1_BITS+1)-1))) >> (CONST_BITS-PASS1_BITS+1);
+		wsptr[DCTSIZE*3+ctr] = ((tmp10 - tmp2) + (1 << ((CONST_BITS-PASS1_BITS+1)-1))) >> (CONST_BITS-PASS1_BITS+1);
+		wsptr[DCTSIZE*1+ctr] = ((tmp12 + tmp0) + (1 << ((CONST_BITS-PASS1_BITS+1)-1))) >> (CONST_BITS-PASS1_BITS+1);
+		wsptr[DCTSIZE*2+ctr] = ((tmp12 - tmp0) + (1 << ((CONST_BITS-PASS1_BITS+1)-1))) >> (CONST_BITS-PASS1_BITS+1);
+	}
+
+	/* Pass 2: process 4 rows from work array, store into output array. */
+
+	int wsptr_offset = 0;
+	for (ctr = 0; ctr < 4; ctr++, wsptr_offset += DCTSIZE) {
+		outptr = output_buf[ctr+output_buf_offset];
+
+		if (wsptr[1+wsptr_offset] == 0 && wsptr[2+wsptr_offset] == 0 && wsptr[3+wsptr_offset] == 0 &&
+			wsptr[5+wsptr_offset] == 0 && wsptr[6+wsptr_offset] == 0 && wsptr[7+wsptr_offset] == 0)
+		{
+			/* AC terms all zero */
+			byte dcval = range_limit[range_limit_offset + ((((wsptr[0+wsptr_offset]) + (1 << ((PASS1_BITS+3)-1))) >> PASS1_BITS+3)
+					& RANGE_MASK)];
+
+			outptr[0+output_col] = dcval;
+			outptr[1+output_col] = dcval;
+			outptr[2+output_col] = dcval;
+			outptr[3+output_col] = dcval;
+			continue;
+		}
+
+		/* Even part */
+
+		tmp0 = wsptr[0+wsptr_offset] << (CONST_BITS+1);
+
+		tmp2 = (wsptr[2+wsptr_offset] * 15137/*FIX_1_847759065*/) + (wsptr[6+wsptr_offset] * - 6270/*FIX_0_765366865*/);
+
+		tmp10 = tmp0 + tmp2;
+		tmp12 = tmp0 - tmp2;
+
+		/* Odd part */
+
+		z1 = wsptr[7+wsptr_offset];
+		z2 = wsptr[5+wsptr_offset];
+		z3 = wsptr[3+wsptr_offset];
+		z4 = wsptr[1+wsptr_offset];
+
+		tmp0 = (z1 * - 1730/*FIX_0_211164243*/) /* sqrt(2) * (c3-c1) */
+			+ (z2 * 11893/*FIX_1_451774981*/) /* sqrt(2) * (c3+c7) */
+			+ (z3 * - 17799/*FIX_2_172734803*/) /* sqrt(2) * (-c1-c5) */
+			+ (z4 * 8697/*FIX_1_061594337*/); /* sqrt(2) * (c5+c7) */
+
+		tmp2 = (z1 * - 4176/*FIX_0_509795579*/) /* sqrt(2) * (c7-c5) */
+			+ (z2 * - 4926/*FIX_0_601344887*/) /* sqrt(2) * (c5-c1) */
+			+ (z3 * 7373/*FIX_0_899976223*/) /* sqrt(2) * (c3-c7) */
+			+ (z4 * 20995/*FIX_2_562915447*/); /* sqrt(2) * (c1+c3) */
+
+		/* Final output stage */
+
+		outptr[0+output_col] = range_limit[range_limit_offset + ((((tmp10 + tmp2) + (1 << ((CONST_BITS+PASS1_BITS+3+1)-1))) >>
+									CONST_BITS+PASS1_BITS+3+1)
+					& RANGE_MASK)];
+		outptr[3+output_col] = range_limit[range_limit_offset + ((((tmp10 - tmp2) + (1 << ((CONST_BITS+PASS1_BITS+3+1)-1))) >>
+									CONST_BITS+PASS1_BITS+3+1)
+					& RANGE_MASK)];
+		outptr[1+output_col] = range_limit[range_limit_offset + ((((tmp12 + tmp0) + (1 << ((CONST_BITS+PASS1_BITS+3+1)-1))) >>
+									CONST_BITS+PASS1_BITS+3+1)
+					& RANGE_MASK)];
+		outptr[2+output_col] = range_limit[range_limit_offset + ((((tmp12 - tmp0) + (1 << ((CONST_BITS+PASS1_BITS+3+1)-1))) >>
+									CONST_BITS+PASS1_BITS+3+1)
+					& RANGE_MASK)];
+	}
+}
+
+static void jpeg_idct_2x2 (jpeg_decompress_struct cinfo, jpeg_component_info compptr,
+	short[] coef_block,
+	byte[][] output_buf, int output_buf_offset, int output_col)
+{
+	int tmp0, tmp10, z1;
+	short[] inptr = coef_block;
+	int[] quantptr = compptr.dct_table;
+	int[] wsptr = cinfo.workspace;	/* buffers data between passes */
+	byte[] outptr;
+	byte[] range_limit = cinfo.sample_range_limit;
+	int range_limit_offset = cinfo.sample_range_limit_offset + CENTERJSAMPLE;
+	int ctr;
+
+	/* Pass 1: process columns from input, store into work array. */
+
+	for (ctr = 0; ctr < DCTSIZE; ctr++) {
+		/* Don't bother to process columns 2,4,6 */
+		if (ctr == 2 || ctr == 4 || ctr == 6)
+			continue;
+		if (inptr[DCTSIZE*1+ctr] == 0 && inptr[DCTSIZE*3+ctr] == 0 &&
+			inptr[DCTSIZE*5+ctr] == 0 && inptr[DCTSIZE*7+ctr] == 0)
+		{
+			/* AC terms all zero; we need not examine terms 2,4,6 for 2x2 output */
+			int dcval = (inptr[DCTSIZE*0+ctr] * quantptr[DCTSIZE*0+ctr]) << PASS1_BITS;
+
+			wsptr[DCTSIZE*0+ctr] = dcval;
+			wsptr[DCTSIZE*1+ctr] = dcval;
+			continue;
+		}
+
+		/* Even part */
+
+		z1 = inptr[DCTSIZE*0+ctr] * quantptr[DCTSIZE*0+ctr];
+		tmp10 = z1 << (CONST_BITS+2);
+
+		/* Odd part */
+
+		z1 = inptr[DCTSIZE*7+ctr] * quantptr[DCTSIZE*7+ctr];
+		tmp0 = (z1 * - 5906/*FIX_0_720959822*/); /* sqrt(2) * (c7-c5+c3-c1) */
+		z1 = inptr[DCTSIZE*5+ctr] * quantptr[DCTSIZE*5+ctr];
+		tmp0 += (z1 * 6967/*FIX_0_850430095*/); /* sqrt(2) * (-c1+c3+c5+c7) */
+		z1 = inptr[DCTSIZE*3+ctr] * quantptr[DCTSIZE*3+ctr];
+		tmp0 += (z1 * - 10426/*FIX_1_272758580*/); /* sqrt(2) * (-c1+c3-c5-c7) */
+		z1 = inptr[DCTSIZE*1+ctr] * quantptr[DCTSIZE*1+ctr];
+		tmp0 += (z1 * 29692/*FIX_3_624509785*/); /* sqrt(2) * (c1+c3+c5+c7) */
+
+		/* Final output stage */
+
+		wsptr[DCTSIZE*0+ctr] = ((tmp10 + tmp0) + (1 << ((CONST_BITS-PASS1_BITS+2)-1))) >> (CONST_BITS-PASS1_BITS+2);
+		wsptr[DCTSIZE*1+ctr] = ((tmp10 - tmp0) + (1 << ((CONST_BITS-PASS1_BITS+2)-1))) >> (CONST_BITS-PASS1_BITS+2);
+	}
+
+	/* Pass 2: process 2 rows from work array, store into output array. */
+
+	int wsptr_offset = 0;
+	for (ctr = 0; ctr < 2; ctr++, wsptr_offset += DCTSIZE) {
+		outptr = output_buf[ctr+output_buf_offset];
+
+		if (wsptr[1+wsptr_offset] == 0 && wsptr[3+wsptr_offset] == 0 && wsptr[5+wsptr_offset] == 0 && wsptr[7+wsptr_offset] == 0) {
+			/* AC terms all zero */
+			byte dcval = range_limit[range_limit_offset + ((((wsptr[0+wsptr_offset]) + (1 << ((PASS1_BITS+3)-1))) >> PASS1_BITS+3)
+					& RANGE_MASK)];
+
+			outptr[0+output_col] = dcval;
+			outptr[1+output_col] = dcval;
+			continue;
+		}
+
+		/* Even part */
+
+		tmp10 = wsptr[0+wsptr_offset] << (CONST_BITS+2);
+
+		/* Odd part */
+
+		tmp0 = (wsptr[7+wsptr_offset] * - 5906/*FIX_0_720959822*/) /* sqrt(2) * (c7-c5+c3-c1) */
+			+ (wsptr[5+wsptr_offset] * 6967/*FIX_0_850430095*/) /* sqrt(2) * (-c1+c3+c5+c7) */
+			+ (wsptr[3+wsptr_offset] * - 10426/*FIX_1_272758580*/) /* sqrt(2) * (-c1+c3-c5-c7) */
+			+ (wsptr[1+wsptr_offset] * 29692/*FIX_3_624509785*/); /* sqrt(2) * (c1+c3+c5+c7) */
+
+		/* Final output stage */
+
+		outptr[0+output_col] = range_limit[range_limit_offset + ((((tmp10 + tmp0) + (1 << ((CONST_BITS+PASS1_BITS+3+2)-1))) >>
+									CONST_BITS+PASS1_BITS+3+2)
+					& RANGE_MASK)];
+		outptr[1+output_col] = range_limit[range_limit_offset + ((((tmp10 - tmp0) + (1 << ((CONST_BITS+PASS1_BITS+3+2)-1))) >>
+									CONST_BITS+PASS1_BITS+3+2)
+					& RANGE_MASK)];
+	}
+}
+
+static void jpeg_idct_1x1 (jpeg_decompress_struct cinfo, jpeg_component_info compptr,
+	short[] coef_block,
+	byte[][] output_buf, int output_buf_offset, int output_col)
+{
+	/* We hardly need an inverse DCT routine for this: just take the
+	 * average pixel value, which is one-eighth of the DC coefficient.
+	 */
+	int dcval = coef_block[0] * compptr.dct_table[0];
+	dcval = (dcval + (1 << (3-1))) >> 3;
+	output_buf[output_buf_offset][output_col] = cinfo.sample_range_limit[cinfo.sample_range_limit_offset + CENTERJSAMPLE + (dcval & RANGE_MASK)];
+}
+
 static void upsample (jpeg_decompress_struct cinfo,
 	byte[][][] input_buf, int[] input_buf_offset, int[] in_row_group_ctr,
 	int in_row_groups_avail,
@@ -3796,7 +4378,7 @@ static int decompress_onepass (jpeg_decompress_struct cinfo, byte[][][] output_b
 					if (cinfo.input_iMCU_row < last_iMCU_row ||	yoffset+yindex < compptr.last_row_height) {
 						output_col = start_col;
 						for (xindex = 0; xindex < useful_width; xindex++) {
-							jpeg_idct_islow(cinfo, compptr, coef.MCU_buffer[blkn+xindex], output_ptr, output_ptr_offset, output_col);
+							inverse_DCT(cinfo, compptr, coef.MCU_buffer[blkn+xindex], output_ptr, output_ptr_offset, output_col);
 							output_col += compptr.DCT_scaled_size;
 						}
 					}
@@ -4015,7 +4597,7 @@ static int decompress_smooth_data (jpeg_decompress_struct cinfo, byte[][][] outp
 					workspace[2] = (short) pred;
 				}
 				/* OK, do the IDCT */
-				jpeg_idct_islow(cinfo, compptr, workspace, output_ptr, output_ptr_offset, output_col);
+				inverse_DCT(cinfo, compptr, workspace, output_ptr, output_ptr_offset, output_col);
 				/* Advance for next column */
 				DC1 = DC2; DC2 = DC3;
 				DC4 = DC5; DC5 = DC6;
@@ -4079,7 +4661,7 @@ static int decompress_data (jpeg_decompress_struct cinfo, byte[][][] output_buf,
 			int buffer_ptr_offset = 0;
 			output_col = 0;
 			for (block_num = 0; block_num < compptr.width_in_blocks; block_num++) {
-				jpeg_idct_islow(cinfo, compptr, buffer_ptr[buffer_ptr_offset], output_ptr, output_ptr_offset, output_col);
+				inverse_DCT(cinfo, compptr, buffer_ptr[buffer_ptr_offset], output_ptr, output_ptr_offset, output_col);
 
 				buffer_ptr_offset++;
 				output_col += compptr.DCT_scaled_size;
@@ -5935,8 +6517,9 @@ static void latch_quant_tables (jpeg_decompress_struct cinfo) {
 	}
 }
 
-static void jpeg_make_d_derived_tbl (jpeg_decompress_struct cinfo, boolean isDC, int tblno, d_derived_tbl dtbl) {
+static void jpeg_make_d_derived_tbl (jpeg_decompress_struct cinfo, boolean isDC, int tblno, d_derived_tbl[] tbls) {
 	JHUFF_TBL htbl;
+	d_derived_tbl dtbl;
 	int p, i = 0, l, si, numsymbols;
 	int lookbits, ctr;
 	byte[] huffsize = new byte[257];
@@ -5957,6 +6540,9 @@ static void jpeg_make_d_derived_tbl (jpeg_decompress_struct cinfo, boolean isDC,
 //		ERREXIT1(cinfo, JERR_NO_HUFF_TABLE, tblno);
 
 	/* Allocate a workspace if we haven't already done so. */
+	dtbl = tbls[tblno];
+	if (dtbl == null)
+		dtbl = tbls[tblno] = new d_derived_tbl();
 	dtbl.pub = htbl;		/* fill in back link */
 
 	/* Figure C.1: make table of Huffman code length for each symbol */
@@ -6020,6 +6606,7 @@ static void jpeg_make_d_derived_tbl (jpeg_decompress_struct cinfo, boolean isDC,
 
 	for (int j = 0; j < dtbl.look_nbits.length; j++) {
 		dtbl.look_nbits[j] = 0;
+		dtbl.look_ac[j] = 0;
 	}
 
 	p = 0;
@@ -6036,6 +6623,21 @@ static void jpeg_make_d_derived_tbl (jpeg_decompress_struct cinfo, boolean isDC,
 		}
 	}
 
+	/* Combine the AC codes with the coefficient bits that follow them */
+	if (!isDC) {
+		for (lookbits = 0; lookbits < (1<<HUFF_LOOKAHEAD); lookbits++) {
+			l = dtbl.look_nbits[lookbits];
+			int sym = dtbl.look_sym[lookbits] & 0xFF;
+			int r = sym >> 4, s = sym & 15;
+			if (l != 0 && s != 0 && l + s <= HUFF_LOOKAHEAD) {
+				int v = (lookbits >> (HUFF_LOOKAHEAD - l - s)) & ((1<<s)-1);
+//				v = HUFF_EXTEND(v, s);
+				v = v < extend_test[s] ? v + extend_offset[s] : v;
+				dtbl.look_ac[lookbits] = (v << 8) | (r << 4) | (l + s);
+			}
+		}
+	}
+
 	/* Validate symbols as being reasonable.
 	 * For AC tables, we make no check, but accept all byte values 0..255.
 	 * For DC tables, we require the symbols to be in range 0..15.
@@ -6174,7 +6776,7 @@ static void default_decompress_parms (jpeg_decompress_struct cinfo) {
 	cinfo.output_gamma = 1.0;
 	cinfo.buffered_image = false;
 	cinfo.raw_data_out = false;
-	cinfo.dct_method = JDCT_DEFAULT;
+	cinfo.dct_method = getDCTMethod();
 	cinfo.do_fancy_upsampling = true;
 	cinfo.do_block_smoothing = true;
 	cinfo.quantize_colors = false;
@@ -6272,11 +6874,36 @@ static boolean isFileFormat(LEDataInputStream stream) {
 	}
 }
 
+/**
+ * Returns the largest of 1, 2, 4 and 8 by which the image can be divided
+ * while it is decoded, so that it is still at least as large as the image
+ * scaled to fit into the maximum width and height. A maximum of 0 means
+ * no limit.
+ */
+static int getScaleDenominator(int width, int height, int maxWidth, int maxHeight) {
+	double scale = 1;
+	if (maxWidth > 0) scale = Math.min(scale, (double) maxWidth / width);
+	if (maxHeight > 0) scale = Math.min(scale, (double) maxHeight / height);
+	int denom = 1;
+	while (denom < 8 && denom * 2 * scale <= 1) denom *= 2;
+	return denom;
+}
+
 static ImageData[] loadFromByteStream(InputStream inputStream, ImageLoader loader) {
+	return loadFromByteStream(inputStream, loader, System.getProperty(SWT_JPEG_IDCT));
+}
+
+/*
+ * Decodes with the inverse DCT named by idct, which takes the same
+ * values as the SWT_JPEG_IDCT property.
+ */
+static ImageData[] loadFromByteStream(InputStream inputStream, ImageLoader loader, String idct) {
 	jpeg_decompress_struct cinfo = new jpeg_decompress_struct();
 	cinfo.inputStream = inputStream;
 	jpeg_create_decompress(cinfo);
 	jpeg_read_header(cinfo, true);
+	cinfo.dct_method = getDCTMethod(idct);
+	cinfo.scale_denom = getScaleDenominator(cinfo.image_width, cinfo.image_height, loader.maximumWidth, loader.maximumHeight);
 	cinfo.buffered_image = cinfo.progressive_mode && loader.hasListeners();
 	jpeg_start_decompress(cinfo);
 	PaletteData palette = null;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -51,8 +51,14 @@ ImageData[] loadFromByteStream() {
 		headerChunk = chunkReader.getIhdrChunk();
 		int width = headerChunk.getWidth(), height = headerChunk.getHeight();
 		if (width <= 0 || height <= 0) SWT.error(SWT.ERROR_INVALID_IMAGE);
-		int imageSize = getAlignedBytesPerRow() * height;
-		data = new byte[imageSize];
+		/*
+		* Interlaced images are assembled in the PNG row layout and
+		* converted after every pass. Other images are decoded directly
+		* into the data allocated by the image data.
+		*/
+		if (headerChunk.getInterlaceMethod() != PngIhdrChunk.INTERLACE_METHOD_NONE) {
+			data = new byte[getAlignedBytesPerRow() * height];
+		}
 		imageData = ImageData.internal_new(
 			width,
 			height,
@@ -313,9 +319,19 @@ void setImageDataValues(byte[] data, ImageData imageData) {
 void readPixelData(PngIdatChunk chunk, PngChunkReader chunkReader) throws IOException {
 	//TEMPORARY CODE
 	boolean use3_2 = System.getProperty("org.eclipse.swt.internal.image.PNGFileFormat_3.2") != null;
-	try (InputStream pngStream = new PngInputStream(chunk, chunkReader);
+	try (PngInputStream pngStream = new PngInputStream(chunk, chunkReader);
 			InputStream stream = use3_2 ? new PngDecodingDataStream(pngStream)
-					: new BufferedInputStream(new InflaterInputStream(pngStream));) {
+					: new InflaterInputStream(pngStream) {
+						/*
+						* Inflate the IDAT chunks in place instead of
+						* copying them into the buffer of the stream.
+						*/
+						@Override
+						protected void fill() throws IOException {
+							len = pngStream.fill(inf);
+							if (len == -1) throw new EOFException("Unexpected end of ZLIB input stream");
+						}
+					};) {
 		int interlaceMethod = headerChunk.getInterlaceMethod();
 		if (interlaceMethod == PngIhdrChunk.INTERLACE_METHOD_NONE) {
 			readNonInterlacedImage(stream);
@@ -393,11 +409,8 @@ void readInterlaceFrame(
 	byte[] currentRow = row1;
 	byte[] lastRow = row2;
 	for (int row = startRow; row < height; row += rowInterval) {
-		byte filterType = (byte)inputStream.read();
-		int read = 0;
-		while (read != bytesPerRow) {
-			read += inputStream.read(currentRow, read, bytesPerRow - read);
-		}
+		int filterType = readFilterType(inputStream);
+		readFully(inputStream, currentRow, 0, bytesPerRow);
 		filterRow(currentRow, lastRow, filterType);
 		if (headerChunk.getBitDepth() >= 8) {
 			int bytesPerPixel = getBytesPerPixel();
@@ -463,33 +476,161 @@ void fireInterlacedFrameEvent(int frameCount) {
 		loader.notifyListeners(new ImageLoaderEvent(loader, image, frameCount, finalFrame));
 	}
 }
+/**
+ * Read the filter type byte that precedes each row.
+ */
+static int readFilterType(InputStream inputStream) throws IOException {
+	int filterType = inputStream.read();
+	if (filterType == -1) throw new EOFException();
+	return filterType;
+}
+/**
+ * Read exactly length bytes of image data into the buffer.
+ */
+static void readFully(InputStream inputStream, byte[] buffer, int offset, int length) throws IOException {
+	while (length > 0) {
+		int read = inputStream.read(buffer, offset, length);
+		if (read == -1) throw new EOFException();
+		offset += read;
+		length -= read;
+	}
+}
+/**
+ * Answer whether the rows of a non-interlaced image have the
+ * same layout in the PNG data and in the image data, so they
+ * can be decoded in place.
+ */
+boolean isRowLayoutCompatible() {
+	if (headerChunk.getBitDepth() > 8) return false;
+	return switch (headerChunk.getColorType()) {
+	case PngIhdrChunk.COLOR_TYPE_GRAYSCALE, PngIhdrChunk.COLOR_TYPE_PALETTE, PngIhdrChunk.COLOR_TYPE_RGB -> true;
+	default -> false;
+	};
+}
 /**
  * Read the pixel data for a non-interlaced image from the
  * data stream.
- * Update the imageData to reflect the new data.
+ * The rows are unfiltered directly in the image data when
+ * the layouts match, otherwise they are unfiltered in two
+ * reused row buffers and converted into the image data.
  */
 void readNonInterlacedImage(InputStream inputStream) throws IOException {
-	int dataOffset = 0;
-	int alignedBytesPerRow = getAlignedBytesPerRow();
+	int colorType = headerChunk.getColorType();
+	if (colorType == PngIhdrChunk.COLOR_TYPE_RGB_WITH_ALPHA && headerChunk.getBitDepth() == 8) {
+		readRGBAImage(inputStream);
+		return;
+	}
+	int width = imageData.width;
+	int height = imageData.height;
 	int bytesPerRow = getBytesPerRow();
-	byte[] row1 = new byte[bytesPerRow];
-	byte[] row2 = new byte[bytesPerRow];
-	byte[] currentRow = row1;
-	byte[] lastRow = row2;
-	int height = headerChunk.getHeight();
+	int bytesPerPixel = headerChunk.getFilterByteOffset();
+	byte[] destData = imageData.data;
+	int destBytesPerLine = imageData.bytesPerLine;
+	if (colorType == PngIhdrChunk.COLOR_TYPE_GRAYSCALE_WITH_ALPHA
+			|| colorType == PngIhdrChunk.COLOR_TYPE_RGB_WITH_ALPHA
+			|| (colorType == PngIhdrChunk.COLOR_TYPE_PALETTE && alphaPalette != null)) {
+		imageData.alphaData = new byte[width * height];
+	}
+	if (isRowLayoutCompatible()) {
+		int dataOffset = 0, previousOffset = -1;
+		for (int row = 0; row < height; row++) {
+			int filterType = readFilterType(inputStream);
+			readFully(inputStream, destData, dataOffset, bytesPerRow);
+			unfilterRow(destData, dataOffset, destData, previousOffset, bytesPerRow, bytesPerPixel, filterType);
+			previousOffset = dataOffset;
+			dataOffset += destBytesPerLine;
+		}
+		if (imageData.alphaData != null) {
+			byte[] pixels = new byte[width];
+			byte[] alphaData = imageData.alphaData;
+			for (int y = 0, alphaIndex = 0; y < height; y++) {
+				imageData.getPixels(0, y, width, pixels, 0);
+				for (int x = 0; x < width; x++) {
+					alphaData[alphaIndex++] = alphaPalette[pixels[x] & 0xFF];
+				}
+			}
+		}
+		return;
+	}
+	boolean is16Bit = headerChunk.getBitDepth() > 8;
+	byte[] currentRow = new byte[bytesPerRow];
+	byte[] lastRow = new byte[bytesPerRow];
+	byte[] row8Bit = is16Bit ? new byte[bytesPerRow / 2] : null;
 	for (int row = 0; row < height; row++) {
-		byte filterType = (byte)inputStream.read();
-		int read = 0;
-		while (read != bytesPerRow) {
-			read += inputStream.read(currentRow, read, bytesPerRow - read);
+		int filterType = readFilterType(inputStream);
+		readFully(inputStream, currentRow, 0, bytesPerRow);
+		unfilterRow(currentRow, 0, lastRow, row == 0 ? -1 : 0, bytesPerRow, bytesPerPixel, filterType);
+		byte[] source = currentRow;
+		if (is16Bit) {
+			source = row8Bit;
+			compress16BitDepthTo8BitDepth(currentRow, 0, source, 0, source.length);
 		}
-		filterRow(currentRow, lastRow, filterType);
-		System.arraycopy(currentRow, 0, data, dataOffset, bytesPerRow);
-		dataOffset += alignedBytesPerRow;
-		currentRow = (currentRow == row1) ? row2 : row1;
-		lastRow = (lastRow == row1) ? row2 : row1;
+		int destIndex = row * destBytesPerLine;
+		switch (colorType) {
+			case PngIhdrChunk.COLOR_TYPE_GRAYSCALE_WITH_ALPHA: {
+				byte[] alphaData = imageData.alphaData;
+				int alphaIndex = row * width;
+				for (int x = 0, srcIndex = 0; x < width; x++, srcIndex += 2) {
+					byte grey = source[srcIndex];
+					destData[destIndex++] = grey;
+					destData[destIndex++] = grey;
+					destData[destIndex++] = grey;
+					alphaData[alphaIndex++] = source[srcIndex + 1];
+				}
+				break;
+			}
+			case PngIhdrChunk.COLOR_TYPE_RGB_WITH_ALPHA: {
+				byte[] alphaData = imageData.alphaData;
+				int alphaIndex = row * width;
+				for (int x = 0, srcIndex = 0; x < width; x++, srcIndex += 4) {
+					destData[destIndex++] = source[srcIndex];
+					destData[destIndex++] = source[srcIndex + 1];
+					destData[destIndex++] = source[srcIndex + 2];
+					alphaData[alphaIndex++] = source[srcIndex + 3];
+				}
+				break;
+			}
+			default:
+				System.arraycopy(source, 0, destData, destIndex, source.length);
+				break;
+		}
+		byte[] temp = currentRow;
+		currentRow = lastRow;
+		lastRow = temp;
+	}
+}
+/**
+ * Read the pixel data for a non-interlaced 8-bit RGBA image,
+ * the most common kind of PNG with transparency. Each row is
+ * inflated together with its filter type byte and split into
+ * the RGB data and the alpha data of the image.
+ */
+void readRGBAImage(InputStream inputStream) throws IOException {
+	int width = imageData.width;
+	int height = imageData.height;
+	int bytesPerRow = width * 4;
+	byte[] destData = imageData.data;
+	int destBytesPerLine = imageData.bytesPerLine;
+	byte[] alphaData = new byte[width * height];
+	imageData.alphaData = alphaData;
+	byte[] currentRow = new byte[bytesPerRow + 1];
+	byte[] lastRow = new byte[bytesPerRow + 1];
+	for (int row = 0; row < height; row++) {
+		readFully(inputStream, currentRow, 0, bytesPerRow + 1);
+		unfilterRow(currentRow, 1, lastRow, row == 0 ? -1 : 1, bytesPerRow, 4, currentRow[0]);
+		int destIndex = row * destBytesPerLine;
+		int alphaIndex = row * width;
+		for (int srcIndex = 1; srcIndex <= bytesPerRow; srcIndex += 4) {
+			destData[destIndex] = currentRow[srcIndex];
+			destData[destIndex + 1] = currentRow[srcIndex + 1];
+			destData[destIndex + 2] = currentRow[srcIndex + 2];
+			alphaData[alphaIndex++] = currentRow[srcIndex + 3];
+			destIndex += 3;
+		}
+		byte[] temp = currentRow;
+		currentRow = lastRow;
+		lastRow = temp;
 	}
-	setImageDataValues(data, imageData);
 }
 /**
  * SWT does not support 16-bit depth color formats.
@@ -537,43 +678,66 @@ static int compress16BitDepthTo8BitDepth(int value) {
  * based on the filterType.
  */
 void filterRow(byte[] row, byte[] previousRow, int filterType) {
-	int byteOffset = headerChunk.getFilterByteOffset();
+	unfilterRow(row, 0, previousRow, 0, row.length, headerChunk.getFilterByteOffset(), filterType);
+}
+/**
+ * Unfilter the row of the given length at offset in place. The
+ * previous row starts at previousOffset, which is -1 for the first
+ * row of an image or of an interlace pass, where the previous row
+ * is defined to be all zeros.
+ */
+static void unfilterRow(byte[] row, int offset, byte[] previousRow, int previousOffset, int length, int bytesPerPixel, int filterType) {
+	int end = offset + length;
+	int firstEnd = offset + Math.min(bytesPerPixel, length);
 	switch (filterType) {
 		case PngIhdrChunk.FILTER_NONE:
 			break;
 		case PngIhdrChunk.FILTER_SUB:
-			for (int i = byteOffset; i < row.length; i++) {
-				int current = row[i] & 0xFF;
-				int left = row[i - byteOffset] & 0xFF;
-				row[i] = (byte)((current + left) & 0xFF);
+			for (int i = offset + bytesPerPixel; i < end; i++) {
+				row[i] += row[i - bytesPerPixel];
 			}
 			break;
 		case PngIhdrChunk.FILTER_UP:
-			for (int i = 0; i < row.length; i++) {
-				int current = row[i] & 0xFF;
-				int above = previousRow[i] & 0xFF;
-				row[i] = (byte)((current + above) & 0xFF);
+			if (previousOffset == -1) break;
+			for (int i = offset, j = previousOffset; i < end; i++, j++) {
+				row[i] += previousRow[j];
 			}
 			break;
 		case PngIhdrChunk.FILTER_AVERAGE:
-			for (int i = 0; i < row.length; i++) {
-				int left = (i < byteOffset) ? 0 : row[i - byteOffset] & 0xFF;
-				int above = previousRow[i] & 0xFF;
-				int current = row[i] & 0xFF;
-				row[i] = (byte)((current + ((left + above) / 2)) & 0xFF);
+			if (previousOffset == -1) {
+				for (int i = offset + bytesPerPixel; i < end; i++) {
+					row[i] += (row[i - bytesPerPixel] & 0xFF) >> 1;
+				}
+				break;
+			}
+			for (int i = offset, j = previousOffset; i < end; i++, j++) {
+				int left = (i < firstEnd) ? 0 : row[i - bytesPerPixel] & 0xFF;
+				int above = previousRow[j] & 0xFF;
+				row[i] += (left + above) >> 1;
 			}
 			break;
 		case PngIhdrChunk.FILTER_PAETH:
-			for (int i = 0; i < row.length; i++) {
-				int left = (i < byteOffset) ? 0 : row[i - byteOffset] & 0xFF;
-				int aboveLeft = (i < byteOffset) ? 0 : previousRow[i - byteOffset] & 0xFF;
-				int above = previousRow[i] & 0xFF;
+			if (previousOffset == -1) {
+				// With a row of zeros above, the predictor is the left byte
+				for (int i = offset + bytesPerPixel; i < end; i++) {
+					row[i] += row[i - bytesPerPixel];
+				}
+				break;
+			}
+			// Without a left byte, the predictor is the byte above
+			for (int i = offset, j = previousOffset; i < firstEnd; i++, j++) {
+				row[i] += previousRow[j];
+			}
+			for (int i = firstEnd, j = previousOffset + (firstEnd - offset); i < end; i++, j++) {
+				int left = row[i - bytesPerPixel] & 0xFF;
+				int above = previousRow[j] & 0xFF;
+				int aboveLeft = previousRow[j - bytesPerPixel] & 0xFF;
 
 				int a = Math.abs(above - aboveLeft);
 				int b = Math.abs(left - aboveLeft);
 				int c = Math.abs(left - aboveLeft + above - aboveLeft);
 
-				int preductor = 0;
+				int preductor;
 				if (a <= b && a <= c) {
 					preductor = left;
 				} else if (b <= c) {
@@ -582,8 +746,7 @@ void filterRow(byte[] row, byte[] previousRow, int filterType) {
 					preductor = aboveLeft;
 				}
 
-				int currentValue = row[i] & 0xFF;
-				row[i] = (byte) ((currentValue + preductor) & 0xFF);
+				row[i] += preductor;
 			}
 			break;
 	}
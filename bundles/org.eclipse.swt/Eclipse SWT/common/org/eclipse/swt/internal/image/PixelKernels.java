@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+/**
+ * Conversions between premultiplied and straight alpha, and between the
+ * pixel layouts of the platform image surfaces and <code>ImageData</code>.
+ * <p>
+ * The kernels work on rows of pixels packed into <code>int</code> values
+ * as <code>0xAARRGGBB</code>, the layout of cairo and of 32 bit DIBs in
+ * native byte order. Red and blue are processed together in the two
+ * halves of one <code>int</code> and the divisions of un-premultiplying
+ * are replaced by lookups in a table of all quotients, so that the loops
+ * have no divisions and no branches.
+ * The results are identical to the per component formulas
+ * <code>(c * a + 127) / 255</code> and <code>(c * 255 + a / 2) / a</code>,
+ * truncated to a byte.
+ * </p>
+ */
+public final class PixelKernels {
+
+	/**
+	 * The un-premultiplied components indexed by <code>(a << 8) | c</code>,
+	 * zero for an alpha of zero. Components larger than their alpha, which
+	 * are not valid premultiplied values, keep the low byte of the quotient
+	 * as the loops that the kernels replaced did. At 64 KB the table is
+	 * faster than multiplying with reciprocals of the alpha, which needs a
+	 * lookup as well.
+	 */
+	static final byte[] QUOTIENTS = new byte[256 * 256];
+	static {
+		for (int a = 1; a < 256; a++) {
+			for (int c = 0; c < 256; c++) {
+				QUOTIENTS[(a << 8) | c] = (byte) ((c * 255 + a / 2) / a);
+			}
+		}
+	}
+
+	private PixelKernels() {
+	}
+
+/**
+ * Premultiplies the color components of the pixels with their alpha.
+ *
+ * @param pixels the <code>0xAARRGGBB</code> pixels, modified in place
+ * @param offset the index of the first pixel
+ * @param length the number of pixels
+ */
+public static void premultiply(int[] pixels, int offset, int length) {
+	for (int i = offset, end = offset + length; i < end; i++) {
+		int pixel = pixels[i];
+		pixels[i] = premultiply(pixel, pixel >>> 24);
+	}
+}
+
+/**
+ * Replaces the alpha of the pixels with the given alpha values and
+ * premultiplies the color components with it.
+ *
+ * @param pixels the <code>0xAARRGGBB</code> pixels, modified in place
+ * @param offset the index of the first pixel
+ * @param length the number of pixels
+ * @param alpha the alpha values, one byte per pixel
+ * @param alphaOffset the index of the alpha of the first pixel
+ */
+public static void premultiply(int[] pixels, int offset, int length, byte[] alpha, int alphaOffset) {
+	for (int i = offset, j = alphaOffset, end = offset + length; i < end; i++, j++) {
+		pixels[i] = premultiply(pixels[i], alpha[j] & 0xFF);
+	}
+}
+
+static int premultiply(int pixel, int a) {
+	/* c * a / 255, rounded, computed as (t + (t >> 8)) >> 8 with t = c * a + 128 */
+	int rb = (pixel & 0xFF00FF) * a + 0x800080;
+	rb = ((rb + ((rb >>> 8) & 0xFF00FF)) >>> 8) & 0xFF00FF;
+	int g = (pixel & 0xFF00) * a + 0x8000;
+	g = ((g + ((g >>> 8) & 0xFF00)) >>> 8) & 0xFF00;
+	return a << 24 | rb | g;
+}
+
+/**
+ * Divides the color components of the pixels by their alpha. The color
+ * components of pixels with an alpha of zero become zero.
+ *
+ * @param pixels the premultiplied <code>0xAARRGGBB</code> pixels, modified in place
+ * @param offset the index of the first pixel
+ * @param length the number of pixels
+ */
+public static void unpremultiply(int[] pixels, int offset, int length) {
+	byte[] quotients = QUOTIENTS;
+	for (int i = offset, end = offset + length; i < end; i++) {
+		int pixel = pixels[i];
+		int a = pixel >>> 24;
+		int index = a << 8;
+		int r = quotients[index | ((pixel >> 16) & 0xFF)] & 0xFF;
+		int g = quotients[index | ((pixel >> 8) & 0xFF)] & 0xFF;
+		int b = quotients[index | (pixel & 0xFF)] & 0xFF;
+		pixels[i] = a << 24 | r << 16 | g << 8 | b;
+	}
+}
+
+/**
+ * Converts pixels with the components in the order red, green, blue and
+ * alpha from the most significant byte down, which is the layout of a
+ * GdkPixbuf read as big endian <code>int</code> values, to <code>0xAARRGGBB</code>.
+ *
+ * @param pixels the <code>0xRRGGBBAA</code> pixels, modified in place
+ * @param offset the index of the first pixel
+ * @param length the number of pixels
+ */
+public static void rgbaToArgb(int[] pixels, int offset, int length) {
+	for (int i = offset, end = offset + length; i < end; i++) {
+		pixels[i] = Integer.rotateRight(pixels[i], 8);
+	}
+}
+
+/**
+ * Moves the alpha of the pixels into a separate array and clears it in
+ * the pixels, which then have the layout of a 32 bit direct
+ * <code>ImageData</code> with the masks <code>0xFF0000</code>,
+ * <code>0xFF00</code> and <code>0xFF</code> read as big endian values.
+ *
+ * @param pixels the <code>0xAARRGGBB</code> pixels, modified in place
+ * @param offset the index of the first pixel
+ * @param length the number of pixels
+ * @param alpha the array receiving the alpha values, or <code>null</code> to discard them
+ * @param alphaOffset the index of the alpha of the first pixel
+ */
+public static void extractAlpha(int[] pixels, int offset, int length, byte[] alpha, int alphaOffset) {
+	if (alpha != null) {
+		for (int i = offset, j = alphaOffset, end = offset + length; i < end; i++, j++) {
+			alpha[j] = (byte) (pixels[i] >>> 24);
+		}
+	}
+	for (int i = offset, end = offset + length; i < end; i++) {
+		pixels[i] &= 0xFFFFFF;
+	}
+}
+
+}
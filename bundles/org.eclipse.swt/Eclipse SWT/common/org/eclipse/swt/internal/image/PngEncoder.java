@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.swt.internal.image;
 
 import java.io.*;
+import java.util.stream.*;
 import java.util.zip.*;
 
 import org.eclipse.swt.*;
@@ -33,6 +34,31 @@ final class PngEncoder extends Object {
 	static final int BEST_COMPRESSION = 9;
 	static final int DEFAULT_COMPRESSION = -1;
 
+	static final int FILTER_NONE = 0;
+	static final int FILTER_SUB = 1;
+	static final int FILTER_UP = 2;
+	static final int FILTER_AVERAGE = 3;
+	static final int FILTER_PAETH = 4;
+
+	/**
+	 * System property that selects the filters applied to the rows of
+	 * true color images before they are compressed:
+	 * <ul>
+	 * <li>"adaptive": every row uses the filter that gives the minimum sum
+	 * of absolute differences</li>
+	 * <li>"none": the rows are not filtered</li>
+	 * </ul>
+	 * The current default is "adaptive". Palette images and images saved
+	 * without compression are never filtered.
+	 */
+	static final String SWT_PNG_FILTER = "swt.png.filter";
+
+	/** the minimum number of bytes of filtered image data compressed by a parallel block */
+	static final int MIN_BLOCK_SIZE = 128 * 1024;
+
+	/** the size of the deflate window, used as the dictionary of a parallel block */
+	static final int DICTIONARY_SIZE = 32 * 1024;
+
 	ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
 	PngChunk chunk;
 
@@ -233,92 +259,361 @@ void writeTransparency() {
 
 }
 
-void writeImageData() throws IOException {
+int getLevel() {
 
-	ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
-	OutputStream os = new DeflaterOutputStream(baos, new Deflater(switch (loader.compression) {
+	return switch (loader.compression) {
 	case 0 -> NO_COMPRESSION;
 	case 1 -> BEST_SPEED;
 	case 3 -> BEST_COMPRESSION;
 	default -> DEFAULT_COMPRESSION;
-	}));
+	};
 
-	if (colorType == 3) {
+}
 
-		byte[] lineData = new byte[width];
+boolean isAdaptiveFiltering() {
 
-		for (int y = 0; y < height; y++) {
+	if (colorType == 3 || getLevel() == NO_COMPRESSION) return false;
+	return !"none".equalsIgnoreCase(System.getProperty(SWT_PNG_FILTER));
+
+}
 
-			int filter = 0;
-			os.write(filter);
+int getBytesPerPixel() {
 
-			data.getPixels(0, y, width, lineData, 0);
+	return switch (colorType) {
+	case 3 -> 1;
+	case 6 -> 4;
+	default -> 3;
+	};
 
-			os.write(lineData);
+}
 
-		}
+/*
+ * Converts row y of the image to the unfiltered bytes of the PNG scanline.
+ * The arrays lineData and alphaData are scratch buffers of the image width.
+ */
+void getRow(int y, byte[] lineBytes, int[] lineData, byte[] alphaData) {
+
+	if (colorType == 3) {
+
+		data.getPixels(0, y, width, lineBytes, 0);
+		return;
 
 	}
 
-	else {
+	int redMask = data.palette.redMask;
+	int redShift = data.palette.redShift;
+	int greenMask = data.palette.greenMask;
+	int greenShift = data.palette.greenShift;
+	int blueShift = data.palette.blueShift;
+	int blueMask = data.palette.blueMask;
+
+	data.getPixels(0, y, width, lineData, 0);
+
+	if (colorType == 6) {
+		data.getAlphas(0, y, width, alphaData, 0);
+	}
+
+	int offset = 0;
+	for (int x = 0; x < width; x++) {
+
+		int pixel = lineData[x];
+
+		int r = pixel & redMask;
+		lineBytes[offset++] = (byte) ((redShift < 0) ? r >>> -redShift
+				: r << redShift);
+		int g = pixel & greenMask;
+		lineBytes[offset++] = (byte) ((greenShift < 0) ? g >>> -greenShift
+				: g << greenShift);
+		int b = pixel & blueMask;
+		lineBytes[offset++] = (byte) ((blueShift < 0) ? b >>> -blueShift
+				: b << blueShift);
 
-		int[] lineData = new int[width];
-		byte[] alphaData = null;
 		if (colorType == 6) {
-			alphaData = new byte[width];
+			lineBytes[offset++] = alphaData[x];
 		}
 
-		int redMask = data.palette.redMask;
-		int redShift = data.palette.redShift;
-		int greenMask = data.palette.greenMask;
-		int greenShift = data.palette.greenShift;
-		int blueShift = data.palette.blueShift;
-		int blueMask = data.palette.blueMask;
+	}
+
+}
+
+static int paeth(int a, int b, int c) {
 
-		byte[] lineBytes = new byte[width * (colorType == 6 ? 4 : 3)];
+	int p = a + b - c;
+	int pa = Math.abs(p - a);
+	int pb = Math.abs(p - b);
+	int pc = Math.abs(p - c);
+	if (pa <= pb && pa <= pc) return a;
+	if (pb <= pc) return b;
+	return c;
 
-		for (int y = 0; y < height; y++) {
+}
+
+/*
+ * Chooses the filter with the minimum sum of absolute differences, the
+ * heuristic recommended by the PNG specification. The differences are
+ * summed as signed bytes, since that is what the compressor sees.
+ */
+static int chooseFilter(byte[] line, byte[] previous, int bpp) {
+
+	int sumNone = 0, sumSub = 0, sumUp = 0, sumAverage = 0, sumPaeth = 0;
 
-			int filter = 0;
-			os.write(filter);
+	for (int i = 0; i < line.length; i++) {
 
-			data.getPixels(0, y, width, lineData, 0);
+		int x = line[i] & 0xff;
+		int a = (i >= bpp) ? line[i - bpp] & 0xff : 0;
+		int b = previous[i] & 0xff;
+		int c = (i >= bpp) ? previous[i - bpp] & 0xff : 0;
 
-			if (colorType == 6) {
-				data.getAlphas(0, y, width, alphaData, 0);
+		sumNone += Math.abs((byte) x);
+		sumSub += Math.abs((byte) (x - a));
+		sumUp += Math.abs((byte) (x - b));
+		sumAverage += Math.abs((byte) (x - ((a + b) >> 1)));
+		sumPaeth += Math.abs((byte) (x - paeth(a, b, c)));
+
+	}
+
+	int filter = FILTER_NONE, sum = sumNone;
+	if (sumSub < sum) { filter = FILTER_SUB; sum = sumSub; }
+	if (sumUp < sum) { filter = FILTER_UP; sum = sumUp; }
+	if (sumAverage < sum) { filter = FILTER_AVERAGE; sum = sumAverage; }
+	if (sumPaeth < sum) { filter = FILTER_PAETH; }
+	return filter;
+
+}
+
+/*
+ * Writes the filter type byte followed by the filtered scanline to
+ * filtered at offset. The previous line is all zeros for the first row.
+ */
+static void filterRow(int filter, byte[] line, byte[] previous, int bpp, byte[] filtered, int offset) {
+
+	filtered[offset++] = (byte) filter;
+
+	switch (filter) {
+
+		case FILTER_NONE:
+			System.arraycopy(line, 0, filtered, offset, line.length);
+			break;
+
+		case FILTER_SUB:
+			for (int i = 0; i < line.length; i++) {
+				int a = (i >= bpp) ? line[i - bpp] & 0xff : 0;
+				filtered[offset + i] = (byte) (line[i] - a);
 			}
+			break;
 
-			int offset = 0;
-			for (int x = 0; x < lineData.length; x++) {
+		case FILTER_UP:
+			for (int i = 0; i < line.length; i++) {
+				filtered[offset + i] = (byte) (line[i] - previous[i]);
+			}
+			break;
 
-				int pixel = lineData[x];
+		case FILTER_AVERAGE:
+			for (int i = 0; i < line.length; i++) {
+				int a = (i >= bpp) ? line[i - bpp] & 0xff : 0;
+				int b = previous[i] & 0xff;
+				filtered[offset + i] = (byte) (line[i] - ((a + b) >> 1));
+			}
+			break;
 
-				int r = pixel & redMask;
-				lineBytes[offset++] = (byte) ((redShift < 0) ? r >>> -redShift
-						: r << redShift);
-				int g = pixel & greenMask;
-				lineBytes[offset++] = (byte) ((greenShift < 0) ? g >>> -greenShift
-						: g << greenShift);
-				int b = pixel & blueMask;
-				lineBytes[offset++] = (byte) ((blueShift < 0) ? b >>> -blueShift
-						: b << blueShift);
+		case FILTER_PAETH:
+			for (int i = 0; i < line.length; i++) {
+				int a = (i >= bpp) ? line[i - bpp] & 0xff : 0;
+				int b = previous[i] & 0xff;
+				int c = (i >= bpp) ? previous[i - bpp] & 0xff : 0;
+				filtered[offset + i] = (byte) (line[i] - paeth(a, b, c));
+			}
+			break;
 
-				if (colorType == 6) {
-					lineBytes[offset++] = alphaData[x];
-				}
+	}
+
+}
+
+/*
+ * Returns the filtered scanlines from startRow (inclusive) to endRow
+ * (exclusive), each preceded by its filter type byte.
+ */
+byte[] filterRows(int startRow, int endRow, boolean adaptive) {
+
+	int bpp = getBytesPerPixel();
+	int rowBytes = width * bpp;
 
+	byte[] filtered = new byte[(endRow - startRow) * (rowBytes + 1)];
+	byte[] line = new byte[rowBytes];
+	byte[] previous = new byte[rowBytes];
+	int[] lineData = new int[width];
+	byte[] alphaData = new byte[width];
+
+	if (adaptive && startRow > 0) {
+		getRow(startRow - 1, previous, lineData, alphaData);
+	}
+
+	int offset = 0;
+	for (int y = startRow; y < endRow; y++) {
+
+		getRow(y, line, lineData, alphaData);
+
+		int filter = adaptive ? chooseFilter(line, previous, bpp) : FILTER_NONE;
+		filterRow(filter, line, previous, bpp, filtered, offset);
+		offset += rowBytes + 1;
+
+		byte[] temp = previous;
+		previous = line;
+		line = temp;
+
+	}
+
+	return filtered;
+
+}
+
+/*
+ * Returns the number of blocks the image data is compressed in. Large
+ * images are split like the bands of RowBands, but every block has at
+ * least MIN_BLOCK_SIZE bytes so that the compression ratio does not suffer.
+ */
+int getBlockCount() {
+
+	int bands = RowBands.getBandCount(height, (long) width * height);
+	if (bands <= 1) return 1;
+	long size = (long) height * (width * getBytesPerPixel() + 1);
+	return (int) Math.max(1, Math.min(bands, size / MIN_BLOCK_SIZE));
+
+}
+
+void writeImageData() throws IOException {
+
+	int blocks = getBlockCount();
+	byte[] compressed = blocks > 1 ? compressBlocks(blocks) : compressRows();
+	writeChunk(TAG_IDAT, compressed);
+
+}
+
+byte[] compressRows() throws IOException {
+
+	boolean adaptive = isAdaptiveFiltering();
+	int bpp = getBytesPerPixel();
+	int rowBytes = width * bpp;
+
+	byte[] line = new byte[rowBytes];
+	byte[] previous = new byte[rowBytes];
+	byte[] filtered = new byte[rowBytes + 1];
+	int[] lineData = new int[width];
+	byte[] alphaData = new byte[width];
+
+	ByteArrayOutputStream baos = new ByteArrayOutputStream(1024);
+	Deflater deflater = new Deflater(getLevel());
+	try (OutputStream os = new DeflaterOutputStream(baos, deflater)) {
+
+		for (int y = 0; y < height; y++) {
+
+			getRow(y, line, lineData, alphaData);
+
+			int filter = adaptive ? chooseFilter(line, previous, bpp) : FILTER_NONE;
+			filterRow(filter, line, previous, bpp, filtered, 0);
+			os.write(filtered);
+
+			byte[] temp = previous;
+			previous = line;
+			line = temp;
+
+		}
+
+	}
+	finally {
+
+		deflater.end();
+
+	}
+
+	return baos.toByteArray();
+
+}
+
+/*
+ * Compresses blocks of rows in parallel, as done by pigz. Every block is a
+ * raw deflate stream that is ended with a sync flush, so that the blocks
+ * can be concatenated into one zlib stream. Each block is primed with the
+ * last 32 KiB of the previous block as dictionary, to keep the compression
+ * ratio close to that of a single stream. The zlib header and the Adler-32
+ * checksum of all the data are added around the blocks.
+ */
+byte[] compressBlocks(int blocks) {
+
+	boolean adaptive = isAdaptiveFiltering();
+	int level = getLevel();
+
+	byte[][] filtered = new byte[blocks][];
+	IntStream.range(0, blocks).parallel().forEach(block -> {
+		int startRow = (int) ((long) height * block / blocks);
+		int endRow = (int) ((long) height * (block + 1) / blocks);
+		filtered[block] = filterRows(startRow, endRow, adaptive);
+	});
+
+	byte[][] deflated = new byte[blocks][];
+	IntStream.range(0, blocks).parallel().forEach(block -> {
+		Deflater deflater = new Deflater(level, true);
+		try {
+			if (block > 0 && level != NO_COMPRESSION) {
+				byte[] previous = filtered[block - 1];
+				int length = Math.min(previous.length, DICTIONARY_SIZE);
+				deflater.setDictionary(previous, previous.length - length, length);
 			}
+			deflated[block] = deflate(deflater, filtered[block], block == blocks - 1);
+		}
+		finally {
+			deflater.end();
+		}
+	});
+
+	Adler32 adler = new Adler32();
+	int size = 2 + 4;
+	for (int block = 0; block < blocks; block++) {
+		adler.update(filtered[block]);
+		size += deflated[block].length;
+	}
 
-			os.write(lineBytes);
+	ByteArrayOutputStream baos = new ByteArrayOutputStream(size);
+	baos.write(0x78);
+	baos.write(switch (level) {
+	case NO_COMPRESSION, BEST_SPEED -> 0x01;
+	case BEST_COMPRESSION -> 0xDA;
+	default -> 0x9C;
+	});
+	for (byte[] block : deflated) {
+		baos.write(block, 0, block.length);
+	}
+	writeInt(baos, (int) adler.getValue());
+	return baos.toByteArray();
+
+}
 
+static byte[] deflate(Deflater deflater, byte[] input, boolean last) {
+
+	ByteArrayOutputStream baos = new ByteArrayOutputStream(input.length / 2 + 64);
+	byte[] buffer = new byte[64 * 1024];
+	deflater.setInput(input);
+
+	if (last) {
+
+		deflater.finish();
+		while (!deflater.finished()) {
+			int count = deflater.deflate(buffer);
+			baos.write(buffer, 0, count);
 		}
 
 	}
+	else {
+
+		int count;
+		do {
+			count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+			baos.write(buffer, 0, count);
+		} while (count == buffer.length);
 
-	os.flush();
-	os.close();
+	}
 
-	writeChunk(TAG_IDAT, baos.toByteArray());
+	return baos.toByteArray();
 
 }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2006 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.swt.internal.image;
 
 import java.io.*;
+import java.util.zip.*;
 
 public class PngInputStream extends InputStream {
 	PngChunkReader reader;
@@ -64,4 +65,18 @@ public int read(byte[] b, int off, int len) throws IOException {
 	offset += len;
 	return len;
 }
+
+/**
+ * Passes the remaining data of the current IDAT chunk to the inflater
+ * without copying it. Answer the number of bytes, or -1 at the end of
+ * the image data.
+ */
+int fill(Inflater inflater) throws IOException {
+	if (chunk == null) throw new IOException();
+	if (offset == length && !checkChunk()) return -1;
+	int count = length - offset;
+	inflater.setInput(chunk.reference, DATA_OFFSET + offset, count);
+	offset = length;
+	return count;
+}
 }
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.internal.image;
+
+import java.util.concurrent.*;
+import java.util.stream.*;
+
+/**
+ * Splits the rows of an image into bands that are processed in parallel on
+ * the common fork-join pool. Used for conversions where every destination
+ * row can be computed independently, such as <code>ImageData.blit()</code>.
+ * <p>
+ * Parallel processing is off by default. It is enabled with the system
+ * property <code>swt.imageData.parallel</code> or {@link #setParallel(boolean)},
+ * and only used for images with at least {@link #getThreshold()} pixels.
+ * </p>
+ */
+public final class RowBands {
+
+	/**
+	 * Processes the destination rows from <code>startRow</code> (inclusive)
+	 * to <code>endRow</code> (exclusive).
+	 */
+	@FunctionalInterface
+	public interface Task {
+		void run (int startRow, int endRow);
+	}
+
+	/**
+	 * System property that enables parallel processing of large images:
+	 * <ul>
+	 * <li>"true": images above the threshold are processed in parallel</li>
+	 * <li>"false": all images are processed on the calling thread</li>
+	 * </ul>
+	 * The current default is "false".
+	 */
+	private static final String SWT_IMAGEDATA_PARALLEL = "swt.imageData.parallel";
+
+	/**
+	 * System property with the minimum number of pixels of an image that
+	 * is processed in parallel. The current default is 1048576 (1024x1024).
+	 */
+	private static final String SWT_IMAGEDATA_PARALLEL_THRESHOLD = "swt.imageData.parallel.threshold";
+
+	static final int DEFAULT_THRESHOLD = 1024 * 1024;
+
+	/** the minimum number of rows of a band */
+	static final int MIN_ROWS = 16;
+
+	private static volatile boolean parallel = Boolean.getBoolean (SWT_IMAGEDATA_PARALLEL);
+	private static volatile int threshold = Integer.getInteger (SWT_IMAGEDATA_PARALLEL_THRESHOLD, DEFAULT_THRESHOLD);
+
+private RowBands () {
+}
+
+public static boolean isParallel () {
+	return parallel;
+}
+
+public static void setParallel (boolean parallel) {
+	RowBands.parallel = parallel;
+}
+
+public static int getThreshold () {
+	return threshold;
+}
+
+public static void setThreshold (int threshold) {
+	RowBands.threshold = Math.max (0, threshold);
+}
+
+/**
+ * Returns the number of bands an image with the given number of rows and
+ * pixels is split into, 1 if it is processed on the calling thread.
+ */
+public static int getBandCount (int rows, long pixels) {
+	if (!parallel || pixels < threshold) return 1;
+	int parallelism = ForkJoinPool.getCommonPoolParallelism ();
+	if (parallelism <= 1) return 1;
+	return Math.max (1, Math.min (parallelism * 4, rows / MIN_ROWS));
+}
+
+/**
+ * Runs the task for all rows, either at once on the calling thread or in
+ * parallel for bands of rows. The task must not write to data that
+ * belongs to rows outside of the given band.
+ *
+ * @param rows the number of destination rows
+ * @param pixels the number of pixels that are processed
+ * @param task the task that processes a band of rows
+ */
+public static void run (int rows, long pixels, Task task) {
+	int bands = getBandCount (rows, pixels);
+	if (bands <= 1) {
+		task.run (0, rows);
+		return;
+	}
+	IntStream.range (0, bands).parallel ().forEach (band -> {
+		int startRow = (int)((long)rows * band / bands);
+		int endRow = (int)((long)rows * (band + 1) / bands);
+		task.run (startRow, endRow);
+	});
+}
+}
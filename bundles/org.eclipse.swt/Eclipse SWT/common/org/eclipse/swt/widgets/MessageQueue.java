@@ -0,0 +1,109 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import java.util.concurrent.atomic.*;
+
+/**
+ * Unbounded multi-producer, single-consumer queue used by the
+ * synchronizer to hold pending messages.
+ * <p>
+ * Messages are stored in linked fixed-size chunks, so adding a
+ * message does not allocate a node per element: a new chunk is only
+ * allocated once every <code>CHUNK_SIZE</code> messages. Any thread
+ * may add messages, but only the user-interface thread may remove
+ * them.
+ * </p>
+ */
+final class MessageQueue {
+	static final int CHUNK_SIZE = 1024;
+
+	static final class Chunk {
+		final AtomicReferenceArray<Object> slots = new AtomicReferenceArray<> (CHUNK_SIZE);
+		final AtomicInteger claimed = new AtomicInteger ();
+		volatile Chunk next;
+	}
+
+	/* Number of messages that were added and not yet removed */
+	final AtomicInteger size = new AtomicInteger ();
+	volatile Chunk tail;
+
+	/* Only accessed by the consumer */
+	Chunk head;
+	int headIndex;
+
+MessageQueue () {
+	head = tail = new Chunk ();
+}
+
+/**
+ * Adds a message at the end of the queue.
+ *
+ * @return <code>true</code> if the queue was empty before the message was added
+ */
+boolean offer (Object message) {
+	boolean wasEmpty = size.getAndIncrement () == 0;
+	while (true) {
+		Chunk chunk = tail;
+		int index = chunk.claimed.getAndIncrement ();
+		if (index < CHUNK_SIZE) {
+			chunk.slots.set (index, message);
+			return wasEmpty;
+		}
+		synchronized (this) {
+			if (tail == chunk) {
+				Chunk next = new Chunk ();
+				chunk.next = next;
+				tail = next;
+			}
+		}
+	}
+}
+
+/**
+ * Removes the first message of the queue. Must only be called by the consumer.
+ *
+ * @return the first message or <code>null</code> if no message is available
+ */
+Object poll () {
+	while (true) {
+		if (headIndex < CHUNK_SIZE) {
+			Object message = head.slots.get (headIndex);
+			/* The slot is either not claimed yet, or claimed and about to be written */
+			if (message == null) return null;
+			head.slots.lazySet (headIndex++, null);
+			size.decrementAndGet ();
+			return message;
+		}
+		Chunk next = head.next;
+		if (next == null) return null;
+		head = next;
+		headIndex = 0;
+	}
+}
+
+boolean isEmpty () {
+	return size.get () == 0;
+}
+
+void clear () {
+	while (poll () != null) {}
+}
+
+void drainTo (java.util.List<Object> list) {
+	Object message;
+	while ((message = poll ()) != null) list.add (message);
+}
+
+}
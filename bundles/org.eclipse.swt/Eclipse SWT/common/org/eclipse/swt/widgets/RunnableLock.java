@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2011 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,15 +36,19 @@ boolean done () {
 
 void run (Display display) {
 	if (runnable != null) {
-		try {
-			runnable.run ();
-		} catch (RuntimeException exception) {
-			display.getRuntimeExceptionHandler ().accept (exception);
-		} catch (Error error) {
-			display.getErrorHandler ().accept (error);
-		}
+		run (display, runnable);
 	}
 	runnable = null;
 }
 
+static void run (Display display, Runnable runnable) {
+	try {
+		runnable.run ();
+	} catch (RuntimeException exception) {
+		display.getRuntimeExceptionHandler ().accept (exception);
+	} catch (Error error) {
+		display.getErrorHandler ().accept (error);
+	}
+}
+
 }
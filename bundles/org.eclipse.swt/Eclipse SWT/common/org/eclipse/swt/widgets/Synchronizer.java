@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2014 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,15 +39,47 @@ import org.eclipse.swt.graphics.*;
  */
 public class Synchronizer {
 	Display display;
-	final ConcurrentLinkedQueue<RunnableLock>  messages= new ConcurrentLinkedQueue<>();
+	/* Holds a Runnable for each asyncExec and a RunnableLock for each syncExec */
+	final MessageQueue messages = new MessageQueue ();
+	/* Pending coalesced messages by key */
+	final Map<Object, CoalescedMessage> coalesced = new ConcurrentHashMap<> ();
 	Thread syncThread;
 	static final int GROW_SIZE = 4;
 	static final int MESSAGE_LIMIT = 64;
 
+	/* Batched processing of asynchronous messages, disabled by default */
+	static final long DEFAULT_BATCH_NANOS = 10_000_000;
+	int batchLimit = Integer.getInteger ("org.eclipse.swt.internal.Synchronizer.batchLimit", 0); //$NON-NLS-1$
+	long batchNanos = Long.getLong ("org.eclipse.swt.internal.Synchronizer.batchNanos", DEFAULT_BATCH_NANOS); //$NON-NLS-1$
+
 	//TEMPORARY CODE
 	static final boolean IS_COCOA = "cocoa".equals (SWT.getPlatform ());
 	static final boolean IS_GTK = "gtk".equals (SWT.getPlatform ());
 
+	/* Queued in place of a null runnable, which only wakes the user-interface thread */
+	static final Runnable WAKE = () -> {};
+
+	/*
+	 * Queued for the first call to asyncExecCoalesced() with a key. Later calls
+	 * with the same key replace the runnable until the message is run.
+	 */
+	final class CoalescedMessage implements Runnable {
+		final Object key;
+		volatile Runnable runnable;
+
+		CoalescedMessage (Object key, Runnable runnable) {
+			this.key = key;
+			this.runnable = runnable;
+		}
+
+		@Override
+		public void run () {
+			/* Any call made after this point queues a new message */
+			coalesced.remove (key, this);
+			runnable.run ();
+		}
+	}
+
 /**
  * Constructs a new instance of this class.
  *
@@ -66,17 +98,34 @@ public Synchronizer (Display display) {
 void moveAllEventsTo (Synchronizer toReceiveTheEvents) {
 	// Drain target queue and add it later again to insert at the beginning of the
 	// queue for backward compatibility:
-	java.util.List<RunnableLock> tail = new ArrayList<>();
-	toReceiveTheEvents.messages.removeIf(tail::add);
-	messages.removeIf(toReceiveTheEvents.messages::add);
-	toReceiveTheEvents.messages.addAll(tail);
+	java.util.List<Object> tail = new ArrayList<>();
+	toReceiveTheEvents.messages.drainTo(tail);
+	Object message;
+	while ((message = messages.poll()) != null) {
+		if (message instanceof CoalescedMessage pending) {
+			// Coalesce later calls with the same key on the receiver
+			coalesced.remove(pending.key, pending);
+			message = toReceiveTheEvents.moveCoalesced(pending);
+			if (message == null) continue;
+		}
+		toReceiveTheEvents.messages.offer(message);
+	}
+	for (Object t : tail) toReceiveTheEvents.messages.offer(t);
 }
 
+/*
+ * Returns a message of the receiver for a coalesced message moved from
+ * another synchronizer, or null if the receiver has a pending message for
+ * the same key, whose runnable was given later and is run instead.
+ */
+CoalescedMessage moveCoalesced (CoalescedMessage pending) {
+	CoalescedMessage message = new CoalescedMessage (pending.key, pending.runnable);
+	return coalesced.putIfAbsent (pending.key, message) == null ? message : null;
+}
 
-void addLast (RunnableLock lock) {
-	boolean wake = messages.isEmpty();
-	messages.add(lock);
-	if (wake) display.wakeThread ();
+
+void addLast (Object message) {
+	if (messages.offer(message)) display.wakeThread ();
 }
 
 /**
@@ -98,7 +147,41 @@ protected void asyncExec (Runnable runnable) {
 			return;
 		}
 	}
-	addLast (new RunnableLock (runnable));
+	addLast (runnable != null ? runnable : WAKE);
+}
+
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity, replacing the runnable of any
+ * message that was queued with the same key and has not
+ * run yet. The caller of this method continues to run in
+ * parallel, and is not notified when the runnable has
+ * completed.
+ * <p>
+ * The message keeps its position in the queue when its
+ * runnable is replaced, so only the most recent runnable
+ * given for a key is run, in the place of the first one.
+ * </p>
+ *
+ * @param key the key identifying messages that may be coalesced
+ * @param runnable code to run on the user-interface thread
+ *
+ * @see #asyncExec
+ *
+ * @since 3.127
+ */
+protected void asyncExecCoalesced (Object key, Runnable runnable) {
+	boolean[] created = new boolean [1];
+	CoalescedMessage message = coalesced.compute (key, (k, pending) -> {
+		if (pending != null) {
+			pending.runnable = runnable;
+			return pending;
+		}
+		created [0] = true;
+		return new CoalescedMessage (k, runnable);
+	});
+	if (created [0]) asyncExec (message);
 }
 
 boolean isMessagesEmpty() {
@@ -108,10 +191,11 @@ boolean isMessagesEmpty() {
 void releaseSynchronizer () {
 	display = null;
 	messages.clear();
+	coalesced.clear();
 	syncThread = null;
 }
 
-RunnableLock removeFirst () {
+Object removeFirst () {
 	return messages.poll();
 }
 
@@ -120,11 +204,25 @@ boolean runAsyncMessages () {
 }
 
 boolean runAsyncMessages (boolean all) {
+	if (batchLimit > 0 && !all) return runAsyncMessageBatch ();
 	boolean run = false;
 	do {
-		RunnableLock lock = removeFirst ();
-		if (lock == null) return run;
+		Object message = removeFirst ();
+		if (message == null) return run;
 		run = true;
+		if (!(message instanceof RunnableLock lock)) {
+			display.sendPreEvent(SWT.None);
+			try {
+				RunnableLock.run (display, (Runnable) message);
+			} catch (Throwable t) {
+				SWT.error (SWT.ERROR_FAILED_EXEC, t);
+			} finally {
+				if (display != null && !display.isDisposed()) {
+					display.sendPostEvent(SWT.None);
+				}
+			}
+			continue;
+		}
 		synchronized (lock) {
 			syncThread = lock.thread;
 			display.sendPreEvent(SWT.None);
@@ -145,6 +243,86 @@ boolean runAsyncMessages (boolean all) {
 	return run;
 }
 
+/*
+ * Runs a bounded batch of messages inside a single pre/post event pair.
+ * The batch ends when it reaches batchLimit messages or when batchNanos
+ * have elapsed, so that the caller can return to the platform event loop
+ * and handle pending input before the next batch is run. Messages posted
+ * by asyncExec are not waited on, so they are run without a monitor.
+ */
+boolean runAsyncMessageBatch () {
+	Object message = removeFirst ();
+	if (message == null) return false;
+	long start = batchNanos > 0 ? System.nanoTime () : 0;
+	int count = 0;
+	display.sendPreEvent (SWT.None);
+	try {
+		do {
+			if (message instanceof RunnableLock lock) {
+				runSyncMessage (lock);
+			} else {
+				try {
+					RunnableLock.run (display, (Runnable) message);
+				} catch (Throwable t) {
+					SWT.error (SWT.ERROR_FAILED_EXEC, t);
+				}
+			}
+			if (++count >= batchLimit) break;
+			if (batchNanos > 0 && System.nanoTime () - start >= batchNanos) break;
+			if (display == null || display.isDisposed ()) break;
+		} while ((message = removeFirst ()) != null);
+	} finally {
+		if (display != null && !display.isDisposed ()) {
+			display.sendPostEvent (SWT.None);
+		}
+	}
+	return true;
+}
+
+void runSyncMessage (RunnableLock lock) {
+	synchronized (lock) {
+		syncThread = lock.thread;
+		try {
+			lock.run (display);
+		} catch (Throwable t) {
+			lock.throwable = t;
+			SWT.error (SWT.ERROR_FAILED_EXEC, t);
+		} finally {
+			syncThread = null;
+			lock.notifyAll ();
+		}
+	}
+}
+
+/**
+ * Sets the limits used when running the messages posted by
+ * <code>asyncExec()</code> and <code>syncExec()</code>.
+ * <p>
+ * By default the receiver runs a single message each time the
+ * display looks for pending messages. When <code>maxMessages</code>
+ * is greater than zero, up to that many messages are run in one
+ * pass, stopping early when <code>maxNanos</code> nanoseconds have
+ * elapsed, after which the display returns to handling user input.
+ * Note that in this mode <code>SWT.PreEvent</code> and
+ * <code>SWT.PostEvent</code> are sent once per batch rather than
+ * once per message.
+ * </p>
+ *
+ * @param maxMessages the maximum number of messages run in one pass, or zero to run one message at a time
+ * @param maxNanos the maximum time in nanoseconds spent running one batch, or zero for no time limit
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_ARGUMENT - if either argument is negative</li>
+ * </ul>
+ *
+ * @since 3.127
+ */
+public void setBatchLimits (int maxMessages, long maxNanos) {
+	if (maxMessages < 0 || maxNanos < 0) SWT.error (SWT.ERROR_INVALID_ARGUMENT);
+	batchLimit = maxMessages;
+	batchNanos = maxNanos;
+}
+
 /**
  * Causes the <code>run()</code> method of the runnable to
  * be invoked by the user-interface thread at the next
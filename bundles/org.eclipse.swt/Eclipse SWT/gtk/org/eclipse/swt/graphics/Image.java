@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,12 +15,15 @@ package org.eclipse.swt.graphics;
 
 
 import java.io.*;
+import java.nio.*;
+import java.util.*;
 
 import org.eclipse.swt.*;
 import org.eclipse.swt.internal.*;
 import org.eclipse.swt.internal.DPIUtil.*;
 import org.eclipse.swt.internal.cairo.*;
 import org.eclipse.swt.internal.gtk.*;
+import org.eclipse.swt.internal.image.*;
 
 /**
  * Instances of this class are graphics which have been prepared
@@ -116,6 +119,21 @@ public final class Image extends Resource implements Drawable {
 	 */
 	public long surface;
 
+	/**
+	 * The GdkPixbuf created from the surface by <code>ImageList</code>,
+	 * released when the image is drawn on or its surface is replaced.
+	 * (Warning: This field is platform dependent)
+	 * <p>
+	 * <b>IMPORTANT:</b> This field is <em>not</em> part of the SWT
+	 * public API. It is marked public only so that it can be shared
+	 * within the packages provided by SWT. It is not available on all
+	 * platforms and should never be accessed from application code.
+	 * </p>
+	 *
+	 * @noreference This field is not intended to be referenced by clients.
+	 */
+	public long pixbuf;
+
 	/**
 	 * specifies the transparent pixel
 	 */
@@ -141,6 +159,11 @@ public final class Image extends Resource implements Drawable {
 	 */
 	static final int DEFAULT_SCANLINE_PAD = 4;
 
+	/**
+	 * Size in bytes of the buffer used to convert image data, see init(ImageData).
+	 */
+	static final int BAND_SIZE = 256 * 1024;
+
 	/**
 	 * ImageFileNameProvider to provide file names at various Zoom levels
 	 */
@@ -314,27 +337,20 @@ public Image(Device device, Image srcImage, int flag) {
 				break;
 			}
 			case SWT.IMAGE_GRAY: {
-				byte[] line = new byte[stride];
+				int[] line = new int[stride / 4];
 				for (int y=0; y<height; y++) {
 					C.memmove(line, data + (y * stride), stride);
-					for (int x=0, offset = 0; x<width; x++, offset += 4) {
-						int a = line[offset + oa] & 0xFF;
-						int r = line[offset + or] & 0xFF;
-						int g = line[offset + og] & 0xFF;
-						int b = line[offset + ob] & 0xFF;
-						if (hasAlpha && a != 0) {
-							r = ((r * 0xFF) + a / 2) / a;
-							g = ((g * 0xFF) + a / 2) / a;
-							b = ((b * 0xFF) + a / 2) / a;
-						}
+					if (hasAlpha) PixelKernels.unpremultiply(line, 0, width);
+					for (int x=0; x<width; x++) {
+						int pixel = line[x];
+						int r = (pixel >> 16) & 0xFF;
+						int g = (pixel >> 8) & 0xFF;
+						int b = pixel & 0xFF;
 						int intensity = (r+r+g+g+g+g+g+b) >> 3;
-						if (hasAlpha) {
-							/* pre-multiplied alpha */
-							intensity = (intensity * a) + 128;
-							intensity = (intensity + (intensity >> 8)) >> 8;
-						}
-						line[offset+or] = line[offset+og] = line[offset+ob] = (byte)intensity;
+						line[x] = (pixel & 0xFF000000) | intensity << 16 | intensity << 8 | intensity;
 					}
+					/* pre-multiplied alpha */
+					if (hasAlpha) PixelKernels.premultiply(line, 0, width);
 					C.memmove(data + (y * stride), line, stride);
 				}
 				break;
@@ -776,30 +792,23 @@ void createFromPixbuf(int type, long pixbuf) {
 
 	long data = Cairo.cairo_image_surface_get_data(surface);
 	int cairoStride = Cairo.cairo_image_surface_get_stride(surface);
-	int oa = 0, or = 0, og = 0, ob = 0;
+	int or, og, ob;
 	if (OS.BIG_ENDIAN) {
-		oa = 0; or = 1; og = 2; ob = 3;
+		or = 1; og = 2; ob = 3;
 	} else {
-		oa = 3; or = 2; og = 1; ob = 0;
+		or = 2; og = 1; ob = 0;
 	}
 	byte[] line = new byte[stride];
 	if (hasAlpha) {
+		/* The pixbuf rows are RGBA bytes, read them as big endian ints and convert in place */
+		int[] row = new int[pixbufWidth];
+		IntBuffer rowBuffer = ByteBuffer.wrap(line).asIntBuffer();
 		for (int y = 0; y < pixbufHeight; y++) {
-			C.memmove(line, pixels + (y * stride), stride);
-			for (int x = 0, offset = 0; x < pixbufWidth; x++, offset += 4) {
-				int a = line[offset + 3] & 0xFF;
-				int r = ((line[offset + 0] & 0xFF) * a) + 128;
-				r = (r + (r >> 8)) >> 8;
-				int g = ((line[offset + 1] & 0xFF) * a) + 128;
-				g = (g + (g >> 8)) >> 8;
-				int b = ((line[offset + 2] & 0xFF) * a) + 128;
-				b = (b + (b >> 8)) >> 8;
-				line[offset + oa] = (byte)a;
-				line[offset + or] = (byte)r;
-				line[offset + og] = (byte)g;
-				line[offset + ob] = (byte)b;
-			}
-			C.memmove(data + (y * stride), line, stride);
+			C.memmove(line, pixels + (y * stride), pixbufWidth * 4);
+			rowBuffer.get(0, row);
+			PixelKernels.rgbaToArgb(row, 0, pixbufWidth);
+			PixelKernels.premultiply(row, 0, pixbufWidth);
+			C.memmove(data + (y * cairoStride), row, pixbufWidth * 4);
 		}
 	} else {
 		byte[] cairoLine = new byte[cairoStride];
@@ -875,9 +884,19 @@ void destroyMask() {
 	mask = 0;
 }
 
+/**
+ * Releases the cached pixbuf, it no longer matches the surface.
+ */
+void destroyPixbuf() {
+	if (pixbuf == 0) return;
+	OS.g_object_unref(pixbuf);
+	pixbuf = 0;
+}
+
 @Override
 void destroy() {
 	if (memGC != null) memGC.dispose();
+	destroyPixbuf();
 	if (mask != 0) OS.g_object_unref(mask);
 	if (surface != 0) Cairo.cairo_surface_destroy(surface);
 	surface = mask = 0;
@@ -1020,53 +1039,84 @@ public ImageData getImageDataAtCurrentZoom () {
 	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
 
 	long surface = ImageList.convertSurface(this);
+	try {
+		int width = Cairo.cairo_image_surface_get_width(surface);
+		int height = Cairo.cairo_image_surface_get_height(surface);
+		return getImageData(surface, 0, 0, width, height);
+	} finally {
+		Cairo.cairo_surface_destroy(surface);
+	}
+}
+
+/**
+ * Returns an <code>ImageData</code> for the given area of the receiver.
+ * The result is the same as the given area of the image data returned
+ * by {@link #getImageData()}, but where possible only the requested
+ * area is read from the image. Modifications made to this
+ * <code>ImageData</code> will not affect the Image.
+ *
+ * @param bounds the area of the image data to return, in pixels of the
+ * image data at 100% zoom level
+ * @return an <code>ImageData</code> containing the data and attributes
+ * of the given area of the image at 100% zoom level
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the bounds are null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the bounds are empty or not within the image</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image is not a bitmap or an icon</li>
+ * </ul>
+ *
+ * @see #getImageData()
+ * @since 3.127
+ */
+public ImageData getImageData (Rectangle bounds) {
+	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (bounds == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	if (currentDeviceZoom != 100) {
+		ImageData data = getImageData();
+		checkRegion(bounds, data.width, data.height);
+		return data.getRegion(bounds.x, bounds.y, bounds.width, bounds.height);
+	}
+	long surface = ImageList.convertSurface(this);
+	try {
+		checkRegion(bounds, Cairo.cairo_image_surface_get_width(surface), Cairo.cairo_image_surface_get_height(surface));
+		return getImageData(surface, bounds.x, bounds.y, bounds.width, bounds.height);
+	} finally {
+		Cairo.cairo_surface_destroy(surface);
+	}
+}
+
+static void checkRegion(Rectangle bounds, int width, int height) {
+	if (bounds.width <= 0 || bounds.height <= 0 || bounds.x < 0 || bounds.y < 0 ||
+		bounds.width > width - bounds.x || bounds.height > height - bounds.y) {
+		SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	}
+}
+
+/**
+ * Converts the given area of a cairo image surface into image data. The
+ * surface is read one row at a time, straight into the image data.
+ */
+static ImageData getImageData(long surface, int x, int y, int width, int height) {
 	int format = Cairo.cairo_image_surface_get_format(surface);
-	int width = Cairo.cairo_image_surface_get_width(surface);
-	int height = Cairo.cairo_image_surface_get_height(surface);
 	int stride = Cairo.cairo_image_surface_get_stride(surface);
 	long surfaceData = Cairo.cairo_image_surface_get_data(surface);
 	boolean hasAlpha = format == Cairo.CAIRO_FORMAT_ARGB32;
-	int oa, or, og, ob;
-	if (OS.BIG_ENDIAN) {
-		oa = 0; or = 1; og = 2; ob = 3;
-	} else {
-		oa = 3; or = 2; og = 1; ob = 0;
-	}
-	byte[] srcData = new byte[stride * height];
-	C.memmove(srcData, surfaceData, srcData.length);
 	PaletteData palette = new PaletteData(0xFF0000, 0xFF00, 0xFF);
-	ImageData data = new ImageData(width, height, 32, palette, 4, srcData);
-	if (hasAlpha) {
-		byte[] alphaData = data.alphaData = new byte[width * height];
-		for (int y = 0, offset = 0, alphaOffset = 0; y < height; y++) {
-			for (int x = 0; x < width; x++, offset += 4) {
-				int a = srcData[offset + oa] & 0xFF;
-				int r = srcData[offset + or] & 0xFF;
-				int g = srcData[offset + og] & 0xFF;
-				int b = srcData[offset + ob] & 0xFF;
-				srcData[offset + 0] = 0;
-				alphaData[alphaOffset++] = (byte)a;
-				if (a != 0) {
-					srcData[offset + 1] = (byte)(((r * 0xFF) + a / 2) / a);
-					srcData[offset + 2] = (byte)(((g * 0xFF) + a / 2) / a);
-					srcData[offset + 3] = (byte)(((b * 0xFF) + a / 2) / a);
-				}
-			}
-		}
-	} else {
-		for (int y = 0, offset = 0; y < height; y++) {
-			for (int x = 0; x < width; x++, offset += 4) {
-				byte r = srcData[offset + or];
-				byte g = srcData[offset + og];
-				byte b = srcData[offset + ob];
-				srcData[offset + 0] = 0;
-				srcData[offset + 1] = r;
-				srcData[offset + 2] = g;
-				srcData[offset + 3] = b;
-			}
-		}
+	ImageData data = new ImageData(width, height, 32, palette);
+	byte[] alphaData = hasAlpha ? data.alphaData = new byte[width * height] : null;
+	/* The rows of the image data are the pixels without alpha as big endian ints */
+	IntBuffer destData = ByteBuffer.wrap(data.data).asIntBuffer();
+	int[] row = new int[width];
+	for (int j = 0; j < height; j++) {
+		C.memmove(row, surfaceData + (long)(y + j) * stride + x * 4, width * 4);
+		if (hasAlpha) PixelKernels.unpremultiply(row, 0, width);
+		PixelKernels.extractAlpha(row, 0, width, alphaData, j * width);
+		destData.put(j * width, row);
 	}
-	Cairo.cairo_surface_destroy(surface);
 	return data;
 }
 
@@ -1242,50 +1292,39 @@ void init(ImageData image) {
 
 	int stride = Cairo.cairo_image_surface_get_stride(surface);
 	long data = Cairo.cairo_image_surface_get_data(surface);
-	int oa = 0, or = 0, og = 0, ob = 0;
 	int redMask, greenMask, blueMask, destDepth = 32, destOrder;
 	if (OS.BIG_ENDIAN) {
-		oa = 0; or = 1; og = 2; ob = 3;
 		redMask = 0xFF00;
 		greenMask = 0xFF0000;
 		blueMask = 0xFF000000;
 		destOrder = ImageData.MSB_FIRST;
 	} else {
-		oa = 3; or = 2; og = 1; ob = 0;
 		redMask = 0xFF0000;
 		greenMask = 0xFF00;
 		blueMask = 0xFF;
 		destOrder = ImageData.LSB_FIRST;
 	}
-	byte[] buffer = image.data;
-	if (!palette.isDirect || image.depth != destDepth || stride != image.bytesPerLine || palette.redMask != redMask || palette.greenMask != greenMask || palette.blueMask != blueMask || destOrder != image.getByteOrder()) {
-		buffer = new byte[stride * imageDataHeight];
-		if (palette.isDirect) {
-			ImageData.blit(
-				image.data, image.depth, image.bytesPerLine, image.getByteOrder(), imageDataWidth, imageDataHeight, palette.redMask, palette.greenMask, palette.blueMask,
-				buffer, destDepth, stride, destOrder, imageDataWidth, imageDataHeight, redMask, greenMask, blueMask,
-				false, false);
-		} else {
-			RGB[] rgbs = palette.getRGBs();
-			int length = rgbs.length;
-			byte[] srcReds = new byte[length];
-			byte[] srcGreens = new byte[length];
-			byte[] srcBlues = new byte[length];
-			for (int i = 0; i < rgbs.length; i++) {
-				RGB rgb = rgbs[i];
-				if (rgb == null) continue;
-				srcReds[i] = (byte)rgb.red;
-				srcGreens[i] = (byte)rgb.green;
-				srcBlues[i] = (byte)rgb.blue;
-			}
-			ImageData.blit(
-				imageDataWidth, imageDataHeight,
-				image.data, image.depth, image.bytesPerLine, image.getByteOrder(), srcReds, srcGreens, srcBlues,
-				buffer, destDepth, stride, destOrder, redMask, greenMask, blueMask);
+	boolean convert = !palette.isDirect || image.depth != destDepth || stride != image.bytesPerLine || palette.redMask != redMask || palette.greenMask != greenMask || palette.blueMask != blueMask || destOrder != image.getByteOrder();
+	byte[] srcReds = null, srcGreens = null, srcBlues = null;
+	if (!palette.isDirect) {
+		RGB[] rgbs = palette.getRGBs();
+		int length = rgbs.length;
+		srcReds = new byte[length];
+		srcGreens = new byte[length];
+		srcBlues = new byte[length];
+		for (int i = 0; i < rgbs.length; i++) {
+			RGB rgb = rgbs[i];
+			if (rgb == null) continue;
+			srcReds[i] = (byte)rgb.red;
+			srcGreens[i] = (byte)rgb.green;
+			srcBlues[i] = (byte)rgb.blue;
 		}
 	}
 	boolean isIcon = image.getTransparencyType() == SWT.TRANSPARENCY_MASK;
 	this.type = isIcon ? SWT.ICON : SWT.BITMAP;
+	ImageData mask = null;
+	int alpha = -1;
+	byte[] alphaData = null;
 	if (isIcon || image.transparentPixel != -1) {
 		if (image.transparentPixel != -1) {
 			RGB rgb = null;
@@ -1300,62 +1339,77 @@ void init(ImageData image) {
 				transparentPixel = rgb.red << 16 | rgb.green << 8 | rgb.blue;
 			}
 		}
-		ImageData mask = image.getTransparencyMask();
-		for (int y = 0, offset = 0; y < imageDataHeight; y++) {
-			for (int x=0; x<imageDataWidth; x++, offset += 4) {
-				int alpha = mask.getPixel(x, y) == 0 ? 0 : 0xff;
-				/* pre-multiplied alpha */
-				int r = ((buffer[offset + or] & 0xFF) * alpha) + 128;
-				r = (r + (r >> 8)) >> 8;
-				int g = ((buffer[offset + og] & 0xFF) * alpha) + 128;
-				g = (g + (g >> 8)) >> 8;
-				int b = ((buffer[offset + ob] & 0xFF) * alpha) + 128;
-				b = (b + (b >> 8)) >> 8;
-				buffer[offset + oa] = (byte)alpha;
-				buffer[offset + or] = (byte)r;
-				buffer[offset + og] = (byte)g;
-				buffer[offset + ob] = (byte)b;
+		mask = image.getTransparencyMask();
+	} else if (image.alpha != -1) {
+		alpha = image.alpha;
+	} else {
+		alphaData = image.alphaData;
+	}
+	boolean premultiply = mask != null || alpha != -1 || alphaData != null;
+	if (!convert && !premultiply) {
+		C.memmove(data, image.data, (long)stride * imageDataHeight);
+		Cairo.cairo_surface_mark_dirty(surface);
+		return;
+	}
+
+	/*
+	* Convert and premultiply a band of rows at a time and copy it into the
+	* surface, so that no buffer of the size of the whole image is needed.
+	* This also leaves the data of the ImageData untouched.
+	*/
+	int bandHeight = Math.max(1, Math.min(imageDataHeight, BAND_SIZE / stride));
+	byte[] buffer = new byte[stride * bandHeight];
+	int srcStride = image.bytesPerLine;
+	byte[] srcBuffer = convert ? new byte[srcStride * bandHeight] : null;
+	int rowLength = stride / 4;
+	int[] pixels = premultiply ? new int[rowLength * bandHeight] : null;
+	byte[] alphaRow = null;
+	if (mask != null) {
+		alphaRow = new byte[imageDataWidth];
+	} else if (alphaData == null && alpha != -1) {
+		alphaRow = new byte[imageDataWidth];
+		Arrays.fill(alphaRow, (byte)alpha);
+	}
+	for (int y = 0; y < imageDataHeight; y += bandHeight) {
+		int rows = Math.min(bandHeight, imageDataHeight - y);
+		if (convert) {
+			System.arraycopy(image.data, y * srcStride, srcBuffer, 0, Math.min(rows * srcStride, image.data.length - y * srcStride));
+			if (palette.isDirect) {
+				ImageData.blit(
+					srcBuffer, image.depth, srcStride, image.getByteOrder(), imageDataWidth, rows, palette.redMask, palette.greenMask, palette.blueMask,
+					buffer, destDepth, stride, destOrder, imageDataWidth, rows, redMask, greenMask, blueMask,
+					false, false);
+			} else {
+				ImageData.blit(
+					imageDataWidth, rows,
+					srcBuffer, image.depth, srcStride, image.getByteOrder(), srcReds, srcGreens, srcBlues,
+					buffer, destDepth, stride, destOrder, redMask, greenMask, blueMask);
 			}
+		} else {
+			System.arraycopy(image.data, y * stride, buffer, 0, rows * stride);
 		}
-	} else {
-		if (image.alpha != -1) {
-			int alpha = image.alpha;
-			for (int y = 0, offset = 0; y < imageDataHeight; y++) {
-				for (int x=0; x<imageDataWidth; x++, offset += 4) {
-					/* pre-multiplied alpha */
-					int r = ((buffer[offset + or] & 0xFF) * alpha) + 128;
-					r = (r + (r >> 8)) >> 8;
-					int g = ((buffer[offset + og] & 0xFF) * alpha) + 128;
-					g = (g + (g >> 8)) >> 8;
-					int b = ((buffer[offset + ob] & 0xFF) * alpha) + 128;
-					b = (b + (b >> 8)) >> 8;
-					buffer[offset + oa] = (byte)alpha;
-					buffer[offset + or] = (byte)r;
-					buffer[offset + og] = (byte)g;
-					buffer[offset + ob] = (byte)b;
+		if (premultiply) {
+			/* The rows are in the native layout of cairo, read them as native ints */
+			ByteBuffer.wrap(buffer, 0, rows * stride).order(ByteOrder.nativeOrder()).asIntBuffer().get(pixels, 0, rows * rowLength);
+			for (int row = 0; row < rows; row++) {
+				if (mask != null) {
+					int maskOffset = (y + row) * mask.bytesPerLine;
+					for (int x = 0; x < imageDataWidth; x++) {
+						alphaRow[x] = (mask.data[maskOffset + (x >> 3)] & (0x80 >> (x & 7))) == 0 ? 0 : (byte)0xff;
+					}
 				}
-			}
-		} else if (image.alphaData != null) {
-			byte[] alphaData = image.alphaData;
-			for (int y = 0, offset = 0; y < imageDataHeight; y++) {
-				for (int x=0; x<imageDataWidth; x++, offset += 4) {
-					int alpha = alphaData [y*imageDataWidth+x] & 0xFF;
-					/* pre-multiplied alpha */
-					int r = ((buffer[offset + or] & 0xFF) * alpha) + 128;
-					r = (r + (r >> 8)) >> 8;
-					int g = ((buffer[offset + og] & 0xFF) * alpha) + 128;
-					g = (g + (g >> 8)) >> 8;
-					int b = ((buffer[offset + ob] & 0xFF) * alpha) + 128;
-					b = (b + (b >> 8)) >> 8;
-					buffer[offset + oa] = (byte)alpha;
-					buffer[offset + or] = (byte)r;
-					buffer[offset + og] = (byte)g;
-					buffer[offset + ob] = (byte)b;
+				/* pre-multiplied alpha */
+				if (alphaRow != null) {
+					PixelKernels.premultiply(pixels, row * rowLength, imageDataWidth, alphaRow, 0);
+				} else {
+					PixelKernels.premultiply(pixels, row * rowLength, imageDataWidth, alphaData, (y + row) * imageDataWidth);
 				}
 			}
+			C.memmove(data + (long)y * stride, pixels, (long)rows * stride);
+		} else {
+			C.memmove(data + (long)y * stride, buffer, (long)rows * stride);
 		}
 	}
-	C.memmove(data, buffer, stride * imageDataHeight);
 	Cairo.cairo_surface_mark_dirty(surface);
 }
 
@@ -1380,6 +1434,7 @@ public long internal_new_GC (GCData data) {
 	if (type != SWT.BITMAP || memGC != null) {
 		SWT.error(SWT.ERROR_INVALID_ARGUMENT);
 	}
+	destroyPixbuf();
 	long gc = Cairo.cairo_create(surface);
 	if (data != null) {
 		int mask = SWT.LEFT_TO_RIGHT | SWT.RIGHT_TO_LEFT;
@@ -1417,6 +1472,7 @@ public long internal_new_GC (GCData data) {
 @Override
 public void internal_dispose_GC (long hDC, GCData data) {
 	Cairo.cairo_destroy(hDC);
+	destroyPixbuf();
 }
 
 /**
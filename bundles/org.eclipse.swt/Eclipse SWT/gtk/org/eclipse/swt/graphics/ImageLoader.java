@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019 Red Hat and others. All rights reserved.
+ * Copyright (c) 2019, 2026 Red Hat and others. All rights reserved.
  * The contents of this file are made available under the terms
  * of the GNU Lesser General Public License (LGPL) Version 2.1 that
  * accompanies this distribution (lgpl-v21.txt).  The LGPL is also
@@ -16,6 +16,7 @@ package org.eclipse.swt.graphics;
 
 
 import java.io.*;
+import java.nio.*;
 import java.util.*;
 import java.util.List;
 
@@ -110,16 +111,99 @@ public class ImageLoader {
 	 */
 	public int compression;
 
+	/**
+	 * The maximum width of the images that are loaded, or 0 for no limit.
+	 * Larger images are scaled down when they are loaded, keeping their
+	 * aspect ratio. Images are never scaled up. Decoders that support it,
+	 * like the JPEG decoder, reduce the image while it is decoded, which
+	 * needs less time and memory than loading it at full size for thumbnails.
+	 * <p>
+	 * Note that scaled images are always 24 bit direct images, whatever the
+	 * depth of the image that is loaded: palette images lose their palette,
+	 * and a transparent pixel or a mask is converted to alpha data. Images
+	 * that already fit are returned unchanged.
+	 * </p>
+	 * <p>
+	 * This field is not reset by the load methods.
+	 * </p>
+	 *
+	 * @see #maximumHeight
+	 * @since 3.127
+	 */
+	public int maximumWidth;
+
+	/**
+	 * The maximum height of the images that are loaded, or 0 for no limit.
+	 *
+	 * @see #maximumWidth
+	 * @since 3.127
+	 */
+	public int maximumHeight;
+
+	/**
+	 * The number of decoded frames of an animated GIF image that are kept
+	 * in memory, or 0 to decode all frames when the image is loaded. The
+	 * default is 0.
+	 * <p>
+	 * When the value is positive, the load methods only decode the first
+	 * frame of a GIF image into <code>data</code>. The other frames are
+	 * decoded when they are requested with <code>getFrame(int)</code>, and
+	 * only the given number of most recently used frames are kept, which
+	 * needs much less memory for long animations. The listeners are
+	 * notified with an <code>ImageLoaderEvent</code> whenever a frame was
+	 * decoded. Images in other formats are loaded as usual.
+	 * </p><p>
+	 * This field is not reset by the load methods.
+	 * </p>
+	 *
+	 * @see #getFrame(int)
+	 * @see #decodeAhead
+	 * @since 3.127
+	 */
+	public int frameCacheSize;
+
+	/**
+	 * Whether <code>getFrame(int)</code> decodes the frame following the
+	 * requested one on a background thread, so that it is ready when an
+	 * animation needs it. Only used when <code>frameCacheSize</code> is
+	 * positive. The default is <code>false</code>.
+	 * <p>
+	 * This field is not reset by the load methods.
+	 * </p>
+	 *
+	 * @see #frameCacheSize
+	 * @since 3.127
+	 */
+	public boolean decodeAhead;
+
 	/**
 	 * If the 29th byte of the PNG file is not zero, then it is interlaced.
 	 */
 	final static int PNG_INTERLACE_METHOD_OFFSET = 28;
 
+	/**
+	 * The size of the chunks in which streams are passed to the GdkPixbufLoader.
+	 */
+	final static int STREAM_BUFFER_SIZE = 64 * 1024;
+
 	/*
 	 * the set of ImageLoader event listeners, created on demand
 	 */
 	List<ImageLoaderListener> imageLoaderListeners;
 
+	/*
+	 * the frames of a GIF image that are decoded on demand, or null
+	 */
+	GIFFrames frames;
+
+	/*
+	 * the end of the rows last reported by the "area-updated" signal, and
+	 * whether the loader has finished a pass over the image since the last
+	 * progress event
+	 */
+	int updatedRow, progressCount;
+	boolean passDone;
+
 /**
  * Construct a new empty ImageLoader.
  */
@@ -129,10 +213,16 @@ public ImageLoader() {
 
 /**
  * Resets the fields of the ImageLoader, except for the
- * <code>imageLoaderListeners</code> field.
+ * <code>imageLoaderListeners</code>, <code>maximumWidth</code>,
+ * <code>maximumHeight</code>, <code>frameCacheSize</code>
+ * and <code>decodeAhead</code> fields.
  */
 void reset() {
 	data = null;
+	if (frames != null) {
+		frames.dispose();
+		frames = null;
+	}
 	logicalScreenWidth = 0;
 	logicalScreenHeight = 0;
 	backgroundPixel = -1;
@@ -161,6 +251,31 @@ void reset() {
 public ImageData[] load(InputStream stream) {
 	if (stream == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
 	reset();
+	if (frameCacheSize > 0) {
+		byte[] bytes = GIFFrames.readAllBytes(stream);
+		frames = GIFFrames.load(bytes, this);
+		if (frames != null) {
+			data = new ImageData[] {frames.getFrame(0)};
+			return data;
+		}
+		stream = new ByteArrayInputStream(bytes);
+	}
+	if (FileFormat.hasProviders()) {
+		/* Formats that are added by providers are not known to GdkPixbuf */
+		try {
+			BufferedInputStream buffered = new BufferedInputStream(stream);
+			buffered.mark(FileFormat.HEADER_LENGTH);
+			byte[] header = buffered.readNBytes(FileFormat.HEADER_LENGTH);
+			buffered.reset();
+			stream = buffered;
+			if (FileFormat.getProvider(header) != null) {
+				data = FileFormat.load(stream, this);
+				return data;
+			}
+		} catch (IOException e) {
+			SWT.error(SWT.ERROR_IO, e);
+		}
+	}
 	ImageData [] imgDataArray = getImageDataArrayFromStream(stream);
 	data = imgDataArray;
 	return imgDataArray;
@@ -178,19 +293,47 @@ boolean isInterlacedPNG(byte [] imageAsByteArray) {
 ImageData [] getImageDataArrayFromStream(InputStream stream) {
 	long loader = GDK.gdk_pixbuf_loader_new();
 	List<ImageData> imgDataList = new ArrayList<>();
+	/*
+	 * Pass the stream to the GdkPixbufLoader in chunks as they are read,
+	 * through one native buffer, so that the loader decodes while the
+	 * stream is read and the file is never held in memory as a whole.
+	 */
+	byte[] chunk = new byte[STREAM_BUFFER_SIZE];
+	byte[] header = new byte[PNG_INTERLACE_METHOD_OFFSET + 1];
+	long buffer_ptr = OS.g_malloc(STREAM_BUFFER_SIZE);
+	Callback areaUpdated = null;
+	boolean closed = false;
 	try {
-		// 1) Load InputStream into byte array
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		stream.transferTo(baos);
-		baos.flush();
-		byte[] data_buffer = baos.toByteArray();
-		if (data_buffer.length == 0) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);	// empty stream
-
-		// 2) Copy byte array to C memory, write to GdkPixbufLoader
-		long buffer_ptr = OS.g_malloc(data_buffer.length);
-		C.memmove(buffer_ptr, data_buffer, data_buffer.length);
+		if (hasListeners()) {
+			/* Report the rows decoded so far as progress events */
+			areaUpdated = new Callback(this, "areaUpdatedProc", 6);
+			long proc = areaUpdated.getAddress();
+			if (proc == 0) SWT.error(SWT.ERROR_NO_MORE_CALLBACKS);
+			OS.g_signal_connect(loader, OS.area_updated, proc, 0);
+			updatedRow = progressCount = 0;
+			passDone = false;
+		}
+		// 1) Read the InputStream and write it chunk by chunk to the GdkPixbufLoader
+		int length = 0, count;
 		long [] error = new long [1];
-		GDK.gdk_pixbuf_loader_write(loader, buffer_ptr, data_buffer.length, error);
+		while ((count = stream.read(chunk)) != -1) {
+			if (count == 0) {
+				/* read(byte[]) must block until it can read a byte, read a single byte to wait for one */
+				int next = stream.read();
+				if (next == -1) break;
+				chunk[0] = (byte) next;
+				count = 1;
+			}
+			if (length < header.length) {
+				System.arraycopy(chunk, 0, header, length, Math.min(count, header.length - length));
+			}
+			length += count;
+			C.memmove(buffer_ptr, chunk, count);
+			if (!GDK.gdk_pixbuf_loader_write(loader, buffer_ptr, count, error)) break;
+			if (areaUpdated != null) notifyProgress(loader, header);
+		}
+		if (length == 0) SWT.error(SWT.ERROR_UNSUPPORTED_FORMAT);	// empty stream
+		if (length < header.length) header = Arrays.copyOf(header, length);
 		if(error[0] != 0) {
 			/* Bug 576484
 			 * It is safe just to assume if this fails it is most likely an IO error
@@ -204,8 +347,9 @@ ImageData [] getImageDataArrayFromStream(InputStream stream) {
 			}
 		}
 		GDK.gdk_pixbuf_loader_close(loader, null);
+		closed = true;
 
-		// 3) Get GdkPixbufAnimation from loader
+		// 2) Get GdkPixbufAnimation from loader
 		long pixbuf_animation = GDK.gdk_pixbuf_loader_get_animation(loader);
 		if (pixbuf_animation == 0) SWT.error(SWT.ERROR_INVALID_IMAGE);
 
@@ -257,23 +401,95 @@ ImageData [] getImageDataArrayFromStream(InputStream stream) {
 			// listener should only be called when loading interlaced/progressive PNG/JPG/GIF ?
 			ImageData data = (ImageData) imgDataArray [i].clone();
 			if (this.hasListeners() && imgDataArray != null) {
-				if (data.type == SWT.IMAGE_PNG && isInterlacedPNG(data_buffer)) {
+				if (data.type == SWT.IMAGE_PNG && isInterlacedPNG(header)) {
 					this.notifyListeners(new ImageLoaderEvent(this, data, i, true));
 				} else if (data.type != SWT.IMAGE_PNG) {
 					this.notifyListeners(new ImageLoaderEvent(this, data, i, true));
 				}
 			}
 		}
-		OS.g_free(buffer_ptr);
-		OS.g_object_unref(loader);
 		stream.close();
-		return imgDataArray;
+		return FileFormat.scaleToFit(imgDataArray, this);
 	} catch (IOException e) {
 		SWT.error(SWT.ERROR_IO);
+	} finally {
+		OS.g_free(buffer_ptr);
+		if (!closed) GDK.gdk_pixbuf_loader_close(loader, null);
+		OS.g_object_unref(loader);
+		if (areaUpdated != null) areaUpdated.dispose();
 	}
 	return null;
 }
 
+/**
+ * Records the rows of the image that the GdkPixbufLoader has updated. The
+ * rows of a pass are updated from the top down, so a row above the last
+ * one starts the next pass of an interlaced or progressive image.
+ */
+long areaUpdatedProc(long loader, long x, long y, long width, long height, long user_data) {
+	if (y < updatedRow) passDone = true;
+	updatedRow = (int)(y + height);
+	return 0;
+}
+
+/**
+ * Sends a progress event with the partially loaded image if the
+ * GdkPixbufLoader has finished a pass over it since the last event. As
+ * in the decoders of <code>FileFormat</code>, the progress is reported
+ * once per pass of an interlaced or progressive image, with one copy of
+ * the image that is not shared with the loader, and the image is only
+ * reported when it is complete if it has a single pass.
+ */
+void notifyProgress(long loader, byte[] header) {
+	if (!passDone) return;
+	passDone = false;
+	if (getImageFormat(loader) == SWT.IMAGE_PNG && !isInterlacedPNG(header)) return;
+	long pixbuf = GDK.gdk_pixbuf_loader_get_pixbuf(loader);
+	if (pixbuf == 0) return;
+	notifyListeners(new ImageLoaderEvent(this, pixbufToImageData(pixbuf), progressCount++, false));
+}
+
+/**
+ * Returns the number of frames of the image that was loaded last.
+ * This is the length of <code>data</code>, unless the frames of a
+ * GIF image are decoded on demand.
+ *
+ * @return the number of frames
+ *
+ * @see #frameCacheSize
+ * @since 3.127
+ */
+public int getFrameCount() {
+	if (frames != null) return frames.getFrameCount();
+	return data == null ? 0 : data.length;
+}
+
+/**
+ * Returns the frame with the given index of the image that was
+ * loaded last. If the frames of a GIF image are decoded on demand,
+ * the frame is decoded unless it is cached, otherwise it is the
+ * element of <code>data</code>.
+ *
+ * @param index the index of the frame
+ * @return the frame
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_RANGE - if the index is not between 0 and the number of frames minus 1</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_INVALID_IMAGE - if the frame contains invalid data</li>
+ * </ul>
+ *
+ * @see #frameCacheSize
+ * @see #getFrameCount()
+ * @since 3.127
+ */
+public ImageData getFrame(int index) {
+	if (frames != null) return frames.getFrame(index);
+	if (data == null || index < 0 || index >= data.length) SWT.error(SWT.ERROR_INVALID_RANGE);
+	return data[index];
+}
+
 /**
  * Loads an array of <code>ImageData</code> objects from the
  * file with the specified name. Throws an error if either
@@ -389,31 +605,14 @@ static ImageData pixbufToImageData(long pixbuf) {
 	ImageData imgData = new ImageData(width, height, bits_per_sample * n_channels, palette, stride, srcData);
 	if (hasAlpha) {
 		byte[] alphaData = imgData.alphaData = new byte[width * height];
-		for (int y = 0, offset = 0, alphaOffset = 0; y < height; y++) {
-			for (int x = 0; x < width; x++, offset += n_channels) {
-				byte r = srcData[offset + 0];
-				byte g = srcData[offset + 1];
-				byte b = srcData[offset + 2];
-				byte a = srcData[offset + 3];
-				srcData[offset + 0] = 0;
-				alphaData[alphaOffset++] = a;
-				if (a != 0) {
-					srcData[offset + 1] = r;
-					srcData[offset + 2] = g;
-					srcData[offset + 3] = b;
-				}
-			}
-		}
-	} else {
-		for (int y = 0, offset = 0; y < height; y++) {
-			for (int x = 0; x < width; x++, offset += n_channels) {
-				byte r = srcData[offset + 0];
-				byte g = srcData[offset + 1];
-				byte b = srcData[offset + 2];
-				srcData[offset + 0] = r;
-				srcData[offset + 1] = g;
-				srcData[offset + 2] = b;
-			}
+		/* Convert the RGBA rows, read as big endian ints, in place to the image data layout */
+		IntBuffer rgbaRows = ByteBuffer.wrap(srcData).asIntBuffer();
+		int[] row = new int[width];
+		for (int y = 0; y < height; y++) {
+			rgbaRows.get(y * stride / 4, row);
+			PixelKernels.rgbaToArgb(row, 0, width);
+			PixelKernels.extractAlpha(row, 0, width, alphaData, y * width);
+			rgbaRows.put(y * stride / 4, row);
 		}
 	}
 	return imgData;
@@ -627,6 +826,43 @@ public void save(String filename, int format) {
 	}
 }
 
+/**
+ * Registers a provider of an image file format that is not built into
+ * SWT, for environments where the {@link java.util.ServiceLoader} cannot
+ * find it, such as OSGi. The provider is used by all image loaders until
+ * it is removed.
+ *
+ * @param provider the provider of the file format
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the provider is null</li>
+ * </ul>
+ *
+ * @see ImageFormatProvider
+ * @since 3.127
+ */
+public static void addFormatProvider(ImageFormatProvider provider) {
+	FileFormat.register(provider);
+}
+
+/**
+ * Removes a provider of an image file format that was registered with
+ * {@link #addFormatProvider(ImageFormatProvider)}.
+ *
+ * @param provider the provider of the file format
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the provider is null</li>
+ * </ul>
+ *
+ * @see ImageFormatProvider
+ * @since 3.127
+ */
+public static void removeFormatProvider(ImageFormatProvider provider) {
+	if (provider == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	FileFormat.unregister(provider);
+}
+
 /**
  * Adds the listener to the collection of listeners who will be
  * notified when image data is either partially or completely loaded.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2017 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ package org.eclipse.swt.internal;
 import java.io.*;
 import java.nio.*;
 import java.nio.charset.*;
+import java.util.*;
 
 import org.eclipse.swt.internal.gtk.*;
 
@@ -91,6 +92,12 @@ import org.eclipse.swt.internal.gtk.*;
  * - I suggest using Java functions where possible to avoid memory leaks.
  *   (Yes, they happen and are big-pain-in-the-ass to find https://bugs.eclipse.org/bugs/show_bug.cgi?id=533995)
  *
+ * - The conversions in this class are implemented in Java and produce exactly the same output as the glib
+ *   functions above, including their handling of embedded nulls and unpaired surrogates. This avoids a JNI
+ *   call, a native allocation and a copy per conversion. The glib based implementations are kept in
+ *   mbcsToWcsGlib/wcsToMbcsGlib, are used to verify the Java implementation and can be enabled again by
+ *   setting the system property "org.eclipse.swt.internal.gtk.glibConverter".
+ *
  *
  * Learning about encoding:
  * #########################
@@ -119,6 +126,12 @@ public final class Converter {
 	public static final byte [] EmptyByteArray = new byte [0];
 	public static final char [] EmptyCharArray = new char [0];
 
+	static final boolean USE_GLIB = System.getProperty ("org.eclipse.swt.internal.gtk.glibConverter") != null; //$NON-NLS-1$
+
+	/* Strings up to this length are copied into a reusable per thread buffer before encoding */
+	static final int SCRATCH_LENGTH = 1024;
+	static final ThreadLocal<char []> SCRATCH = ThreadLocal.withInitial (() -> new char [SCRATCH_LENGTH]);
+
 
 /**
  * Convert a "C" multibyte UTF-8 string byte array into a Java UTF-16 Wide character array.
@@ -127,6 +140,78 @@ public final class Converter {
  * @return char array representing the string. Usually used for String construction like: new String(mbcsToWcs(..))
  */
 public static char [] mbcsToWcs (byte [] buffer) {
+	if (USE_GLIB) return mbcsToWcsGlib (buffer);
+	int length = buffer.length;
+
+	/* Fast path for ASCII */
+	int index = 0;
+	while (index < length && buffer [index] > 0) index++;
+	if (index == length || buffer [index] == 0) {
+		char [] chars = new char [index];
+		for (int i = 0; i < index; i++) chars [i] = (char) buffer [i];
+		return chars;
+	}
+
+	/*
+	* Like g_utf8_to_utf16(), stop at the first null and return an empty
+	* array if the input contains a malformed or truncated sequence, an
+	* encoded surrogate or a code point above U+10FFFF. A UTF-8 sequence
+	* never has fewer bytes than the UTF-16 units it encodes.
+	*/
+	char [] chars = new char [length];
+	for (int i = 0; i < index; i++) chars [i] = (char) buffer [i];
+	int count = index;
+	while (index < length) {
+		int b = buffer [index] & 0xFF;
+		if (b == 0) break;
+		if (b < 0x80) {
+			chars [count++] = (char) b;
+			index++;
+			continue;
+		}
+		int size, codePoint, min;
+		if (b < 0xC0) {
+			return EmptyCharArray;
+		} else if (b < 0xE0) {
+			size = 2; codePoint = b & 0x1F; min = 0x80;
+		} else if (b < 0xF0) {
+			size = 3; codePoint = b & 0x0F; min = 0x800;
+		} else if (b < 0xF8) {
+			size = 4; codePoint = b & 0x07; min = 0x10000;
+		} else {
+			/* 5 and 6 byte sequences are either malformed or above U+10FFFF */
+			return EmptyCharArray;
+		}
+		if (index + size > length) return EmptyCharArray;
+		for (int i = 1; i < size; i++) {
+			int next = buffer [index + i] & 0xFF;
+			if ((next & 0xC0) != 0x80) return EmptyCharArray;
+			codePoint = (codePoint << 6) | (next & 0x3F);
+		}
+		if (codePoint < min || codePoint > Character.MAX_CODE_POINT) return EmptyCharArray;
+		if (Character.MIN_SURROGATE <= codePoint && codePoint <= Character.MAX_SURROGATE) return EmptyCharArray;
+		if (codePoint < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+			chars [count++] = (char) codePoint;
+		} else {
+			chars [count++] = Character.highSurrogate (codePoint);
+			chars [count++] = Character.lowSurrogate (codePoint);
+		}
+		index += size;
+	}
+	return count == chars.length ? chars : Arrays.copyOf (chars, count);
+}
+
+/**
+ * Convert a "C" multibyte UTF-8 string byte array into a Java UTF-16 Wide character array
+ * using <code>g_utf8_to_utf16</code>.
+ * <p>
+ * This is the reference implementation of {@link #mbcsToWcs(byte[])}.
+ * </p>
+ *
+ * @param buffer - byte buffer with C bytes representing a string.
+ * @return char array representing the string.
+ */
+public static char [] mbcsToWcsGlib (byte [] buffer) {
 	long [] items_written = new long [1];
 	long ptr = OS.g_utf8_to_utf16 (buffer, buffer.length, null, items_written, null);
 	if (ptr == 0) return EmptyCharArray;
@@ -150,9 +235,10 @@ public static char [] mbcsToWcs (byte [] buffer) {
  */
 public static byte [] wcsToMbcs (String string, boolean terminate) {
 	int length = string.length ();
-	char [] buffer = new char [length];
+	char [] buffer = length <= SCRATCH_LENGTH ? SCRATCH.get () : new char [length];
 	string.getChars (0, length, buffer, 0);
-	return wcsToMbcs (buffer, terminate);
+	if (USE_GLIB) return wcsToMbcsGlib (buffer.length == length ? buffer : Arrays.copyOf (buffer, length), terminate);
+	return wcsToMbcs (buffer, length, terminate);
 }
 
 /**
@@ -201,6 +287,85 @@ public static String cCharPtrToJavaString(long cCharPtr, boolean freecCharPtr) {
  * @return byte array that can be passed to a native function.
  */
 public static byte [] wcsToMbcs (char [] chars, boolean terminate) {
+	if (USE_GLIB) return wcsToMbcsGlib (chars, terminate);
+	return wcsToMbcs (chars, chars.length, terminate);
+}
+
+static byte [] wcsToMbcs (char [] chars, int length, boolean terminate) {
+	int extra = terminate ? 1 : 0;
+
+	/* Fast path for ASCII */
+	int index = 0;
+	while (index < length) {
+		char ch = chars [index];
+		if (ch == 0 || ch >= 0x80) break;
+		index++;
+	}
+	if (index == length || chars [index] == 0) {
+		byte [] bytes = new byte [index + extra];
+		for (int i = 0; i < index; i++) bytes [i] = (byte) chars [i];
+		return bytes;
+	}
+
+	/*
+	* Like g_utf16_to_utf8(), stop at the first null, drop a high surrogate
+	* at the end of the input and fail if any other surrogate is unpaired.
+	* The first pass validates the input and computes the size of the result.
+	*/
+	int size = index;
+	boolean highSurrogate = false;
+	for (; index < length; index++) {
+		char ch = chars [index];
+		if (ch == 0) break;
+		if (Character.isLowSurrogate (ch)) {
+			if (!highSurrogate) return terminate ? NullByteArray : EmptyByteArray;
+			highSurrogate = false;
+			size += 4;
+		} else {
+			if (highSurrogate) return terminate ? NullByteArray : EmptyByteArray;
+			if (Character.isHighSurrogate (ch)) {
+				highSurrogate = true;
+			} else {
+				size += ch < 0x80 ? 1 : ch < 0x800 ? 2 : 3;
+			}
+		}
+	}
+	byte [] bytes = new byte [size + extra];
+	int count = 0;
+	for (int i = 0; count < size; i++) {
+		char ch = chars [i];
+		if (ch < 0x80) {
+			bytes [count++] = (byte) ch;
+		} else if (ch < 0x800) {
+			bytes [count++] = (byte) (0xC0 | (ch >> 6));
+			bytes [count++] = (byte) (0x80 | (ch & 0x3F));
+		} else if (Character.isHighSurrogate (ch)) {
+			int codePoint = Character.toCodePoint (ch, chars [++i]);
+			bytes [count++] = (byte) (0xF0 | (codePoint >> 18));
+			bytes [count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+			bytes [count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+			bytes [count++] = (byte) (0x80 | (codePoint & 0x3F));
+		} else {
+			bytes [count++] = (byte) (0xE0 | (ch >> 12));
+			bytes [count++] = (byte) (0x80 | ((ch >> 6) & 0x3F));
+			bytes [count++] = (byte) (0x80 | (ch & 0x3F));
+		}
+	}
+	return bytes;
+}
+
+/**
+ * Convert a Java UTF-16 Wide character array into a C UTF-8 Multibyte byte array
+ * using <code>g_utf16_to_utf8</code>.
+ * <p>
+ * This is the reference implementation of {@link #wcsToMbcs(char[], boolean)}.
+ * </p>
+ *
+ * @param chars - a regular Java String
+ * @param terminate - if <code>true</code> the byte buffer should be terminated with a null character.
+ * @return byte array that can be passed to a native function.
+ */
+public static byte [] wcsToMbcsGlib (char [] chars, boolean terminate) {
 	long [] items_read = new long [1], items_written = new long [1];
 	/*
 	* Note that g_utf16_to_utf8()  stops converting
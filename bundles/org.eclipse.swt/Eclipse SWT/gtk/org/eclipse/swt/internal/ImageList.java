@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,9 +24,18 @@ public class ImageList {
 	int width = -1, height = -1;
 	Image [] images;
 
+	/**
+	 * The pixbufs created from the surfaces by getPixbuf() and, for
+	 * surfaces shared with the image, the image pixbuf they were
+	 * created from. Both are released when the surface is replaced.
+	 */
+	long [] pixbufs, sources;
+
 public ImageList() {
 	images = new Image [4];
 	surfaces = new long [4];
+	pixbufs = new long [4];
+	sources = new long [4];
 }
 
 public static long convertSurface(Image image) {
@@ -64,56 +73,49 @@ public static long convertSurface(Image image) {
 	return newSurface;
 }
 
+/**
+ * Returns a new pixbuf with the pixels of the given image surface,
+ * scaled down to the logical size of the surface when it has a
+ * device scale.
+ */
 public static long createPixbuf(long surface) {
-	int format = Cairo.cairo_image_surface_get_format(surface);
+	return scalePixbuf(convertPixbuf(surface), surface);
+}
+
+/**
+ * Returns a new reference to the pixbuf of the given image. The pixbuf
+ * is cached on the image until the image is drawn on or its surface is
+ * replaced, it must not be modified.
+ */
+public static long createPixbuf(Image image) {
+	long pixbuf = image.pixbuf;
+	if (pixbuf == 0) {
+		long surface = convertSurface(image);
+		pixbuf = image.pixbuf = convertPixbuf(surface);
+		Cairo.cairo_surface_destroy(surface);
+	}
+	OS.g_object_ref(pixbuf);
+	return pixbuf;
+}
+
+/**
+ * Converts the pixels of an image surface to a new pixbuf. GDK
+ * un-premultiplies the colors of surfaces with alpha in one native
+ * pass, with the same rounding as <code>ImageData</code>.
+ */
+static long convertPixbuf(long surface) {
 	int width = Cairo.cairo_image_surface_get_width(surface);
 	int height = Cairo.cairo_image_surface_get_height(surface);
-	boolean hasAlpha = format == Cairo.CAIRO_FORMAT_ARGB32;
-	long pixbuf = GDK.gdk_pixbuf_new (GDK.GDK_COLORSPACE_RGB, hasAlpha, 8, width, height);
+	long pixbuf = GDK.gdk_pixbuf_get_from_surface(surface, 0, 0, width, height);
 	if (pixbuf == 0) SWT.error (SWT.ERROR_NO_HANDLES);
-	int stride = GDK.gdk_pixbuf_get_rowstride (pixbuf);
-	long pixels = GDK.gdk_pixbuf_get_pixels (pixbuf);
-	int oa, or, og, ob;
-	if (OS.BIG_ENDIAN) {
-		oa = 0; or = 1; og = 2; ob = 3;
-	} else {
-		oa = 3; or = 2; og = 1; ob = 0;
-	}
-	byte[] line = new byte[stride];
-	long surfaceData = Cairo.cairo_image_surface_get_data(surface);
-	if (hasAlpha) {
-		for (int y = 0; y < height; y++) {
-			C.memmove (line, surfaceData + (y * stride), stride);
-			for (int x = 0, offset = 0; x < width; x++, offset += 4) {
-				int a = line[offset + oa] & 0xFF;
-				int r = line[offset + or] & 0xFF;
-				int g = line[offset + og] & 0xFF;
-				int b = line[offset + ob] & 0xFF;
-				line[offset + 3] = (byte)a;
-				if (a != 0) {
-					line[offset + 0] = (byte)(((r * 0xFF) + a / 2) / a);
-					line[offset + 1] = (byte)(((g * 0xFF) + a / 2) / a);
-					line[offset + 2] = (byte)(((b * 0xFF) + a / 2) / a);
-				}
-			}
-			C.memmove (pixels + (y * stride), line, stride);
-		}
-	} else {
-		int cairoStride = Cairo.cairo_image_surface_get_stride(surface);
-		byte[] cairoLine = new byte[cairoStride];
-		for (int y = 0; y < height; y++) {
-			C.memmove (cairoLine, surfaceData + (y * cairoStride), cairoStride);
-			for (int x = 0, offset = 0, cairoOffset = 0; x < width; x++, offset += 3, cairoOffset += 4) {
-				byte r = cairoLine[cairoOffset + or];
-				byte g = cairoLine[cairoOffset + og];
-				byte b = cairoLine[cairoOffset + ob];
-				line[offset + 0] = r;
-				line[offset + 1] = g;
-				line[offset + 2] = b;
-			}
-			C.memmove (pixels + (y * stride), line, stride);
-		}
-	}
+	return pixbuf;
+}
+
+/**
+ * Scales the pixbuf converted from the surface to the logical size of
+ * the surface, taking over the reference to the pixbuf.
+ */
+static long scalePixbuf(long pixbuf, long surface) {
 	/*
 	 * At this point the new pixbuf is created with the same size as surface.
 	 * if the surface has higher device scale we need to down size pixbuf accordingly
@@ -125,6 +127,8 @@ public static long createPixbuf(long surface) {
 		double sy[] = new double[1];
 		Cairo.cairo_surface_get_device_scale(surface, sx, sy);
 		if (sx[0] > 1 && sy[0] > 1){
+			int width = GDK.gdk_pixbuf_get_width(pixbuf);
+			int height = GDK.gdk_pixbuf_get_height(pixbuf);
 			long oldPixbuf = pixbuf;
 			pixbuf = GDK.gdk_pixbuf_scale_simple(pixbuf, width/(int)sx[0], height/(int)sy[0], GDK.GDK_INTERP_BILINEAR);
 			OS.g_object_unref(oldPixbuf);
@@ -133,66 +137,12 @@ public static long createPixbuf(long surface) {
 	return pixbuf;
 }
 
-public static long createPixbuf(Image image) {
-	long surface = convertSurface(image);
-	int format = Cairo.cairo_image_surface_get_format(surface);
-	int width = Cairo.cairo_image_surface_get_width(surface);
-	int height = Cairo.cairo_image_surface_get_height(surface);
-	boolean hasAlpha = format == Cairo.CAIRO_FORMAT_ARGB32;
-	long pixbuf = GDK.gdk_pixbuf_new (GDK.GDK_COLORSPACE_RGB, hasAlpha, 8, width, height);
-	if (pixbuf == 0) SWT.error (SWT.ERROR_NO_HANDLES);
-	int stride = GDK.gdk_pixbuf_get_rowstride (pixbuf);
-	long pixels = GDK.gdk_pixbuf_get_pixels (pixbuf);
-	int oa, or, og, ob;
-	if (OS.BIG_ENDIAN) {
-		oa = 0; or = 1; og = 2; ob = 3;
-	} else {
-		oa = 3; or = 2; og = 1; ob = 0;
-	}
-	byte[] line = new byte[stride];
-	long surfaceData = Cairo.cairo_image_surface_get_data(surface);
-	if (hasAlpha) {
-		for (int y = 0; y < height; y++) {
-			C.memmove (line, surfaceData + (y * stride), stride);
-			for (int x = 0, offset = 0; x < width; x++, offset += 4) {
-				int a = line[offset + oa] & 0xFF;
-				int r = line[offset + or] & 0xFF;
-				int g = line[offset + og] & 0xFF;
-				int b = line[offset + ob] & 0xFF;
-				line[offset + 3] = (byte)a;
-				if (a != 0) {
-					line[offset + 0] = (byte)(((r * 0xFF) + a / 2) / a);
-					line[offset + 1] = (byte)(((g * 0xFF) + a / 2) / a);
-					line[offset + 2] = (byte)(((b * 0xFF) + a / 2) / a);
-				}
-			}
-			C.memmove (pixels + (y * stride), line, stride);
-		}
-	} else {
-		int cairoStride = Cairo.cairo_image_surface_get_stride(surface);
-		byte[] cairoLine = new byte[cairoStride];
-		for (int y = 0; y < height; y++) {
-			C.memmove (cairoLine, surfaceData + (y * cairoStride), cairoStride);
-			for (int x = 0, offset = 0, cairoOffset = 0; x < width; x++, offset += 3, cairoOffset += 4) {
-				byte r = cairoLine[cairoOffset + or];
-				byte g = cairoLine[cairoOffset + og];
-				byte b = cairoLine[cairoOffset + ob];
-				line[offset + 0] = r;
-				line[offset + 1] = g;
-				line[offset + 2] = b;
-			}
-			C.memmove (pixels + (y * stride), line, stride);
-		}
-	}
-	Cairo.cairo_surface_destroy(surface);
-	return pixbuf;
-}
-
 public int add (Image image) {
 	int index = 0;
 	while (index < images.length) {
 		if (images [index] != null) {
 			if (images [index].isDisposed ()) {
+				releasePixbuf (index);
 				Cairo.cairo_surface_destroy (surfaces [index]);
 				images [index] = null;
 				surfaces [index] = 0;
@@ -208,6 +158,12 @@ public int add (Image image) {
 		long [] newPixbufs = new long [surfaces.length + 4];
 		System.arraycopy (surfaces, 0, newPixbufs, 0, surfaces.length);
 		surfaces = newPixbufs;
+		long [] newCache = new long [pixbufs.length + 4];
+		System.arraycopy (pixbufs, 0, newCache, 0, pixbufs.length);
+		pixbufs = newCache;
+		long [] newSources = new long [sources.length + 4];
+		System.arraycopy (sources, 0, newSources, 0, sources.length);
+		sources = newSources;
 	}
 	set (index, image);
 	return index;
@@ -216,18 +172,50 @@ public int add (Image image) {
 public void dispose () {
 	if (surfaces == null) return;
 	for (int index = 0; index < surfaces.length; index++) {
+		releasePixbuf(index);
 		long surface = surfaces[index];
 		if (surface != 0) Cairo.cairo_surface_destroy(surface);
 	}
 
 	images = null;
-	surfaces = null;
+	surfaces = pixbufs = sources = null;
 }
 
 public Image get(int index) {
 	return images[index];
 }
 
+/**
+ * Returns a new reference to the pixbuf of the surface at the given
+ * index. The pixbuf is created on first use and shared by all callers
+ * until the image is replaced or drawn on, it must not be modified.
+ */
+public long getPixbuf(int index) {
+	long surface = surfaces [index];
+	if (surface == 0) return 0;
+	long pixbuf = pixbufs [index];
+	Image image = images [index];
+	if (surface == image.surface) {
+		/*
+		* The surface is the surface of the image, follow the pixbuf
+		* cached on the image, which is released when it is drawn on.
+		*/
+		long source = createPixbuf (image);
+		if (pixbuf != 0 && source == sources [index]) {
+			OS.g_object_unref (source);
+		} else {
+			releasePixbuf (index);
+			OS.g_object_ref (source);
+			pixbuf = pixbufs [index] = scalePixbuf (source, surface);
+			sources [index] = source;
+		}
+	} else if (pixbuf == 0) {
+		pixbuf = pixbufs [index] = createPixbuf (surface);
+	}
+	OS.g_object_ref (pixbuf);
+	return pixbuf;
+}
+
 public long getSurface(int index) {
 	return surfaces[index];
 }
@@ -260,6 +248,7 @@ public void put (int index, Image image) {
 		set (index, image);
 	} else {
 		images [index] = null;
+		releasePixbuf (index);
 		if (surfaces [index] != 0) Cairo.cairo_surface_destroy (surfaces [index]);
 		surfaces [index] = 0;
 	}
@@ -270,7 +259,7 @@ public void remove(Image image) {
 	for (int index = 0; index < images.length; index++) {
 		if (image == images[index]) {
 			images [index] = null;
-
+			releasePixbuf (index);
 			Cairo.cairo_surface_destroy (surfaces[index]);
 			surfaces[index] = 0;
 		}
@@ -317,6 +306,7 @@ void set (int index, Image image) {
 		surface = scaleSurface(image, width, height);
 	}
 
+	releasePixbuf(index);
 	long oldSurface = surfaces[index];
 	if (oldSurface != 0) {
 		Cairo.cairo_surface_destroy(oldSurface);
@@ -326,6 +316,12 @@ void set (int index, Image image) {
 	images [index] = image;
 }
 
+void releasePixbuf(int index) {
+	if (pixbufs [index] != 0) OS.g_object_unref (pixbufs [index]);
+	if (sources [index] != 0) OS.g_object_unref (sources [index]);
+	pixbufs [index] = sources [index] = 0;
+}
+
 long scaleSurface(Image image, int width, int height) {
 	int format = Cairo.cairo_surface_get_content(image.surface) == Cairo.CAIRO_CONTENT_COLOR ? Cairo.CAIRO_FORMAT_RGB24 : Cairo.CAIRO_FORMAT_ARGB32;
 	long scaledSurface = Cairo.cairo_image_surface_create(format, width, height);
@@ -127,6 +127,7 @@ public class Display extends Device implements Executor {
 	Widget [] gdkEventWidgets;
 	int [] dispatchEvents;
 	Event [] eventQueue;
+	int eventQueueStart, eventQueueCount;
 	long fds;
 	int allocated_nfds;
 	boolean wake;
@@ -932,6 +933,58 @@ public void asyncExec (Runnable runnable) {
 	}
 }
 
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity, unless a runnable that was passed
+ * to this method with an equal key is still waiting to run.
+ * In that case the pending runnable is replaced by the given
+ * one, so only the most recent runnable for a key is run.
+ * The caller of this method continues to run in parallel,
+ * and is not notified when the runnable has completed.
+ * <p>
+ * This is useful when many updates of the same target, such as
+ * a widget showing the latest value of a rapidly changing model,
+ * are posted from a background thread and only the last one matters.
+ * </p>
+ * <p>
+ * Note that at the time the runnable is invoked, widgets
+ * that have the receiver as their display may have been
+ * disposed. Therefore, it is necessary to check for this
+ * case inside the runnable before accessing the widget.
+ * </p>
+ *
+ * @param key the key identifying runnables that replace each other
+ * @param runnable code to run on the user-interface thread
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the key or the runnable is null</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+ * </ul>
+ *
+ * @see #asyncExec
+ *
+ * @since 3.127
+ */
+public void asyncExecCoalesced (Object key, Runnable runnable) {
+	if (key == null || runnable == null) error (SWT.ERROR_NULL_ARGUMENT);
+	synchronized (Device.class) {
+		if (isDisposed ()) error (SWT.ERROR_DEVICE_DISPOSED);
+		synchronized (idleLock) {
+			if (idleNeeded && idleHandle == 0) {
+				if (GTK.GTK4) {
+					idleHandle = OS.g_idle_add (idleProc, 0);
+				} else {
+					idleHandle = GDK.gdk_threads_add_idle (idleProc, 0);
+				}
+			}
+		}
+		synchronizer.asyncExecCoalesced (key, runnable);
+	}
+}
+
 /**
  * Executes the given runnable in the user-interface thread of this Display.
  * <ul>
@@ -4434,20 +4487,22 @@ void postEvent (Event event) {
 	* This code is always called in the Display's
 	* thread so it must be re-enterant but does not
 	* need to be synchronized.
+	*
+	* The queue is a ring buffer starting at eventQueueStart
+	* whose length is always a power of two.
 	*/
 	if (eventQueue == null) eventQueue = new Event [4];
-	int index = 0;
 	int length = eventQueue.length;
-	while (index < length) {
-		if (eventQueue [index] == null) break;
-		index++;
-	}
-	if (index == length) {
-		Event [] newQueue = new Event [length + 4];
-		System.arraycopy (eventQueue, 0, newQueue, 0, length);
+	if (eventQueueCount == length) {
+		Event [] newQueue = new Event [length * 2];
+		int count = length - eventQueueStart;
+		System.arraycopy (eventQueue, eventQueueStart, newQueue, 0, count);
+		System.arraycopy (eventQueue, 0, newQueue, count, eventQueueStart);
 		eventQueue = newQueue;
+		eventQueueStart = 0;
+		length *= 2;
 	}
-	eventQueue [index] = event;
+	eventQueue [(eventQueueStart + eventQueueCount++) & (length - 1)] = event;
 }
 
 void putGdkEvents () {
@@ -5047,14 +5102,13 @@ boolean runDeferredEvents () {
 	* called in the Display's thread so it must
 	* be re-enterant but need not be synchronized.
 	*/
-	while (eventQueue != null) {
+	while (eventQueueCount > 0) {
 
 		/* Take an event off the queue */
-		Event event = eventQueue [0];
-		if (event == null) break;
-		int length = eventQueue.length;
-		System.arraycopy (eventQueue, 1, eventQueue, 0, --length);
-		eventQueue [length] = null;
+		Event event = eventQueue [eventQueueStart];
+		eventQueue [eventQueueStart] = null;
+		eventQueueStart = (eventQueueStart + 1) & (eventQueue.length - 1);
+		eventQueueCount--;
 
 		/* Run the event */
 		Widget widget = event.widget;
@@ -5068,13 +5122,14 @@ boolean runDeferredEvents () {
 
 		/*
 		* At this point, the event queue could
-		* be null due to a recursive invokation
+		* be empty due to a recursive invokation
 		* when running the event.
 		*/
 	}
 
 	/* Clear the queue */
 	eventQueue = null;
+	eventQueueStart = 0;
 	return run;
 }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -1342,6 +1342,41 @@ public ImageData getImageData() {
 	return getImageData(100);
 }
 
+/**
+ * Returns an <code>ImageData</code> for the given area of the receiver.
+ * The result is the same as the given area of the image data returned
+ * by {@link #getImageData()}, but where possible only the requested
+ * area is read from the image. Modifications made to this
+ * <code>ImageData</code> will not affect the Image.
+ *
+ * @param bounds the area of the image data to return, in pixels of the
+ * image data at 100% zoom level
+ * @return an <code>ImageData</code> containing the data and attributes
+ * of the given area of the image at 100% zoom level
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the bounds are null</li>
+ *    <li>ERROR_INVALID_ARGUMENT - if the bounds are empty or not within the image</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_GRAPHIC_DISPOSED - if the receiver has been disposed</li>
+ *    <li>ERROR_INVALID_IMAGE - if the image is not a bitmap or an icon</li>
+ * </ul>
+ *
+ * @see #getImageData()
+ * @since 3.127
+ */
+public ImageData getImageData (Rectangle bounds) {
+	if (isDisposed()) SWT.error(SWT.ERROR_GRAPHIC_DISPOSED);
+	if (bounds == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	ImageData data = getImageData();
+	if (bounds.width <= 0 || bounds.height <= 0 || bounds.x < 0 || bounds.y < 0 ||
+		bounds.width > data.width - bounds.x || bounds.height > data.height - bounds.y) {
+		SWT.error(SWT.ERROR_INVALID_ARGUMENT);
+	}
+	return data.getRegion(bounds.x, bounds.y, bounds.width, bounds.height);
+}
+
 /**
  * Returns an {@link ImageData} for the given zoom level based on the
  * receiver.
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -105,11 +105,81 @@ public class ImageLoader {
 	 */
 	public int compression;
 
+	/**
+	 * The maximum width of the images that are loaded, or 0 for no limit.
+	 * Larger images are scaled down when they are loaded, keeping their
+	 * aspect ratio. Images are never scaled up. Decoders that support it,
+	 * like the JPEG decoder, reduce the image while it is decoded, which
+	 * needs less time and memory than loading it at full size for thumbnails.
+	 * <p>
+	 * Note that scaled images are always 24 bit direct images, whatever the
+	 * depth of the image that is loaded: palette images lose their palette,
+	 * and a transparent pixel or a mask is converted to alpha data. Images
+	 * that already fit are returned unchanged.
+	 * </p>
+	 * <p>
+	 * This field is not reset by the load methods.
+	 * </p>
+	 *
+	 * @see #maximumHeight
+	 * @since 3.127
+	 */
+	public int maximumWidth;
+
+	/**
+	 * The maximum height of the images that are loaded, or 0 for no limit.
+	 *
+	 * @see #maximumWidth
+	 * @since 3.127
+	 */
+	public int maximumHeight;
+
+	/**
+	 * The number of decoded frames of an animated GIF image that are kept
+	 * in memory, or 0 to decode all frames when the image is loaded. The
+	 * default is 0.
+	 * <p>
+	 * When the value is positive, the load methods only decode the first
+	 * frame of a GIF image into <code>data</code>. The other frames are
+	 * decoded when they are requested with <code>getFrame(int)</code>, and
+	 * only the given number of most recently used frames are kept, which
+	 * needs much less memory for long animations. The listeners are
+	 * notified with an <code>ImageLoaderEvent</code> whenever a frame was
+	 * decoded. Images in other formats are loaded as usual.
+	 * </p><p>
+	 * This field is not reset by the load methods.
+	 * </p>
+	 *
+	 * @see #getFrame(int)
+	 * @see #decodeAhead
+	 * @since 3.127
+	 */
+	public int frameCacheSize;
+
+	/**
+	 * Whether <code>getFrame(int)</code> decodes the frame following the
+	 * requested one on a background thread, so that it is ready when an
+	 * animation needs it. Only used when <code>frameCacheSize</code> is
+	 * positive. The default is <code>false</code>.
+	 * <p>
+	 * This field is not reset by the load methods.
+	 * </p>
+	 *
+	 * @see #frameCacheSize
+	 * @since 3.127
+	 */
+	public boolean decodeAhead;
+
 	/*
 	 * the set of ImageLoader event listeners, created on demand
 	 */
 	List<ImageLoaderListener> imageLoaderListeners;
 
+	/*
+	 * the frames of a GIF image that are decoded on demand, or null
+	 */
+	GIFFrames frames;
+
 /**
  * Construct a new empty ImageLoader.
  */
@@ -119,10 +189,16 @@ public ImageLoader() {
 
 /**
  * Resets the fields of the ImageLoader, except for the
- * <code>imageLoaderListeners</code> field.
+ * <code>imageLoaderListeners</code>, <code>maximumWidth</code>,
+ * <code>maximumHeight</code>, <code>frameCacheSize</code>
+ * and <code>decodeAhead</code> fields.
  */
 void reset() {
 	data = null;
+	if (frames != null) {
+		frames.dispose();
+		frames = null;
+	}
 	logicalScreenWidth = 0;
 	logicalScreenHeight = 0;
 	backgroundPixel = -1;
@@ -151,10 +227,60 @@ void reset() {
 public ImageData[] load(InputStream stream) {
 	if (stream == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
 	reset();
+	if (frameCacheSize > 0) {
+		byte[] bytes = GIFFrames.readAllBytes(stream);
+		frames = GIFFrames.load(bytes, this);
+		if (frames != null) {
+			data = new ImageData[] {frames.getFrame(0)};
+			return data;
+		}
+		stream = new ByteArrayInputStream(bytes);
+	}
 	data = FileFormat.load(stream, this);
 	return data;
 }
 
+/**
+ * Returns the number of frames of the image that was loaded last.
+ * This is the length of <code>data</code>, unless the frames of a
+ * GIF image are decoded on demand.
+ *
+ * @return the number of frames
+ *
+ * @see #frameCacheSize
+ * @since 3.127
+ */
+public int getFrameCount() {
+	if (frames != null) return frames.getFrameCount();
+	return data == null ? 0 : data.length;
+}
+
+/**
+ * Returns the frame with the given index of the image that was
+ * loaded last. If the frames of a GIF image are decoded on demand,
+ * the frame is decoded unless it is cached, otherwise it is the
+ * element of <code>data</code>.
+ *
+ * @param index the index of the frame
+ * @return the frame
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_INVALID_RANGE - if the index is not between 0 and the number of frames minus 1</li>
+ * </ul>
+ * @exception SWTException <ul>
+ *    <li>ERROR_INVALID_IMAGE - if the frame contains invalid data</li>
+ * </ul>
+ *
+ * @see #frameCacheSize
+ * @see #getFrameCount()
+ * @since 3.127
+ */
+public ImageData getFrame(int index) {
+	if (frames != null) return frames.getFrame(index);
+	if (data == null || index < 0 || index >= data.length) SWT.error(SWT.ERROR_INVALID_RANGE);
+	return data[index];
+}
+
 /**
  * Loads an array of <code>ImageData</code> objects from the
  * file with the specified name. Throws an error if either
@@ -258,6 +384,43 @@ public void save(String filename, int format) {
 	}
 }
 
+/**
+ * Registers a provider of an image file format that is not built into
+ * SWT, for environments where the {@link java.util.ServiceLoader} cannot
+ * find it, such as OSGi. The provider is used by all image loaders until
+ * it is removed.
+ *
+ * @param provider the provider of the file format
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the provider is null</li>
+ * </ul>
+ *
+ * @see ImageFormatProvider
+ * @since 3.127
+ */
+public static void addFormatProvider(ImageFormatProvider provider) {
+	FileFormat.register(provider);
+}
+
+/**
+ * Removes a provider of an image file format that was registered with
+ * {@link #addFormatProvider(ImageFormatProvider)}.
+ *
+ * @param provider the provider of the file format
+ *
+ * @exception IllegalArgumentException <ul>
+ *    <li>ERROR_NULL_ARGUMENT - if the provider is null</li>
+ * </ul>
+ *
+ * @see ImageFormatProvider
+ * @since 3.127
+ */
+public static void removeFormatProvider(ImageFormatProvider provider) {
+	if (provider == null) SWT.error(SWT.ERROR_NULL_ARGUMENT);
+	FileFormat.unregister(provider);
+}
+
 /**
  * Adds the listener to the collection of listeners who will be
  * notified when image data is either partially or completely loaded.
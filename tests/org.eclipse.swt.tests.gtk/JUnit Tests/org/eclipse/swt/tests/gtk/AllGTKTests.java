@@ -22,7 +22,8 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
 		// Test.class be added here.
-	Test_GtkConverter.class
+	Test_GtkConverter.class,
+	Test_GtkImageList.class
 })
 
 public class AllGTKTests {
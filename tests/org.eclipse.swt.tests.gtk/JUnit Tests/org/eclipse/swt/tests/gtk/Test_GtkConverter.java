@@ -14,9 +14,12 @@
  */
 package org.eclipse.swt.tests.gtk;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.fail;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
 
 import org.eclipse.swt.internal.Converter;
 import org.junit.Ignore;
@@ -151,6 +154,55 @@ public class Test_GtkConverter {
 		helper_testHeuristic(testBytes, "Ё");
 	}
 
+	static final String [] conversionSamples = {
+		emptyStr, asciiLetters, unicodeCharactersLowCodePoints, unicodeCharactersHighCodePoints,
+		"Hello\u0000World", "\u0000", "\uD83D\uDE00 emoji", "\u3053\u3093\u306B\u3061\u306F",
+		"abc\uD800", "\uD800", "\uDC00abc", "a\uD800b", "\uD800\uD800\uDC00", "\uDBFF\uDFFF", "\uFFFF\uFFFE",
+	};
+
+	@Test
+	public void test_wcsToMbcs_matchesGlib() {
+		for (String sample : conversionSamples) {
+			helper_testWcsToMbcs(sample.toCharArray());
+		}
+		Random random = new Random(1);
+		char [] special = {0, 'a', 0x7F, 0x80, 0x7FF, 0x800, 0xD7FF, 0xD800, 0xDBFF, 0xDC00, 0xDFFF, 0xE000, 0xFFFF};
+		for (int i = 0; i < 10_000; i++) {
+			char [] chars = new char [random.nextInt(8)];
+			for (int j = 0; j < chars.length; j++) {
+				chars [j] = random.nextBoolean() ? special [random.nextInt(special.length)] : (char) random.nextInt(0x10000);
+			}
+			helper_testWcsToMbcs(chars);
+		}
+	}
+
+	@Test
+	public void test_mbcsToWcs_matchesGlib() {
+		for (String sample : conversionSamples) {
+			helper_testMbcsToWcs(Converter.wcsToMbcsGlib(sample.toCharArray(), false));
+		}
+		Random random = new Random(1);
+		int [] special = {0, 'a', 0x7F, 0x80, 0xBF, 0xC0, 0xC1, 0xC2, 0xDF, 0xE0, 0xED, 0xEF, 0xF0, 0xF4, 0xF5, 0xF8, 0xFC, 0xFE, 0xFF};
+		for (int i = 0; i < 10_000; i++) {
+			byte [] bytes = new byte [random.nextInt(8)];
+			for (int j = 0; j < bytes.length; j++) {
+				bytes [j] = (byte) (random.nextBoolean() ? special [random.nextInt(special.length)] : random.nextInt(0x100));
+			}
+			helper_testMbcsToWcs(bytes);
+		}
+	}
+
+	private void helper_testWcsToMbcs(char [] chars) {
+		String message = "wcsToMbcs " + new String(chars);
+		assertArrayEquals(message, Converter.wcsToMbcsGlib(chars, false), Converter.wcsToMbcs(chars, false));
+		assertArrayEquals(message, Converter.wcsToMbcsGlib(chars, true), Converter.wcsToMbcs(chars, true));
+		assertArrayEquals(message, Converter.wcsToMbcsGlib(chars, true), Converter.wcsToMbcs(new String(chars), true));
+	}
+
+	private void helper_testMbcsToWcs(byte [] bytes) {
+		assertArrayEquals("mbcsToWcs " + Arrays.toString(bytes), Converter.mbcsToWcsGlib(bytes), Converter.mbcsToWcs(bytes));
+	}
+
 	private void helper_testHeuristic(byte[] testBytes, String expected) {
 		String result = Converter.byteToStringViaHeuristic(testBytes);
 		if (!expected.equals(result)) {
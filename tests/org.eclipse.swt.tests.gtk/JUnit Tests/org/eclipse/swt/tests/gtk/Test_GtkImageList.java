@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.gtk;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.internal.C;
+import org.eclipse.swt.internal.Converter;
+import org.eclipse.swt.internal.ImageList;
+import org.eclipse.swt.internal.gtk.GDK;
+import org.eclipse.swt.internal.gtk.GTK;
+import org.eclipse.swt.internal.gtk.OS;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that the pixbufs shared through the image list of a Table or Tree
+ * follow the image when it is drawn on after it was added.
+ */
+@SuppressWarnings("restriction")
+public class Test_GtkImageList {
+
+	/* Table.FIRST_COLUMN + Table.CELL_PIXBUF for a table without columns */
+	static final int PIXBUF_COLUMN = 5;
+
+	static final byte[] RED = {(byte) 0xFF, 0, 0};
+	static final byte[] BLUE = {0, 0, (byte) 0xFF};
+
+	Display display;
+	Image image;
+
+	@Before
+	public void setUp() {
+		display = Display.getDefault();
+		image = new Image(display, 16, 16);
+		fill(SWT.COLOR_RED);
+	}
+
+	@After
+	public void tearDown() {
+		image.dispose();
+	}
+
+	void fill(int color) {
+		GC gc = new GC(image);
+		gc.setBackground(display.getSystemColor(color));
+		gc.fillRectangle(0, 0, 16, 16);
+		gc.dispose();
+	}
+
+	static byte[] pixel(long pixbuf) {
+		byte[] rgb = new byte[3];
+		int stride = GDK.gdk_pixbuf_get_rowstride(pixbuf);
+		C.memmove(rgb, GDK.gdk_pixbuf_get_pixels(pixbuf) + 8 * stride + 8 * GDK.gdk_pixbuf_get_n_channels(pixbuf), rgb.length);
+		return rgb;
+	}
+
+	@Test
+	public void test_getPixbuf_afterDrawing() {
+		ImageList imageList = new ImageList();
+		try {
+			int index = imageList.add(image);
+			long pixbuf = imageList.getPixbuf(index);
+			assertArrayEquals("pixbuf does not show the image", RED, pixel(pixbuf));
+			long same = imageList.getPixbuf(index);
+			assertTrue("pixbuf re-created without drawing", same == pixbuf);
+			OS.g_object_unref(same);
+
+			fill(SWT.COLOR_BLUE);
+			long drawn = imageList.getPixbuf(index);
+			assertNotEquals("pixbuf not refreshed after drawing", pixbuf, drawn);
+			assertArrayEquals("pixbuf does not show the drawing", BLUE, pixel(drawn));
+			OS.g_object_unref(drawn);
+			OS.g_object_unref(pixbuf);
+		} finally {
+			imageList.dispose();
+		}
+	}
+
+	@Test
+	public void test_TableItem_setImage_afterDrawing() {
+		Shell shell = new Shell(display);
+		try {
+			Table table = new Table(shell, SWT.NONE);
+			TableItem item = new TableItem(table, SWT.NONE);
+			item.setImage(image);
+			assertArrayEquals("table does not render the image", RED, renderedPixel(table, item));
+
+			fill(SWT.COLOR_BLUE);
+			item.setImage(image);
+			assertArrayEquals("table does not render the drawing", BLUE, renderedPixel(table, item));
+		} finally {
+			shell.dispose();
+		}
+	}
+
+	static byte[] renderedPixel(Table table, TableItem item) {
+		long[] model = new long[1];
+		OS.g_object_get(table.handle, Converter.javaStringToCString("model"), model, 0);
+		long[] pixbuf = new long[1];
+		GTK.gtk_tree_model_get(model[0], item.handle, PIXBUF_COLUMN, pixbuf, -1);
+		OS.g_object_unref(model[0]);
+		assertTrue("no pixbuf in the model", pixbuf[0] != 0);
+		byte[] rgb = pixel(pixbuf[0]);
+		OS.g_object_unref(pixbuf[0]);
+		return rgb;
+	}
+
+}
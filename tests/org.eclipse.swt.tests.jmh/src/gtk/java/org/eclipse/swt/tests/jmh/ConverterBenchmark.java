@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.internal.Converter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the Java UTF-16/UTF-8 conversions of the GTK {@link Converter} with
+ * the glib based reference implementations.
+ */
+@SuppressWarnings("restriction")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConverterBenchmark {
+
+	@Param({ "label", "tableCell", "nonLatin" })
+	public String text;
+
+	String string;
+	char[] chars;
+	byte[] bytes;
+
+	@Setup
+	public void setup() {
+		string = switch (text) {
+		case "label" -> "File name:";
+		case "tableCell" -> "/home/user/workspace/org.eclipse.swt/Eclipse SWT/gtk/org/eclipse/swt/widgets/Table.java - line 1234, column 56 (modified)";
+		case "nonLatin" -> "Файл ファイル 文件 αρχείο 📄";
+		default -> throw new IllegalArgumentException(text);
+		};
+		chars = string.toCharArray();
+		bytes = Converter.wcsToMbcs(string, false);
+	}
+
+	@Benchmark
+	public byte[] wcsToMbcsString() {
+		return Converter.wcsToMbcs(string, true);
+	}
+
+	@Benchmark
+	public byte[] wcsToMbcsChars() {
+		return Converter.wcsToMbcs(chars, true);
+	}
+
+	@Benchmark
+	public byte[] wcsToMbcsGlib() {
+		return Converter.wcsToMbcsGlib(string.toCharArray(), true);
+	}
+
+	@Benchmark
+	public char[] mbcsToWcs() {
+		return Converter.mbcsToWcs(bytes);
+	}
+
+	@Benchmark
+	public char[] mbcsToWcsGlib() {
+		return Converter.mbcsToWcsGlib(bytes);
+	}
+}
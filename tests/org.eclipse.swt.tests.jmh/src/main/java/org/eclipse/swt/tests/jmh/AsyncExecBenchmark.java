@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.widgets.Display;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Queueing runnables with {@link Display#asyncExec(Runnable)} and running them
+ * on the UI thread. Needs a display.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AsyncExecBenchmark {
+	static final int RUNNABLES = 1000;
+
+	int executed;
+
+	@Benchmark
+	@OperationsPerInvocation(RUNNABLES)
+	public int asyncExecAndRun(DisplayState state) {
+		Runnable runnable = () -> executed++;
+		for (int i = 0; i < RUNNABLES; i++) {
+			state.display.asyncExec(runnable);
+		}
+		state.readAndDispatchAll();
+		return executed;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(RUNNABLES)
+	public int asyncExecCoalescedAndRun(DisplayState state) {
+		Runnable runnable = () -> executed++;
+		for (int i = 0; i < RUNNABLES; i++) {
+			state.display.asyncExecCoalesced(this, runnable);
+		}
+		state.readAndDispatchAll();
+		return executed;
+	}
+}
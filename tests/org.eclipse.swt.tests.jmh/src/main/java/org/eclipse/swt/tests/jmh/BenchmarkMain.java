@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the JMH benchmarks of this project and writes the results as JSON to
+ * <code>jmh-result.json</code>, unless a result format or file is given on
+ * the command line. All arguments are passed to JMH, see <code>-h</code>.
+ */
+public class BenchmarkMain {
+	static final String RESULT_FILE = "jmh-result.json";
+
+	public static void main(String[] args) throws Exception {
+		List<String> arguments = new ArrayList<>(Arrays.asList(args));
+		if (!arguments.contains("-rf")) {
+			arguments.add("-rf");
+			arguments.add("json");
+		}
+		if (!arguments.contains("-rff")) {
+			arguments.add("-rff");
+			arguments.add(RESULT_FILE);
+		}
+		org.openjdk.jmh.Main.main(arguments.toArray(new String[0]));
+	}
+}
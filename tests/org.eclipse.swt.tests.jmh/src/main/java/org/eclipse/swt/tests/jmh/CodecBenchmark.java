@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.internal.image.FileFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decoding and encoding with the Java image codecs of SWT. Uses
+ * {@link FileFormat} directly, as {@link ImageLoader} delegates to the
+ * native loaders on some platforms.
+ */
+@SuppressWarnings("restriction")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecBenchmark {
+	static final int SIZE = 512;
+
+	@Param({ "bmp", "gif", "png", "jpeg" })
+	public String format;
+
+	int swtFormat;
+	ImageLoader source;
+	byte[] encoded;
+
+	/**
+	 * Creates a smooth gradient with some noise, which compresses like a
+	 * photo or a rendered icon rather than like random data.
+	 */
+	static ImageData createImageData(boolean indexed) {
+		ImageData data;
+		if (indexed) {
+			RGB[] rgbs = new RGB[256];
+			for (int i = 0; i < rgbs.length; i++) {
+				rgbs[i] = new RGB(i, 255 - i, (i * 7) & 0xFF);
+			}
+			data = new ImageData(SIZE, SIZE, 8, new PaletteData(rgbs));
+		} else {
+			data = new ImageData(SIZE, SIZE, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		}
+		int seed = 1;
+		for (int y = 0; y < SIZE; y++) {
+			for (int x = 0; x < SIZE; x++) {
+				seed = seed * 1103515245 + 12345;
+				int noise = (seed >>> 28) & 0x7;
+				if (indexed) {
+					data.setPixel(x, y, ((x + y) / 4 + noise) & 0xFF);
+				} else {
+					int r = (x / 2 + noise) & 0xFF, g = (y / 2 + noise) & 0xFF, b = ((x ^ y) / 4) & 0xFF;
+					data.setPixel(x, y, (r << 16) | (g << 8) | b);
+				}
+			}
+		}
+		return data;
+	}
+
+	@Setup
+	public void setup() {
+		swtFormat = switch (format) {
+		case "bmp" -> SWT.IMAGE_BMP;
+		case "gif" -> SWT.IMAGE_GIF;
+		case "png" -> SWT.IMAGE_PNG;
+		case "jpeg" -> SWT.IMAGE_JPEG;
+		default -> throw new IllegalArgumentException(format);
+		};
+		source = new ImageLoader();
+		source.data = new ImageData[] { createImageData(swtFormat == SWT.IMAGE_GIF) };
+		encoded = encode();
+	}
+
+	@Benchmark
+	public ImageData[] decode() {
+		return FileFormat.load(new ByteArrayInputStream(encoded), new ImageLoader());
+	}
+
+	@Benchmark
+	public byte[] encode() {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(SIZE * SIZE);
+		FileFormat.save(out, swtFormat, source);
+		return out.toByteArray();
+	}
+}
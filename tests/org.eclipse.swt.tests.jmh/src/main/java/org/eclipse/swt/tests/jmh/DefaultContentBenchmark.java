@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.custom.StyledTextContent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Edits and line lookups on the default {@link StyledTextContent}, without a
+ * <code>StyledText</code>. The package private <code>DefaultContent</code>
+ * is created through {@link Internals}. The heap retained by the line index
+ * and the text is printed at the start of each trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Thread)
+public class DefaultContentBenchmark {
+
+	@Param({ "1000", "100000", "5000000" })
+	public int lines;
+
+	static final MethodHandle NEW_DEFAULT_CONTENT = Internals.constructor(
+			Internals.findClass("org.eclipse.swt.custom.DefaultContent"), MethodType.methodType(StyledTextContent.class));
+
+	String text;
+	StyledTextContent content;
+	int offset;
+	int line;
+
+	static String createText(int lines) {
+		StringBuilder builder = new StringBuilder(lines * 40);
+		for (int i = 0; i < lines; i++) {
+			builder.append("\tline ").append(i).append(": the quick brown fox\n");
+		}
+		return builder.toString();
+	}
+
+	static StyledTextContent newDefaultContent() {
+		try {
+			return (StyledTextContent) NEW_DEFAULT_CONTENT.invokeExact();
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static long usedHeap() {
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+
+	@Setup
+	public void setup() {
+		text = createText(lines);
+		long before = usedHeap();
+		content = newDefaultContent();
+		content.setText(text);
+		System.out.printf("%nDefaultContent with %d lines retains %.1f MB%n", lines, (usedHeap() - before) / (1024.0 * 1024.0));
+	}
+
+	@Benchmark
+	public int setText() {
+		StyledTextContent newContent = newDefaultContent();
+		newContent.setText(text);
+		return newContent.getLineCount();
+	}
+
+	/** Types one character in the middle of the document, alternating with a new line */
+	@Benchmark
+	public int typeInMiddle() {
+		int middle = content.getOffsetAtLine(content.getLineCount() / 2);
+		content.replaceTextRange(middle, 0, (offset++ & 0x1F) == 0 ? "\n" : "x");
+		return content.getCharCount();
+	}
+
+	/** Deletes one character at the start of the document and inserts it again */
+	@Benchmark
+	public int deleteAndInsertAtStart() {
+		String removed = content.getTextRange(0, 1);
+		content.replaceTextRange(0, 1, "");
+		content.replaceTextRange(0, 0, removed);
+		return content.getCharCount();
+	}
+
+	/** Types one character on a line far away from the previous edit */
+	@Benchmark
+	public int typeOnRandomLine() {
+		line = (line + 7919) % content.getLineCount();
+		content.replaceTextRange(content.getOffsetAtLine(line), 0, "x");
+		return content.getCharCount();
+	}
+
+	@Benchmark
+	public int getLineAtOffset() {
+		offset = (offset + 7919) % content.getCharCount();
+		return content.getLineAtOffset(offset);
+	}
+
+	@Benchmark
+	public String getLine() {
+		line = (line + 7919) % content.getLineCount();
+		return content.getLine(line);
+	}
+}
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Display and shell for benchmarks that need a running window system. The
+ * state is per thread, so the display is created and used on the single
+ * benchmark thread, which becomes the UI thread. Run these benchmarks with
+ * the default of one thread; on Linux a virtual X server such as Xvfb is
+ * sufficient.
+ */
+@State(Scope.Thread)
+public class DisplayState {
+	public Display display;
+	public Shell shell;
+
+	@Setup(Level.Trial)
+	public void createDisplay() {
+		display = new Display();
+		shell = new Shell(display);
+		shell.setSize(800, 600);
+	}
+
+	@TearDown(Level.Trial)
+	public void disposeDisplay() {
+		display.dispose();
+	}
+
+	/** Dispatches all pending events without blocking */
+	public void readAndDispatchAll() {
+		while (display.readAndDispatch()) {
+			// continue
+		}
+	}
+}
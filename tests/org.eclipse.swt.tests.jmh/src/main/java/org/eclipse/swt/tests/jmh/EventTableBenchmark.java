@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Dispatching of events to listeners by the package private
+ * <code>EventTable</code>, which does not need a display. The table is
+ * called through {@link Internals}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EventTableBenchmark {
+	static final int[] TYPES = { SWT.Paint, SWT.MouseMove, SWT.KeyDown, SWT.Modify, SWT.Selection, SWT.Resize };
+
+	static final Class<?> EVENT_TABLE = Internals.findClass("org.eclipse.swt.widgets.EventTable");
+	static final MethodHandle NEW_EVENT_TABLE = Internals.constructor(EVENT_TABLE, MethodType.methodType(Object.class));
+	static final MethodHandle HOOK = Internals.method(EVENT_TABLE, "hook",
+			MethodType.methodType(void.class, int.class, Listener.class));
+	static final MethodHandle SEND_EVENT = Internals.method(EVENT_TABLE, "sendEvent",
+			MethodType.methodType(void.class, Event.class));
+
+	/** number of listeners hooked for each event type */
+	@Param({ "1", "8" })
+	public int listeners;
+
+	Object table;
+	Event event;
+
+	@Setup
+	public void setup(Blackhole blackhole) throws Throwable {
+		table = NEW_EVENT_TABLE.invokeExact();
+		for (int i = 0; i < listeners; i++) {
+			for (int type : TYPES) {
+				HOOK.invokeExact(table, type, (Listener) blackhole::consume);
+			}
+		}
+		event = new Event();
+	}
+
+	@Benchmark
+	public Event sendFirstType() throws Throwable {
+		event.type = TYPES[0];
+		SEND_EVENT.invokeExact(table, event);
+		return event;
+	}
+
+	@Benchmark
+	public Event sendLastType() throws Throwable {
+		event.type = TYPES[TYPES.length - 1];
+		SEND_EVENT.invokeExact(table, event);
+		return event;
+	}
+
+	@Benchmark
+	public Event sendUnhookedType() throws Throwable {
+		event.type = SWT.MouseWheel;
+		SEND_EVENT.invokeExact(table, event);
+		return event;
+	}
+}
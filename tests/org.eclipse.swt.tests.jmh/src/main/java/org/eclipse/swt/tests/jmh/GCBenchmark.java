@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.Point;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Text drawing and measuring with a {@link GC} on an image. Needs a display.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GCBenchmark {
+
+	@Param({ "label", "paragraph" })
+	public String text;
+
+	String string;
+	Image image;
+	GC gc;
+
+	@Setup(Level.Trial)
+	public void setup(DisplayState state) {
+		string = switch (text) {
+		case "label" -> "File name:";
+		case "paragraph" -> "The quick brown fox jumps over the lazy dog.\tFranz jagt im komplett verwahrlosten Taxi quer durch Bayern.\nΦαίνεται ότι 文字 テキスト";
+		default -> throw new IllegalArgumentException(text);
+		};
+		image = new Image(state.display, 512, 128);
+		gc = new GC(image);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		gc.dispose();
+		image.dispose();
+	}
+
+	@Benchmark
+	public GC drawString() {
+		gc.drawString(string, 4, 4, true);
+		return gc;
+	}
+
+	@Benchmark
+	public GC drawText() {
+		gc.drawText(string, 4, 4, SWT.DRAW_DELIMITER | SWT.DRAW_TAB | SWT.DRAW_TRANSPARENT);
+		return gc;
+	}
+
+	@Benchmark
+	public Point textExtent() {
+		return gc.textExtent(string);
+	}
+}
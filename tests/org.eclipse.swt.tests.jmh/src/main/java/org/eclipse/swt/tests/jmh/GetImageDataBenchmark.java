@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reading back rendered images with {@link Image#getImageData()} and
+ * {@link Image#getImageData(Rectangle)}. Needs a display.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GetImageDataBenchmark {
+
+	@Param({ "512", "3840" })
+	public int size;
+
+	@Param({ "false", "true" })
+	public boolean alpha;
+
+	Image image;
+	Rectangle tile;
+
+	@Setup(Level.Trial)
+	public void setup(DisplayState state) {
+		if (alpha) {
+			ImageData data = new ImageData(size, size, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+			data.alphaData = new byte[size * size];
+			for (int i = 0; i < data.alphaData.length; i++) {
+				data.alphaData[i] = (byte) i;
+			}
+			image = new Image(state.display, data);
+		} else {
+			image = new Image(state.display, size, size);
+		}
+		GC gc = new GC(image);
+		gc.setBackground(state.display.getSystemColor(SWT.COLOR_DARK_GREEN));
+		gc.fillOval(0, 0, size, size);
+		gc.drawText("SWT", size / 3, size / 3);
+		gc.dispose();
+		tile = new Rectangle(size / 4, size / 4, 256, 256);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		image.dispose();
+	}
+
+	@Benchmark
+	public ImageData getImageData() {
+		return image.getImageData();
+	}
+
+	@Benchmark
+	public ImageData getImageDataTile() {
+		return image.getImageData(tile);
+	}
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.internal.image.FileFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading a long animated GIF with all frames decoded up front, against
+ * decoding them on demand with {@link ImageLoader#frameCacheSize} and
+ * {@link ImageLoader#decodeAhead}. <code>firstFrame</code> measures the
+ * time until the animation can start, <code>playOnce</code> the time to
+ * show every frame once. Run with <code>-prof gc</code> to compare the
+ * allocated memory.
+ */
+@SuppressWarnings("restriction")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GifAnimationBenchmark {
+	static final int SIZE = 256;
+
+	@Param({ "200" })
+	public int frames;
+
+	@Param({ "eager", "lazy", "decodeAhead" })
+	public String mode;
+
+	byte[] encoded;
+
+	@Setup
+	public void setup() {
+		RGB[] rgbs = new RGB[256];
+		for (int i = 0; i < rgbs.length; i++) {
+			rgbs[i] = new RGB(i, (i * 3) & 0xFF, 255 - i);
+		}
+		ImageData[] data = new ImageData[frames];
+		int seed = 1;
+		for (int i = 0; i < frames; i++) {
+			ImageData frame = new ImageData(SIZE, SIZE, 8, new PaletteData(rgbs));
+			for (int y = 0; y < SIZE; y++) {
+				for (int x = 0; x < SIZE; x++) {
+					seed = seed * 1103515245 + 12345;
+					frame.setPixel(x, y, ((x + y + i * 4) / 4 + ((seed >>> 29) & 0x3)) & 0xFF);
+				}
+			}
+			frame.delayTime = 4;
+			data[i] = frame;
+		}
+		ImageLoader saver = new ImageLoader();
+		saver.data = data;
+		saver.logicalScreenWidth = SIZE;
+		saver.logicalScreenHeight = SIZE;
+		saver.repeatCount = 0;
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		FileFormat.save(out, SWT.IMAGE_GIF, saver);
+		encoded = out.toByteArray();
+	}
+
+	ImageLoader load() {
+		ImageLoader loader = new ImageLoader();
+		if (!"eager".equals(mode)) {
+			loader.frameCacheSize = 4;
+			loader.decodeAhead = "decodeAhead".equals(mode);
+		}
+		loader.load(new ByteArrayInputStream(encoded));
+		return loader;
+	}
+
+	@Benchmark
+	public ImageData firstFrame() {
+		return load().getFrame(0);
+	}
+
+	@Benchmark
+	public int playOnce() {
+		ImageLoader loader = load();
+		int pixels = 0;
+		for (int i = 0; i < loader.getFrameCount(); i++) {
+			pixels += loader.getFrame(i).data.length;
+		}
+		return pixels;
+	}
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.layout.GridData;
+import org.eclipse.swt.layout.GridLayout;
+import org.eclipse.swt.widgets.Canvas;
+import org.eclipse.swt.widgets.Composite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Computing the size and the layout of a {@link GridLayout}. The children
+ * report a fixed preferred size, so the benchmark measures the layout
+ * algorithm rather than the native size computation of real widgets.
+ * Controls cannot exist without a display, so this benchmark needs one.
+ * The protected layout methods are reached through the public methods of
+ * the composite, which only add the trim and the checks of the widget.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GridLayoutBenchmark {
+
+	/** Child with a fixed preferred size that does not ask the platform */
+	static class StubControl extends Canvas {
+		final int width, height;
+
+		StubControl(Composite parent, int width, int height) {
+			super(parent, SWT.NONE);
+			this.width = width;
+			this.height = height;
+		}
+
+		@Override
+		public Point computeSize(int wHint, int hHint, boolean changed) {
+			return new Point(wHint == SWT.DEFAULT ? width : wHint, hHint == SWT.DEFAULT ? height : hHint);
+		}
+	}
+
+	@Param({ "200" })
+	public int children;
+
+	@Param({ "4" })
+	public int columns;
+
+	Composite composite;
+
+	@Setup(Level.Trial)
+	public void setup(DisplayState state) {
+		composite = new Composite(state.shell, SWT.NONE);
+		composite.setLayout(new GridLayout(columns, false));
+		for (int i = 0; i < children; i++) {
+			StubControl child = new StubControl(composite, 40 + (i * 37) % 80, 20 + (i * 13) % 10);
+			GridData data = new GridData(SWT.FILL, SWT.CENTER, i % columns == columns - 1, false);
+			if (i % 17 == 0) data.horizontalSpan = 2;
+			child.setLayoutData(data);
+		}
+		composite.setSize(800, 4000);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		composite.dispose();
+	}
+
+	@Benchmark
+	public Point computeSize() {
+		return composite.computeSize(SWT.DEFAULT, SWT.DEFAULT, true);
+	}
+
+	@Benchmark
+	public Point computeSizeWithWidthHint() {
+		return composite.computeSize(600, SWT.DEFAULT, true);
+	}
+
+	@Benchmark
+	public Composite layout() {
+		composite.layout(true);
+		return composite;
+	}
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.internal.image.FileFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading a 16x16 icon with the Java image codecs, where finding the file
+ * format of the stream is a noticeable part of the time.
+ */
+@SuppressWarnings("restriction")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IconLoadBenchmark {
+	@Param({ "bmp", "gif", "ico", "png", "jpeg" })
+	public String format;
+
+	byte[] encoded;
+
+	@Setup
+	public void setup() {
+		int swtFormat = switch (format) {
+		case "bmp" -> SWT.IMAGE_BMP;
+		case "gif" -> SWT.IMAGE_GIF;
+		case "ico" -> SWT.IMAGE_ICO;
+		case "png" -> SWT.IMAGE_PNG;
+		case "jpeg" -> SWT.IMAGE_JPEG;
+		default -> throw new IllegalArgumentException(format);
+		};
+		RGB[] rgbs = new RGB[16];
+		for (int i = 0; i < rgbs.length; i++) {
+			rgbs[i] = new RGB(i * 16, 255 - i * 16, i * 8);
+		}
+		ImageData data = swtFormat == SWT.IMAGE_JPEG
+				? new ImageData(16, 16, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF))
+				: new ImageData(16, 16, 4, new PaletteData(rgbs));
+		for (int y = 0; y < 16; y++) {
+			for (int x = 0; x < 16; x++) {
+				data.setPixel(x, y, swtFormat == SWT.IMAGE_JPEG ? x * y * 1000 : (x + y) % 16);
+			}
+		}
+		ImageLoader saver = new ImageLoader();
+		saver.data = new ImageData[] { data };
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		FileFormat.save(out, swtFormat, saver);
+		encoded = out.toByteArray();
+	}
+
+	@Benchmark
+	public ImageData[] load() {
+		return FileFormat.load(new ByteArrayInputStream(encoded), new ImageLoader());
+	}
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.internal.image.ImageDataResampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scaling icons to the zoom of the monitor, as done by
+ * <code>DPIUtil.autoScaleImageData</code> when no image for the zoom is
+ * available: <code>nearest</code> uses {@link ImageData#scaledTo(int, int)},
+ * the others {@link ImageDataResampler} with the given filter.
+ */
+@SuppressWarnings("restriction")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class IconScaleBenchmark {
+	@Param({ "16", "24", "32" })
+	public int size;
+
+	@Param({ "125", "150", "200" })
+	public int zoom;
+
+	@Param({ "nearest", "smooth", "lanczos3" })
+	public String method;
+
+	ImageData icon;
+	int scaledSize;
+	ImageDataResampler.Filter filter;
+
+	/**
+	 * Creates a disc with an anti-aliased edge on a transparent background.
+	 */
+	static ImageData createIcon(int size) {
+		ImageData data = new ImageData(size, size, 32, new PaletteData(0xFF00, 0xFF0000, 0xFF000000));
+		data.alphaData = new byte[size * size];
+		float radius = size / 2f - 1;
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				float dx = x + 0.5f - size / 2f, dy = y + 0.5f - size / 2f;
+				float distance = (float) Math.sqrt(dx * dx + dy * dy);
+				int alpha = Math.max(0, Math.min(255, Math.round((radius - distance + 0.5f) * 255)));
+				data.setPixel(x, y, data.palette.getPixel(new RGB(x * 255 / size, y * 255 / size, 128)));
+				data.alphaData[y * size + x] = (byte) alpha;
+			}
+		}
+		return data;
+	}
+
+	@Setup
+	public void setup() {
+		icon = createIcon(size);
+		scaledSize = Math.round(size * zoom / 100f);
+		filter = switch (method) {
+		case "nearest", "smooth" -> null;
+		case "lanczos3" -> ImageDataResampler.Filter.LANCZOS3;
+		default -> throw new IllegalArgumentException(method);
+		};
+	}
+
+	@Benchmark
+	public ImageData scale() {
+		if ("nearest".equals(method)) {
+			return icon.scaledTo(scaledSize, scaledSize);
+		}
+		return ImageDataResampler.resample(icon, scaledSize, scaledSize, filter);
+	}
+}
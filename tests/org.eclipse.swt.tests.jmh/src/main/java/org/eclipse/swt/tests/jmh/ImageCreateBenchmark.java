@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Creating an {@link Image} from {@link ImageData} of different formats.
+ * Needs a display. Run with <code>-prof gc</code> to compare the memory
+ * allocated per image (<code>gc.alloc.rate.norm</code>).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ImageCreateBenchmark {
+
+	@Param({ "rgb", "native", "indexed", "alpha", "mask" })
+	public String type;
+
+	@Param({ "256", "3840" })
+	public int size;
+
+	DisplayState state;
+	ImageData data;
+
+	@Setup(Level.Trial)
+	public void setup(DisplayState state) {
+		this.state = state;
+		Random random = new Random(0);
+		switch (type) {
+		case "rgb" -> data = new ImageData(size, size, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		// already in the format of the native image on little endian machines
+		case "native" -> data = new ImageData(size, size, 32, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		case "indexed" -> {
+			RGB[] rgbs = new RGB[256];
+			for (int i = 0; i < rgbs.length; i++) {
+				rgbs[i] = new RGB(i, 255 - i, i / 2);
+			}
+			data = new ImageData(size, size, 8, new PaletteData(rgbs));
+		}
+		case "alpha" -> {
+			data = new ImageData(size, size, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+			data.alphaData = new byte[size * size];
+			random.nextBytes(data.alphaData);
+		}
+		case "mask" -> {
+			data = new ImageData(size, size, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+			data.maskPad = 2;
+			data.maskData = new byte[(size + 15) / 16 * 2 * size];
+			random.nextBytes(data.maskData);
+		}
+		default -> throw new IllegalArgumentException(type);
+		}
+		random.nextBytes(data.data);
+	}
+
+	@Benchmark
+	public Image createImage() {
+		Image image = new Image(state.display, data);
+		image.dispose();
+		return image;
+	}
+}
@@ -0,0 +1,150 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.internal.image.RowBands;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Pixel format conversion and scaling of {@link ImageData}. The package
+ * private blitters are called through {@link Internals}. With
+ * <code>parallel</code> set, images above the threshold of {@link RowBands}
+ * are processed in parallel.
+ */
+@SuppressWarnings("restriction")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ImageDataBenchmark {
+
+	/** the byte orders of <code>ImageData</code> */
+	static final int LSB_FIRST = 0, MSB_FIRST = 1;
+
+	static final MethodHandle BLIT_DIRECT_TO_DIRECT = Internals.staticMethod(ImageData.class, "blit",
+			MethodType.methodType(void.class,
+					byte[].class, int.class, int.class, int.class, int.class, int.class, int.class, int.class, int.class,
+					byte[].class, int.class, int.class, int.class, int.class, int.class, int.class, int.class, int.class,
+					boolean.class, boolean.class));
+	static final MethodHandle BLIT_INDEX_TO_DIRECT = Internals.staticMethod(ImageData.class, "blit",
+			MethodType.methodType(void.class,
+					int.class, int.class, byte[].class, int.class, int.class, int.class,
+					byte[].class, byte[].class, byte[].class,
+					byte[].class, int.class, int.class, int.class, int.class, int.class, int.class));
+
+	@Param({ "256", "2048" })
+	public int size;
+
+	@Param({ "false", "true" })
+	public boolean parallel;
+
+	ImageData direct32;
+	ImageData direct24;
+	ImageData indexed8;
+	ImageData alpha32;
+
+	static ImageData createImageData(int width, int height, int depth, PaletteData palette) {
+		ImageData data = new ImageData(width, height, depth, palette);
+		new Random(0).nextBytes(data.data);
+		return data;
+	}
+
+	static PaletteData createGrayPalette() {
+		RGB[] rgbs = new RGB[256];
+		for (int i = 0; i < rgbs.length; i++) {
+			rgbs[i] = new RGB(i, i, i);
+		}
+		return new PaletteData(rgbs);
+	}
+
+	@Setup
+	public void setup() {
+		RowBands.setParallel(parallel);
+		direct32 = createImageData(size, size, 32, new PaletteData(0xFF00, 0xFF0000, 0xFF000000));
+		direct24 = createImageData(size, size, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		indexed8 = createImageData(size, size, 8, createGrayPalette());
+		alpha32 = createImageData(size, size, 32, new PaletteData(0xFF00, 0xFF0000, 0xFF000000));
+		alpha32.alphaData = new byte[size * size];
+		new Random(1).nextBytes(alpha32.alphaData);
+	}
+
+	@TearDown
+	public void tearDown() {
+		RowBands.setParallel(false);
+	}
+
+	/** Direct to direct with different depth and masks, as when converting to the native format */
+	@Benchmark
+	public byte[] blitDirectToDirect() throws Throwable {
+		byte[] dest = new byte[direct24.data.length];
+		BLIT_DIRECT_TO_DIRECT.invokeExact(direct32.data, 32, direct32.bytesPerLine, MSB_FIRST, size, size,
+				0xFF00, 0xFF0000, 0xFF000000,
+				dest, 24, direct24.bytesPerLine, MSB_FIRST, size, size,
+				0xFF0000, 0xFF00, 0xFF, false, false);
+		return dest;
+	}
+
+	@Benchmark
+	public byte[] blitIndexToDirect() throws Throwable {
+		byte[] dest = new byte[direct32.data.length];
+		PaletteData palette = indexed8.palette;
+		byte[] reds = new byte[256], greens = new byte[256], blues = new byte[256];
+		for (int i = 0; i < palette.colors.length; i++) {
+			RGB rgb = palette.colors[i];
+			reds[i] = (byte) rgb.red;
+			greens[i] = (byte) rgb.green;
+			blues[i] = (byte) rgb.blue;
+		}
+		BLIT_INDEX_TO_DIRECT.invokeExact(size, size, indexed8.data, 8, indexed8.bytesPerLine, MSB_FIRST,
+				reds, greens, blues,
+				dest, 32, direct32.bytesPerLine, LSB_FIRST, 0xFF0000, 0xFF00, 0xFF);
+		return dest;
+	}
+
+	@Benchmark
+	public ImageData scaledToDirect() {
+		return direct24.scaledTo(size / 2, size / 2);
+	}
+
+	@Benchmark
+	public ImageData scaledToIndexed() {
+		return indexed8.scaledTo(size * 3 / 2, size * 3 / 2);
+	}
+
+	@Benchmark
+	public ImageData scaledToAlpha() {
+		return alpha32.scaledTo(size * 3 / 2, size * 3 / 2);
+	}
+}
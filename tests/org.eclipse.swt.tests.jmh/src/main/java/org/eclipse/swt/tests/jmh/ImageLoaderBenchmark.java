@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link ImageLoader#load(InputStream)} of multi-megabyte PNG and JPEG
+ * files. The <code>jar</code> stream returns at most 8 KiB per read, like
+ * the inflating streams of resources in a jar file. Run with
+ * <code>-prof gc</code> to compare the allocated memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ImageLoaderBenchmark {
+	@Param({ "png", "jpeg" })
+	public String format;
+
+	@Param({ "2048", "4096" })
+	public int size;
+
+	@Param({ "array", "jar" })
+	public String stream;
+
+	@Param({ "false", "true" })
+	public boolean listener;
+
+	byte[] encoded;
+
+	/**
+	 * Creates a gradient with noise, so that the encoded file is several
+	 * megabytes large.
+	 */
+	static ImageData createImageData(int size) {
+		ImageData data = new ImageData(size, size, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		int seed = 1;
+		int[] row = new int[size];
+		for (int y = 0; y < size; y++) {
+			for (int x = 0; x < size; x++) {
+				seed = seed * 1103515245 + 12345;
+				int noise = (seed >>> 26) & 0x1F;
+				int r = (x * 255 / size + noise) & 0xFF, g = (y * 255 / size + noise) & 0xFF, b = ((x ^ y) + noise) & 0xFF;
+				row[x] = (r << 16) | (g << 8) | b;
+			}
+			data.setPixels(0, y, size, row, 0);
+		}
+		return data;
+	}
+
+	@Setup
+	public void setup() {
+		ImageLoader saver = new ImageLoader();
+		saver.data = new ImageData[] { createImageData(size) };
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		saver.save(out, "png".equals(format) ? SWT.IMAGE_PNG : SWT.IMAGE_JPEG);
+		encoded = out.toByteArray();
+	}
+
+	@Benchmark
+	public ImageData[] load() {
+		InputStream in = new ByteArrayInputStream(encoded);
+		if ("jar".equals(stream)) {
+			in = new ByteArrayInputStream(encoded) {
+				@Override
+				public synchronized int read(byte[] b, int off, int len) {
+					return super.read(b, off, Math.min(len, 8192));
+				}
+			};
+		}
+		ImageLoader loader = new ImageLoader();
+		if (listener) {
+			loader.addImageLoaderListener(event -> {
+			});
+		}
+		return loader.load(in);
+	}
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Method handles for the package private SWT classes and members that some
+ * benchmarks measure. The benchmarks do not live in the SWT packages, so
+ * they reach them the way the JUnit tests do, through reflection. The
+ * handles are adapted to public types, so <code>invokeExact</code> can be
+ * used on them from <code>static final</code> fields, which the JIT compiles
+ * like a direct call.
+ */
+final class Internals {
+
+	private Internals() {
+	}
+
+	static Class<?> findClass(String className) {
+		try {
+			return Class.forName(className);
+		} catch (ClassNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static MethodHandles.Lookup lookup(Class<?> clazz) {
+		try {
+			return MethodHandles.privateLookupIn(clazz, MethodHandles.lookup());
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/** Returns the constructor of <code>clazz</code>, returning <code>type.returnType()</code> */
+	static MethodHandle constructor(Class<?> clazz, MethodType type) {
+		try {
+			return lookup(clazz).findConstructor(clazz, type.changeReturnType(void.class)).asType(type);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/** Returns a static method, called with the exact <code>type</code> */
+	static MethodHandle staticMethod(Class<?> clazz, String name, MethodType type) {
+		try {
+			return lookup(clazz).findStatic(clazz, name, type);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Returns an instance method of <code>clazz</code>, called with the receiver
+	 * as an <code>Object</code> followed by the arguments of <code>type</code>
+	 */
+	static MethodHandle method(Class<?> clazz, String name, MethodType type) {
+		try {
+			return lookup(clazz).findVirtual(clazz, name, type).asType(type.insertParameterTypes(0, Object.class));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/** Returns the getter of a field, called with the receiver as an <code>Object</code> */
+	static MethodHandle getter(Class<?> clazz, String name, Class<?> type) {
+		try {
+			return lookup(clazz).findGetter(clazz, name, type).asType(MethodType.methodType(type, Object.class));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/** Returns the setter of a field, called with the receiver as an <code>Object</code> */
+	static MethodHandle setter(Class<?> clazz, String name, Class<?> type) {
+		try {
+			return lookup(clazz).findSetter(clazz, name, type).asType(MethodType.methodType(void.class, Object.class, type));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
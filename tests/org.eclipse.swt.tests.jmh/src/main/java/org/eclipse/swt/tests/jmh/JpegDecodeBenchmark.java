@@ -0,0 +1,129 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.internal.image.FileFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decoding throughput of the Java JPEG decoder for each inverse DCT of the
+ * <code>swt.jpeg.idct</code> system property. The corpus of baseline and
+ * progressive files in two qualities is written with
+ * <code>javax.imageio</code> when the benchmark is set up.
+ */
+@SuppressWarnings("restriction")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JpegDecodeBenchmark {
+	static final int SIZE = 1024;
+
+	@Param({ "accurate", "fast", "float" })
+	public String idct;
+
+	@Param({ "baseline", "progressive" })
+	public String mode;
+
+	byte[][] corpus;
+
+	static BufferedImage createImage(boolean gray) {
+		BufferedImage image = new BufferedImage(SIZE, SIZE, gray ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_INT_RGB);
+		int seed = 1;
+		for (int y = 0; y < SIZE; y++) {
+			for (int x = 0; x < SIZE; x++) {
+				seed = seed * 1103515245 + 12345;
+				int noise = (seed >>> 26) & 0x1F;
+				int r = (x * 255 / SIZE + noise) & 0xFF, g = (y * 255 / SIZE + noise) & 0xFF, b = ((x ^ y) + noise) & 0xFF;
+				image.setRGB(x, y, (r << 16) | (g << 8) | b);
+			}
+		}
+		return image;
+	}
+
+	static byte[] encode(BufferedImage image, boolean progressive, float quality) throws IOException {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+		ImageWriteParam param = writer.getDefaultWriteParam();
+		if (progressive) {
+			param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+		}
+		param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+		param.setCompressionQuality(quality);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+			writer.setOutput(stream);
+			writer.write(null, new IIOImage(image, null, null), param);
+		} finally {
+			writer.dispose();
+		}
+		return out.toByteArray();
+	}
+
+	@Setup
+	public void setup() throws IOException {
+		System.setProperty("swt.jpeg.idct", idct);
+		boolean progressive = "progressive".equals(mode);
+		BufferedImage color = createImage(false), gray = createImage(true);
+		corpus = new byte[][] {
+			encode(color, progressive, 0.75f),
+			encode(color, progressive, 0.95f),
+			encode(gray, progressive, 0.75f),
+		};
+	}
+
+	@TearDown
+	public void tearDown() {
+		System.clearProperty("swt.jpeg.idct");
+	}
+
+	/**
+	 * Decodes the whole corpus, one operation is three images.
+	 */
+	@Benchmark
+	public int decode() {
+		int pixels = 0;
+		for (byte[] file : corpus) {
+			ImageData data = FileFormat.load(new ByteArrayInputStream(file), new ImageLoader())[0];
+			pixels += data.width * data.height;
+		}
+		return pixels;
+	}
+}
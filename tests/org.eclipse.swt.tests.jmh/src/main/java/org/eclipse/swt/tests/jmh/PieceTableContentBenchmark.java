@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.custom.PieceTableContent;
+import org.eclipse.swt.custom.StyledTextContent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link PieceTableContent} against the default content of
+ * {@link DefaultContentBenchmark}: loading a document, typing in it and
+ * looking up lines. The heap retained by the loaded document is printed at
+ * the start of each trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Thread)
+public class PieceTableContentBenchmark {
+
+	@Param({ "DefaultContent", "PieceTableContent" })
+	public String implementation;
+
+	@Param({ "100000", "1000000" })
+	public int lines;
+
+	String text;
+	Path file;
+	StyledTextContent content;
+	int offset;
+	int line;
+
+	StyledTextContent createContent() {
+		return "DefaultContent".equals(implementation) ? DefaultContentBenchmark.newDefaultContent() : new PieceTableContent();
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		text = DefaultContentBenchmark.createText(lines);
+		file = Files.createTempFile("content", ".txt");
+		Files.writeString(file, text, StandardCharsets.ISO_8859_1);
+		long before = DefaultContentBenchmark.usedHeap();
+		content = createContent();
+		content.setText(text);
+		System.out.printf("%n%s with %d lines retains %.1f MB besides the String%n", implementation, lines,
+				(DefaultContentBenchmark.usedHeap() - before) / (1024.0 * 1024.0));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public int setText() {
+		StyledTextContent newContent = createContent();
+		newContent.setText(text);
+		return newContent.getLineCount();
+	}
+
+	/** Reads the document from a file, mapped into memory by {@link PieceTableContent#setFile} */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public int loadFile() throws IOException {
+		if ("DefaultContent".equals(implementation)) {
+			StyledTextContent newContent = DefaultContentBenchmark.newDefaultContent();
+			newContent.setText(Files.readString(file, StandardCharsets.ISO_8859_1));
+			return newContent.getLineCount();
+		}
+		PieceTableContent newContent = new PieceTableContent();
+		newContent.setFile(file, StandardCharsets.ISO_8859_1);
+		return newContent.getLineCount();
+	}
+
+	/** Types one character in the middle of the document, alternating with a new line */
+	@Benchmark
+	public int typeInMiddle() {
+		int middle = content.getOffsetAtLine(content.getLineCount() / 2);
+		content.replaceTextRange(middle, 0, (offset++ & 0x1F) == 0 ? "\n" : "x");
+		return content.getCharCount();
+	}
+
+	/** Types one character on a line far away from the previous edit */
+	@Benchmark
+	public int typeOnRandomLine() {
+		line = (line + 7919) % content.getLineCount();
+		content.replaceTextRange(content.getOffsetAtLine(line), 0, "x");
+		return content.getCharCount();
+	}
+
+	@Benchmark
+	public int getLineAtOffset() {
+		offset = (offset + 7919) % content.getCharCount();
+		return content.getLineAtOffset(offset);
+	}
+
+	@Benchmark
+	public String getLine() {
+		line = (line + 7919) % content.getLineCount();
+		return content.getLine(line);
+	}
+}
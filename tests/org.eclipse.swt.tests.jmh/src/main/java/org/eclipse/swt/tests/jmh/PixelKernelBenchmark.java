@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.internal.image.PixelKernels;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The alpha kernels of {@link PixelKernels} on one megapixel, so the
+ * scores are the cost per megapixel. The <code>*Bytes</code> benchmarks
+ * are the byte at a time loops with divisions the kernels replaced, for
+ * comparison.
+ */
+@SuppressWarnings("restriction")
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PixelKernelBenchmark {
+	static final int PIXELS = 1024 * 1024;
+
+	int[] straight, premultiplied, pixels;
+	byte[] alpha, bytes, straightBytes, premultipliedBytes;
+
+	@Setup
+	public void createPixels() {
+		Random random = new Random(0);
+		straight = new int[PIXELS];
+		alpha = new byte[PIXELS];
+		for (int i = 0; i < PIXELS; i++) {
+			/* mostly opaque or transparent, like icons, with soft edges */
+			int a = switch (random.nextInt(4)) {
+				case 0 -> 0;
+				case 1 -> random.nextInt(256);
+				default -> 255;
+			};
+			straight[i] = a << 24 | random.nextInt(0x1000000);
+			alpha[i] = (byte) a;
+		}
+		premultiplied = straight.clone();
+		PixelKernels.premultiply(premultiplied, 0, PIXELS);
+		pixels = new int[PIXELS];
+		straightBytes = toBytes(straight);
+		premultipliedBytes = toBytes(premultiplied);
+		bytes = new byte[PIXELS * 4];
+	}
+
+	static byte[] toBytes(int[] pixels) {
+		byte[] bytes = new byte[pixels.length * 4];
+		for (int i = 0, offset = 0; i < pixels.length; i++, offset += 4) {
+			int pixel = pixels[i];
+			bytes[offset] = (byte) (pixel >>> 24);
+			bytes[offset + 1] = (byte) (pixel >> 16);
+			bytes[offset + 2] = (byte) (pixel >> 8);
+			bytes[offset + 3] = (byte) pixel;
+		}
+		return bytes;
+	}
+
+	@Benchmark
+	public int[] premultiply() {
+		System.arraycopy(straight, 0, pixels, 0, PIXELS);
+		PixelKernels.premultiply(pixels, 0, PIXELS);
+		return pixels;
+	}
+
+	@Benchmark
+	public int[] premultiplyWithAlpha() {
+		System.arraycopy(straight, 0, pixels, 0, PIXELS);
+		PixelKernels.premultiply(pixels, 0, PIXELS, alpha, 0);
+		return pixels;
+	}
+
+	@Benchmark
+	public int[] unpremultiply() {
+		System.arraycopy(premultiplied, 0, pixels, 0, PIXELS);
+		PixelKernels.unpremultiply(pixels, 0, PIXELS);
+		return pixels;
+	}
+
+	@Benchmark
+	public int[] rgbaToArgb() {
+		System.arraycopy(straight, 0, pixels, 0, PIXELS);
+		PixelKernels.rgbaToArgb(pixels, 0, PIXELS);
+		return pixels;
+	}
+
+	@Benchmark
+	public byte[] extractAlpha() {
+		System.arraycopy(straight, 0, pixels, 0, PIXELS);
+		PixelKernels.extractAlpha(pixels, 0, PIXELS, bytes, 0);
+		return bytes;
+	}
+
+	@Benchmark
+	public byte[] premultiplyBytes() {
+		byte[] line = bytes;
+		System.arraycopy(straightBytes, 0, line, 0, line.length);
+		for (int offset = 0; offset < line.length; offset += 4) {
+			int a = line[offset] & 0xFF;
+			int r = ((line[offset + 1] & 0xFF) * a) + 128;
+			r = (r + (r >> 8)) >> 8;
+			int g = ((line[offset + 2] & 0xFF) * a) + 128;
+			g = (g + (g >> 8)) >> 8;
+			int b = ((line[offset + 3] & 0xFF) * a) + 128;
+			b = (b + (b >> 8)) >> 8;
+			line[offset + 1] = (byte) r;
+			line[offset + 2] = (byte) g;
+			line[offset + 3] = (byte) b;
+		}
+		return line;
+	}
+
+	@Benchmark
+	public byte[] unpremultiplyBytes() {
+		byte[] line = bytes;
+		System.arraycopy(premultipliedBytes, 0, line, 0, line.length);
+		for (int offset = 0; offset < line.length; offset += 4) {
+			int a = line[offset] & 0xFF;
+			if (a != 0) {
+				line[offset + 1] = (byte) ((((line[offset + 1] & 0xFF) * 0xFF) + a / 2) / a);
+				line[offset + 2] = (byte) ((((line[offset + 2] & 0xFF) * 0xFF) + a / 2) / a);
+				line[offset + 3] = (byte) ((((line[offset + 3] & 0xFF) * 0xFF) + a / 2) / a);
+			}
+		}
+		return line;
+	}
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.internal.image.FileFormat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decoding throughput of the Java PNG decoder for the common color types,
+ * written with <code>javax.imageio</code> when the benchmark is set up.
+ * Run with <code>-prof gc</code> to compare the allocated memory.
+ */
+@SuppressWarnings("restriction")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PngDecodeBenchmark {
+	static final int SIZE = 1024;
+
+	@Param({ "rgba", "rgb", "palette", "gray" })
+	public String type;
+
+	@Param({ "false", "true" })
+	public boolean interlaced;
+
+	byte[] encoded;
+
+	static BufferedImage createImage(String type) {
+		int imageType = switch (type) {
+		case "rgba" -> BufferedImage.TYPE_INT_ARGB;
+		case "rgb" -> BufferedImage.TYPE_INT_RGB;
+		case "palette" -> BufferedImage.TYPE_BYTE_INDEXED;
+		case "gray" -> BufferedImage.TYPE_BYTE_GRAY;
+		default -> throw new IllegalArgumentException(type);
+		};
+		BufferedImage image = new BufferedImage(SIZE, SIZE, imageType);
+		int seed = 1;
+		for (int y = 0; y < SIZE; y++) {
+			for (int x = 0; x < SIZE; x++) {
+				seed = seed * 1103515245 + 12345;
+				int noise = (seed >>> 28) & 0x7;
+				int a = (x * y / SIZE + noise) & 0xFF;
+				int r = (x / 4 + noise) & 0xFF, g = (y / 4 + noise) & 0xFF, b = ((x + y) / 8) & 0xFF;
+				image.setRGB(x, y, (a << 24) | (r << 16) | (g << 8) | b);
+			}
+		}
+		return image;
+	}
+
+	@Setup
+	public void setup() throws IOException {
+		ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+		ImageWriteParam param = writer.getDefaultWriteParam();
+		param.setProgressiveMode(interlaced ? ImageWriteParam.MODE_DEFAULT : ImageWriteParam.MODE_DISABLED);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+			writer.setOutput(stream);
+			writer.write(null, new IIOImage(createImage(type), null, null), param);
+		} finally {
+			writer.dispose();
+		}
+		encoded = out.toByteArray();
+	}
+
+	@Benchmark
+	public ImageData decode() {
+		return FileFormat.load(new ByteArrayInputStream(encoded), new ImageLoader())[0];
+	}
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.internal.image.FileFormat;
+import org.eclipse.swt.internal.image.RowBands;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding a 2048x2048 true color image with the PNG encoder at every
+ * {@link ImageLoader#compression} level. <code>filter=none</code> is the
+ * encoder without row filters, <code>parallel=true</code> compresses blocks
+ * of rows on the common fork-join pool. The <code>inputBytes</code>
+ * counter is the throughput in bytes of pixel data per second, the size of
+ * the encoded file is printed at the end of a trial.
+ */
+@SuppressWarnings("restriction")
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PngEncodeBenchmark {
+	static final int SIZE = 2048;
+
+	@Param({ "photo", "screenshot" })
+	public String content;
+
+	@Param({ "0", "1", "2", "3" })
+	public int compression;
+
+	@Param({ "none", "adaptive" })
+	public String filter;
+
+	@Param({ "false", "true" })
+	public boolean parallel;
+
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Counters {
+		public long inputBytes;
+	}
+
+	ImageLoader source;
+	int encodedSize;
+
+	/**
+	 * Creates either a smooth gradient with some noise, which compresses
+	 * like a photo, or flat areas with thin lines, which compresses like a
+	 * screenshot.
+	 */
+	static ImageData createImageData(boolean photo) {
+		ImageData data = new ImageData(SIZE, SIZE, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		int seed = 1;
+		for (int y = 0; y < SIZE; y++) {
+			for (int x = 0; x < SIZE; x++) {
+				int pixel;
+				if (photo) {
+					seed = seed * 1103515245 + 12345;
+					int noise = (seed >>> 28) & 0x7;
+					int r = (x / 8 + noise) & 0xFF, g = (y / 8 + noise) & 0xFF, b = ((x + y) / 16) & 0xFF;
+					pixel = (r << 16) | (g << 8) | b;
+				} else if (y % 24 < 18 && x % 7 < 5 && ((x / 7 * 31 + y / 24 * 17) % 11) < 7) {
+					pixel = (y % 24 == 9 || x % 7 == 2) ? 0x202020 : 0xF0F0F0;
+				} else {
+					pixel = (x / 256 % 2 == 0) ? 0xFFFFFF : 0xE8F0FF;
+				}
+				data.setPixel(x, y, pixel);
+			}
+		}
+		return data;
+	}
+
+	@Setup
+	public void setup() {
+		System.setProperty("swt.png.filter", filter);
+		RowBands.setParallel(parallel);
+		source = new ImageLoader();
+		source.data = new ImageData[] { createImageData("photo".equals(content)) };
+		source.compression = compression;
+		encodedSize = encode(new Counters()).length;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		System.clearProperty("swt.png.filter");
+		RowBands.setParallel(false);
+		System.out.println();
+		System.out.println("encoded size: " + encodedSize + " bytes (" + (100L * encodedSize / (SIZE * SIZE * 3)) + "%)");
+	}
+
+	@Benchmark
+	public byte[] encode(Counters counters) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(SIZE * SIZE);
+		FileFormat.save(out, SWT.IMAGE_PNG, source);
+		counters.inputBytes += SIZE * SIZE * 3;
+		return out.toByteArray();
+	}
+}
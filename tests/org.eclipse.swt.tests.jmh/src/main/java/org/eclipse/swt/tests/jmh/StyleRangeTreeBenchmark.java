@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyleRange;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.graphics.Device;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The styles of a syntax highlighted document kept in a
+ * <code>StyleRangeTree</code> (<code>swt.styledText.styleTree</code>) against
+ * the arrays of the <code>StyledTextRenderer</code>, without a
+ * {@link StyledText}: typing, which moves all ranges after the caret,
+ * restyling the line typed in, as a highlighter does after each key, and
+ * reading the styles of a line. The package private renderer is called
+ * through {@link Internals}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Thread)
+public class StyleRangeTreeBenchmark {
+
+	/** the characters of each styled token and the gap to the next one */
+	static final int TOKEN = 6, GAP = 2;
+	/** the tokens of the line that is restyled */
+	static final int LINE_TOKENS = 10;
+
+	static final Class<?> RENDERER = Internals.findClass("org.eclipse.swt.custom.StyledTextRenderer");
+	static final MethodHandle NEW_RENDERER = Internals.constructor(RENDERER,
+			MethodType.methodType(Object.class, Device.class, StyledText.class));
+	static final MethodHandle SET_USE_STYLE_TREE = Internals.setter(RENDERER, "useStyleTree", boolean.class);
+	static final MethodHandle GET_STYLE_COUNT = Internals.getter(RENDERER, "styleCount", int.class);
+	static final MethodHandle UPDATE_RANGES = Internals.method(RENDERER, "updateRanges",
+			MethodType.methodType(void.class, int.class, int.class, int.class));
+	static final MethodHandle SET_STYLE_RANGES = Internals.method(RENDERER, "setStyleRanges",
+			MethodType.methodType(void.class, int[].class, StyleRange[].class));
+	static final MethodHandle GET_STYLE_RANGES = Internals.method(RENDERER, "getStyleRanges",
+			MethodType.methodType(StyleRange[].class, int.class, int.class, boolean.class));
+
+	@Param({ "arrays", "tree" })
+	public String implementation;
+
+	@Param({ "100000", "2000000" })
+	public int ranges;
+
+	StyleRange[] styles;
+	Object renderer;
+	int charCount;
+	int offset;
+	int token;
+
+	@Setup(Level.Iteration)
+	public void setup() throws Throwable {
+		styles = new StyleRange[4];
+		for (int i = 0; i < styles.length; i++) {
+			styles[i] = new StyleRange();
+			styles[i].fontStyle = i == 0 ? SWT.BOLD : SWT.NORMAL;
+			styles[i].rise = i;
+		}
+		int[] newRanges = new int[ranges * 2];
+		StyleRange[] newStyles = new StyleRange[ranges];
+		for (int i = 0; i < ranges; i++) {
+			newRanges[i * 2] = i * (TOKEN + GAP);
+			newRanges[i * 2 + 1] = TOKEN;
+			newStyles[i] = styles[i % styles.length];
+		}
+		charCount = ranges * (TOKEN + GAP);
+		renderer = NEW_RENDERER.invokeExact((Device) null, (StyledText) null);
+		SET_USE_STYLE_TREE.invokeExact(renderer, "tree".equals(implementation));
+		SET_STYLE_RANGES.invokeExact(renderer, newRanges, newStyles);
+		offset = charCount / 2;
+	}
+
+	/** Types one character in a token in the middle of the document */
+	@Benchmark
+	public int typeInMiddle() throws Throwable {
+		UPDATE_RANGES.invokeExact(renderer, offset + 1, 0, 1);
+		charCount++;
+		return (int) GET_STYLE_COUNT.invokeExact(renderer);
+	}
+
+	/**
+	 * Types one character in the middle of the document and sets the styles of
+	 * the tokens around it again, as <code>StyledText.replaceStyleRanges</code>
+	 * does
+	 */
+	@Benchmark
+	public int typeAndRestyleLine() throws Throwable {
+		UPDATE_RANGES.invokeExact(renderer, offset + 1, 0, 1);
+		charCount++;
+		int start = offset - (offset % (TOKEN + GAP)) - LINE_TOKENS / 2 * (TOKEN + GAP);
+		int length = LINE_TOKENS * (TOKEN + GAP) + 1;
+		int[] newRanges = new int[LINE_TOKENS * 2];
+		StyleRange[] newStyles = new StyleRange[LINE_TOKENS];
+		for (int i = 0, pos = start; i < LINE_TOKENS; i++) {
+			newRanges[i * 2] = pos;
+			newRanges[i * 2 + 1] = i == LINE_TOKENS / 2 ? TOKEN + 1 : TOKEN;
+			newStyles[i] = styles[(token + i) % styles.length];
+			pos += newRanges[i * 2 + 1] + GAP;
+		}
+		token++;
+		UPDATE_RANGES.invokeExact(renderer, start, length, length);
+		SET_STYLE_RANGES.invokeExact(renderer, newRanges, newStyles);
+		return (int) GET_STYLE_COUNT.invokeExact(renderer);
+	}
+
+	/** Reads the styles of a line far away from the previous one */
+	@Benchmark
+	public StyleRange[] getStyleRangesOfLine() throws Throwable {
+		offset = (offset + 7919 * 13) % (charCount - 100);
+		return (StyleRange[]) GET_STYLE_RANGES.invokeExact(renderer, offset, 100, true);
+	}
+}
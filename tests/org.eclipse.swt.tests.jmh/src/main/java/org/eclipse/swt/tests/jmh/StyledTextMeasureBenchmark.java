@@ -0,0 +1,151 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.ScrollBar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Setting the text of a word wrapped {@link StyledText} and waiting until the
+ * heights of all lines are calculated in the background, with and without
+ * {@link StyledText#setEstimateLineHeights(boolean)}. The score is the time
+ * until all lines are measured. At the end of each trial the average time
+ * until the maximum of the vertical scroll bar stops changing and the average
+ * and worst delay of a runnable posted with {@link Display#asyncExec(Runnable)}
+ * while the lines are measured, which stands for the input latency, are
+ * printed. Needs a display.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Thread)
+public class StyledTextMeasureBenchmark {
+
+	@Param({ "200000" })
+	public int lines;
+
+	@Param({ "false", "true" })
+	public boolean estimate;
+
+	String text;
+	DisplayState state;
+	StyledText styledText;
+	boolean measured;
+	long start;
+	int scrollMaximum;
+	long scrollStable;
+	long probePosted;
+	long probeDelays;
+	long maxProbeDelay;
+	int probes;
+	long stableTotal;
+	int invocations;
+
+	@Setup(Level.Trial)
+	public void createText() {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < lines; i++) {
+			builder.append("Line ").append(i);
+			// every fifth line wraps several times
+			for (int j = i % 5 == 0 ? 20 + i % 40 : i % 7; j > 0; j--) {
+				builder.append(" lorem ipsum");
+			}
+			builder.append('\n');
+		}
+		text = builder.toString();
+	}
+
+	@Setup(Level.Invocation)
+	public void createStyledText(DisplayState state) {
+		this.state = state;
+		styledText = new StyledText(state.shell, SWT.WRAP | SWT.V_SCROLL);
+		styledText.setBounds(0, 0, 600, 400);
+		styledText.setEstimateLineHeights(estimate);
+		styledText.addMeasureListener(event -> {
+			checkScrollBar();
+			measured = event.measuredLines == event.lineCount;
+		});
+		measured = false;
+		state.readAndDispatchAll();
+	}
+
+	@TearDown(Level.Invocation)
+	public void disposeStyledText() {
+		styledText.dispose();
+		state.readAndDispatchAll();
+	}
+
+	@TearDown(Level.Trial)
+	public void printLatency() {
+		System.out.printf("%nestimate=%b: scroll bar stable after %.1f ms, input latency %.2f ms average, %.2f ms max%n",
+				estimate, stableTotal / 1e6 / invocations, probeDelays / 1e6 / Math.max(probes, 1), maxProbeDelay / 1e6);
+	}
+
+	void checkScrollBar() {
+		ScrollBar bar = styledText.getVerticalBar();
+		if (bar.getMaximum() != scrollMaximum) {
+			scrollMaximum = bar.getMaximum();
+			scrollStable = System.nanoTime();
+		}
+	}
+
+	void probe() {
+		if (measured || styledText.isDisposed()) return;
+		long now = System.nanoTime();
+		long delay = now - probePosted;
+		probeDelays += delay;
+		maxProbeDelay = Math.max(maxProbeDelay, delay);
+		probes++;
+		probePosted = now;
+		state.display.asyncExec(this::probe);
+	}
+
+	@Benchmark
+	public int setTextUntilMeasured() {
+		Display display = state.display;
+		start = System.nanoTime();
+		scrollMaximum = -1;
+		styledText.setText(text);
+		checkScrollBar();
+		probePosted = System.nanoTime();
+		display.asyncExec(this::probe);
+		while (!measured) {
+			if (!display.readAndDispatch()) display.sleep();
+		}
+		state.readAndDispatchAll();
+		checkScrollBar();
+		stableTotal += scrollStable - start;
+		invocations++;
+		return scrollMaximum;
+	}
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.StyledText;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scrolling a word wrapped {@link StyledText} from the top to the bottom of
+ * a long document, as when dragging the thumb of the scroll bar, and mapping
+ * between pixels and lines far away from the top index. The heights of all
+ * lines are calculated once in the setup, as the widget does in the
+ * background after the text is set. Needs a display.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+@State(Scope.Thread)
+public class StyledTextScrollBenchmark {
+
+	/** number of scroll bar positions from the top to the bottom */
+	static final int STEPS = 1000;
+
+	@Param({ "1000000" })
+	public int lines;
+
+	StyledText styledText;
+	int maxTopPixel;
+	int line;
+	int pixel;
+
+	@Setup(Level.Trial)
+	public void setup(DisplayState state) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < lines; i++) {
+			text.append("Line ").append(i);
+			// every fifth line wraps several times
+			for (int j = i % 5 == 0 ? 20 + i % 40 : i % 7; j > 0; j--) {
+				text.append(" lorem ipsum");
+			}
+			text.append('\n');
+		}
+		styledText = new StyledText(state.shell, SWT.WRAP | SWT.V_SCROLL);
+		styledText.setBounds(0, 0, 600, 400);
+		styledText.setText(text.toString());
+		int top = styledText.getLinePixel(0);
+		maxTopPixel = styledText.getLinePixel(lines + 1) - top - styledText.getClientArea().height;
+		state.readAndDispatchAll();
+	}
+
+	/** Moves the top pixel to the bottom in {@link #STEPS} steps and jumps back to the top */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public int dragThumbEndToEnd() {
+		for (int i = 1; i <= STEPS; i++) {
+			styledText.setTopPixel((int) ((long) maxTopPixel * i / STEPS));
+		}
+		int topIndex = styledText.getTopIndex();
+		styledText.setTopPixel(0);
+		return topIndex;
+	}
+
+	@Benchmark
+	public int getLinePixel() {
+		line = (line + 7919) % lines;
+		return styledText.getLinePixel(line);
+	}
+
+	@Benchmark
+	public int getLineIndex() {
+		pixel = (pixel + 7919 * 17) % maxTopPixel;
+		return styledText.getLineIndex(pixel);
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Filling a {@link Table} with {@link Table#setItemCount(int)}, with and
+ * without <code>SWT.VIRTUAL</code>. Needs a display.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class TableBenchmark {
+
+	@Param({ "10000" })
+	public int items;
+
+	@Param({ "false", "true" })
+	public boolean virtual;
+
+	DisplayState state;
+	Table table;
+
+	@Setup(Level.Invocation)
+	public void createTable(DisplayState state) {
+		this.state = state;
+		table = new Table(state.shell, virtual ? SWT.VIRTUAL : SWT.NONE);
+		table.setBounds(0, 0, 400, 300);
+		for (int i = 0; i < 3; i++) {
+			new TableColumn(table, SWT.NONE).setWidth(120);
+		}
+		if (virtual) {
+			table.addListener(SWT.SetData, e -> {
+				TableItem item = (TableItem) e.item;
+				int index = table.indexOf(item);
+				item.setText(new String[] { "Item " + index, "Column 1", "Column 2" });
+			});
+		}
+	}
+
+	@TearDown(Level.Invocation)
+	public void disposeTable() {
+		table.dispose();
+		state.readAndDispatchAll();
+	}
+
+	@Benchmark
+	public Table setItemCount() {
+		table.setItemCount(items);
+		if (!virtual) {
+			TableItem[] tableItems = table.getItems();
+			for (int i = 0; i < tableItems.length; i++) {
+				tableItems[i].setText(new String[] { "Item " + i, "Column 1", "Column 2" });
+			}
+		}
+		state.readAndDispatchAll();
+		return table;
+	}
+}
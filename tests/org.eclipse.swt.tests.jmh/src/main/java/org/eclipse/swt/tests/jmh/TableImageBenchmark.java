@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Setting a handful of shared images on the items of a 10000 row
+ * {@link Table}, which converts the image surfaces to the pixbufs shown by
+ * the cells. With <code>redraw</code> every image is drawn on before each
+ * fill, so the pixbufs cached on the images are created again. Needs a
+ * display.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+@State(Scope.Thread)
+public class TableImageBenchmark {
+
+	@Param({ "10000" })
+	public int items;
+
+	@Param({ "4" })
+	public int images;
+
+	@Param({ "16", "32" })
+	public int size;
+
+	@Param({ "false", "true" })
+	public boolean redraw;
+
+	DisplayState state;
+	Image[] icons;
+	Table table;
+
+	@Setup(Level.Trial)
+	public void createImages(DisplayState state) {
+		this.state = state;
+		icons = new Image[images];
+		for (int i = 0; i < images; i++) {
+			ImageData data = new ImageData(size, size, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+			byte[] alpha = new byte[size * size];
+			for (int y = 0; y < size; y++) {
+				for (int x = 0; x < size; x++) {
+					data.setPixel(x, y, (x * 255 / size) << 16 | (y * 255 / size) << 8 | i * 255 / images);
+					alpha[y * size + x] = (byte) ((x + y) * 255 / (2 * size));
+				}
+			}
+			data.alphaData = alpha;
+			icons[i] = new Image(state.display, data);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void disposeImages() {
+		for (Image icon : icons) {
+			icon.dispose();
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void createTable() {
+		table = new Table(state.shell, SWT.NONE);
+		table.setBounds(0, 0, 400, 300);
+		new TableColumn(table, SWT.NONE).setWidth(200);
+		table.setItemCount(items);
+		if (redraw) {
+			for (Image icon : icons) {
+				GC gc = new GC(icon);
+				gc.drawPoint(0, 0);
+				gc.dispose();
+			}
+		}
+	}
+
+	@TearDown(Level.Invocation)
+	public void disposeTable() {
+		table.dispose();
+		state.readAndDispatchAll();
+	}
+
+	@Benchmark
+	public Table setImage() {
+		TableItem[] tableItems = table.getItems();
+		for (int i = 0; i < tableItems.length; i++) {
+			tableItems[i].setImage(icons[i % icons.length]);
+		}
+		state.readAndDispatchAll();
+		return table;
+	}
+}
@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.graphics.TextLayout;
+import org.eclipse.swt.graphics.TextStyle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Layout of styled, wrapped text with {@link TextLayout}, as done by
+ * StyledText for every visible line. Needs a display.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TextLayoutBenchmark {
+
+	/** number of characters in the laid out text */
+	@Param({ "80", "2000" })
+	public int length;
+
+	@Param({ "false", "true" })
+	public boolean styled;
+
+	String text;
+	TextLayout layout;
+	TextStyle style;
+
+	@Setup(Level.Trial)
+	public void setup(DisplayState state) {
+		StringBuilder builder = new StringBuilder(length);
+		while (builder.length() < length) {
+			builder.append("public static void main(String[] args) { return; } ");
+		}
+		text = builder.substring(0, length);
+		layout = new TextLayout(state.display);
+		layout.setWidth(400);
+		style = new TextStyle(null, state.display.getSystemColor(SWT.COLOR_BLUE), null);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		layout.dispose();
+	}
+
+	@Benchmark
+	public Rectangle setTextAndGetBounds() {
+		layout.setText(text);
+		if (styled) {
+			for (int start = 0; start < length; start += 16) {
+				layout.setStyle(style, start, Math.min(start + 5, length - 1));
+			}
+		}
+		return layout.getBounds();
+	}
+
+	@Benchmark
+	public int setTextAndGetOffset() {
+		layout.setText(text);
+		return layout.getOffset(200, 10, null);
+	}
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Loading a thumbnail of a large PNG or JPEG file with
+ * {@link ImageLoader#maximumWidth} and {@link ImageLoader#maximumHeight}
+ * set, against loading the full image and scaling it with
+ * {@link ImageData#scaledTo(int, int)}. Run with <code>-prof gc</code> to
+ * compare the allocated memory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ThumbnailBenchmark {
+	@Param({ "png", "jpeg" })
+	public String format;
+
+	@Param({ "4096" })
+	public int size;
+
+	@Param({ "128", "512" })
+	public int maximum;
+
+	byte[] encoded;
+
+	@Setup
+	public void setup() {
+		ImageLoader saver = new ImageLoader();
+		saver.data = new ImageData[] { ImageLoaderBenchmark.createImageData(size) };
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		saver.save(out, "png".equals(format) ? SWT.IMAGE_PNG : SWT.IMAGE_JPEG);
+		encoded = out.toByteArray();
+	}
+
+	@Benchmark
+	public ImageData loadFullAndScale() {
+		ImageData data = new ImageLoader().load(new ByteArrayInputStream(encoded))[0];
+		return data.scaledTo(maximum, maximum);
+	}
+
+	@Benchmark
+	public ImageData loadScaled() {
+		ImageLoader loader = new ImageLoader();
+		loader.maximumWidth = maximum;
+		loader.maximumHeight = maximum;
+		return loader.load(new ByteArrayInputStream(encoded))[0];
+	}
+}
@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+
+package org.eclipse.swt.tests.graphics;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.tests.graphics.ImageDataTestHelper.BlitTestInfo;
+
+/**
+ * Gives access to the package private <code>ImageData.blitRows</code>
+ * methods, which blit one band of rows when blitting in parallel
+ */
+public class RowBandsTestHelper {
+
+	/**
+	 * Blits the source into a new destination like
+	 * {@link ImageDataTestHelper#blit(BlitTestInfo, int, int, int, boolean)},
+	 * optionally flipped, one band of <code>bandHeight</code> rows at a time,
+	 * or all rows at once if <code>bandHeight</code> is 0.
+	 */
+	public static ImageData blitRows(BlitTestInfo srcInfo, int dstInfo_depth, int dstInfo_scale, int dstInfo_byteOrder, boolean dstInfo_isDirect, boolean flip, int bandHeight) throws IllegalAccessException, IllegalArgumentException, InvocationTargetException, NoSuchMethodException, SecurityException {
+		ImageData src = srcInfo.imageData;
+		ImageData dst = ImageDataTestHelper.makeTestImageData(dstInfo_depth, dstInfo_scale, dstInfo_byteOrder, dstInfo_isDirect, true);
+		/* Blits from an index to a direct palette go through the source rows, all others through the destination rows */
+		int rows = !srcInfo.isDirect && dstInfo_isDirect ? src.height : dst.height;
+		int step = bandHeight == 0 ? rows : bandHeight;
+
+		Method blitMethod;
+		if (srcInfo.isDirect) {
+			if (!dstInfo_isDirect) throw new UnsupportedOperationException();
+			blitMethod = ImageData.class.getDeclaredMethod("blitRows", byte[].class, int.class,
+				int.class, int.class, int.class, int.class, int.class, int.class, int.class, byte[].class,
+				int.class, int.class, int.class, int.class, int.class, int.class, int.class, int.class,
+				boolean.class, boolean.class, int.class, int.class);
+		} else if (dstInfo_isDirect) {
+			blitMethod = ImageData.class.getDeclaredMethod("blitRows", int.class, int.class, byte[].class,
+				int.class, int.class, int.class, byte[].class, byte[].class, byte[].class, byte[].class,
+				int.class, int.class, int.class, int.class, int.class, int.class, int.class, int.class);
+		} else {
+			blitMethod = ImageData.class.getDeclaredMethod("blitRows", byte[].class, int.class, int.class,
+				int.class, int.class, int.class, byte[].class, int.class, int.class, int.class, int.class,
+				int.class, boolean.class, boolean.class, int.class, int.class);
+		}
+		blitMethod.setAccessible(true);
+
+		for (int startRow = 0; startRow < rows; startRow += step) {
+			int endRow = Math.min(rows, startRow + step);
+			if (srcInfo.isDirect) {
+				blitMethod.invoke(null,
+					src.data, src.depth, src.bytesPerLine, srcInfo.byteOrder, src.width, src.height, src.palette.redMask, src.palette.greenMask, src.palette.blueMask,
+					dst.data, dst.depth, dst.bytesPerLine, dstInfo_byteOrder, dst.width, dst.height, dst.palette.redMask, dst.palette.greenMask, dst.palette.blueMask,
+					flip, flip, startRow, endRow);
+			} else if (dstInfo_isDirect) {
+				blitMethod.invoke(null,
+					src.width, src.height,
+					src.data, src.depth, src.bytesPerLine, srcInfo.byteOrder, srcInfo.paletteR, srcInfo.paletteG, srcInfo.paletteB,
+					dst.data, dst.depth, dst.bytesPerLine, dstInfo_byteOrder, dst.palette.redMask, dst.palette.greenMask, dst.palette.blueMask,
+					startRow, endRow);
+			} else {
+				blitMethod.invoke(null,
+					src.data, src.depth, src.bytesPerLine, srcInfo.byteOrder, src.width, src.height,
+					dst.data, dst.depth, dst.bytesPerLine, dstInfo_byteOrder, dst.width, dst.height,
+					flip, flip, startRow, endRow);
+			}
+		}
+		return dst;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,6 +29,7 @@ import org.junit.runners.Suite;
 		Test_org_eclipse_swt_graphics_FontMetrics.class,
 		Test_org_eclipse_swt_graphics_GC.class,
 		Test_org_eclipse_swt_graphics_Image.class,
+		Test_org_eclipse_swt_graphics_ImageCache.class,
 		Test_org_eclipse_swt_graphics_ImageData.class,
 		Test_org_eclipse_swt_graphics_PaletteData.class,
 		Test_org_eclipse_swt_graphics_Point.class,
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -49,6 +49,7 @@ import org.junit.runners.Suite;
 		Test_org_eclipse_swt_custom_StyledText_VariableLineHeight.class,
 		Test_org_eclipse_swt_custom_StyledText_multiCaretsSelections.class,
 		Test_org_eclipse_swt_custom_StyledTextLineSpacingProvider.class,
+		Test_org_eclipse_swt_custom_PieceTableContent.class,
 		Test_org_eclipse_swt_custom_CTabFolder.class, Test_org_eclipse_swt_widgets_Spinner.class,
 		Test_org_eclipse_swt_widgets_ScrolledComposite.class})
 public class AllWidgetTests {
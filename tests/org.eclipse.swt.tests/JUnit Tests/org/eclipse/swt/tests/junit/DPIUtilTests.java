@@ -15,12 +15,21 @@ package org.eclipse.swt.tests.junit;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 
+import java.util.Arrays;
+
 import org.eclipse.swt.graphics.Device;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.PaletteData;
 import org.eclipse.swt.graphics.Point;
+import org.eclipse.swt.graphics.RGB;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.DPIUtil;
+import org.eclipse.swt.internal.image.ImageDataResampler;
+import org.eclipse.swt.internal.image.ImageDataResampler.Filter;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -324,4 +333,101 @@ public class DPIUtilTests {
 		scaledValue = DPIUtil.autoScaleUp((Device) null, valueAt100, 100);
 		assertSame("Scaling up Rectangle without zoom change with device failed", valueAt100, scaledValue);
 	}
+
+	@Test
+	public void resampleUniformImage() {
+		int[] sizes = { 16, 24, 32 };
+		int[] zooms = { 125, 150, 200, 50 };
+		for (int size : sizes) {
+			ImageData source = new ImageData(size, size, 32, new PaletteData(0xFF00, 0xFF0000, 0xFF000000));
+			for (int y = 0; y < size; y++) {
+				for (int x = 0; x < size; x++) {
+					source.setPixel(x, y, source.palette.getPixel(new RGB(10, 100, 250)));
+				}
+			}
+			source.alphaData = new byte[size * size];
+			Arrays.fill(source.alphaData, (byte) 200);
+			for (int zoom : zooms) {
+				for (Filter filter : new Filter[] { null, Filter.BOX, Filter.BILINEAR, Filter.LANCZOS3 }) {
+					int scaledSize = Math.round(size * zoom / 100f);
+					ImageData result = ImageDataResampler.resample(source, scaledSize, scaledSize, filter);
+					String message = size + "px at " + zoom + "% with " + filter;
+					assertEquals(message, scaledSize, result.width);
+					assertEquals(message, scaledSize, result.height);
+					for (int y = 0; y < scaledSize; y++) {
+						for (int x = 0; x < scaledSize; x++) {
+							assertEquals(message, new RGB(10, 100, 250), result.palette.getRGB(result.getPixel(x, y)));
+							assertEquals(message, 200, result.getAlpha(x, y));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void resampleDoesNotBleedTransparentColors() {
+		ImageData source = new ImageData(16, 16, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		source.alphaData = new byte[16 * 16];
+		for (int y = 0; y < 16; y++) {
+			for (int x = 0; x < 16; x++) {
+				boolean opaque = x < 8;
+				source.setPixel(x, y, opaque ? 0xFF0000 : 0x00FF00);
+				source.alphaData[y * 16 + x] = (byte) (opaque ? 255 : 0);
+			}
+		}
+		ImageData result = ImageDataResampler.resample(source, 20, 20);
+		int partial = 0;
+		for (int y = 0; y < 20; y++) {
+			for (int x = 0; x < 20; x++) {
+				int alpha = result.getAlpha(x, y);
+				if (alpha == 0) continue;
+				if (alpha < 255) partial++;
+				assertEquals(new RGB(255, 0, 0), result.palette.getRGB(result.getPixel(x, y)));
+			}
+		}
+		assertEquals("edge is not smoothed", 40, partial);
+		assertEquals(255, result.getAlpha(0, 0));
+		assertEquals(0, result.getAlpha(19, 19));
+	}
+
+	@Test
+	public void resampleTransparentPixel() {
+		PaletteData palette = new PaletteData(new RGB(0, 0, 0), new RGB(255, 255, 255));
+		ImageData source = new ImageData(4, 4, 1, palette);
+		for (int x = 0; x < 4; x++) {
+			source.setPixel(x, 0, 1);
+		}
+		source.transparentPixel = 0;
+		ImageData result = ImageDataResampler.resample(source, 8, 8);
+		assertNotNull(result.alphaData);
+		assertEquals(new RGB(255, 255, 255), result.palette.getRGB(result.getPixel(0, 0)));
+		assertEquals(255, result.getAlpha(0, 0));
+		assertEquals(0, result.getAlpha(0, 7));
+		assertEquals(0, result.getAlpha(7, 4));
+	}
+
+	@Test
+	public void resampleNullPaletteEntries() {
+		PaletteData palette = new PaletteData(new RGB(255, 255, 255), null);
+		ImageData source = new ImageData(4, 4, 1, palette);
+		for (int y = 0; y < 4; y++) {
+			source.setPixel(0, y, 1);
+			source.setPixel(1, y, 1);
+		}
+		ImageData result = ImageDataResampler.resample(source, 8, 8);
+		assertEquals(new RGB(0, 0, 0), result.palette.getRGB(result.getPixel(0, 0)));
+		assertEquals(new RGB(255, 255, 255), result.palette.getRGB(result.getPixel(7, 7)));
+	}
+
+	@Test
+	public void resampleBoxAverages() {
+		ImageData source = new ImageData(2, 2, 8, new PaletteData(0xE0, 0x1C, 0x03));
+		source.setPixel(0, 0, 0xFF);
+		source.setPixel(1, 1, 0xFF);
+		ImageData result = ImageDataResampler.resample(source, 1, 1);
+		assertNull(result.alphaData);
+		RGB rgb = result.palette.getRGB(result.getPixel(0, 0));
+		assertEquals(new RGB(112, 112, 96), rgb);
+	}
 }
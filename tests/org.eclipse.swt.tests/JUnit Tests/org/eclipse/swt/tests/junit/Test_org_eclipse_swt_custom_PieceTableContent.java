@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.custom.PieceTableContent;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.custom.TextChangeListener;
+import org.eclipse.swt.custom.TextChangedEvent;
+import org.eclipse.swt.custom.TextChangingEvent;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.custom.PieceTableContent
+ *
+ * @see org.eclipse.swt.custom.PieceTableContent
+ */
+public class Test_org_eclipse_swt_custom_PieceTableContent {
+
+@Test
+public void test_StyledTextContentSpec() {
+	StyledTextContentSpec.contentClassName = PieceTableContent.class.getName();
+	StyledTextContentSpec.failCount = 0;
+	StyledTextContentSpec.errorCount = 0;
+	new StyledTextContentSpec().run();
+	assertEquals(0, StyledTextContentSpec.failCount);
+	assertEquals(0, StyledTextContentSpec.errorCount);
+}
+
+@Test
+public void test_replaceTextRange() {
+	PieceTableContent content = new PieceTableContent();
+	content.setText("first\nsecond\r\nthird");
+	content.replaceTextRange(6, 6, "2nd");
+	content.replaceTextRange(content.getCharCount(), 0, "\rfourth");
+	content.replaceTextRange(0, 0, "zeroth\n");
+	assertEquals("zeroth\nfirst\n2nd\r\nthird\rfourth", content.getTextRange(0, content.getCharCount()));
+	assertEquals(5, content.getLineCount());
+	assertEquals("2nd", content.getLine(2));
+	assertEquals(13, content.getOffsetAtLine(2));
+	assertEquals(2, content.getLineAtOffset(17));
+	assertEquals(3, content.getLineAtOffset(18));
+	assertEquals(4, content.getLineAtOffset(content.getCharCount()));
+	assertThrows(IllegalArgumentException.class, () -> content.replaceTextRange(17, 0, "x"));
+	assertThrows(IllegalArgumentException.class, () -> content.replaceTextRange(17, 1, ""));
+	assertThrows(IllegalArgumentException.class, () -> content.getLineAtOffset(content.getCharCount() + 1));
+	assertThrows(IllegalArgumentException.class, () -> content.getLine(5));
+
+	// a CR and a LF that become adjacent by an edit remain separate line delimiters
+	content.setText("a\rb\nc");
+	content.replaceTextRange(2, 1, "");
+	assertEquals(3, content.getLineCount());
+	content.replaceTextRange(2, 0, "d");
+	assertEquals("a\rd\nc", content.getTextRange(0, content.getCharCount()));
+}
+
+@Test
+public void test_replaceTextRangeEvents() {
+	PieceTableContent content = new PieceTableContent();
+	content.setText("one\ntwo\nthree");
+	List<String> events = new ArrayList<>();
+	content.addTextChangeListener(new TextChangeListener() {
+		@Override
+		public void textChanging(TextChangingEvent event) {
+			events.add("changing " + event.start + " " + event.replaceCharCount + " " + event.newCharCount + " "
+					+ event.replaceLineCount + " " + event.newLineCount + " " + content.getLineCount());
+		}
+		@Override
+		public void textChanged(TextChangedEvent event) {
+			events.add("changed " + content.getLineCount());
+		}
+		@Override
+		public void textSet(TextChangedEvent event) {
+			events.add("set " + content.getLineCount());
+		}
+	});
+	content.replaceTextRange(2, 8, "\r\n\r\n\r");
+	content.setText("");
+	assertEquals(List.of("changing 2 8 5 2 3 3", "changed 4", "set 1"), events);
+}
+
+@Test
+public void test_replaceTextRangeRandom() {
+	Random random = new Random(0);
+	String[] texts = {"", "a", "bc", "\r", "\n", "\r\n", "line\r\n", "\n\n", "the quick brown fox"};
+	PieceTableContent content = new PieceTableContent();
+	StringBuilder expected = new StringBuilder("first\r\nsecond\nthird\r");
+	content.setText(expected.toString());
+	for (int i = 0; i < 5000; i++) {
+		int start = random.nextInt(expected.length() + 1);
+		int length = random.nextInt(Math.min(8, expected.length() - start) + 1);
+		String text = texts[random.nextInt(texts.length)];
+		try {
+			content.replaceTextRange(start, length, text);
+			expected.replace(start, start + length, text);
+		} catch (IllegalArgumentException e) {
+			// splits a CR/LF
+		}
+		assertEquals(expected.length(), content.getCharCount());
+		int start2 = random.nextInt(expected.length() + 1);
+		int length2 = random.nextInt(expected.length() - start2 + 1);
+		assertEquals(expected.substring(start2, start2 + length2), content.getTextRange(start2, length2));
+	}
+	String text = expected.toString();
+	StringBuilder lines = new StringBuilder();
+	for (int i = 0; i < content.getLineCount(); i++) {
+		int offset = content.getOffsetAtLine(i);
+		assertEquals(i, content.getLineAtOffset(offset));
+		lines.append(content.getLine(i));
+		if (i + 1 < content.getLineCount()) {
+			String delimiter = text.substring(offset + content.getLine(i).length(), content.getOffsetAtLine(i + 1));
+			assertTrue(delimiter.equals("\r") || delimiter.equals("\n") || delimiter.equals("\r\n"));
+			lines.append(delimiter);
+		}
+	}
+	assertEquals(text, lines.toString());
+}
+
+@Test
+public void test_setFile() throws IOException {
+	PieceTableContent content = new PieceTableContent();
+	// a mapped file cannot be deleted on all platforms while it is mapped
+	Path file = Files.createTempFile("swt", ".txt");
+	file.toFile().deleteOnExit();
+	Files.writeString(file, "café\r\nnaïve\n", StandardCharsets.ISO_8859_1);
+	content.setFile(file, StandardCharsets.ISO_8859_1);
+	assertEquals(3, content.getLineCount());
+	assertEquals("café", content.getLine(0));
+	content.replaceTextRange(6, 2, "NA");
+	assertEquals("NAïve", content.getLine(1));
+	assertEquals("café\r\nnaïve\n", Files.readString(file, StandardCharsets.ISO_8859_1));
+
+	Path utf8File = Files.createTempFile("swt", ".txt");
+	try {
+		Files.writeString(utf8File, "αβγ\nδ", StandardCharsets.UTF_8);
+		content.setFile(utf8File, StandardCharsets.UTF_8);
+		assertEquals(2, content.getLineCount());
+		assertEquals("δ", content.getLine(1));
+	} finally {
+		Files.delete(utf8File);
+	}
+	SWTException e = assertThrows(SWTException.class, () -> content.setFile(utf8File, StandardCharsets.UTF_8));
+	assertEquals(SWT.ERROR_IO, e.code);
+	assertThrows(IllegalArgumentException.class, () -> content.setFile(null, StandardCharsets.UTF_8));
+}
+
+@Test
+public void test_setContent() {
+	Shell shell = new Shell();
+	try {
+		StyledText text = new StyledText(shell, SWT.MULTI);
+		PieceTableContent content = new PieceTableContent();
+		content.setText("one\ntwo");
+		text.setContent(content);
+		text.replaceTextRange(4, 0, "\n");
+		assertEquals(3, text.getLineCount());
+		assertEquals("one\n\ntwo", text.getText());
+	} finally {
+		shell.dispose();
+	}
+}
+}
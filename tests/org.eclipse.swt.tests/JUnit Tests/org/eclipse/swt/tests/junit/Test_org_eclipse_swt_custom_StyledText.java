@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,6 +29,7 @@ import static org.junit.Assume.assumeFalse;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.function.BooleanSupplier;
@@ -48,6 +49,7 @@ import org.eclipse.swt.custom.ST;
 import org.eclipse.swt.custom.StyleRange;
 import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.custom.StyledTextContent;
+import org.eclipse.swt.custom.StyledTextMeasureListener;
 import org.eclipse.swt.custom.TextChangeListener;
 import org.eclipse.swt.custom.VerifyKeyListener;
 import org.eclipse.swt.dnd.Clipboard;
@@ -1279,6 +1281,37 @@ void test_getLinePixel(StyledText text) {
 	assertEquals(lineHeight, text.getLinePixel(10));
 }
 
+@Test
+public void test_getLinePixelAndLineIndexWithVariableHeights() {
+	int lineHeight = text.getLineHeight();
+	StringBuilder buffer = new StringBuilder();
+	for (int i = 0; i < 300; i++) {
+		buffer.append("Line").append(i).append('\n');
+	}
+	text.setText(buffer.toString());
+	text.setSize(400, 10 * lineHeight);
+	text.setLineSpacingProvider(lineIndex -> lineIndex % 3 == 0 ? lineIndex % 7 : null);
+	text.setTopIndex(150);
+	// lines inserted and removed above and below the top index move the heights of the lines after them
+	text.replaceTextRange(text.getOffsetAtLine(20), 0, "a\nb\nc\n");
+	text.replaceTextRange(text.getOffsetAtLine(200), text.getOffsetAtLine(210) - text.getOffsetAtLine(200), "");
+	text.replaceTextRange(text.getOffsetAtLine(100), 0, "x");
+	int top = text.getLinePixel(0);
+	int y = top;
+	for (int i = 0; i < text.getLineCount(); i++) {
+		assertEquals(y, text.getLinePixel(i));
+		assertEquals(i, text.getLineIndex(y));
+		int height = lineHeight + (i % 3 == 0 ? i % 7 : 0);
+		assertEquals(i, text.getLineIndex(y + height - 1));
+		y += height;
+	}
+	assertEquals(y, text.getLinePixel(text.getLineCount()));
+	assertEquals(0, text.getLineIndex(top - 1));
+	assertEquals(text.getLineCount() - 1, text.getLineIndex(y + 100));
+	text.setTopIndex(text.getLineCount() - 1);
+	assertEquals(-text.getLinePixel(0), text.getTopPixel());
+}
+
 @Test
 public void test_getLocationAtOffsetI(){
 	// copy from StyledText, has to match value used by StyledText
@@ -3212,6 +3245,102 @@ public void test_setDoubleClickEnabledZ(){
 	assertTrue(":d:", text.getDoubleClickEnabled());
 }
 
+@Test
+public void test_setEstimateLineHeights() throws InterruptedException {
+	int lineHeight = text.getLineHeight();
+	StringBuilder buffer = new StringBuilder();
+	for (int i = 0; i < 300; i++) {
+		buffer.append("Line").append(i).append('\n');
+	}
+	int[] measured = {-1, -1};
+	StyledTextMeasureListener listener = event -> {
+		measured[0] = event.measuredLines;
+		measured[1] = event.lineCount;
+	};
+	assertThrows(IllegalArgumentException.class, () -> text.addMeasureListener(null));
+	text.addMeasureListener(listener);
+	assertFalse(text.getEstimateLineHeights());
+	text.setEstimateLineHeights(true);
+	assertTrue(text.getEstimateLineHeights());
+	text.setSize(400, 10 * lineHeight);
+	text.setText(buffer.toString());
+	text.setLineSpacingProvider(lineIndex -> lineIndex % 3 == 0 ? lineIndex % 7 : null);
+	text.replaceTextRange(text.getOffsetAtLine(200), 0, "a\nb\n");
+	// the lines far from the top index are exact when asked for, whether measured or estimated
+	int y = text.getLinePixel(0);
+	for (int i = 0; i < text.getLineCount(); i++) {
+		assertEquals(y, text.getLinePixel(i));
+		assertEquals(i, text.getLineIndex(y));
+		y += lineHeight + (i % 3 == 0 ? i % 7 : 0);
+	}
+	SwtTestUtil.processEvents(10000, () -> measured[1] > 0 && measured[0] == measured[1]);
+	assertEquals(text.getLineCount(), measured[1]);
+	assertEquals(measured[1], measured[0]);
+	assertEquals(y, text.getLinePixel(text.getLineCount()));
+	text.setEstimateLineHeights(false);
+	assertFalse(text.getEstimateLineHeights());
+	text.removeMeasureListener(listener);
+	assertThrows(IllegalArgumentException.class, () -> text.removeMeasureListener(null));
+
+	// with word wrap each line is estimated from its length, also the lines of an edit
+	StyledText wrapped = new StyledText(shell, SWT.WRAP | SWT.V_SCROLL);
+	wrapped.setSize(400, 10 * lineHeight);
+	wrapped.setEstimateLineHeights(true);
+	boolean[] proceed = {true};
+	wrapped.addMeasureListener(event -> {
+		measured[0] = event.measuredLines;
+		measured[1] = event.lineCount;
+		event.doit = proceed[0];
+	});
+	String longLine = "lorem ipsum ".repeat(40) + "\n";
+	wrapped.setText(longLine.repeat(100));
+	ScrollBar bar = wrapped.getVerticalBar();
+	// stop the calculation, so that the lines that are not visible stay estimated
+	proceed[0] = false;
+	SwtTestUtil.processEvents(1000, () -> measured[1] > 0);
+	measured[1] = -1;
+	wrapped.replaceTextRange(0, wrapped.getCharCount(), longLine.repeat(300));
+	int estimatedReplace = bar.getMaximum();
+	wrapped.replaceTextRange(wrapped.getOffsetAtLine(100), 0, longLine.repeat(100));
+	int estimatedInsert = bar.getMaximum();
+	assertTrue(estimatedReplace > 300 * 2 * lineHeight);
+	assertTrue(estimatedInsert - estimatedReplace > 100 * 2 * lineHeight);
+	proceed[0] = true;
+	wrapped.setText(wrapped.getText());
+	SwtTestUtil.processEvents(10000, () -> measured[1] > 0 && measured[0] == measured[1]);
+	assertEquals(wrapped.getLineCount(), measured[0]);
+	int exact = bar.getMaximum();
+	assertTrue("estimated " + estimatedInsert + ", measured " + exact, Math.abs(exact - estimatedInsert) < exact / 4);
+
+	// the lines measured in the background with only the styles that change their size are as high as drawn ones
+	StyledText drawn = new StyledText(shell, SWT.WRAP | SWT.V_SCROLL);
+	drawn.setSize(400, 10 * lineHeight);
+	int[] drawnMeasured = {-1, -1};
+	drawn.addMeasureListener(event -> {
+		drawnMeasured[0] = event.measuredLines;
+		drawnMeasured[1] = event.lineCount;
+	});
+	String styledLines = longLine.repeat(200);
+	StyleRange[] styles = new StyleRange[200 * 3];
+	for (int i = 0; i < 200; i++) {
+		int offset = i * longLine.length();
+		styles[i * 3] = new StyleRange(offset, 12, getColor(RED), null, SWT.BOLD);
+		styles[i * 3 + 1] = new StyleRange(offset + 20, 30, getColor(BLUE), getColor(YELLOW));
+		styles[i * 3 + 2] = new StyleRange(offset + 60, 40 + i % 50, null, null, i % 2 == 0 ? SWT.BOLD : SWT.ITALIC);
+		styles[i * 3 + 2].rise = i % 3;
+	}
+	measured[1] = drawnMeasured[1] = -1;
+	wrapped.setText(styledLines);
+	wrapped.setStyleRanges(styles);
+	drawn.setText(styledLines);
+	drawn.setStyleRanges(styles);
+	SwtTestUtil.processEvents(10000, () -> measured[1] > 0 && measured[0] == measured[1]
+			&& drawnMeasured[1] > 0 && drawnMeasured[0] == drawnMeasured[1]);
+	assertEquals(drawn.getLinePixel(drawn.getLineCount()), wrapped.getLinePixel(wrapped.getLineCount()));
+	drawn.dispose();
+	wrapped.dispose();
+}
+
 @Test
 public void test_setEnabled(){
 	// Get colors
@@ -4549,6 +4678,133 @@ public void test_setStyleRangeLorg_eclipse_swt_custom_StyleRange(){
 
 }
 
+/**
+ * The style ranges kept in a tree, as selected by the "swt.styledText.styleTree"
+ * system property, must give the same results as the ranges kept in arrays
+ * while the text is edited and restyled.
+ */
+@Test
+public void test_setStyleRanges_styleTree() {
+	StyledText tree;
+	System.setProperty("swt.styledText.styleTree", "true");
+	try {
+		tree = new StyledText(shell, SWT.NULL);
+	} finally {
+		System.clearProperty("swt.styledText.styleTree");
+	}
+	try {
+		StyledText[] texts = {text, tree};
+		StyleRange[] pool = {
+			new StyleRange(0, 0, getColor(RED), null),
+			new StyleRange(0, 0, null, getColor(YELLOW), SWT.BOLD),
+			new StyleRange(0, 0, getColor(BLUE), null, SWT.ITALIC),
+			new StyleRange(0, 0, null, null, SWT.BOLD | SWT.ITALIC)};
+		Random random = new Random(7);
+		String line = "The quick brown fox jumps over the lazy dog\n";
+		for (StyledText styledText : texts) {
+			styledText.setSize(400, 400);
+			styledText.setText(line.repeat(100));
+		}
+		// enough ranges to fill several blocks of the tree
+		int count = text.getCharCount() / 5;
+		int[] ranges = new int[count * 2];
+		StyleRange[] styles = new StyleRange[count];
+		for (int i = 0; i < count; i++) {
+			ranges[i * 2] = i * 5;
+			ranges[i * 2 + 1] = 3;
+			styles[i] = pool[i % pool.length];
+		}
+		for (StyledText styledText : texts) {
+			styledText.setStyleRanges(ranges.clone(), styles.clone());
+		}
+		for (int step = 0; step < 1000; step++) {
+			int charCount = text.getCharCount();
+			switch (random.nextInt(20) == 0 ? 3 : random.nextInt(3)) {
+			case 0 -> {
+				// type, delete or paste
+				int start = random.nextInt(charCount + 1);
+				int length = random.nextInt(Math.min(10, charCount - start) + 1);
+				String newText = random.nextInt(5) == 0 ? "ab\ncd" : "x".repeat(random.nextInt(3));
+				for (StyledText styledText : texts) {
+					styledText.replaceTextRange(start, length, newText);
+				}
+			}
+			case 1 -> {
+				// restyle a region, as a highlighter does
+				int start = random.nextInt(charCount);
+				int length = random.nextInt(Math.min(200, charCount - start) + 1);
+				List<Integer> newRanges = new ArrayList<>();
+				List<StyleRange> newStyles = new ArrayList<>();
+				for (int offset = start + random.nextInt(4); offset < start + length; offset += 1 + random.nextInt(4)) {
+					int rangeLength = Math.min(start + length - offset, random.nextInt(8));
+					newRanges.add(offset);
+					newRanges.add(rangeLength);
+					newStyles.add(pool[random.nextInt(pool.length)]);
+					offset += rangeLength;
+				}
+				int[] rangesArray = newRanges.stream().mapToInt(Integer::intValue).toArray();
+				StyleRange[] stylesArray = newStyles.toArray(new StyleRange[0]);
+				for (StyledText styledText : texts) {
+					styledText.setStyleRanges(start, length, rangesArray.clone(), stylesArray.clone());
+				}
+			}
+			case 2 -> {
+				// merge styles without clearing, also past the last range
+				int start = random.nextInt(charCount);
+				int length = random.nextInt(Math.min(60, charCount - start) + 1);
+				List<StyleRange> newStyles = new ArrayList<>();
+				for (int offset = start + random.nextInt(4); offset < start + length; offset += 1 + random.nextInt(4)) {
+					StyleRange style = (StyleRange) pool[random.nextInt(pool.length)].clone();
+					style.start = offset;
+					style.length = Math.min(start + length - offset, random.nextInt(8));
+					newStyles.add(style);
+					offset += style.length;
+				}
+				for (StyledText styledText : texts) {
+					if (newStyles.size() == 1) {
+						styledText.setStyleRange((StyleRange) newStyles.get(0).clone());
+					} else {
+						StyleRange[] stylesArray = new StyleRange[newStyles.size()];
+						for (int i = 0; i < stylesArray.length; i++) {
+							stylesArray[i] = (StyleRange) newStyles.get(i).clone();
+						}
+						styledText.replaceStyleRanges(start, 0, stylesArray);
+					}
+				}
+			}
+			case 3 -> {
+				// clear the end of the text
+				int start = random.nextInt(charCount + 1);
+				for (StyledText styledText : texts) {
+					styledText.setStyleRanges(start, charCount - start, null, null);
+				}
+			}
+			}
+			charCount = text.getCharCount();
+			assertEquals(charCount, tree.getCharCount());
+			assertArrayEquals("step " + step, text.getRanges(), tree.getRanges());
+			assertArrayEquals("step " + step, text.getStyleRanges(), tree.getStyleRanges());
+			int start = random.nextInt(charCount + 1);
+			int length = random.nextInt(Math.min(100, charCount - start) + 1);
+			assertArrayEquals("step " + step, text.getRanges(start, length), tree.getRanges(start, length));
+			assertArrayEquals("step " + step, text.getStyleRanges(start, length), tree.getStyleRanges(start, length));
+			StyleRange[] arrayStyles = text.getStyleRanges(start, length, false);
+			StyleRange[] treeStyles = tree.getStyleRanges(start, length, false);
+			assertEquals("step " + step, arrayStyles.length, treeStyles.length);
+			for (int i = 0; i < arrayStyles.length; i++) {
+				assertTrue("step " + step, arrayStyles[i].similarTo(treeStyles[i]));
+			}
+			assertEquals("step " + step, text.getStyleRangeAtOffset(Math.max(0, start - 1)), tree.getStyleRangeAtOffset(Math.max(0, start - 1)));
+		}
+		// the lines are laid out with the styles of the tree
+		for (int offset = 0; offset < text.getCharCount(); offset += 7) {
+			assertEquals(text.getLocationAtOffset(offset), tree.getLocationAtOffset(offset));
+		}
+	} finally {
+		tree.dispose();
+	}
+}
+
 @Test
 public void test_setStyleRanges$Lorg_eclipse_swt_custom_StyleRange() {
 	StyleRange[] ranges = new StyleRange[] {
@@ -5888,6 +6144,52 @@ public void test_replaceTextRange_isInsideCRLF() {
 	text.replaceTextRange(2, 0, "2");
 }
 
+/* Checks the lines of the text, given as their offset followed by their text */
+private void assertLines(String message, Object... offsetsAndLines) {
+	assertEquals(message + ": line count", offsetsAndLines.length / 2, text.getLineCount());
+	for (int i = 0; i < offsetsAndLines.length / 2; i++) {
+		assertEquals(message + ": offset of line " + i, offsetsAndLines[i * 2], text.getOffsetAtLine(i));
+		assertEquals(message + ": line " + i, offsetsAndLines[i * 2 + 1], text.getLine(i));
+	}
+}
+
+@Test
+public void test_replaceTextRange_betweenSeparateCRLF() {
+	// a CR and a LF that become adjacent by an edit remain two line delimiters
+	text.setText("a\rb\nc");
+	text.replaceTextRange(2, 1, "");
+	assertLines("delete between CR and LF", 0, "a", 2, "", 3, "c");
+	text.replaceTextRange(2, 0, "d");
+	assertLines("insert between CR and LF", 0, "a", 2, "d", 4, "c");
+	text.replaceTextRange(2, 1, "");
+	text.replaceTextRange(2, 1, "");
+	assertLines("delete LF after CR", 0, "a", 2, "c");
+
+	text.setText("a\rb\nc");
+	text.replaceTextRange(2, 1, "");
+	text.replaceTextRange(1, 2, "");
+	assertLines("delete CR and LF", 0, "ac");
+
+	// text that ends with a CR in front of a LF
+	text.setText("a\nb");
+	text.replaceTextRange(1, 0, "x\r");
+	assertLines("insert CR before LF", 0, "ax", 3, "", 4, "b");
+	text.replaceTextRange(3, 0, "y");
+	assertLines("insert after inserted CR", 0, "ax", 3, "y", 5, "b");
+
+	// text that starts with a LF after a CR
+	text.setText("a\rb");
+	text.replaceTextRange(2, 0, "\nc");
+	assertLines("insert LF after CR", 0, "a", 2, "", 3, "cb");
+	text.replaceTextRange(2, 1, "");
+	assertLines("delete inserted LF", 0, "a", 2, "cb");
+
+	// a CR/LF that was set as one line delimiter still cannot be split
+	text.setText("a\r\nb");
+	assertThrows(IllegalArgumentException.class, () -> text.replaceTextRange(2, 0, "x"));
+	assertLines("split CR/LF", 0, "a", 3, "b");
+}
+
 private Event keyEvent(int key, int type, Widget w) {
 	Event e = new Event();
 	e.keyCode= key;
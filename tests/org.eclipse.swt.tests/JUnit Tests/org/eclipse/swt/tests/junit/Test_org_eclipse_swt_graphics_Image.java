@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2020 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,10 +16,12 @@ package org.eclipse.swt.tests.junit;
 
 
 import static org.eclipse.swt.tests.junit.SwtTestUtil.assertSWTProblem;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -253,6 +255,39 @@ public void test_ConstructorLorg_eclipse_swt_graphics_DeviceLorg_eclipse_swt_gra
 	image.dispose();
 }
 
+@Test
+public void test_ConstructorLorg_eclipse_swt_graphics_DeviceLorg_eclipse_swt_graphics_ImageData_largeWithAlpha() {
+	// large enough to be converted in several parts
+	int width = 300, height = 400;
+	ImageData data = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	data.alphaData = new byte[width * height];
+	for (int y = 0; y < height; y++) {
+		for (int x = 0; x < width; x++) {
+			data.setPixel(x, y, (x & 0xFF) << 16 | (y & 0xFF) << 8 | ((x + y) & 0xFF));
+			data.setAlpha(x, y, (x + y) % 3 == 0 ? 0 : 0xFF);
+		}
+	}
+	byte[] pixels = data.data.clone();
+	byte[] alphas = data.alphaData.clone();
+
+	Image image = new Image(display, data);
+	try {
+		assertArrayEquals("ImageData modified", pixels, data.data);
+		assertArrayEquals("ImageData modified", alphas, data.alphaData);
+		ImageData imageData = image.getImageData();
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				assertEquals(data.getAlpha(x, y), imageData.getAlpha(x, y));
+				if (data.getAlpha(x, y) != 0) {
+					assertEquals(data.palette.getRGB(data.getPixel(x, y)), imageData.palette.getRGB(imageData.getPixel(x, y)));
+				}
+			}
+		}
+	} finally {
+		image.dispose();
+	}
+}
+
 @Test
 public void test_ConstructorLorg_eclipse_swt_graphics_DeviceLorg_eclipse_swt_graphics_ImageDataLorg_eclipse_swt_graphics_ImageData() {
 	ImageData data = null;
@@ -814,6 +849,43 @@ public void test_getImageData() {
 	getImageData2(32, new PaletteData(0xff0000, 0xff00, 0xff));
 }
 
+@Test
+public void test_getImageDataLorg_eclipse_swt_graphics_Rectangle() {
+	int width = 60, height = 40;
+	ImageData source = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	source.alphaData = new byte[width * height];
+	for (int y = 0; y < height; y++) {
+		for (int x = 0; x < width; x++) {
+			source.setPixel(x, y, (x * 4) << 16 | (y * 6) << 8 | 0x80);
+			source.setAlpha(x, y, x % 5 == 0 ? 0 : 0xFF);
+		}
+	}
+	Image image = new Image(display, source);
+	try {
+		ImageData data = image.getImageData();
+		Rectangle bounds = new Rectangle(7, 5, 30, 20);
+		ImageData region = image.getImageData(bounds);
+		assertEquals(bounds.width, region.width);
+		assertEquals(bounds.height, region.height);
+		for (int y = 0; y < region.height; y++) {
+			for (int x = 0; x < region.width; x++) {
+				assertEquals(data.getAlpha(bounds.x + x, bounds.y + y), region.getAlpha(x, y));
+				assertEquals(data.palette.getRGB(data.getPixel(bounds.x + x, bounds.y + y)), region.palette.getRGB(region.getPixel(x, y)));
+			}
+		}
+
+		assertEquals(data.width, image.getImageData(new Rectangle(0, 0, data.width, data.height)).width);
+		assertThrows(IllegalArgumentException.class, () -> image.getImageData((Rectangle) null));
+		assertThrows(IllegalArgumentException.class, () -> image.getImageData(new Rectangle(0, 0, 0, 10)));
+		assertThrows(IllegalArgumentException.class, () -> image.getImageData(new Rectangle(-1, 0, 10, 10)));
+		assertThrows(IllegalArgumentException.class, () -> image.getImageData(new Rectangle(1, 0, data.width, 10)));
+		assertThrows(IllegalArgumentException.class, () -> image.getImageData(new Rectangle(0, 1, 10, data.height)));
+	} finally {
+		image.dispose();
+	}
+	assertThrows(SWTException.class, () -> image.getImageData(new Rectangle(0, 0, 10, 10)));
+}
+
 @Test
 public void test_getImageData_100() {
 	int zoom = DPIUtil.getDeviceZoom();
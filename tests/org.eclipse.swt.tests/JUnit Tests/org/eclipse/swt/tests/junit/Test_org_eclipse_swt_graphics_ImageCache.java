@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.graphics.Image;
+import org.eclipse.swt.graphics.ImageCache;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageDataProvider;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.widgets.Display;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Automated Test Suite for class org.eclipse.swt.graphics.ImageCache
+ *
+ * @see org.eclipse.swt.graphics.ImageCache
+ */
+public class Test_org_eclipse_swt_graphics_ImageCache {
+
+Display display;
+ImageCache cache;
+
+@Before
+public void setUp() {
+	display = Display.getDefault();
+	cache = new ImageCache(display);
+}
+
+@After
+public void tearDown() {
+	cache.dispose();
+}
+
+static ImageDataProvider provider(int size) {
+	return zoom -> {
+		int scaled = size * zoom / 100;
+		return new ImageData(scaled, scaled, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	};
+}
+
+@Test
+public void test_ConstructorLorg_eclipse_swt_graphics_DeviceJ() {
+	assertThrows(IllegalArgumentException.class, () -> new ImageCache(display, -1));
+	ImageCache small = new ImageCache(display, 1024);
+	assertEquals(1024, small.getMaximumBytes());
+	small.dispose();
+	assertTrue(small.isDisposed());
+}
+
+@Test
+public void test_getFromDataLorg_eclipse_swt_graphics_ImageDataProvider() {
+	ImageDataProvider provider = provider(16);
+	Image image = cache.getFromData(provider);
+	assertSame(image, cache.getFromData(provider));
+	assertNotSame(image, cache.getFromData(provider(16)));
+	assertEquals(1, cache.getHitCount());
+	assertEquals(2, cache.getMissCount());
+	assertEquals(2, cache.getImageCount());
+	assertTrue(cache.getBytes() > 0);
+	assertThrows(IllegalArgumentException.class, () -> cache.getFromData(null));
+}
+
+@Test
+public void test_releaseLorg_eclipse_swt_graphics_Image() {
+	ImageDataProvider provider = provider(16);
+	Image image = cache.getFromData(provider);
+	cache.getFromData(provider);
+	cache.release(image);
+	cache.release(image);
+	assertFalse(image.isDisposed());
+	assertThrows(IllegalArgumentException.class, () -> cache.release(image));
+	Image other = new Image(display, 16, 16);
+	try {
+		assertThrows(IllegalArgumentException.class, () -> cache.release(other));
+	} finally {
+		other.dispose();
+	}
+	cache.clear();
+	assertTrue(image.isDisposed());
+	assertEquals(0, cache.getImageCount());
+	assertEquals(0, cache.getBytes());
+}
+
+@Test
+public void test_eviction() {
+	ImageDataProvider first = provider(32), second = provider(32);
+	Image firstImage = cache.getFromData(first);
+	cache.setMaximumBytes(cache.getBytes());
+	cache.release(firstImage);
+	assertFalse("released image evicted while it fits", firstImage.isDisposed());
+
+	Image secondImage = cache.getFromData(second);
+	assertTrue("least recently used image not evicted", firstImage.isDisposed());
+	assertEquals(1, cache.getEvictionCount());
+
+	/* referenced images are never evicted */
+	Image firstAgain = cache.getFromData(first);
+	assertFalse(secondImage.isDisposed());
+	assertEquals(2, cache.getImageCount());
+	cache.release(secondImage);
+	cache.release(firstAgain);
+	assertTrue(cache.getBytes() <= cache.getMaximumBytes());
+}
+
+@Test
+public void test_dispose() {
+	Image image = cache.getFromData(provider(16));
+	cache.dispose();
+	assertTrue(image.isDisposed());
+	SWTException e = assertThrows(SWTException.class, () -> cache.getFromData(provider(16)));
+	assertEquals(SWT.ERROR_GRAPHIC_DISPOSED, e.code);
+}
+
+@Test
+public void test_toString() {
+	assertTrue(cache.toString().startsWith("ImageCache {"));
+}
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,7 @@ import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -37,8 +38,11 @@ import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.PaletteData;
 import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.internal.image.PixelKernels;
+import org.eclipse.swt.internal.image.RowBands;
 import org.eclipse.swt.tests.graphics.ImageDataTestHelper;
 import org.eclipse.swt.tests.graphics.ImageDataTestHelper.BlitTestInfo;
+import org.eclipse.swt.tests.graphics.RowBandsTestHelper;
 import org.eclipse.swt.widgets.Display;
 import org.junit.Before;
 import org.junit.Test;
@@ -146,6 +150,52 @@ public void test_blit_MsbLsb() throws NoSuchMethodException, SecurityException,
 	}
 }
 
+/**
+ * Tests {@link ImageData#blit}:
+ * ensures that blitting bands of rows, as done in parallel mode, produces
+ * the same result as blitting all rows at once, over all combinations of
+ * depth, format, scale and flipping
+ */
+@Test
+public void test_blit_rowBands() throws NoSuchMethodException, SecurityException, IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+	List<BlitTestInfo> tests = new ArrayList<>();
+	for (int iByteOrder = 0; iByteOrder < 2; iByteOrder++) {
+		int byteOrder = (iByteOrder == 0) ? MSB_FIRST : LSB_FIRST;
+
+		for (int scale = 1; scale < 4; scale++) {
+			for (int depth : indexedDepths) {
+				tests.add(new BlitTestInfo(depth, scale, byteOrder, false));
+			}
+
+			for (int depth : directDepths) {
+				tests.add(new BlitTestInfo(depth, scale, byteOrder, true));
+			}
+		}
+	}
+
+	for (BlitTestInfo dstInfo : tests) {
+		for (BlitTestInfo srcInfo : tests) {
+			if (srcInfo.isDirect && !dstInfo.isDirect) continue;
+			if (!srcInfo.isDirect && dstInfo.isDirect && (srcInfo.scale != dstInfo.scale)) continue;
+			if (!srcInfo.isDirect && !dstInfo.isDirect && (srcInfo.depth > dstInfo.depth)) continue;
+
+			BlitTestInfo blit = ImageDataTestHelper.blit(srcInfo, dstInfo.depth, dstInfo.scale, dstInfo.byteOrder, dstInfo.isDirect);
+			for (boolean flip : new boolean[] {false, true}) {
+				ImageData expected = RowBandsTestHelper.blitRows(srcInfo, dstInfo.depth, dstInfo.scale, dstInfo.byteOrder, dstInfo.isDirect, flip, 0);
+				if (!flip) {
+					assertArrayEquals("ImageData.blitRows() of all rows with src=" + srcInfo + " dst=" + dstInfo,
+						blit.imageData.data, expected.data);
+				}
+				for (int bandHeight : new int[] {1, 3}) {
+					ImageData actual = RowBandsTestHelper.blitRows(srcInfo, dstInfo.depth, dstInfo.scale, dstInfo.byteOrder, dstInfo.isDirect, flip, bandHeight);
+					assertArrayEquals("ImageData.blit() in bands of " + bandHeight + " rows with src=" + srcInfo + " dst=" + dstInfo + " flip=" + flip,
+						expected.data, actual.data);
+				}
+			}
+		}
+	}
+}
+
 @Test
 public void test_ConstructorIIILorg_eclipse_swt_graphics_PaletteData() {
 	assertThrows("No exception thrown for width < 0", IllegalArgumentException.class,
@@ -735,6 +785,119 @@ public void test_scaledToII() {
 	assertArrayEquals(":d:", expectedPixelData, scaledPixelData);
 }
 
+@Test
+public void test_scaledToII_parallel() {
+	boolean parallel = RowBands.isParallel();
+	int threshold = RowBands.getThreshold();
+	try {
+		Random random = new Random(0);
+		for (int depth : new int[] {1, 2, 4, 8, 16, 24, 32}) {
+			PaletteData palette = depth <= 8 ? new PaletteData(new RGB(0, 0, 0), new RGB(255, 255, 255)) : new PaletteData(0xFF0000, 0xFF00, 0xFF);
+			ImageData source = new ImageData(97, 211, depth, palette);
+			random.nextBytes(source.data);
+			source.alphaData = new byte[source.width * source.height];
+			random.nextBytes(source.alphaData);
+			for (int[] size : new int[][] {{300, 700}, {-50, 60}, {97, -211}}) {
+				RowBands.setParallel(false);
+				ImageData expected = source.scaledTo(size[0], size[1]);
+				RowBands.setParallel(true);
+				RowBands.setThreshold(0);
+				ImageData actual = source.scaledTo(size[0], size[1]);
+				assertArrayEquals("depth " + depth, expected.data, actual.data);
+				assertArrayEquals("depth " + depth, expected.alphaData, actual.alphaData);
+			}
+		}
+	} finally {
+		RowBands.setParallel(parallel);
+		RowBands.setThreshold(threshold);
+	}
+}
+
+@Test
+public void test_premultipliedAlpha() {
+	/* every component with every alpha, against the per component formulas */
+	int[] pixels = new int[256 * 256];
+	byte[] alpha = new byte[pixels.length];
+	for (int a = 0; a < 256; a++) {
+		for (int c = 0; c < 256; c++) {
+			pixels[a * 256 + c] = 0xFF000000 | c << 16 | (255 - c) << 8 | c;
+			alpha[a * 256 + c] = (byte) a;
+		}
+	}
+	int[] premultiplied = pixels.clone();
+	PixelKernels.premultiply(premultiplied, 0, premultiplied.length, alpha, 0);
+	int[] straight = premultiplied.clone();
+	PixelKernels.unpremultiply(straight, 0, straight.length);
+	for (int a = 0; a < 256; a++) {
+		for (int c = 0; c < 256; c++) {
+			int p = premultiplied[a * 256 + c];
+			int pc = (c * a + 127) / 255, pg = ((255 - c) * a + 127) / 255;
+			assertEquals(a << 24 | pc << 16 | pg << 8 | pc, p);
+			int uc = a == 0 ? 0 : (pc * 255 + a / 2) / a, ug = a == 0 ? 0 : (pg * 255 + a / 2) / a;
+			assertEquals(a << 24 | uc << 16 | ug << 8 | uc, straight[a * 256 + c]);
+		}
+	}
+	int[] inPlace = pixels.clone();
+	for (int i = 0; i < inPlace.length; i++) inPlace[i] = (inPlace[i] & 0xFFFFFF) | (alpha[i] & 0xFF) << 24;
+	PixelKernels.premultiply(inPlace, 0, inPlace.length);
+	assertArrayEquals(premultiplied, inPlace);
+
+	int[] rgba = {0x11223344, 0xAABBCCDD};
+	PixelKernels.rgbaToArgb(rgba, 0, 2);
+	assertArrayEquals(new int[] {0x44112233, 0xDDAABBCC}, rgba);
+	byte[] extracted = new byte[3];
+	PixelKernels.extractAlpha(rgba, 0, 2, extracted, 1);
+	assertArrayEquals(new int[] {0x112233, 0xAABBCC}, rgba);
+	assertArrayEquals(new byte[] {0, 0x44, (byte) 0xDD}, extracted);
+}
+
+@Test
+public void test_premultipliedAlpha_edgeCases() {
+	/* pixel exact against the loops of the GTK Image that the kernels replaced */
+	for (int a : new int[] {0, 1, 2, 127, 128, 254, 255}) {
+		for (int c = 0; c < 256; c++) {
+			int pixel = a << 24 | c << 16 | (255 - c) << 8 | (c ^ 0x5A);
+			int[] pixels = {pixel};
+			PixelKernels.premultiply(pixels, 0, 1);
+			assertEquals("premultiply a=" + a + " c=" + c, oldPremultiply(pixel), pixels[0]);
+			/* components larger than their alpha are not valid premultiplied values */
+			pixels[0] = pixel;
+			PixelKernels.unpremultiply(pixels, 0, 1);
+			assertEquals("unpremultiply a=" + a + " c=" + c, oldUnpremultiply(pixel), pixels[0]);
+		}
+	}
+	int[] opaque = {0xFF123456, 0xFFFFFFFF, 0xFF000000};
+	int[] copy = opaque.clone();
+	PixelKernels.premultiply(copy, 0, copy.length);
+	assertArrayEquals("premultiply with a=255", opaque, copy);
+	PixelKernels.unpremultiply(copy, 0, copy.length);
+	assertArrayEquals("unpremultiply with a=255", opaque, copy);
+	int[] transparent = {0x00FFFFFF, 0x00123456};
+	PixelKernels.unpremultiply(transparent, 0, transparent.length);
+	assertArrayEquals("unpremultiply with a=0", new int[] {0, 0}, transparent);
+}
+
+static int oldPremultiply(int pixel) {
+	int a = pixel >>> 24;
+	int r = (((pixel >> 16) & 0xFF) * a) + 128;
+	r = (r + (r >> 8)) >> 8;
+	int g = (((pixel >> 8) & 0xFF) * a) + 128;
+	g = (g + (g >> 8)) >> 8;
+	int b = ((pixel & 0xFF) * a) + 128;
+	b = (b + (b >> 8)) >> 8;
+	return a << 24 | (r & 0xFF) << 16 | (g & 0xFF) << 8 | (b & 0xFF);
+}
+
+static int oldUnpremultiply(int pixel) {
+	/* Image.getImageData left the components of pixels with an alpha of zero at zero */
+	int a = pixel >>> 24;
+	if (a == 0) return 0;
+	int r = (byte) ((((pixel >> 16) & 0xFF) * 0xFF + a / 2) / a) & 0xFF;
+	int g = (byte) ((((pixel >> 8) & 0xFF) * 0xFF + a / 2) / a) & 0xFF;
+	int b = (byte) (((pixel & 0xFF) * 0xFF + a / 2) / a) & 0xFF;
+	return a << 24 | r << 16 | g << 8 | b;
+}
+
 @Test
 public void test_setAlphaIII() {
 	int value;
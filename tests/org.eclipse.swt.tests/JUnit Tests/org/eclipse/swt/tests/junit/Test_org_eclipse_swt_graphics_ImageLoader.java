@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,21 +18,32 @@ package org.eclipse.swt.tests.junit;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageFormatProvider;
 import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.graphics.ImageLoaderEvent;
 import org.eclipse.swt.graphics.ImageLoaderListener;
 import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.internal.image.FileFormat;
+import org.eclipse.swt.internal.image.RowBands;
 import org.eclipse.swt.widgets.Display;
 import org.junit.Test;
 
@@ -109,6 +120,361 @@ public void test_loadLjava_io_InputStream() {
 		}
 }
 
+/**
+ * Loading from a stream that returns a few bytes per read must give the
+ * same result as loading from a stream that returns everything at once.
+ */
+@Test
+public void test_loadLjava_io_InputStream_smallReads() throws IOException {
+	for (String format : SwtTestUtil.imageFormats) {
+		byte[] bytes;
+		try (InputStream stream = SwtTestUtil.class.getResourceAsStream(SwtTestUtil.imageFilenames[0] + "." + format)) {
+			bytes = stream.readAllBytes();
+		}
+		ImageData[] expected = new ImageLoader().load(new ByteArrayInputStream(bytes));
+		ImageData[] actual = new ImageLoader().load(new ByteArrayInputStream(bytes) {
+			@Override
+			public synchronized int read(byte[] b, int off, int len) {
+				return super.read(b, off, Math.min(len, 7));
+			}
+		});
+		assertEquals(format, expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(format, expected[i].width, actual[i].width);
+			assertEquals(format, expected[i].height, actual[i].height);
+			assertArrayEquals(format, expected[i].data, actual[i].data);
+			assertArrayEquals(format, expected[i].alphaData, actual[i].alphaData);
+		}
+	}
+}
+
+/**
+ * Interlaced images report their progress with copies of the partially
+ * loaded image, at most one per pass of the interlacing, followed by an
+ * event for the complete image. Each pass decodes more pixels, starting
+ * with every eighth pixel of every eighth row, and the pixels that a pass
+ * has decoded do not change later.
+ */
+@Test
+public void test_loadLjava_io_InputStream_progress() throws IOException {
+	byte[] bytes;
+	try (InputStream stream = SwtTestUtil.class.getResourceAsStream("interlaced_target.png")) {
+		bytes = stream.readAllBytes();
+	}
+	ImageLoader loader = new ImageLoader();
+	List<ImageLoaderEvent> events = new ArrayList<>();
+	loader.addImageLoaderListener(events::add);
+	loader.load(new ByteArrayInputStream(bytes) {
+		@Override
+		public synchronized int read(byte[] b, int off, int len) {
+			return super.read(b, off, Math.min(len, 64));
+		}
+	});
+	assertTrue("no progress before the complete image", events.size() > 1);
+	assertTrue(events.size() <= 7 + 1);
+	ImageData image = loader.data[0];
+	ImageData first = events.get(0).imageData;
+	for (int y = 0; y < image.height; y += 8) {
+		for (int x = 0; x < image.width; x += 8) {
+			assertEquals("first pass pixel " + x + "," + y, image.getPixel(x, y), first.getPixel(x, y));
+		}
+	}
+	int decoded = 0;
+	for (ImageLoaderEvent event : events) {
+		assertEquals(image.width, event.imageData.width);
+		assertEquals(image.height, event.imageData.height);
+		assertTrue(event.imageData != image);
+		int matching = 0;
+		for (int y = 0; y < image.height; y++) {
+			for (int x = 0; x < image.width; x++) {
+				if (event.imageData.getPixel(x, y) == image.getPixel(x, y)
+						&& event.imageData.getAlpha(x, y) == image.getAlpha(x, y)) {
+					matching++;
+				}
+			}
+		}
+		assertTrue("decoded pixels changed by a later pass", matching >= decoded);
+		decoded = matching;
+	}
+	ImageLoaderEvent last = events.get(events.size() - 1);
+	assertTrue(last.endOfImage);
+	assertEquals(image.width * image.height, decoded);
+	assertArrayEquals(image.data, last.imageData.data);
+	assertArrayEquals(image.alphaData, last.imageData.alphaData);
+}
+
+/**
+ * A stream whose read(byte[]) keeps returning 0 instead of blocking must
+ * neither make the GTK loader spin nor lose data.
+ */
+@Test
+public void test_loadLjava_io_InputStream_zeroReads() throws IOException {
+	assumeTrue("the GTK loader reads the stream itself", SwtTestUtil.isGTK);
+	byte[] bytes;
+	try (InputStream stream = SwtTestUtil.class.getResourceAsStream("target.png")) {
+		bytes = stream.readAllBytes();
+	}
+	ImageData expected = new ImageLoader().load(new ByteArrayInputStream(bytes))[0];
+	ImageData actual = new ImageLoader().load(new ByteArrayInputStream(bytes) {
+		@Override
+		public synchronized int read(byte[] b, int off, int len) {
+			return 0;
+		}
+	})[0];
+	assertEquals(expected.width, actual.width);
+	assertArrayEquals(expected.data, actual.data);
+}
+
+@Test
+public void test_loadLjava_io_InputStream_maximumSize() throws IOException {
+	for (String format : SwtTestUtil.imageFormats) {
+		byte[] bytes;
+		try (InputStream stream = SwtTestUtil.class.getResourceAsStream("target." + format)) {
+			bytes = stream.readAllBytes();
+		}
+		ImageLoader loader = new ImageLoader();
+		loader.maximumWidth = 12;
+		ImageData data = loader.load(new ByteArrayInputStream(bytes))[0];
+		assertEquals(format, 12, data.width);
+		assertEquals(format, 12, data.height);
+		assertEquals("scaled images are 24 bit direct: " + format, 24, data.depth);
+		assertTrue(format, data.palette.isDirect);
+
+		loader.maximumWidth = 0;
+		loader.maximumHeight = 8;
+		data = loader.load(new ByteArrayInputStream(bytes))[0];
+		assertEquals(format, 8, data.width);
+		assertEquals(format, 8, data.height);
+
+		loader.maximumWidth = 100;
+		loader.maximumHeight = 100;
+		data = loader.load(new ByteArrayInputStream(bytes))[0];
+		assertEquals(format, 24, data.width);
+		assertEquals(format, 24, data.height);
+	}
+
+	ImageData wide = new ImageData(64, 32, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	for (int format : new int[] { SWT.IMAGE_PNG, SWT.IMAGE_JPEG }) {
+		ImageLoader saver = new ImageLoader();
+		saver.data = new ImageData[] { wide };
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		saver.save(out, format);
+		ImageLoader loader = new ImageLoader();
+		loader.maximumWidth = 16;
+		loader.maximumHeight = 16;
+		ImageData data = loader.load(new ByteArrayInputStream(out.toByteArray()))[0];
+		assertEquals(16, data.width);
+		assertEquals(8, data.height);
+	}
+}
+
+@Test
+public void test_loadLjava_io_InputStream_jpegIDCT() throws ReflectiveOperationException, IOException {
+	for (String file : new String[] { "target.jpg", "folder.jpg" }) {
+		byte[] bytes;
+		try (InputStream stream = SwtTestUtil.class.getResourceAsStream(file)) {
+			bytes = stream.readAllBytes();
+		}
+		ImageData accurate = loadJPEG(bytes, "accurate");
+		for (String method : new String[] { "fast", "float" }) {
+			ImageData data = loadJPEG(bytes, method);
+			assertEquals(accurate.width, data.width);
+			assertEquals(accurate.height, data.height);
+			assertEquals(accurate.data.length, data.data.length);
+			for (int i = 0; i < data.data.length; i++) {
+				int difference = Math.abs((accurate.data[i] & 0xFF) - (data.data[i] & 0xFF));
+				assertTrue(file + " " + method + " differs by " + difference, difference <= 16);
+			}
+		}
+	}
+}
+
+/*
+ * Decodes with the given inverse DCT without setting the global
+ * swt.jpeg.idct property.
+ */
+private ImageData loadJPEG(byte[] bytes, String idct) throws ReflectiveOperationException {
+	Class<?> decoder = Class.forName("org.eclipse.swt.internal.image.JPEGDecoder");
+	Method load = decoder.getDeclaredMethod("loadFromByteStream", InputStream.class, ImageLoader.class, String.class);
+	load.setAccessible(true);
+	return ((ImageData[]) load.invoke(null, new ByteArrayInputStream(bytes), new ImageLoader(), idct))[0];
+}
+
+@Test
+public void test_loadLjava_io_InputStream_png() throws IOException {
+	// A palette image decoded in place and an interlaced RGB image of the same pixels
+	ImageData palette, interlaced;
+	try (InputStream stream = SwtTestUtil.class.getResourceAsStream("target.png")) {
+		palette = FileFormat.load(stream, new ImageLoader())[0];
+	}
+	try (InputStream stream = SwtTestUtil.class.getResourceAsStream("interlaced_target.png")) {
+		interlaced = FileFormat.load(stream, new ImageLoader())[0];
+	}
+	assertEquals(palette.width, interlaced.width);
+	assertEquals(palette.height, interlaced.height);
+	for (int y = 0; y < palette.height; y++) {
+		for (int x = 0; x < palette.width; x++) {
+			assertEquals(palette.palette.getRGB(palette.getPixel(x, y)), interlaced.palette.getRGB(interlaced.getPixel(x, y)));
+		}
+	}
+
+	// Truncated image data must fail instead of returning a partial image
+	ImageData rgba = new ImageData(64, 64, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+	rgba.alphaData = new byte[64 * 64];
+	new Random(0).nextBytes(rgba.data);
+	ImageLoader saver = new ImageLoader();
+	saver.data = new ImageData[] { rgba };
+	ByteArrayOutputStream out = new ByteArrayOutputStream();
+	FileFormat.save(out, SWT.IMAGE_PNG, saver);
+	byte[] bytes = out.toByteArray();
+	byte[] truncated = new byte[bytes.length - 1000];
+	System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+	assertThrows(SWTException.class, () -> FileFormat.load(new ByteArrayInputStream(truncated), new ImageLoader()));
+}
+
+@Test
+public void test_loadLjava_io_InputStream_provider() {
+	// A format of four magic bytes, the width and height, and one gray byte per pixel
+	ImageFormatProvider provider = new ImageFormatProvider() {
+		@Override
+		public boolean isFileFormat(byte[] header) {
+			return header.length >= 4 && header[0] == 'T' && header[1] == 'E' && header[2] == 'S' && header[3] == 'T';
+		}
+		@Override
+		public ImageData[] load(InputStream stream, ImageLoader loader) throws IOException {
+			byte[] bytes = stream.readAllBytes();
+			int width = bytes[4], height = bytes[5];
+			ImageData data = new ImageData(width, height, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+			for (int i = 0; i < width * height; i++) {
+				int gray = bytes[6 + i] & 0xFF;
+				data.setPixel(i % width, i / width, gray << 16 | gray << 8 | gray);
+			}
+			return new ImageData[] { data };
+		}
+	};
+	byte[] bytes = { 'T', 'E', 'S', 'T', 3, 2, 0, 50, 100, (byte) 150, (byte) 200, (byte) 250 };
+	assertThrows(SWTException.class, () -> FileFormat.load(new ByteArrayInputStream(bytes), new ImageLoader()));
+	ImageLoader.addFormatProvider(provider);
+	try {
+		assertTrue(FileFormat.hasProviders());
+		ImageData[] data = new ImageLoader().load(new ByteArrayInputStream(bytes));
+		assertEquals(1, data.length);
+		assertEquals(3, data[0].width);
+		assertEquals(2, data[0].height);
+		assertEquals(new RGB(200, 200, 200), data[0].palette.getRGB(data[0].getPixel(1, 1)));
+
+		// The built-in formats are still found by their magic bytes
+		try (InputStream stream = SwtTestUtil.class.getResourceAsStream("target.png")) {
+			assertEquals(24, FileFormat.load(stream, new ImageLoader())[0].width);
+		} catch (IOException e) {
+			fail(e.getMessage());
+		}
+	} finally {
+		ImageLoader.removeFormatProvider(provider);
+	}
+	assertThrows(IllegalArgumentException.class, () -> ImageLoader.addFormatProvider(null));
+}
+
+@Test
+public void test_loadLjava_io_InputStream_providerFails() {
+	// A provider that fails to check the header is reported and removed
+	ImageFormatProvider broken = new ImageFormatProvider() {
+		@Override
+		public boolean isFileFormat(byte[] header) {
+			throw new IllegalStateException("broken provider");
+		}
+		@Override
+		public ImageData[] load(InputStream stream, ImageLoader loader) throws IOException {
+			throw new IllegalStateException("broken provider");
+		}
+	};
+	IllegalStateException failure = new IllegalStateException("corrupt image");
+	ImageFormatProvider failing = new ImageFormatProvider() {
+		@Override
+		public boolean isFileFormat(byte[] header) {
+			return header.length >= 4 && header[0] == 'F' && header[1] == 'A' && header[2] == 'I' && header[3] == 'L';
+		}
+		@Override
+		public ImageData[] load(InputStream stream, ImageLoader loader) throws IOException {
+			throw failure;
+		}
+	};
+	byte[] bytes = { 'F', 'A', 'I', 'L', 1, 1, 0 };
+	ImageLoader.addFormatProvider(broken);
+	ImageLoader.addFormatProvider(failing);
+	try {
+		// The exception of the provider that accepted the header is not swallowed
+		SWTException e = assertThrows(SWTException.class, () -> new ImageLoader().load(new ByteArrayInputStream(bytes)));
+		assertEquals(SWT.ERROR_INVALID_IMAGE, e.code);
+		assertSame(failure, e.throwable);
+	} finally {
+		ImageLoader.removeFormatProvider(failing);
+		ImageLoader.removeFormatProvider(broken);
+	}
+}
+
+@Test
+public void test_loadLjava_io_InputStream_frameCache() {
+	RGB[] rgbs = new RGB[16];
+	for (int i = 0; i < rgbs.length; i++) {
+		rgbs[i] = new RGB(i * 16, 255 - i * 16, i * 8);
+	}
+	ImageData[] animation = new ImageData[10];
+	for (int i = 0; i < animation.length; i++) {
+		ImageData frame = new ImageData(32, 24, 4, new PaletteData(rgbs));
+		for (int y = 0; y < frame.height; y++) {
+			for (int x = 0; x < frame.width; x++) {
+				frame.setPixel(x, y, (x + y + i) % 16);
+			}
+		}
+		frame.x = i;
+		frame.delayTime = 10 + i;
+		animation[i] = frame;
+	}
+	ImageLoader saver = new ImageLoader();
+	saver.data = animation;
+	saver.logicalScreenWidth = 48;
+	saver.logicalScreenHeight = 24;
+	saver.repeatCount = 0;
+	ByteArrayOutputStream out = new ByteArrayOutputStream();
+	// GdkPixbuf cannot write GIF files
+	FileFormat.save(out, SWT.IMAGE_GIF, saver);
+	byte[] bytes = out.toByteArray();
+
+	for (boolean decodeAhead : new boolean[] { false, true }) {
+		ImageLoader loader = new ImageLoader();
+		loader.frameCacheSize = 2;
+		loader.decodeAhead = decodeAhead;
+		List<ImageData> decoded = new ArrayList<>();
+		loader.addImageLoaderListener(e -> decoded.add(e.imageData));
+		ImageData[] data = loader.load(new ByteArrayInputStream(bytes));
+		assertEquals(1, data.length);
+		assertEquals(animation.length, loader.getFrameCount());
+		assertEquals(48, loader.logicalScreenWidth);
+		assertEquals(0, loader.repeatCount);
+		for (int pass = 0; pass < 2; pass++) {
+			for (int i = 0; i < animation.length; i++) {
+				ImageData frame = loader.getFrame(i);
+				assertEquals(32, frame.width);
+				assertEquals(i, frame.x);
+				assertEquals(10 + i, frame.delayTime);
+				for (int x = 0; x < frame.width; x++) {
+					assertEquals(animation[i].getPixel(x, 5), frame.getPixel(x, 5));
+				}
+			}
+		}
+		// Only two frames are cached, so every frame was decoded twice
+		assertEquals(2 * animation.length, decoded.size());
+		assertThrows(IllegalArgumentException.class, () -> loader.getFrame(animation.length));
+
+		loader.frameCacheSize = 0;
+		data = loader.load(new ByteArrayInputStream(bytes));
+		assertEquals(animation.length, data.length);
+		assertEquals(animation.length, loader.getFrameCount());
+		assertEquals(data[3], loader.getFrame(3));
+	}
+}
+
 @Test
 public void test_loadLjava_lang_String() {
 	ImageLoader loader = new ImageLoader();
@@ -167,6 +533,55 @@ public void test_saveLjava_io_OutputStreamI() {
 	}
 }
 
+@Test
+public void test_saveLjava_io_OutputStreamI_png() {
+	boolean parallel = RowBands.isParallel();
+	int threshold = RowBands.getThreshold();
+	try {
+		Random random = new Random(0);
+		ImageData direct = new ImageData(400, 300, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		ImageData alpha = new ImageData(400, 300, 32, new PaletteData(0xFF00, 0xFF0000, 0xFF000000));
+		alpha.alphaData = new byte[alpha.width * alpha.height];
+		ImageData indexed = new ImageData(400, 300, 8, new PaletteData(new RGB(0, 0, 0), new RGB(255, 0, 0), new RGB(0, 0, 255)));
+		for (int y = 0; y < 300; y++) {
+			for (int x = 0; x < 400; x++) {
+				int noise = random.nextInt(8);
+				direct.setPixel(x, y, (x + noise) << 16 | (y & 0xFF) << 8 | (x ^ y) & 0xFF);
+				alpha.setPixel(x, y, (y + noise) << 8 | (x & 0xFF) << 16 | (x * y) << 24);
+				alpha.setAlpha(x, y, (x + y + noise) & 0xFF);
+				indexed.setPixel(x, y, (x / 10 + y / 10 + noise / 7) % 3);
+			}
+		}
+		for (ImageData image : new ImageData[] { direct, alpha, indexed }) {
+			for (boolean parallelSave : new boolean[] { false, true }) {
+				RowBands.setParallel(parallelSave);
+				RowBands.setThreshold(0);
+				for (int compression = 0; compression <= 3; compression++) {
+					ImageLoader saver = new ImageLoader();
+					saver.data = new ImageData[] { image };
+					saver.compression = compression;
+					ByteArrayOutputStream out = new ByteArrayOutputStream();
+					// GdkPixbuf does not use the SWT PNG encoder
+					FileFormat.save(out, SWT.IMAGE_PNG, saver);
+					ImageData data = FileFormat.load(new ByteArrayInputStream(out.toByteArray()), new ImageLoader())[0];
+					String message = "depth " + image.depth + " parallel " + parallelSave + " compression " + compression;
+					assertEquals(message, image.width, data.width);
+					assertEquals(message, image.height, data.height);
+					for (int y = 0; y < image.height; y++) {
+						for (int x = 0; x < image.width; x++) {
+							assertEquals(message, image.palette.getRGB(image.getPixel(x, y)), data.palette.getRGB(data.getPixel(x, y)));
+							assertEquals(message, image.getAlpha(x, y), data.getAlpha(x, y));
+						}
+					}
+				}
+			}
+		}
+	} finally {
+		RowBands.setParallel(parallel);
+		RowBands.setThreshold(threshold);
+	}
+}
+
 @Test
 public void test_saveLjava_lang_StringI() {
 	ImageLoader loader = new ImageLoader();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,15 +20,19 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
@@ -166,6 +170,44 @@ public void test_asyncExecLjava_lang_Runnable() {
 	}
 }
 
+@Test
+public void test_asyncExecCoalescedLjava_lang_ObjectLjava_lang_Runnable() {
+	final Display display = new Display();
+	try {
+		assertThrows(IllegalArgumentException.class, () -> display.asyncExecCoalesced(null, () -> {}));
+		assertThrows(IllegalArgumentException.class, () -> display.asyncExecCoalesced("key", null));
+
+		StringBuilder log = new StringBuilder();
+		display.asyncExec(() -> log.append('a'));
+		display.asyncExecCoalesced("key", () -> log.append('b'));
+		display.asyncExec(() -> log.append('c'));
+		display.asyncExecCoalesced("key", () -> log.append('d'));
+		display.asyncExecCoalesced("other", () -> log.append('e'));
+		while (display.readAndDispatch()) {
+			// dispatch
+		}
+		assertEquals("adce", log.toString());
+
+		// a runnable posted after the pending one ran is queued again
+		display.asyncExecCoalesced("key", () -> log.append('f'));
+		while (display.readAndDispatch()) {
+			// dispatch
+		}
+		assertEquals("adcef", log.toString());
+
+		// a pending message moves to a new synchronizer and is coalesced there
+		display.asyncExecCoalesced("key", () -> log.append('g'));
+		display.setSynchronizer(new Synchronizer(display));
+		display.asyncExecCoalesced("key", () -> log.append('h'));
+		while (display.readAndDispatch()) {
+			// dispatch
+		}
+		assertEquals("adcefh", log.toString());
+	} finally {
+		display.dispose();
+	}
+}
+
 @Test
 public void test_Executor() throws InterruptedException {
 	final Display display = new Display();
@@ -1371,6 +1413,146 @@ public void test_setSynchronizerLorg_eclipse_swt_widgets_Synchronizer() {
 	}
 }
 
+/*
+ * Posts runnables that each take the given time, runs them and returns the
+ * number of runnables run in each batch, which starts with an SWT.PreEvent.
+ */
+private static List<Integer> runBatches(Display display, int count, long nanos) {
+	int[] batch = new int[1];
+	List<Integer> order = new ArrayList<>();
+	List<Integer> batches = new ArrayList<>();
+	Listener listener = e -> batch[0]++;
+	display.addListener(SWT.PreEvent, listener);
+	try {
+		for (int i = 0; i < count; i++) {
+			int index = i;
+			display.asyncExec(() -> {
+				order.add(index);
+				batches.add(batch[0]);
+				long end = System.nanoTime() + nanos;
+				while (System.nanoTime() < end) {
+					// busy wait
+				}
+			});
+		}
+		while (display.readAndDispatch()) {
+			// dispatch
+		}
+	} finally {
+		display.removeListener(SWT.PreEvent, listener);
+	}
+	for (int i = 0; i < count; i++) {
+		assertEquals("runnables not run in the order they were posted", i, order.get(i).intValue());
+	}
+	return batchSizes(batches);
+}
+
+private static List<Integer> batchSizes(List<Integer> batches) {
+	List<Integer> sizes = new ArrayList<>();
+	for (int i = 0; i < batches.size(); i++) {
+		if (i == 0 || !batches.get(i).equals(batches.get(i - 1))) {
+			sizes.add(1);
+		} else {
+			sizes.set(sizes.size() - 1, sizes.get(sizes.size() - 1) + 1);
+		}
+	}
+	return sizes;
+}
+
+@Test
+public void test_Synchronizer_setBatchLimitsIJ() {
+	final Display display = new Display();
+	try {
+		Synchronizer synchronizer = display.getSynchronizer();
+		assertThrows(IllegalArgumentException.class, () -> synchronizer.setBatchLimits(-1, 0));
+		assertThrows(IllegalArgumentException.class, () -> synchronizer.setBatchLimits(0, -1));
+		while (display.readAndDispatch()) {
+			// dispatch
+		}
+
+		assertEquals("one message at a time by default", List.of(1, 1, 1, 1), runBatches(display, 4, 0));
+
+		synchronizer.setBatchLimits(3, 0);
+		assertEquals("message limit", List.of(3, 3, 3, 1), runBatches(display, 10, 0));
+
+		synchronizer.setBatchLimits(0, 0);
+		assertEquals("batches not turned off", List.of(1, 1, 1), runBatches(display, 3, 0));
+	} finally {
+		display.dispose();
+	}
+}
+
+@Test
+public void test_Synchronizer_setBatchLimitsIJ_time() {
+	final Display display = new Display();
+	try {
+		Synchronizer synchronizer = display.getSynchronizer();
+		while (display.readAndDispatch()) {
+			// dispatch
+		}
+
+		synchronizer.setBatchLimits(100, 0);
+		assertEquals("batch ended without a time limit", List.of(5), runBatches(display, 5, 2_000_000));
+
+		// each runnable takes longer than the limit, so it ends its batch
+		synchronizer.setBatchLimits(100, 1_000_000);
+		assertEquals("time limit", List.of(1, 1, 1, 1, 1), runBatches(display, 5, 2_000_000));
+
+		assertEquals("fast runnables not batched", List.of(5), runBatches(display, 5, 0));
+	} finally {
+		display.dispose();
+	}
+}
+
+@Test
+public void test_Synchronizer_setBatchLimitsIJ_syncExec() throws InterruptedException {
+	final Display display = new Display();
+	try {
+		while (display.readAndDispatch()) {
+			// dispatch
+		}
+		display.getSynchronizer().setBatchLimits(2, 0);
+		int[] batch = new int[1];
+		display.addListener(SWT.PreEvent, e -> batch[0]++);
+		List<String> log = new ArrayList<>();
+		List<Integer> batches = new ArrayList<>();
+		AtomicReference<Thread> syncThread = new AtomicReference<>();
+
+		display.asyncExec(() -> {
+			log.add("async 1");
+			batches.add(batch[0]);
+		});
+		Thread thread = new Thread(() -> display.syncExec(() -> {
+			log.add("sync");
+			batches.add(batch[0]);
+			syncThread.set(display.getSyncThread());
+		}));
+		thread.start();
+		// the runnable is queued when the thread starts to wait for it
+		long timeout = System.currentTimeMillis() + 10000;
+		while (thread.getState() != Thread.State.WAITING) {
+			assertTrue("syncExec not called", System.currentTimeMillis() < timeout);
+			Thread.sleep(1);
+		}
+		display.asyncExec(() -> {
+			log.add("async 2");
+			batches.add(batch[0]);
+		});
+		while (display.readAndDispatch()) {
+			// dispatch
+		}
+		thread.join(10000);
+
+		assertFalse("syncExec did not return", thread.isAlive());
+		assertEquals(List.of("async 1", "sync", "async 2"), log);
+		assertEquals(List.of(2, 1), batchSizes(batches));
+		assertSame("sync thread not set in a batch", thread, syncThread.get());
+		assertNull(display.getSyncThread());
+	} finally {
+		display.dispose();
+	}
+}
+
 @Test
 public void test_sleep() {
 	final Display display = new Display();
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures the number of bytes allocated on the heap by the current thread,
+ * for use by the manual benchmarks in this package.
+ * <p>
+ * Relies on <code>com.sun.management.ThreadMXBean</code>; on VMs that do not
+ * provide it {@link #isSupported()} returns <code>false</code> and all
+ * measurements are <code>-1</code>.
+ */
+public class AllocationMeter {
+	private static final com.sun.management.ThreadMXBean THREAD_BEAN = getThreadBean();
+
+	private long start;
+
+	private static com.sun.management.ThreadMXBean getThreadBean() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+				&& bean.isThreadAllocatedMemorySupported()) {
+			bean.setThreadAllocatedMemoryEnabled(true);
+			return bean;
+		}
+		return null;
+	}
+
+	public static boolean isSupported() {
+		return THREAD_BEAN != null;
+	}
+
+	private static long allocatedBytes() {
+		return THREAD_BEAN == null ? -1 : THREAD_BEAN.getCurrentThreadAllocatedBytes();
+	}
+
+	/**
+	 * Starts measuring. Must be called on the thread that is measured.
+	 */
+	public void start() {
+		start = allocatedBytes();
+	}
+
+	/**
+	 * @return the bytes allocated by the current thread since {@link #start()}
+	 */
+	public long stop() {
+		return THREAD_BEAN == null ? -1 : allocatedBytes() - start;
+	}
+
+	/**
+	 * Runs the given code on the current thread and returns the bytes it allocated.
+	 */
+	public static long measure(Runnable runnable) {
+		AllocationMeter meter = new AllocationMeter();
+		meter.start();
+		runnable.run();
+		return meter.stop();
+	}
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import java.lang.reflect.Method;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Shell;
+
+/**
+ * Measures posting and draining a burst of deferred events, as produced by
+ * bulk operations that post many <code>SWT.Modify</code> or
+ * <code>SWT.Selection</code> events. Run against two SWT builds to compare
+ * them.
+ * <p>
+ * Uses reflection, as the deferred event queue of the display is internal.
+ */
+public class BenchmarkDeferredEvents {
+	private static final int EVENTS = 100_000;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) throws Exception {
+		Method postEvent = Display.class.getDeclaredMethod("postEvent", Event.class);
+		Method runDeferredEvents = Display.class.getDeclaredMethod("runDeferredEvents");
+		postEvent.setAccessible(true);
+		runDeferredEvents.setAccessible(true);
+
+		Display display = new Display();
+		try {
+			Shell shell = new Shell(display);
+			int[] received = new int[1];
+			shell.addListener(SWT.Modify, e -> received[0]++);
+			for (int runs = 0; runs < 20; runs++) {
+				received[0] = 0;
+				long nanoTime = System.nanoTime();
+				for (int i = 0; i < EVENTS; i++) {
+					Event event = new Event();
+					event.type = SWT.Modify;
+					event.display = display;
+					event.widget = shell;
+					postEvent.invoke(display, event);
+				}
+				long nanoTime2 = System.nanoTime();
+				runDeferredEvents.invoke(display);
+				long nanoTime3 = System.nanoTime();
+				if (received[0] != EVENTS) throw new IllegalStateException("received " + received[0] + " events");
+
+				System.out.println("Duration for posting: " + String.format("%,15d", nanoTime2 - nanoTime)
+						+ " ns  draining: " + String.format("%,15d", nanoTime3 - nanoTime2) + " ns");
+			}
+		} finally {
+			display.dispose();
+		}
+	}
+}
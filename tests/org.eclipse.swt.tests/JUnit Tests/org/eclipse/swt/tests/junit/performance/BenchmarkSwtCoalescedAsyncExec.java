@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.swt.tests.junit.performance;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Synchronizer;
+
+/**
+ * Compares {@link Display#asyncExecCoalesced(Object, Runnable)} with
+ * {@link Display#asyncExec(Runnable)} when a background thread posts many
+ * updates for a few targets, of which only the last one matters.
+ */
+public class BenchmarkSwtCoalescedAsyncExec {
+	private static final int UPDATES = 1_000_000;
+	/** number of distinct targets, e.g. labels, the updates are spread over */
+	private static final int TARGETS = 16;
+
+	/**
+	 * Counts the messages that are queued but did not run yet.
+	 */
+	static class CountingSynchronizer extends Synchronizer {
+		final AtomicInteger depth = new AtomicInteger();
+		volatile int maxDepth;
+
+		CountingSynchronizer(Display display) {
+			super(display);
+		}
+
+		@Override
+		protected void asyncExec(Runnable runnable) {
+			int current = depth.incrementAndGet();
+			if (current > maxDepth) maxDepth = current;
+			super.asyncExec(() -> {
+				depth.decrementAndGet();
+				runnable.run();
+			});
+		}
+	}
+
+	static final AtomicInteger executed = new AtomicInteger();
+	static volatile boolean producerDone;
+
+	/**
+	 * manual performance test
+	 *
+	 * @param args ignored
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		final Display display = new Display();
+		try {
+			CountingSynchronizer synchronizer = new CountingSynchronizer(display);
+			display.setSynchronizer(synchronizer);
+			Object[] keys = new Object[TARGETS];
+			for (int i = 0; i < keys.length; i++) {
+				keys[i] = new Object();
+			}
+			for (int runs = 0; runs < 20; runs++) {
+				boolean coalesced = (runs & 1) != 0;
+				executed.set(0);
+				synchronizer.maxDepth = 0;
+				producerDone = false;
+				Thread thread = new Thread(() -> {
+					Runnable update = executed::incrementAndGet;
+					for (int i = 0; i < UPDATES; i++) {
+						if (coalesced) {
+							display.asyncExecCoalesced(keys[i % TARGETS], update);
+						} else {
+							display.asyncExec(update);
+						}
+					}
+					producerDone = true;
+					display.wake();
+				}, "test");
+
+				long nanoTime = System.nanoTime();
+				thread.start();
+				while (!producerDone || synchronizer.depth.get() > 0) {
+					// handling;
+					if (!display.readAndDispatch())
+						display.sleep();
+				}
+				long durationNanos = System.nanoTime() - nanoTime;
+				thread.join();
+
+				System.out.println((coalesced ? "asyncExecCoalesced" : "asyncExec         ") + " handling: "
+						+ String.format("%,15d", durationNanos) + " ns  executed: "
+						+ String.format("%,10d", executed.get()) + "  max queue depth: "
+						+ String.format("%,10d", synchronizer.maxDepth));
+			}
+		} finally {
+			display.dispose();
+		}
+	}
+}
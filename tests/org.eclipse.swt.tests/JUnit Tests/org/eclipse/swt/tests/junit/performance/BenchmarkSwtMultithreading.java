@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2022 Joerg Kubitz
+ * Copyright (c) 2022, 2026 Joerg Kubitz and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,12 +17,18 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Synchronizer;
 
 /**
  * Tests SWT Event scheduling performance
  */
 public class BenchmarkSwtMultithreading {
 	private static final int BATCH_SIZE = 1_000_000;
+	/** messages per pass and time budget used for the batched mode */
+	private static final int BATCH_LIMIT = 1024;
+	private static final long BATCH_NANOS = 5_000_000;
+	/** interval of the timer that stands in for user input */
+	private static final int PROBE_INTERVAL_MS = 5;
 	static AtomicInteger countdown = new AtomicInteger();
 
 	/**
@@ -34,16 +40,25 @@ public class BenchmarkSwtMultithreading {
 	public static void main(String[] args) throws InterruptedException {
 		final Display display = new Display();
 		try {
+			Synchronizer synchronizer = display.getSynchronizer();
 			for (int runs = 0; runs < 100; runs++) {
+				boolean batched = (runs & 1) != 0;
+				synchronizer.setBatchLimits(batched ? BATCH_LIMIT : 0, BATCH_NANOS);
 				countdown.set(BATCH_SIZE);
 				AtomicLong schedulingNanos = new AtomicLong();
+				AtomicLong schedulingBytes = new AtomicLong();
 				Thread thread = new Thread(() -> {
 					// scheduling:
+					AllocationMeter meter = new AllocationMeter();
+					meter.start();
 					schedulingNanos.set(new BenchmarkSwtMultithreading().scheduleAsyncEvents());
+					schedulingBytes.set(meter.stop());
 				}, "test");
 				thread.start();
 				thread.join();
 
+				InputProbe probe = new InputProbe(display);
+				probe.start();
 				long nanoTime = System.nanoTime();
 				while (countdown.get() > 0) {
 					// handling;
@@ -51,10 +66,15 @@ public class BenchmarkSwtMultithreading {
 						display.sleep();
 				}
 				long nanoTime2 = System.nanoTime();
+				probe.stop();
 				long durationNanos = nanoTime2 - nanoTime;
 
-				System.out.println("Duration for scheduling: " + String.format("%,15d", schedulingNanos.get())
-						+ " ns  handling: " + String.format("%,15d", durationNanos) + " ns");
+				System.out.println((batched ? "batched " : "single  ") + "Duration for scheduling: "
+						+ String.format("%,15d", schedulingNanos.get()) + " ns ("
+						+ String.format("%,6.1f", (double) schedulingBytes.get() / BATCH_SIZE) + " bytes/call)  handling: "
+						+ String.format("%,15d", durationNanos) + " ns  throughput: "
+						+ String.format("%,12d", BATCH_SIZE * 1_000_000_000L / Math.max(1, durationNanos))
+						+ " msg/s  worst input latency: " + String.format("%,12d", probe.worstLatencyNanos) + " ns");
 			}
 		} finally {
 			display.dispose();
@@ -77,4 +97,39 @@ public class BenchmarkSwtMultithreading {
 		long durationNanos = nanoTime2 - nanoTime;
 		return durationNanos;
 	}
+
+	/**
+	 * Repeating timer dispatched by the platform event loop, used as a stand-in
+	 * for user input. The latency is the delay between the time the timer was due
+	 * and the time it actually ran while the message queue was being drained.
+	 */
+	static class InputProbe implements Runnable {
+		final Display display;
+		long dueNanos;
+		long worstLatencyNanos;
+		boolean stopped;
+
+		InputProbe(Display display) {
+			this.display = display;
+		}
+
+		void start() {
+			dueNanos = System.nanoTime() + PROBE_INTERVAL_MS * 1_000_000L;
+			display.timerExec(PROBE_INTERVAL_MS, this);
+		}
+
+		void stop() {
+			stopped = true;
+			display.timerExec(-1, this);
+		}
+
+		@Override
+		public void run() {
+			if (stopped) return;
+			long now = System.nanoTime();
+			worstLatencyNanos = Math.max(worstLatencyNanos, now - dueNanos);
+			dueNanos = now + PROBE_INTERVAL_MS * 1_000_000L;
+			display.timerExec(PROBE_INTERVAL_MS, this);
+		}
+	}
 }